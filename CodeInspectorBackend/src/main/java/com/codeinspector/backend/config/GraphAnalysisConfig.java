@@ -0,0 +1,67 @@
+package com.codeinspector.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Graf parametrelerinin (connectivity, scattering, rupture, ...) eşzamanlı hesaplandığı thread havuzu.
+ * Web isteklerini işleyen thread'lerden ayrı tutulur; uzun süren bir hesaplama istek havuzunu tüketmez.
+ */
+@Configuration
+public class GraphAnalysisConfig {
+
+    // 0 = işlemci sayısı (en az 2)
+    @Value("${graph.analysis.pool-size:0}")
+    private int poolSize;
+
+    @Value("${graph.warmup.pool-size:2}")
+    private int warmupPoolSize;
+
+    @Bean(name = "graphAnalysisExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService graphAnalysisExecutor() {
+        int threads = poolSize > 0 ? poolSize : Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "graph-analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Anytime (SSE) parametre akışlarını yöneten thread'ler. Her akış parametre görevlerini graphAnalysisExecutor'a
+     * gönderip sonuçlarını bekler; bekleyen thread'ler aynı havuzda olsaydı eşzamanlı akışlar havuzu tıkayabilirdi.
+     */
+    @Bean(name = "graphStreamExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService graphStreamExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "graph-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    /**
+     * Yeni versiyonların graf özetlerini commit sonrasında arka planda hazırlayan thread'ler.
+     * Import isteği bu işi beklemez; parse kendi içinde paralel olduğu için havuz küçük tutulur.
+     */
+    @Bean(name = "graphWarmupExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService graphWarmupExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "graph-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(warmupPoolSize, factory);
+    }
+}
@@ -0,0 +1,51 @@
+package com.codeinspector.backend.controller;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.service.CloneSearchService;
+import com.codeinspector.backend.service.ProjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcının erişebildiği tüm projelerde "benzer kodu bul" araması
+ */
+@RestController
+@RequestMapping("/api/projects")
+public class CloneSearchController {
+    private static final int DEFAULT_MIN_SHARED_LINES = 3;
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 500;
+
+    private final ProjectService projectService;
+    private final CloneSearchService cloneSearchService;
+
+    @Autowired
+    public CloneSearchController(ProjectService projectService, CloneSearchService cloneSearchService) {
+        this.projectService = projectService;
+        this.cloneSearchService = cloneSearchService;
+    }
+
+    public record CloneSearchRequest(String code, Integer minSharedLines, Integer limit) {}
+
+    @PostMapping(path = "/clone-search")
+    public ResponseEntity<?> search(@RequestBody CloneSearchRequest req) {
+        if (req.code() == null || req.code().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "code is required"));
+        }
+        int minShared = req.minSharedLines() != null && req.minSharedLines() > 0
+                ? req.minSharedLines() : DEFAULT_MIN_SHARED_LINES;
+        int limit = req.limit() != null && req.limit() > 0 ? Math.min(req.limit(), MAX_LIMIT) : DEFAULT_LIMIT;
+
+        Set<String> allowedSlugs = projectService.list().stream()
+                .map(Project::getSlug)
+                .collect(Collectors.toSet());
+        List<CloneSearchService.CloneSearchHit> hits = cloneSearchService.search(req.code(), minShared, limit, allowedSlugs);
+        return ResponseEntity.ok(hits);
+    }
+}
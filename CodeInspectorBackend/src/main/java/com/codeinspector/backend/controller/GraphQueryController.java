@@ -0,0 +1,157 @@
+package com.codeinspector.backend.controller;
+
+import com.codeinspector.backend.graph.IndexedCodeGraph;
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.service.GraphQueryService;
+import com.codeinspector.backend.service.ProjectService;
+import com.codeinspector.backend.service.ProjectVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Versiyon grafı üzerinde sorgular (bağımlı olanlar, k-hop komşuluk, en kısa yol, erişilebilirlik).
+ * Tüm grafı indirmeden tek bir sınıf ya da metot etrafındaki yapıyı döndürür.
+ * types parametresi virgülle ayrılmış edge tipleridir (depends, has, calls); verilmezse hepsi.
+ */
+@RestController
+@RequestMapping("/api/projects")
+public class GraphQueryController {
+    private static final Logger logger = LoggerFactory.getLogger(GraphQueryController.class);
+
+    private final ProjectService projectService;
+    private final ProjectVersionService versionService;
+    private final GraphQueryService graphQueryService;
+
+    @Autowired
+    public GraphQueryController(
+            ProjectService projectService,
+            ProjectVersionService versionService,
+            GraphQueryService graphQueryService) {
+        this.projectService = projectService;
+        this.versionService = versionService;
+        this.graphQueryService = graphQueryService;
+    }
+
+    /**
+     * node'a (doğrudan ya da depth adım içinde) bağımlı olan node'lar
+     */
+    @GetMapping(path = "/{slug}/versions/{versionId}/graph/dependents")
+    public ResponseEntity<?> dependents(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestParam String node,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "500") int limit) {
+        return query(slug, versionId, (project, version) -> {
+            GraphQueryService.NeighbourhoodResult result =
+                    graphQueryService.dependents(project, version, node, depth, types, limit);
+            return result != null ? ResponseEntity.ok(result) : unknownNode(node);
+        });
+    }
+
+    /**
+     * node'dan en fazla depth edge uzaklıktaki node'lar; direction OUT (bağımlılıklar), IN (bağımlı olanlar) ya da BOTH
+     */
+    @GetMapping(path = "/{slug}/versions/{versionId}/graph/neighbourhood")
+    public ResponseEntity<?> neighbourhood(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestParam String node,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "BOTH") String direction,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "500") int limit) {
+        return query(slug, versionId, (project, version) -> {
+            GraphQueryService.NeighbourhoodResult result = graphQueryService.neighbourhood(
+                    project, version, node, depth, parseDirection(direction), types, limit);
+            return result != null ? ResponseEntity.ok(result) : unknownNode(node);
+        });
+    }
+
+    /**
+     * from'dan to'ya en kısa yol (ör. controller'dan repository'ye)
+     */
+    @GetMapping(path = "/{slug}/versions/{versionId}/graph/path")
+    public ResponseEntity<?> shortestPath(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "OUT") String direction,
+            @RequestParam(required = false) List<String> types) {
+        return query(slug, versionId, (project, version) -> {
+            GraphQueryService.PathResult result = graphQueryService.shortestPath(
+                    project, version, from, to, parseDirection(direction), types);
+            return result != null ? ResponseEntity.ok(result) : unknownNode(from + ", " + to);
+        });
+    }
+
+    /**
+     * to'ya from'dan ulaşılabiliyor mu; ulaşılabiliyorsa uzaklık
+     */
+    @GetMapping(path = "/{slug}/versions/{versionId}/graph/reachable")
+    public ResponseEntity<?> reachable(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "OUT") String direction,
+            @RequestParam(required = false) List<String> types) {
+        return query(slug, versionId, (project, version) -> {
+            GraphQueryService.PathResult result = graphQueryService.shortestPath(
+                    project, version, from, to, parseDirection(direction), types);
+            if (result == null) {
+                return unknownNode(from + ", " + to);
+            }
+            return ResponseEntity.ok(Map.of("from", from, "to", to, "reachable", result.reachable(),
+                    "distance", result.length(), "elapsedMicros", result.elapsedMicros()));
+        });
+    }
+
+    private interface GraphQuery {
+        ResponseEntity<?> run(Project project, ProjectVersion version) throws Exception;
+    }
+
+    /**
+     * Proje ve versiyonu doğrular, sorguyu çalıştırır ve hataları HTTP yanıtına çevirir.
+     */
+    private ResponseEntity<?> query(String slug, Long versionId, GraphQuery query) {
+        Project project = projectService.getBySlug(slug);
+        if (project == null) return ResponseEntity.notFound().build();
+        ProjectVersion version = versionService.getVersion(versionId);
+        if (version == null || !version.getProject().getId().equals(project.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return query.run(project, version);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error querying graph for project: " + slug + ", version: " + versionId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static IndexedCodeGraph.Direction parseDirection(String direction) {
+        try {
+            return IndexedCodeGraph.Direction.valueOf(direction.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("direction must be OUT, IN or BOTH");
+        }
+    }
+
+    private static ResponseEntity<?> unknownNode(String node) {
+        return ResponseEntity.status(404).body(Map.of("error", "Node not found in graph: " + node));
+    }
+}
@@ -8,7 +8,14 @@ import com.codeinspector.backend.service.ProjectImportService;
 import com.codeinspector.backend.service.ProjectStorageService;
 import com.codeinspector.backend.service.ProjectVersionService;
 import com.codeinspector.backend.service.ProjectGraphService;
+import com.codeinspector.backend.service.PackageGraphService;
+import com.codeinspector.backend.service.CommunityGraphService;
+import com.codeinspector.backend.service.GraphDiffService;
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.PackageGraphResult;
+import com.codeinspector.backend.graph.CommunityGraphResult;
+import com.codeinspector.backend.graph.CentralityResult;
+import com.codeinspector.backend.graph.GraphDiffResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +24,9 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.nio.file.Path;
@@ -27,24 +36,35 @@ import java.nio.file.Files;
 @RequestMapping("/api/projects")
 public class ProjectController {
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
+    // Parametre akışının en uzun süresi; parametre bütçeleri (en fazla 30 sn) ve kuyrukta bekleme için pay
+    private static final long PARAMETER_STREAM_TIMEOUT_MS = 300_000L;
 
     private final ProjectService projectService;
     private final ProjectImportService importService;
     private final ProjectStorageService storageService;
     private final ProjectVersionService versionService;
     private final ProjectGraphService projectGraphService;
+    private final PackageGraphService packageGraphService;
+    private final CommunityGraphService communityGraphService;
+    private final GraphDiffService graphDiffService;
 
     public ProjectController(
             ProjectService projectService, 
             ProjectImportService importService, 
             ProjectStorageService storageService,
             ProjectVersionService versionService,
-            ProjectGraphService projectGraphService) {
+            ProjectGraphService projectGraphService,
+            PackageGraphService packageGraphService,
+            CommunityGraphService communityGraphService,
+            GraphDiffService graphDiffService) {
         this.projectService = projectService;
         this.importService = importService;
         this.storageService = storageService;
         this.versionService = versionService;
         this.projectGraphService = projectGraphService;
+        this.packageGraphService = packageGraphService;
+        this.communityGraphService = communityGraphService;
+        this.graphDiffService = graphDiffService;
     }
 
     @GetMapping
@@ -169,6 +189,139 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Proje grafının package seviyesindeki yoğunlaştırılmış görünümü (döngüler ve katman ihlalleri ile).
+     */
+    @GetMapping(path = "/{slug}/graph/packages")
+    public ResponseEntity<PackageGraphResult> getPackageGraph(@PathVariable String slug) {
+        try {
+            Project project = projectService.getBySlug(slug);
+            if (project == null) {
+                logger.warn("Project not found with slug for package graph: {}", slug);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(packageGraphService.analyzePackages(project));
+        } catch (Exception e) {
+            logger.error("Error generating package graph for slug: {}", slug, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Betweenness ve harmonic closeness centrality'ye göre en yüksek node'lar (darboğaz sınıf ve metotlar).
+     * epsilon normalize değerlerdeki hata sınırıdır (0 = exact); verilmezse yapılandırılmış değerler kullanılır.
+     */
+    @GetMapping(path = "/{slug}/graph/centrality")
+    public ResponseEntity<CentralityResult> getGraphCentrality(
+            @PathVariable String slug,
+            @RequestParam(value = "epsilon", required = false) Double epsilon,
+            @RequestParam(value = "top", required = false) Integer top) {
+        try {
+            Project project = projectService.getBySlug(slug);
+            if (project == null) {
+                logger.warn("Project not found with slug for centrality: {}", slug);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(projectGraphService.analyzeCentrality(project, epsilon, top));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid centrality request for slug {}: {}", slug, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error calculating centrality for slug: {}", slug, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Proje grafının modularity topluluklarına indirgenmiş görünümü (süper node'lar ve metrikleri).
+     * level verilmezse en kaba seviye döner.
+     */
+    @GetMapping(path = "/{slug}/graph/communities")
+    public ResponseEntity<CommunityGraphResult> getCommunityGraph(
+            @PathVariable String slug,
+            @RequestParam(value = "level", required = false) Integer level) {
+        try {
+            Project project = projectService.getBySlug(slug);
+            if (project == null) {
+                logger.warn("Project not found with slug for community graph: {}", slug);
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(communityGraphService.analyzeCommunities(project, level));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid community graph request for slug {}: {}", slug, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error generating community graph for slug: {}", slug, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Tek bir topluluğun alt grafı (orijinal vertex ve edge'ler, metrikler ve yerleşimle).
+     */
+    @GetMapping(path = "/{slug}/graph/communities/{communityId}")
+    public ResponseEntity<CodeGraphResult> getCommunity(
+            @PathVariable String slug,
+            @PathVariable int communityId,
+            @RequestParam(value = "level", required = false) Integer level) {
+        try {
+            Project project = projectService.getBySlug(slug);
+            if (project == null) {
+                logger.warn("Project not found with slug for community: {}", slug);
+                return ResponseEntity.notFound().build();
+            }
+            CodeGraphResult result = communityGraphService.community(project, level, communityId);
+            if (result == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid community request for slug {}: {}", slug, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error generating community {} for slug: {}", communityId, slug, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Graf parametrelerini anytime modda hesaplar ve iyileştikçe SSE ile akıtır.
+     * Her "estimate" olayı bir parametrenin {value, lowerBound, upperBound, method, elapsedMs} tahminidir;
+     * tüm parametreler bitince son metrikler "metrics" olayıyla gönderilip akış kapatılır.
+     */
+    @GetMapping(path = "/{slug}/graph/parameters/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamGraphParameters(@PathVariable String slug) {
+        Project project = projectService.getBySlug(slug);
+        if (project == null) {
+            logger.warn("Project not found with slug for parameter stream: {}", slug);
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(PARAMETER_STREAM_TIMEOUT_MS);
+        projectGraphService.streamParameters(project, estimate -> sendEvent(emitter, "estimate", estimate))
+                .whenComplete((metrics, error) -> {
+                    if (error != null) {
+                        logger.error("Error streaming graph parameters for slug: {}", slug, error);
+                        emitter.completeWithError(error);
+                        return;
+                    }
+                    sendEvent(emitter, "metrics", metrics);
+                    emitter.complete();
+                });
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * İstemci bağlantıyı kapattıysa olay atlanır; hesaplama sürer ve sonuçları önbelleğe yazılır.
+     */
+    private static void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping {} event, client disconnected: {}", name, e.getMessage());
+        }
+    }
+
     // Yeni versiyon endpoint'leri
 
     /**
@@ -334,6 +487,39 @@ public class ProjectController {
         }
     }
 
+    /**
+     * İki versiyonun grafları arasındaki yapısal fark: eklenen / silinen vertex ve edge'ler, vertex metriklerindeki
+     * ve graf parametrelerindeki değişimler. Listeler limit ile sınırlanır; toplamlar summary'dedir.
+     */
+    @GetMapping("/{slug}/versions/graph-diff")
+    public ResponseEntity<GraphDiffResult> getGraphDiff(
+            @PathVariable String slug,
+            @RequestParam Long oldVersionId,
+            @RequestParam Long newVersionId,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        try {
+            Project project = projectService.getBySlug(slug);
+            if (project == null) {
+                logger.warn("Project not found with slug: " + slug);
+                return ResponseEntity.notFound().build();
+            }
+            GraphDiffResult diff = graphDiffService.diff(project, oldVersionId, newVersionId, limit);
+            if (diff == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(diff);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid graph diff request for slug {}: {}", slug, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            logger.warn("Graph diff not possible for slug {}: {}", slug, e.getMessage());
+            return ResponseEntity.status(409).build();
+        } catch (Exception e) {
+            logger.error("Error getting graph diff between versions: " + oldVersionId + " and " + newVersionId + " for project: " + slug, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Commit geçmişini getirir
      */
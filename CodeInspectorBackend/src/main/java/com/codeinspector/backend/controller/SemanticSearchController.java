@@ -0,0 +1,125 @@
+package com.codeinspector.backend.controller;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.service.CodeEmbeddingIndexService;
+import com.codeinspector.backend.service.ProjectService;
+import com.codeinspector.backend.service.ProjectVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CodeBERT embedding indeksi üzerinden semantik benzer dosya arama
+ */
+@RestController
+@RequestMapping("/api/projects")
+public class SemanticSearchController {
+    private static final Logger logger = LoggerFactory.getLogger(SemanticSearchController.class);
+    private static final int MAX_K = 100;
+
+    private final ProjectService projectService;
+    private final ProjectVersionService versionService;
+    private final CodeEmbeddingIndexService embeddingIndexService;
+
+    @Autowired
+    public SemanticSearchController(
+            ProjectService projectService,
+            ProjectVersionService versionService,
+            CodeEmbeddingIndexService embeddingIndexService) {
+        this.projectService = projectService;
+        this.versionService = versionService;
+        this.embeddingIndexService = embeddingIndexService;
+    }
+
+    public record SnippetSearchRequest(String code, Integer k) {}
+
+    /**
+     * Versiyon için embedding indeksini oluşturur (var olanı yeniden oluşturur)
+     */
+    @PostMapping(path = "/{slug}/versions/{versionId}/semantic-index")
+    public ResponseEntity<?> buildIndex(@PathVariable String slug, @PathVariable Long versionId) {
+        Project project = projectService.getBySlug(slug);
+        if (project == null) return ResponseEntity.notFound().build();
+        ProjectVersion version = versionService.getVersion(versionId);
+        if (version == null || !version.getProject().getId().equals(project.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            var index = embeddingIndexService.buildIndex(project, version);
+            return ResponseEntity.ok(Map.of("indexedFiles", index.size(), "dimension", index.dimension()));
+        } catch (Exception e) {
+            logger.error("Error building embedding index for project: " + slug + ", version: " + versionId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Bir dosyaya semantik olarak en çok benzeyen k dosya
+     */
+    @GetMapping(path = "/{slug}/versions/{versionId}/semantic-search")
+    public ResponseEntity<?> searchByFile(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestParam String path,
+            @RequestParam(defaultValue = "10") int k) {
+        Project project = projectService.getBySlug(slug);
+        if (project == null) return ResponseEntity.notFound().build();
+        ProjectVersion version = versionService.getVersion(versionId);
+        if (version == null || !version.getProject().getId().equals(project.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        List<CodeEmbeddingIndexService.SimilarFile> results =
+                embeddingIndexService.searchByFile(project, version, path, clampK(k));
+        if (results == null) {
+            return ResponseEntity.status(409).body(Map.of("error", "Semantic index has not been built for this version"));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Yapıştırılan kod parçasına semantik olarak en çok benzeyen k dosya
+     */
+    @PostMapping(path = "/{slug}/versions/{versionId}/semantic-search")
+    public ResponseEntity<?> searchBySnippet(
+            @PathVariable String slug,
+            @PathVariable Long versionId,
+            @RequestBody SnippetSearchRequest req) {
+        Project project = projectService.getBySlug(slug);
+        if (project == null) return ResponseEntity.notFound().build();
+        ProjectVersion version = versionService.getVersion(versionId);
+        if (version == null || !version.getProject().getId().equals(project.getId())) {
+            return ResponseEntity.notFound().build();
+        }
+        if (req.code() == null || req.code().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "code is required"));
+        }
+        List<CodeEmbeddingIndexService.SimilarFile> results =
+                embeddingIndexService.searchBySnippet(project, version, req.code(), clampK(req.k()));
+        if (results == null) {
+            return ResponseEntity.status(409).body(Map.of("error", "Semantic index has not been built for this version"));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Kullanıcının erişebildiği tüm projelerin son versiyonlarında arama
+     */
+    @PostMapping(path = "/semantic-search")
+    public ResponseEntity<?> searchAcrossProjects(@RequestBody SnippetSearchRequest req) {
+        if (req.code() == null || req.code().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "code is required"));
+        }
+        return ResponseEntity.ok(embeddingIndexService.searchAcrossProjects(projectService.list(), req.code(), clampK(req.k())));
+    }
+
+    private int clampK(Integer k) {
+        if (k == null || k <= 0) return 10;
+        return Math.min(k, MAX_K);
+    }
+}
@@ -0,0 +1,8 @@
+package com.codeinspector.backend.dto;
+
+import java.util.List;
+
+public record CodeEmbeddingResponse(
+    int dim,              // Embedding boyutu (CodeBERT için 768)
+    List<Double> vector   // L2-normalize edilmiş embedding vektörü
+) {}
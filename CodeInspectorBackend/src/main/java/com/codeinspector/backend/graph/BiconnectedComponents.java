@@ -0,0 +1,221 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Hopcroft–Tarjan biconnected components (block'lar) ve articulation point'ler, O(V + E).
+ *
+ * Tek bir DFS'te low-link değerleri ve alt ağaç boyutları hesaplanır. v'nin low[u] ≥ disc[v] olan her
+ * çocuğu u, v çıkarıldığında ayrı bir bileşen olur (boyutu u'nun alt ağacı). Böylece her node için
+ * G − v'nin bileşen sayısı (ω) ve en büyük bileşeni (m) ayrı bir BFS yapmadan, toplamda lineer sürede bulunur.
+ * Block'lar DFS sırasında edge yığınından çıkarılır (block-cut tree'nin block tarafı).
+ *
+ * İsteğe bağlı olarak çıkarılmış node'lar verilebilir; hesap G − removed üzerinde yapılır.
+ * Özyineleme yerine açık bir çağrı yığını kullanılır.
+ */
+public final class BiconnectedComponents {
+
+    private final BitSet removed;
+    private final int remaining;
+    private final int componentCount;
+    private final int largestComponent;
+    private final int[] blockVertices;   // block'ların node'ları art arda
+    private final int[] blockOffsets;    // b. block: blockVertices[blockOffsets[b] .. blockOffsets[b + 1])
+    private final int[] componentsWithout;
+    private final int[] largestWithout;
+    private final int articulationPointCount;
+
+    private BiconnectedComponents(BitSet removed, int remaining, int componentCount, int largestComponent,
+                                  int[] blockVertices, int[] blockOffsets, int[] componentsWithout,
+                                  int[] largestWithout, int articulationPointCount) {
+        this.removed = removed;
+        this.remaining = remaining;
+        this.componentCount = componentCount;
+        this.largestComponent = largestComponent;
+        this.blockVertices = blockVertices;
+        this.blockOffsets = blockOffsets;
+        this.componentsWithout = componentsWithout;
+        this.largestWithout = largestWithout;
+        this.articulationPointCount = articulationPointCount;
+    }
+
+    public static BiconnectedComponents compute(IntGraph graph) {
+        return compute(graph, new BitSet());
+    }
+
+    public static BiconnectedComponents compute(IntGraph graph, BitSet removed) {
+        int n = graph.nodeCount();
+        int[] disc = new int[n];
+        int[] low = new int[n];
+        int[] subtree = new int[n];
+        int[] nextEdge = new int[n];
+        int[] callStack = new int[n];
+        int[] component = new int[n];
+        // v çıkarılınca kopan çocuk alt ağaçlarının sayısı, toplam ve en büyük boyutu
+        int[] separated = new int[n];
+        int[] separatedSum = new int[n];
+        int[] separatedMax = new int[n];
+        Arrays.fill(disc, -1);
+
+        // Yorum: her edge yığına bir kez girer; block'lar toplamda en fazla E + block sayısı ≤ 2E node içerir
+        // ve block sayısı n - 1'i geçmez
+        int[] edgeStack = new int[2 * Math.max(1, graph.edgeCount())];
+        int edgeTop = 0;
+        int[] blockVertices = new int[2 * Math.max(1, graph.edgeCount())];
+        int[] blockOffsets = new int[n + 1];
+        int blockCount = 0;
+        int blockSize = 0;
+        int[] blockStamp = new int[n];
+        Arrays.fill(blockStamp, -1);
+
+        int[] componentSizes = new int[n];
+        int componentCount = 0;
+        int counter = 0;
+        int remaining = 0;
+        for (int root = 0; root < n; root++) {
+            if (removed.get(root) || disc[root] >= 0) continue;
+
+            int callTop = 0;
+            disc[root] = low[root] = counter++;
+            subtree[root] = 1;
+            nextEdge[root] = graph.adjacencyStart(root);
+            component[root] = componentCount;
+            callStack[callTop++] = root;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                int parent = callTop > 1 ? callStack[callTop - 2] : -1;
+                if (nextEdge[v] < graph.adjacencyEnd(v)) {
+                    int w = graph.adjacencyAt(nextEdge[v]++);
+                    if (removed.get(w) || w == parent) continue;
+                    if (disc[w] < 0) {
+                        // Ağaç edge'i
+                        edgeStack[edgeTop++] = v;
+                        edgeStack[edgeTop++] = w;
+                        disc[w] = low[w] = counter++;
+                        subtree[w] = 1;
+                        nextEdge[w] = graph.adjacencyStart(w);
+                        component[w] = componentCount;
+                        callStack[callTop++] = w;
+                    } else if (disc[w] < disc[v]) {
+                        // Geri edge'i
+                        edgeStack[edgeTop++] = v;
+                        edgeStack[edgeTop++] = w;
+                        low[v] = Math.min(low[v], disc[w]);
+                    }
+                    continue;
+                }
+
+                // v bitti: parent'a bildir
+                callTop--;
+                if (parent < 0) continue;
+                low[parent] = Math.min(low[parent], low[v]);
+                subtree[parent] += subtree[v];
+                if (low[v] >= disc[parent]) {
+                    // v'nin alt ağacı parent çıkarılınca kopar; (parent, v) edge'ine kadar olanlar bir block
+                    separated[parent]++;
+                    separatedSum[parent] += subtree[v];
+                    separatedMax[parent] = Math.max(separatedMax[parent], subtree[v]);
+                    int start = blockSize;
+                    int a;
+                    int b;
+                    do {
+                        b = edgeStack[--edgeTop];
+                        a = edgeStack[--edgeTop];
+                        if (blockStamp[a] != blockCount) {
+                            blockStamp[a] = blockCount;
+                            blockVertices[blockSize++] = a;
+                        }
+                        if (blockStamp[b] != blockCount) {
+                            blockStamp[b] = blockCount;
+                            blockVertices[blockSize++] = b;
+                        }
+                    } while (a != parent || b != v);
+                    Arrays.sort(blockVertices, start, blockSize);
+                    blockOffsets[++blockCount] = blockSize;
+                }
+            }
+            componentSizes[componentCount++] = subtree[root];
+            remaining += subtree[root];
+        }
+
+        // En büyük iki bileşen: v'nin kendi bileşeni dışındaki en büyük bileşen için
+        int first = -1;
+        int second = -1;
+        for (int c = 0; c < componentCount; c++) {
+            if (first < 0 || componentSizes[c] > componentSizes[first]) {
+                second = first;
+                first = c;
+            } else if (second < 0 || componentSizes[c] > componentSizes[second]) {
+                second = c;
+            }
+        }
+
+        int[] componentsWithout = new int[n];
+        int[] largestWithout = new int[n];
+        int articulationPoints = 0;
+        for (int v = 0; v < n; v++) {
+            if (removed.get(v)) continue;
+            int c = component[v];
+            int otherLargest = c == first ? (second < 0 ? 0 : componentSizes[second])
+                    : componentSizes[first];
+            // Kökte tüm çocuklar kopar; diğer node'larda kopmayan kısım (parent tarafı) tek bir bileşen kalır
+            int rest = componentSizes[c] - 1 - separatedSum[v];
+            componentsWithout[v] = componentCount - 1 + separated[v] + (rest > 0 ? 1 : 0);
+            largestWithout[v] = Math.max(otherLargest, Math.max(separatedMax[v], rest));
+            if (componentsWithout[v] > componentCount) articulationPoints++;
+        }
+
+        return new BiconnectedComponents(removed, remaining, componentCount,
+                first < 0 ? 0 : componentSizes[first], Arrays.copyOf(blockVertices, blockSize), Arrays.copyOf(blockOffsets, blockCount + 1),
+                componentsWithout, largestWithout, articulationPoints);
+    }
+
+    /**
+     * Kalan graftaki bağlı bileşen sayısı
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Kalan graftaki en büyük bileşenin boyutu (m)
+     */
+    public int largestComponent() {
+        return largestComponent;
+    }
+
+    public int remaining() {
+        return remaining;
+    }
+
+    public int blockCount() {
+        return blockOffsets.length - 1;
+    }
+
+    /**
+     * b. block'un node'ları (artan sırada); izole node'lar hiçbir block'ta yer almaz
+     */
+    public int[] block(int b) {
+        return Arrays.copyOfRange(blockVertices, blockOffsets[b], blockOffsets[b + 1]);
+    }
+
+    public int articulationPointCount() {
+        return articulationPointCount;
+    }
+
+    /**
+     * v çıkarılınca bileşen sayısı artıyorsa articulation point'tir
+     */
+    public boolean isArticulationPoint(int v) {
+        return !removed.get(v) && componentsWithout[v] > componentCount;
+    }
+
+    /**
+     * Kalan graftan ayrıca v çıkarıldığında bileşen özeti (ω, m, kalan node sayısı)
+     */
+    public IntGraph.ComponentStats statsWithout(int v) {
+        return new IntGraph.ComponentStats(componentsWithout[v], largestWithout[v], remaining - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.codeinspector.backend.graph;
+
+/**
+ * Zaman bütçeli exact arama sonucu: bulunan en iyi çözüm ve ispatlanmış alt sınır.
+ * Arama bütçe içinde biterse alt sınır çözüm boyutuna eşittir (optimal).
+ *
+ * @param vertices   Çözümdeki node id'leri
+ * @param lowerBound Optimum değer için ispatlanmış alt sınır
+ */
+public record BoundedSolution(int[] vertices, int lowerBound) {
+
+    /**
+     * Arama sürerken ara sonuçları alır: kökte ispatlanan alt sınır ve o ana kadarki en iyi çözümün boyutu.
+     * Önce kök sınırları ve greedy çözümle, sonra her daha küçük çözüm bulunduğunda çağrılır.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void update(int lowerBound, int bestSize);
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    public boolean optimal() {
+        return vertices.length == lowerBound;
+    }
+}
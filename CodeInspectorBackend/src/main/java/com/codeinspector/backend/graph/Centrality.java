@@ -0,0 +1,190 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Brandes betweenness ve harmonic closeness centrality (yönsüz, ağırlıksız).
+ *
+ * Her kaynak s için tek bir BFS yapılır: BFS mesafelerinden harmonic closeness'e Σ 1/d(s, v) katkısı,
+ * en kısa yol sayıları (σ) üzerinden geriye doğru biriktirilen bağımlılıklardan (δ) betweenness katkısı gelir.
+ * Tüm kaynaklar O(V·E) sürer; büyük graflarda k rastgele pivot kaynak seçilip katkılar n / k ile ölçeklenir
+ * (Brandes–Pich örneklemesi). Normalize edilmiş her iki değer de [0, 1] aralığında olduğundan Hoeffding ve
+ * union bound ile k ≥ ln(2n / δ) / (2ε²) pivot, tüm node'larda ±ε hatayı 1 − δ olasılıkla sağlar.
+ *
+ * Kaynaklar sabit sayıda parçaya bölünüp fork/join ile paralel işlenir; her parça kendi toplamlarını tutar ve
+ * parçalar sabit sırayla birleştirilir, bu yüzden sonuç thread sayısından bağımsız ve deterministiktir.
+ * Pivotlar sabit tohumlu rastgele sayı üreteciyle seçilir.
+ */
+public final class Centrality {
+
+    private static final double FAILURE_PROBABILITY = 0.1; // δ: hata sınırının aşılma olasılığı
+    private static final int CHUNKS = 32;                  // Kaynakların bölündüğü sabit parça sayısı
+    private static final long PIVOT_SEED = 0x5DEECE66DL;
+
+    private Centrality() {
+    }
+
+    /**
+     * @param betweenness Normalize betweenness: bc(v) / ((n − 1)(n − 2) / 2)
+     * @param closeness   Normalize harmonic closeness: Σ_{u ≠ v} 1 / d(u, v) / (n − 1)
+     * @param pivots      Kullanılan kaynak sayısı (exact ise n)
+     * @param errorBound  Normalize değerlerdeki ek hata sınırı (exact ise 0)
+     */
+    public record Scores(double[] betweenness, double[] closeness, int pivots, boolean exact, double errorBound) {}
+
+    /**
+     * @param epsilon Normalize değerlerde izin verilen hata; gereken pivot sayısı n'yi aşarsa exact hesaplanır
+     *                (0 ya da negatif = her zaman exact)
+     */
+    public static Scores compute(IntGraph graph, double epsilon, ForkJoinPool pool) {
+        int n = graph.nodeCount();
+        int pivots = n;
+        if (epsilon > 0 && n > 0) {
+            double required = Math.ceil(Math.log(2.0 * n / FAILURE_PROBABILITY) / (2 * epsilon * epsilon));
+            pivots = (int) Math.min(n, required);
+        }
+        boolean exact = pivots >= n;
+        int[] sources = exact ? identity(n) : samplePivots(n, pivots);
+
+        int chunks = Math.max(1, Math.min(CHUNKS, sources.length));
+        double[][] sums = pool.invoke(new SourceTask(graph, sources, 0, chunks, chunks));
+
+        double[] betweenness = sums[0];
+        double[] closeness = sums[1];
+        boolean[] isPivot = new boolean[n];
+        for (int s : sources) isPivot[s] = true;
+        // Yorum: yönsüz grafta her çift iki yönden sayılır; ½ ile ham betweenness'e, ardından [0, 1]'e ölçeklenir
+        double pairs = (n - 1.0) * (n - 2.0);
+        for (int v = 0; v < n; v++) {
+            double scale = (double) n / sources.length;
+            betweenness[v] = pairs > 0 ? betweenness[v] * scale / pairs : 0.0;
+            // v kendi kaynağıysa katkı vermez; kalan pivotlar diğer n − 1 node'dan örneklenmiş sayılır
+            int others = sources.length - (isPivot[v] ? 1 : 0);
+            closeness[v] = n > 1 && others > 0 ? closeness[v] / others : 0.0;
+        }
+        return new Scores(betweenness, closeness, sources.length, exact, exact ? 0.0 : epsilon);
+    }
+
+    private static int[] identity(int n) {
+        int[] sources = new int[n];
+        for (int v = 0; v < n; v++) sources[v] = v;
+        return sources;
+    }
+
+    /**
+     * Tekrarsız k node (kısmi Fisher–Yates), artan sırada
+     */
+    private static int[] samplePivots(int n, int k) {
+        int[] permutation = identity(n);
+        SplittableRandom random = new SplittableRandom(PIVOT_SEED);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        int[] pivots = Arrays.copyOf(permutation, k);
+        Arrays.sort(pivots);
+        return pivots;
+    }
+
+    /**
+     * [fromChunk, toChunk) parçalarının kaynaklarını işler; sonuç {betweenness toplamı, closeness toplamı}.
+     */
+    private static final class SourceTask extends RecursiveTask<double[][]> {
+        private static final long serialVersionUID = 1L;
+        private final IntGraph graph;
+        private final int[] sources;
+        private final int fromChunk;
+        private final int toChunk;
+        private final int chunks;
+
+        SourceTask(IntGraph graph, int[] sources, int fromChunk, int toChunk, int chunks) {
+            this.graph = graph;
+            this.sources = sources;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected double[][] compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = (int) ((long) sources.length * fromChunk / chunks);
+                int to = (int) ((long) sources.length * toChunk / chunks);
+                return accumulate(from, to);
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            SourceTask left = new SourceTask(graph, sources, fromChunk, mid, chunks);
+            SourceTask right = new SourceTask(graph, sources, mid, toChunk, chunks);
+            invokeAll(left, right);
+            double[][] a = left.join();
+            double[][] b = right.join();
+            for (int v = 0; v < a[0].length; v++) {
+                a[0][v] += b[0][v];
+                a[1][v] += b[1][v];
+            }
+            return a;
+        }
+
+        private double[][] accumulate(int from, int to) {
+            int n = graph.nodeCount();
+            double[] betweenness = new double[n];
+            double[] closeness = new double[n];
+            int[] distance = new int[n];
+            double[] sigma = new double[n];
+            double[] delta = new double[n];
+            int[] order = new int[n]; // BFS sırası; tersten gezilerek bağımlılıklar biriktirilir
+            Arrays.fill(distance, -1);
+
+            for (int i = from; i < to; i++) {
+                int s = sources[i];
+                int head = 0;
+                int tail = 0;
+                order[tail++] = s;
+                distance[s] = 0;
+                sigma[s] = 1;
+                while (head < tail) {
+                    int v = order[head++];
+                    int next = distance[v] + 1;
+                    for (int e = graph.adjacencyStart(v); e < graph.adjacencyEnd(v); e++) {
+                        int w = graph.adjacencyAt(e);
+                        if (distance[w] < 0) {
+                            distance[w] = next;
+                            order[tail++] = w;
+                        }
+                        if (distance[w] == next) {
+                            sigma[w] += sigma[v];
+                        }
+                    }
+                }
+
+                for (int j = tail - 1; j > 0; j--) {
+                    int w = order[j];
+                    closeness[w] += 1.0 / distance[w];
+                    double coefficient = (1.0 + delta[w]) / sigma[w];
+                    int previous = distance[w] - 1;
+                    for (int e = graph.adjacencyStart(w); e < graph.adjacencyEnd(w); e++) {
+                        int v = graph.adjacencyAt(e);
+                        if (distance[v] == previous) {
+                            delta[v] += sigma[v] * coefficient;
+                        }
+                    }
+                    betweenness[w] += delta[w];
+                }
+
+                // Yorum: yalnızca bu BFS'in eriştiği node'lar sıfırlanır (O(erişilen) temizlik)
+                for (int j = 0; j < tail; j++) {
+                    int w = order[j];
+                    distance[w] = -1;
+                    sigma[w] = 0;
+                    delta[w] = 0;
+                }
+            }
+            return new double[][]{betweenness, closeness};
+        }
+    }
+}
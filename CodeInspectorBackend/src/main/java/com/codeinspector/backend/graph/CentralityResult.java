@@ -0,0 +1,27 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+
+/**
+ * Betweenness ve harmonic closeness centrality özeti: her iki ölçüte göre en yüksek N node.
+ * Değerler [0, 1] aralığına normalize edilmiştir.
+ *
+ * @param method          EXACT (tüm kaynaklar) / SAMPLED (pivot örneklemesi)
+ * @param pivots          BFS yapılan kaynak sayısı
+ * @param errorBound      SAMPLED modda normalize değerlerdeki ±hata sınırı (%90 güvenle); EXACT modda 0
+ * @param topBetweenness  Betweenness'e göre azalan sırada ("darboğaz" node'lar)
+ * @param topCloseness    Harmonic closeness'e göre azalan sırada
+ */
+public record CentralityResult(
+        String method,
+        int pivots,
+        double errorBound,
+        long elapsedMs,
+        List<Score> topBetweenness,
+        List<Score> topCloseness) {
+
+    /**
+     * @param rank Listedeki sırası (1'den başlar)
+     */
+    public record Score(String id, int rank, double betweenness, double closeness) {}
+}
@@ -2,6 +2,7 @@ package com.codeinspector.backend.graph;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +12,11 @@ import java.util.Map;
  */
 public class CodeGraphResult {
 
+    /**
+     * Tüm sınıfları bağlayan yapay kök vertex'in id'si; gerçek bir sınıf değildir
+     */
+    public static final String HUB_NODE_ID = "__ROOT__";
+
     public static class Vertex {
         private String id;
         private String label;
@@ -116,6 +122,8 @@ public class CodeGraphResult {
         private int dominationNumber = -1; // -1 = hesaplanmadı
         private int twoVertexCoverNumber = -1; // -1 = hesaplanmadı
         private List<String> twoVertexCoverNodes = new ArrayList<>(); // Seçilen node'lar
+        private int dominationLowerBound = -1; // İspatlanmış alt sınır, -1 = hesaplanmadı
+        private int twoVertexCoverLowerBound = -1; // İspatlanmış alt sınır, -1 = hesaplanmadı
         private Map<Integer, Integer> degreeDistribution = new HashMap<>(); // degree -> node count
         
         // Calculation method bilgileri (EXACT / HEURISTIC)
@@ -124,6 +132,17 @@ public class CodeGraphResult {
         private String integrityCalculationMethod; // EXACT / HEURISTIC
         private String toughnessCalculationMethod; // EXACT / HEURISTIC
         private String connectivityCalculationMethod; // EXACT / HEURISTIC
+        private String dominationCalculationMethod; // EXACT / HEURISTIC (bütçe bitti, alt sınıra ulaşılamadı)
+        private String twoVertexCoverCalculationMethod; // EXACT / HEURISTIC (bütçe bitti, alt sınıra ulaşılamadı)
+
+        // Parametre adı -> COMPLETED / TIMED_OUT / FAILED (süre bütçesini aşanlar -1 değeriyle döner)
+        private Map<String, String> parameterStatus = new LinkedHashMap<>();
+
+        // Parametre adı -> değer, ispatlanmış alt/üst sınır, yöntem ve süre (süresi dolanlar için o ana kadarki sınırlar)
+        private Map<String, ParameterEstimate> parameterEstimates = new LinkedHashMap<>();
+
+        // Betweenness / harmonic closeness'e göre en yüksek node'lar (null = hesaplanmadı)
+        private CentralityResult centrality;
 
         public int getTotalNodes() {
             return totalNodes;
@@ -221,6 +240,22 @@ public class CodeGraphResult {
             this.twoVertexCoverNodes = twoVertexCoverNodes;
         }
 
+        public int getDominationLowerBound() {
+            return dominationLowerBound;
+        }
+
+        public void setDominationLowerBound(int dominationLowerBound) {
+            this.dominationLowerBound = dominationLowerBound;
+        }
+
+        public int getTwoVertexCoverLowerBound() {
+            return twoVertexCoverLowerBound;
+        }
+
+        public void setTwoVertexCoverLowerBound(int twoVertexCoverLowerBound) {
+            this.twoVertexCoverLowerBound = twoVertexCoverLowerBound;
+        }
+
         public Map<Integer, Integer> getDegreeDistribution() {
             return degreeDistribution;
         }
@@ -268,11 +303,52 @@ public class CodeGraphResult {
         public void setConnectivityCalculationMethod(String connectivityCalculationMethod) {
             this.connectivityCalculationMethod = connectivityCalculationMethod;
         }
+
+        public String getDominationCalculationMethod() {
+            return dominationCalculationMethod;
+        }
+
+        public void setDominationCalculationMethod(String dominationCalculationMethod) {
+            this.dominationCalculationMethod = dominationCalculationMethod;
+        }
+
+        public String getTwoVertexCoverCalculationMethod() {
+            return twoVertexCoverCalculationMethod;
+        }
+
+        public void setTwoVertexCoverCalculationMethod(String twoVertexCoverCalculationMethod) {
+            this.twoVertexCoverCalculationMethod = twoVertexCoverCalculationMethod;
+        }
+
+        public Map<String, String> getParameterStatus() {
+            return parameterStatus;
+        }
+
+        public void setParameterStatus(Map<String, String> parameterStatus) {
+            this.parameterStatus = parameterStatus;
+        }
+
+        public Map<String, ParameterEstimate> getParameterEstimates() {
+            return parameterEstimates;
+        }
+
+        public void setParameterEstimates(Map<String, ParameterEstimate> parameterEstimates) {
+            this.parameterEstimates = parameterEstimates;
+        }
+
+        public CentralityResult getCentrality() {
+            return centrality;
+        }
+
+        public void setCentrality(CentralityResult centrality) {
+            this.centrality = centrality;
+        }
     }
 
     private List<Vertex> vertices;
     private List<Edge> edges;
     private GraphMetrics metrics;
+    private GraphLayoutResult layout; // Sunucuda hesaplanan koordinatlar ve küme seviyeleri (null = hesaplanmadı)
 
     public List<Vertex> getVertices() {
         return vertices;
@@ -297,6 +373,14 @@ public class CodeGraphResult {
     public void setMetrics(GraphMetrics metrics) {
         this.metrics = metrics;
     }
+
+    public GraphLayoutResult getLayout() {
+        return layout;
+    }
+
+    public void setLayout(GraphLayoutResult layout) {
+        this.layout = layout;
+    }
 }
 
 
@@ -0,0 +1,380 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Modularity tabanlı hiyerarşik topluluk tespiti (Louvain).
+ *
+ * Her seviyede iki adım vardır:
+ * 1. Yerel taşıma: her node, modularity kazancı ΔQ ∝ w(v, C) − k_v · Σ_C / 2m en büyük olan komşu topluluğa taşınır.
+ *    Paralellik için node'lar önce açgözlü boyanır; aynı renkteki node'lar komşu olmadığından kararlarını
+ *    birbirini beklemeden fork/join ile paralel verir, taşımalar renk sınıfı bitince uygulanır.
+ * 2. Bölme ve birleştirme: bağlantısız topluluklar bağlı bileşenlerine ayrılır (modularity'yi düşürmez); her
+ *    topluluk bir süper node olur, aralarındaki edge ağırlıkları toplanır, iç edge'ler self-loop ağırlığına eklenir.
+ * Topluluk sayısı değişmeyene kadar süper node grafı üzerinde tekrarlanır.
+ *
+ * Leiden'in refinement adımı (topluluk içinde iyi bağlı alt kümelerin yeniden kurulması) uygulanmamıştır;
+ * yalnızca bileşenlere bölme yapılır. Bu, her seviyede toplulukların bağlı olmasını garanti eder (süper node'lar
+ * kendi içinde bağlıdır) ama Leiden'in daha güçlü iyi-bağlılık garantisini vermez.
+ *
+ * Graf ağırlıklı CSR dizilerinde tutulur; kararlar sabit sırada ve eşitlikte küçük topluluk id'si seçilerek
+ * verildiği için sonuç thread sayısından bağımsız ve deterministiktir.
+ */
+public final class CommunityDetection {
+
+    private static final int MAX_LEVELS = 10;
+    private static final int MAX_SWEEPS = 32;           // Seviye başına en fazla yerel taşıma turu
+    private static final double MIN_IMPROVEMENT = 1e-6; // Bir turun modularity artışı bunun altındaysa durulur
+    private static final int PARALLEL_THRESHOLD = 512;
+
+    private CommunityDetection() {
+    }
+
+    /**
+     * Topluluk hiyerarşisini hesaplar. Seviye 0 en ince bölümlemedir; her seviye bir öncekinin
+     * topluluklarını birleştirir. Edge içermeyen grafta her node kendi topluluğudur (tek seviye).
+     */
+    public static CommunityHierarchy detect(IntGraph graph, ForkJoinPool pool) {
+        int n = graph.nodeCount();
+        WeightedGraph current = WeightedGraph.of(graph);
+        int[] membership = new int[n]; // Orijinal node → mevcut seviyenin süper node'u
+        for (int v = 0; v < n; v++) membership[v] = v;
+
+        List<int[]> assignments = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        List<Double> modularities = new ArrayList<>();
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            int[] community = localMoving(current, pool);
+            int count = splitDisconnected(current, community);
+            if (level > 0 && count == current.n) {
+                break; // Hiçbir süper node birleşmedi
+            }
+            for (int v = 0; v < n; v++) {
+                membership[v] = community[membership[v]];
+            }
+            assignments.add(membership.clone());
+            counts.add(count);
+            modularities.add(modularity(current, community, count));
+            if (count == current.n || count <= 1) {
+                break;
+            }
+            current = aggregate(current, community, count, pool);
+        }
+
+        int[] communityCounts = counts.stream().mapToInt(Integer::intValue).toArray();
+        double[] modularity = modularities.stream().mapToDouble(Double::doubleValue).toArray();
+        return new CommunityHierarchy(assignments.toArray(new int[0][]), communityCounts, modularity);
+    }
+
+    /**
+     * Renk sınıfları sırayla, her sınıfın içi paralel işlenerek node'ları en kazançlı komşu topluluğa taşır.
+     *
+     * @return node → topluluk (topluluk id'leri node id'leri arasından)
+     */
+    private static int[] localMoving(WeightedGraph g, ForkJoinPool pool) {
+        int n = g.n;
+        int[] community = new int[n];
+        double[] total = new double[n]; // Σ_C: topluluktaki node'ların ağırlıklı derece toplamı
+        for (int v = 0; v < n; v++) {
+            community[v] = v;
+            total[v] = g.strength[v];
+        }
+        if (g.totalWeight == 0) {
+            return community;
+        }
+
+        int[][] colorClasses = colorClasses(g);
+        int[] target = new int[n];
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[n]);
+        ThreadLocal<int[]> touchedScratch = ThreadLocal.withInitial(() -> new int[n]);
+        double quality = modularity(g, community, n);
+        int[] best = community.clone();
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            int moved = 0;
+            for (int[] members : colorClasses) {
+                // Yorum: aynı renkteki node'lar komşu değil; birinin kararı diğerinin w(v, C) değerini değiştirmez
+                pool.invoke(new RangeTask(0, members.length, i -> {
+                    int v = members[i];
+                    target[v] = bestCommunity(g, v, community, total, scratch.get(), touchedScratch.get());
+                }));
+                for (int v : members) {
+                    int from = community[v];
+                    int to = target[v];
+                    if (from != to) {
+                        total[from] -= g.strength[v];
+                        total[to] += g.strength[v];
+                        community[v] = to;
+                        moved++;
+                    }
+                }
+            }
+            // Yorum: aynı renkteki komşu olmayan node'lar aynı topluluğa birlikte girince toplam kazanç
+            // tahminden düşük olabilir; tur modularity'yi artırmadıysa önceki atama korunur
+            double next = modularity(g, community, n);
+            boolean improved = next - quality >= MIN_IMPROVEMENT;
+            if (next > quality) {
+                quality = next;
+                System.arraycopy(community, 0, best, 0, n);
+            }
+            if (moved == 0 || !improved) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * v için en büyük modularity kazancını veren topluluk; hiçbiri mevcut topluluktan iyi değilse mevcut topluluk.
+     */
+    private static int bestCommunity(WeightedGraph g, int v, int[] community, double[] total,
+                                     double[] weightTo, int[] touched) {
+        int own = community[v];
+        int touchedCount = 0;
+        for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+            int c = community[g.targets[i]];
+            if (weightTo[c] == 0) touched[touchedCount++] = c;
+            weightTo[c] += g.weights[i];
+        }
+
+        double kv = g.strength[v];
+        double scale = kv / g.totalWeight;
+        // Yorum: v kendi topluluğundan çıkarılmış sayılır; kalma seçeneği de aynı formülle karşılaştırılır
+        double best = weightTo[own] - (total[own] - kv) * scale;
+        int bestCommunity = own;
+        for (int t = 0; t < touchedCount; t++) {
+            int c = touched[t];
+            if (c != own) {
+                double gain = weightTo[c] - total[c] * scale;
+                if (gain > best + 1e-12 || (Math.abs(gain - best) <= 1e-12 && c < bestCommunity && bestCommunity != own)) {
+                    best = gain;
+                    bestCommunity = c;
+                }
+            }
+            weightTo[c] = 0;
+        }
+        weightTo[own] = 0;
+        return bestCommunity;
+    }
+
+    /**
+     * Açgözlü boyama (node sırasıyla, en küçük boş renk); renk sınıflarını döndürür.
+     */
+    private static int[][] colorClasses(WeightedGraph g) {
+        int n = g.n;
+        int[] color = new int[n];
+        int[] forbidden = new int[n + 1];
+        Arrays.fill(forbidden, -1);
+        int colors = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+                int u = g.targets[i];
+                if (u < v) forbidden[color[u]] = v;
+            }
+            int c = 0;
+            while (forbidden[c] == v) c++;
+            color[v] = c;
+            colors = Math.max(colors, c + 1);
+        }
+        int[] sizes = new int[colors];
+        for (int v = 0; v < n; v++) sizes[color[v]]++;
+        int[][] classes = new int[colors][];
+        for (int c = 0; c < colors; c++) classes[c] = new int[sizes[c]];
+        Arrays.fill(sizes, 0);
+        for (int v = 0; v < n; v++) classes[color[v]][sizes[color[v]]++] = v;
+        return classes;
+    }
+
+    /**
+     * Toplulukları bağlı bileşenlerine ayırır ve 0..count-1 arasında yeniden numaralar
+     * (numara, bileşenin en küçük node'unun sırasına göredir).
+     *
+     * @return Topluluk sayısı
+     */
+    private static int splitDisconnected(WeightedGraph g, int[] community) {
+        int n = g.n;
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        int[] queue = new int[n];
+        int count = 0;
+        for (int root = 0; root < n; root++) {
+            if (component[root] >= 0) continue;
+            int c = count++;
+            component[root] = c;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+                    int u = g.targets[i];
+                    if (component[u] < 0 && community[u] == community[root]) {
+                        component[u] = c;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+        System.arraycopy(component, 0, community, 0, n);
+        return count;
+    }
+
+    /**
+     * Q = Σ_C [ in_C / 2m − (Σ_C / 2m)² ]
+     */
+    private static double modularity(WeightedGraph g, int[] community, int count) {
+        if (g.totalWeight == 0) {
+            return 0.0;
+        }
+        double[] inside = new double[count];
+        double[] total = new double[count];
+        for (int v = 0; v < g.n; v++) {
+            int c = community[v];
+            total[c] += g.strength[v];
+            inside[c] += g.loops[v];
+            for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+                if (community[g.targets[i]] == c) inside[c] += g.weights[i];
+            }
+        }
+        double q = 0;
+        for (int c = 0; c < count; c++) {
+            double share = total[c] / g.totalWeight;
+            q += inside[c] / g.totalWeight - share * share;
+        }
+        return q;
+    }
+
+    /**
+     * Her topluluğu tek bir süper node'a indirir; topluluklar arası ağırlıklar paralel toplanır.
+     */
+    private static WeightedGraph aggregate(WeightedGraph g, int[] community, int count, ForkJoinPool pool) {
+        // Yorum: topluluk üyeleri CSR biçiminde (members[memberOffsets[c] .. memberOffsets[c + 1]))
+        int[] memberOffsets = new int[count + 1];
+        for (int v = 0; v < g.n; v++) memberOffsets[community[v] + 1]++;
+        for (int c = 0; c < count; c++) memberOffsets[c + 1] += memberOffsets[c];
+        int[] members = new int[g.n];
+        int[] cursor = Arrays.copyOf(memberOffsets, count);
+        for (int v = 0; v < g.n; v++) members[cursor[community[v]]++] = v;
+
+        int[][] targets = new int[count][];
+        double[][] weights = new double[count][];
+        double[] loops = new double[count];
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[count]);
+        ThreadLocal<int[]> touchedScratch = ThreadLocal.withInitial(() -> new int[count]);
+        pool.invoke(new RangeTask(0, count, c -> {
+            double[] weightTo = scratch.get();
+            int[] touched = touchedScratch.get();
+            int touchedCount = 0;
+            double loop = 0;
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int v = members[m];
+                loop += g.loops[v];
+                for (int i = g.offsets[v]; i < g.offsets[v + 1]; i++) {
+                    int d = community[g.targets[i]];
+                    if (d == c) {
+                        loop += g.weights[i]; // İç edge her iki ucundan sayılır (derece toplamıyla tutarlı)
+                    } else {
+                        if (weightTo[d] == 0) touched[touchedCount++] = d;
+                        weightTo[d] += g.weights[i];
+                    }
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount);
+            int[] t = Arrays.copyOf(touched, touchedCount);
+            double[] w = new double[touchedCount];
+            for (int i = 0; i < touchedCount; i++) {
+                w[i] = weightTo[t[i]];
+                weightTo[t[i]] = 0;
+            }
+            targets[c] = t;
+            weights[c] = w;
+            loops[c] = loop;
+        }));
+
+        int[] offsets = new int[count + 1];
+        for (int c = 0; c < count; c++) offsets[c + 1] = offsets[c] + targets[c].length;
+        int[] flatTargets = new int[offsets[count]];
+        double[] flatWeights = new double[offsets[count]];
+        for (int c = 0; c < count; c++) {
+            System.arraycopy(targets[c], 0, flatTargets, offsets[c], targets[c].length);
+            System.arraycopy(weights[c], 0, flatWeights, offsets[c], weights[c].length);
+        }
+        return new WeightedGraph(count, offsets, flatTargets, flatWeights, loops);
+    }
+
+    /**
+     * Ağırlıklı, yönsüz CSR graf; her edge iki ucunda da bulunur. loops[v] süper node'un iç ağırlığıdır
+     * (iç edge'ler iki kez sayılır), böylece strength[v] = komşu ağırlıkları + loops[v] olur.
+     */
+    private static final class WeightedGraph {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] weights;
+        final double[] loops;
+        final double[] strength;
+        final double totalWeight; // 2m
+
+        WeightedGraph(int n, int[] offsets, int[] targets, double[] weights, double[] loops) {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.loops = loops;
+            this.strength = new double[n];
+            double sum = 0;
+            for (int v = 0; v < n; v++) {
+                double s = loops[v];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) s += weights[i];
+                strength[v] = s;
+                sum += s;
+            }
+            this.totalWeight = sum;
+        }
+
+        static WeightedGraph of(IntGraph graph) {
+            int n = graph.nodeCount();
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[2 * graph.edgeCount()];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + graph.degree(v);
+                for (int i = graph.adjacencyStart(v), j = offsets[v]; i < graph.adjacencyEnd(v); i++, j++) {
+                    targets[j] = graph.adjacencyAt(i);
+                }
+            }
+            double[] weights = new double[targets.length];
+            Arrays.fill(weights, 1.0);
+            return new WeightedGraph(n, offsets, targets, weights, new double[n]);
+        }
+    }
+
+    /**
+     * [from, to) aralığını eşiğe kadar ikiye bölerek paralel işler.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) body.accept(i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+
+/**
+ * Topluluk hiyerarşisinin bir seviyesinde yoğunlaştırılmış graf: her node bir topluluk (süper node),
+ * edge ağırlığı topluluklar arası edge sayısıdır. Metrikler bu küçük graf üzerinde hesaplanır.
+ *
+ * @param level       Gösterilen seviye (0 = en ince)
+ * @param levels      Tüm seviyelerin özeti, incelden kabaya
+ * @param communities Topluluklar (id sırasıyla)
+ * @param edges       Topluluklar arası ağırlıklı edge'ler
+ * @param metrics     Yoğunlaştırılmış grafın metrikleri
+ */
+public record CommunityGraphResult(
+        int level,
+        List<LevelSummary> levels,
+        List<Community> communities,
+        List<CommunityEdge> edges,
+        CodeGraphResult.GraphMetrics metrics) {
+
+    public record LevelSummary(int communityCount, double modularity) {}
+
+    /**
+     * @param label         En yüksek dereceli üyenin etiketi
+     * @param internalEdges Topluluk içi edge sayısı
+     */
+    public record Community(int id, String label, int size, int classCount, int methodCount, int internalEdges) {}
+
+    public record CommunityEdge(int source, int target, int weight) {}
+}
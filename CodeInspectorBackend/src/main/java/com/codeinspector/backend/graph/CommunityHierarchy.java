@@ -0,0 +1,52 @@
+package com.codeinspector.backend.graph;
+
+/**
+ * CommunityDetection'ın ürettiği topluluk hiyerarşisi. Seviye 0 en ince bölümlemedir, son seviye en kabası;
+ * her seviyenin toplulukları bir öncekinin topluluklarının birleşimidir.
+ * Oluşturulduktan sonra değişmez; birden fazla thread tarafından okunabilir.
+ */
+public final class CommunityHierarchy {
+
+    private final int[][] assignments;   // assignments[level][v] = v'nin o seviyedeki topluluğu
+    private final int[] communityCounts;
+    private final double[] modularity;
+
+    CommunityHierarchy(int[][] assignments, int[] communityCounts, double[] modularity) {
+        this.assignments = assignments;
+        this.communityCounts = communityCounts;
+        this.modularity = modularity;
+    }
+
+    public int levelCount() {
+        return assignments.length;
+    }
+
+    public int communityCount(int level) {
+        return communityCounts[level];
+    }
+
+    public double modularity(int level) {
+        return modularity[level];
+    }
+
+    public int communityOf(int level, int v) {
+        return assignments[level][v];
+    }
+
+    /**
+     * Topluluğun node'ları (artan sırada)
+     */
+    public int[] members(int level, int community) {
+        int[] assignment = assignments[level];
+        int count = 0;
+        for (int c : assignment) {
+            if (c == community) count++;
+        }
+        int[] members = new int[count];
+        int k = 0;
+        for (int v = 0; v < assignment.length; v++) {
+            if (assignment[v] == community) members[k++] = v;
+        }
+        return members;
+    }
+}
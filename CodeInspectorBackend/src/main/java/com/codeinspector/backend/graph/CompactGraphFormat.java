@@ -0,0 +1,428 @@
+package com.codeinspector.backend.graph;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CodeGraphResult için sıkıştırılmış ikili format. Bir versiyonun grafı bu formatta diske yazılır ve
+ * memory-mapped buffer'dan geri okunur; JSON'a göre hem küçük hem de parse edilmesi çok daha hızlıdır.
+ *
+ * Dosya düzeni (little-endian, tamsayılar LEB128 varint):
+ * <pre>
+ *   magic "CIGR" | format versiyonu
+ *   string tablosu : sayı, her string için uzunluk + UTF-8 (önce vertex id'leri, sonra diğerleri)
+ *   vertex'ler     : sayı, id / label / tip string numaraları, metrics map'i var mı bayrağı
+ *   vertex metrikleri: anahtar başına bir kolon — anahtar, değer tipi (LONG / DOUBLE / STRING / BOOLEAN),
+ *                    değeri olan vertex'lerin bit maskesi ve yalnızca bu vertex'lerin değerleri
+ *   edge'ler       : (source, target, tip) sırasına göre sıralı; source farkı, aynı source'ta target farkı,
+ *                    aynı olmayanlarda target'ın kendisi, ardından ayrı bir kolonda tip numaraları
+ *   graf metrikleri: metricsWriter'ın ürettiği baytlar (uzunluk + 1, 0 = null)
+ *   yerleşim       : koordinat kolonları ve küme seviyeleri (yoksa 0)
+ * </pre>
+ * String numaraları null'u 0 ile göstermek için bir fazlasıyla yazılır. Edge sırası korunmaz.
+ */
+public final class CompactGraphFormat {
+
+    private static final int MAGIC = 0x52474943; // "CIGR"
+    // Format değiştiğinde artırılır; eski dosyalar okunmaz, graf yeniden hesaplanıp yazılır
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte STRING = 3;
+    private static final byte BOOLEAN = 4;
+
+    private CompactGraphFormat() {
+    }
+
+    /**
+     * @param metricsWriter Graf metriklerini baytlara çevirir (ör. JSON)
+     * @throws IllegalArgumentException Vertex metriklerinde desteklenmeyen ya da aynı anahtarda farklı tipte değer
+     */
+    public static byte[] write(CodeGraphResult graph, Function<CodeGraphResult.GraphMetrics, byte[]> metricsWriter) {
+        List<CodeGraphResult.Vertex> vertices = graph.getVertices() != null ? graph.getVertices() : List.of();
+        List<CodeGraphResult.Edge> edges = graph.getEdges() != null ? graph.getEdges() : List.of();
+
+        StringTable strings = new StringTable();
+        for (CodeGraphResult.Vertex vertex : vertices) {
+            strings.ref(vertex.getId());
+        }
+
+        // Yorum: metrik anahtarı -> kolon; kolonlar ilk görülme sırasıyla yazılır
+        Map<String, MetricColumn> columns = new LinkedHashMap<>();
+        for (int v = 0; v < vertices.size(); v++) {
+            Map<String, Object> metrics = vertices.get(v).getMetrics();
+            if (metrics == null) continue;
+            for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+                if (entry.getValue() == null) continue;
+                columns.computeIfAbsent(entry.getKey(), k -> new MetricColumn(kindOf(entry.getValue())))
+                        .add(entry.getKey(), v, entry.getValue());
+            }
+        }
+
+        Output out = new Output();
+        out.writeVarint(vertices.size());
+        for (CodeGraphResult.Vertex vertex : vertices) {
+            out.writeVarint(strings.ref(vertex.getId()));
+            out.writeVarint(strings.ref(vertex.getLabel()));
+            out.writeVarint(strings.ref(vertex.getType()));
+            out.write(vertex.getMetrics() != null ? 1 : 0);
+        }
+
+        out.writeVarint(columns.size());
+        for (Map.Entry<String, MetricColumn> entry : columns.entrySet()) {
+            MetricColumn column = entry.getValue();
+            out.writeVarint(strings.ref(entry.getKey()));
+            out.write(column.kind);
+            long[] present = new long[(vertices.size() + 63) >>> 6];
+            for (int v : column.vertices) present[v >>> 6] |= 1L << v;
+            for (long word : present) out.writeLong(word);
+            for (Object value : column.values) {
+                switch (column.kind) {
+                    case LONG -> out.writeVarlong(zigzag(((Number) value).longValue()));
+                    case DOUBLE -> out.writeDouble(((Number) value).doubleValue());
+                    case STRING -> out.writeVarint(strings.ref((String) value));
+                    default -> out.write((Boolean) value ? 1 : 0);
+                }
+            }
+        }
+
+        writeEdges(out, edges, strings);
+
+        byte[] metrics = graph.getMetrics() != null ? metricsWriter.apply(graph.getMetrics()) : null;
+        out.writeVarint(metrics != null ? metrics.length + 1 : 0);
+        if (metrics != null) out.write(metrics, 0, metrics.length);
+
+        writeLayout(out, graph.getLayout(), strings);
+
+        Output file = new Output();
+        file.writeInt(MAGIC);
+        file.writeVarint(FORMAT_VERSION);
+        file.writeVarint(strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            file.writeVarint(bytes.length);
+            file.write(bytes, 0, bytes.length);
+        }
+        byte[] body = out.toByteArray();
+        file.write(body, 0, body.length);
+        return file.toByteArray();
+    }
+
+    /**
+     * @param metricsReader write'ta kullanılan metricsWriter'ın tersi
+     * @throws IllegalArgumentException Dosya bu formatta değil ya da format versiyonu farklı
+     */
+    public static CodeGraphResult read(ByteBuffer buffer, Function<byte[], CodeGraphResult.GraphMetrics> metricsReader) {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < 4 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a compact graph file");
+        }
+        int version = readVarint(in);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact graph format version " + version);
+        }
+
+        String[] strings = new String[readVarint(in)];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readVarint(in);
+            if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            in.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        int n = readVarint(in);
+        String[] ids = new String[n];
+        String[] labels = new String[n];
+        String[] types = new String[n];
+        // Yorum: metrics map'i olmayan vertex'lerde null kalır
+        List<Map<String, Object>> metrics = new ArrayList<>(Collections.nCopies(n, null));
+        for (int v = 0; v < n; v++) {
+            ids[v] = string(strings, readVarint(in));
+            labels[v] = string(strings, readVarint(in));
+            types[v] = string(strings, readVarint(in));
+            if (in.get() != 0) metrics.set(v, new HashMap<>());
+        }
+
+        int columnCount = readVarint(in);
+        long[] present = new long[(n + 63) >>> 6];
+        for (int c = 0; c < columnCount; c++) {
+            String key = string(strings, readVarint(in));
+            byte kind = in.get();
+            for (int i = 0; i < present.length; i++) present[i] = in.getLong();
+            for (int i = 0; i < present.length; i++) {
+                for (long word = present[i]; word != 0; word &= word - 1) {
+                    int v = (i << 6) + Long.numberOfTrailingZeros(word);
+                    Object value = switch (kind) {
+                        case LONG -> {
+                            long x = unzigzag(readVarlong(in));
+                            yield x == (int) x ? (Object) (int) x : (Object) x;
+                        }
+                        case DOUBLE -> in.getDouble();
+                        case STRING -> string(strings, readVarint(in));
+                        case BOOLEAN -> in.get() != 0;
+                        default -> throw new IllegalArgumentException("Unknown metric column type " + kind);
+                    };
+                    metrics.get(v).put(key, value);
+                }
+            }
+        }
+
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            vertices.add(new CodeGraphResult.Vertex(ids[v], labels[v], types[v], metrics.get(v)));
+        }
+
+        CodeGraphResult result = new CodeGraphResult();
+        result.setVertices(vertices);
+        result.setEdges(readEdges(in, strings));
+        int metricsLength = readVarint(in);
+        if (metricsLength > 0) {
+            byte[] bytes = new byte[metricsLength - 1];
+            in.get(bytes);
+            result.setMetrics(metricsReader.apply(bytes));
+        }
+        result.setLayout(readLayout(in, strings));
+        return result;
+    }
+
+    private static void writeEdges(Output out, List<CodeGraphResult.Edge> edges, StringTable strings) {
+        int m = edges.size();
+        long[] keys = new long[m]; // (source << 32 | target); tip, sıralamayı bozmamak için ayrı tutulur
+        int[] typeRefs = new int[m];
+        Integer[] order = new Integer[m];
+        for (int e = 0; e < m; e++) {
+            CodeGraphResult.Edge edge = edges.get(e);
+            keys[e] = ((long) strings.ref(edge.getSource()) << 32) | strings.ref(edge.getTarget());
+            typeRefs[e] = strings.ref(edge.getType());
+            order[e] = e;
+        }
+        Arrays.sort(order, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b])
+                : Integer.compare(typeRefs[a], typeRefs[b]));
+
+        out.writeVarint(m);
+        long previousSource = 0;
+        long previousTarget = 0;
+        for (int i = 0; i < m; i++) {
+            long source = keys[order[i]] >>> 32;
+            long target = keys[order[i]] & 0xffffffffL;
+            out.writeVarlong(source - previousSource);
+            out.writeVarlong(source == previousSource && i > 0 ? target - previousTarget : target);
+            previousSource = source;
+            previousTarget = target;
+        }
+        for (int i = 0; i < m; i++) {
+            out.writeVarint(typeRefs[order[i]]);
+        }
+    }
+
+    private static List<CodeGraphResult.Edge> readEdges(ByteBuffer in, String[] strings) {
+        int m = readVarint(in);
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int source = 0;
+        int target = 0;
+        for (int i = 0; i < m; i++) {
+            int sourceDelta = readVarint(in);
+            int targetValue = readVarint(in);
+            source += sourceDelta;
+            target = sourceDelta == 0 && i > 0 ? target + targetValue : targetValue;
+            sources[i] = source;
+            targets[i] = target;
+        }
+        List<CodeGraphResult.Edge> edges = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            edges.add(new CodeGraphResult.Edge(string(strings, sources[i]), string(strings, targets[i]),
+                    string(strings, readVarint(in))));
+        }
+        return edges;
+    }
+
+    private static void writeLayout(Output out, GraphLayoutResult layout, StringTable strings) {
+        if (layout == null) {
+            out.writeVarint(0);
+            return;
+        }
+        out.writeVarint(layout.positions().size() + 1);
+        for (GraphLayoutResult.Position position : layout.positions()) {
+            out.writeVarint(strings.ref(position.id()));
+        }
+        for (GraphLayoutResult.Position position : layout.positions()) {
+            out.writeDouble(position.x());
+            out.writeDouble(position.y());
+        }
+        out.writeVarint(layout.levels().size());
+        for (GraphLayoutResult.Level level : layout.levels()) {
+            out.writeDouble(level.cellSize());
+            out.writeVarint(level.assignment().length);
+            for (int cluster : level.assignment()) out.writeVarint(cluster);
+            out.writeVarint(level.clusters().size());
+            for (GraphLayoutResult.Cluster cluster : level.clusters()) {
+                out.writeVarint(cluster.id());
+                out.writeDouble(cluster.x());
+                out.writeDouble(cluster.y());
+                out.writeVarint(cluster.size());
+                out.writeVarint(strings.ref(cluster.label()));
+            }
+            out.writeVarint(level.edges().size());
+            for (GraphLayoutResult.ClusterEdge edge : level.edges()) {
+                out.writeVarint(edge.source());
+                out.writeVarint(edge.target());
+                out.writeVarint(edge.weight());
+            }
+        }
+        out.writeVarint(layout.iterations());
+        out.writeVarlong(layout.elapsedMs());
+    }
+
+    private static GraphLayoutResult readLayout(ByteBuffer in, String[] strings) {
+        int count = readVarint(in) - 1;
+        if (count < 0) {
+            return null;
+        }
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) ids[i] = string(strings, readVarint(in));
+        List<GraphLayoutResult.Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(new GraphLayoutResult.Position(ids[i], in.getDouble(), in.getDouble()));
+        }
+        int levelCount = readVarint(in);
+        List<GraphLayoutResult.Level> levels = new ArrayList<>(levelCount);
+        for (int l = 0; l < levelCount; l++) {
+            double cellSize = in.getDouble();
+            int[] assignment = new int[readVarint(in)];
+            for (int i = 0; i < assignment.length; i++) assignment[i] = readVarint(in);
+            int clusterCount = readVarint(in);
+            List<GraphLayoutResult.Cluster> clusters = new ArrayList<>(clusterCount);
+            for (int c = 0; c < clusterCount; c++) {
+                clusters.add(new GraphLayoutResult.Cluster(readVarint(in), in.getDouble(), in.getDouble(),
+                        readVarint(in), string(strings, readVarint(in))));
+            }
+            int edgeCount = readVarint(in);
+            List<GraphLayoutResult.ClusterEdge> edges = new ArrayList<>(edgeCount);
+            for (int e = 0; e < edgeCount; e++) {
+                edges.add(new GraphLayoutResult.ClusterEdge(readVarint(in), readVarint(in), readVarint(in)));
+            }
+            levels.add(new GraphLayoutResult.Level(cellSize, assignment, clusters, edges));
+        }
+        int iterations = readVarint(in);
+        long elapsedMs = readVarlong(in);
+        return new GraphLayoutResult(positions, levels, iterations, elapsedMs);
+    }
+
+    private static byte kindOf(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return LONG;
+        }
+        if (value instanceof Double || value instanceof Float) return DOUBLE;
+        if (value instanceof String) return STRING;
+        if (value instanceof Boolean) return BOOLEAN;
+        throw new IllegalArgumentException("Unsupported vertex metric value: " + value.getClass().getSimpleName());
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        return (int) readVarlong(in);
+    }
+
+    private static long readVarlong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    /**
+     * Tekilleştirilmiş string tablosu; ref() null için 0, diğerleri için tablo sırası + 1 döndürür.
+     */
+    private static final class StringTable {
+        final List<String> values = new ArrayList<>();
+        final Map<String, Integer> refs = new HashMap<>();
+
+        int ref(String value) {
+            if (value == null) return 0;
+            Integer ref = refs.get(value);
+            if (ref == null) {
+                values.add(value);
+                ref = values.size();
+                refs.put(value, ref);
+            }
+            return ref;
+        }
+    }
+
+    /**
+     * Tek bir vertex metriği anahtarının değerleri (vertex sırasıyla)
+     */
+    private static final class MetricColumn {
+        final byte kind;
+        final List<Integer> vertices = new ArrayList<>();
+        final List<Object> values = new ArrayList<>();
+
+        MetricColumn(byte kind) {
+            this.kind = kind;
+        }
+
+        void add(String key, int vertex, Object value) {
+            if (kindOf(value) != kind) {
+                throw new IllegalArgumentException("Vertex metric " + key + " has values of different types");
+            }
+            vertices.add(vertex);
+            values.add(value);
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+        Output() {
+            super(4096);
+        }
+
+        void writeVarint(int value) {
+            writeVarlong(value & 0xffffffffL);
+        }
+
+        void writeVarlong(long value) {
+            while ((value & ~0x7fL) != 0) {
+                write((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeInt(int value) {
+            for (int i = 0; i < 4; i++) write(value >>> (8 * i));
+        }
+
+        void writeLong(long value) {
+            for (int i = 0; i < 8; i++) write((int) (value >>> (8 * i)));
+        }
+
+        void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Minimum dominating set için kernelization + branch-and-bound çözücü.
+ *
+ * Problem set cover olarak ele alınır: her node kapsanması gereken bir eleman, her N[v] bir küme.
+ * Önce standart indirgeme kuralları uygulanır:
+ * - N[u] ⊆ N[v] ise u aday olmaktan çıkar (v en az onun kadar iyi). Yaprakların komşusu ve
+ *   izole node'lar bu kuralla tek adaylı kalır ve arama başında zorunlu seçilir.
+ * - Bir elemanın aday kümeleri başka bir elemanınkini kapsıyorsa o eleman gereksizdir
+ *   (diğeri kapsandığında o da kapsanır).
+ *
+ * Arama, en az adayı kalmış kapsanmamış eleman üzerinde dallanır; i. dalda o elemanın i. adayı seçilir,
+ * önceki adaylar dışlanır. Alt sınır, aday kümeleri ayrık olan kapsanmamış elemanların sayısıdır
+ * (her biri ayrı bir seçim gerektirir). Zaman bütçesi bitince o ana kadarki en iyi çözüm döner.
+ */
+public final class DominatingSetSolver {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final IntGraph graph;
+    private final int n;
+
+    // Set cover örneği (node id'leri üzerinden)
+    private final int[][] setElements;   // aday s -> kapsadığı gerekli elemanlar
+    private final int[][] elementSets;   // gerekli e -> onu kapsayan adaylar
+    private final int[] elementOrder;    // gerekli elemanlar, aday sayısına göre artan
+
+    // Arama durumu
+    private final int[] coverCount;
+    private final int[] available;
+    private final boolean[] excluded;
+    private final int[] stamp;
+    private int stampValue = 0;
+    private int uncovered;
+    private final int[] chosen;
+    private int chosenCount = 0;
+
+    private int[] best;
+    private long deadline;
+    private BooleanSupplier cancelled;
+    private BoundedSolution.Listener listener;
+    private int rootLowerBound;
+    private long nodes = 0;
+    private boolean timedOut = false;
+
+    private DominatingSetSolver(IntGraph graph) {
+        this.graph = graph;
+        this.n = graph.nodeCount();
+
+        boolean[] candidate = reduceCandidates();
+        boolean[] required = reduceElements(candidate);
+
+        int[][] sets = new int[n][];
+        int[][] elems = new int[n][];
+        int[] buffer = new int[n];
+        int requiredCount = 0;
+        for (int v = 0; v < n; v++) {
+            sets[v] = candidate[v] ? closedNeighbourhood(v, required, buffer) : new int[0];
+            elems[v] = required[v] ? closedNeighbourhood(v, candidate, buffer) : new int[0];
+            if (required[v]) requiredCount++;
+        }
+        this.setElements = sets;
+        this.elementSets = elems;
+
+        Integer[] order = new Integer[requiredCount];
+        for (int v = 0, i = 0; v < n; v++) {
+            if (required[v]) order[i++] = v;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(elems[a].length, elems[b].length));
+        this.elementOrder = new int[requiredCount];
+        for (int i = 0; i < requiredCount; i++) elementOrder[i] = order[i];
+
+        this.coverCount = new int[n];
+        this.available = new int[n];
+        for (int v = 0; v < n; v++) available[v] = elems[v].length;
+        this.excluded = new boolean[n];
+        this.stamp = new int[n];
+        this.uncovered = requiredCount;
+        this.chosen = new int[n];
+    }
+
+    /**
+     * @param timeBudgetMillis Branch-and-bound için süre; 0 ise yalnızca greedy çözüm ve alt sınır döner
+     */
+    public static BoundedSolution solve(IntGraph graph, long timeBudgetMillis) {
+        return solve(graph, timeBudgetMillis, () -> false);
+    }
+
+    /**
+     * solve; cancelled true dönerse branch-and-bound süre bitmiş gibi durur (alt sınır kökteki sınır kalır).
+     */
+    public static BoundedSolution solve(IntGraph graph, long timeBudgetMillis, BooleanSupplier cancelled) {
+        return solve(graph, timeBudgetMillis, cancelled, (lowerBound, bestSize) -> { });
+    }
+
+    /**
+     * solve; kök alt sınırı, greedy çözüm ve aramada bulunan daha iyi çözümler listener'a bildirilir.
+     * Böylece ilk tahmin için ayrı (bütçesiz) bir çağrıyla kernel ikinci kez kurulmaz.
+     */
+    public static BoundedSolution solve(IntGraph graph, long timeBudgetMillis, BooleanSupplier cancelled,
+                                        BoundedSolution.Listener listener) {
+        if (graph.nodeCount() == 0) {
+            return new BoundedSolution(new int[0], 0);
+        }
+        DominatingSetSolver solver = new DominatingSetSolver(graph);
+        solver.best = solver.greedy();
+        int rootLowerBound = solver.packingBound();
+        solver.rootLowerBound = rootLowerBound;
+        solver.listener = listener;
+        listener.update(rootLowerBound, solver.best.length);
+
+        solver.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        solver.cancelled = cancelled;
+        if (timeBudgetMillis > 0 && rootLowerBound < solver.best.length) {
+            solver.branch();
+        }
+        int lowerBound = solver.timedOut || timeBudgetMillis <= 0 ? rootLowerBound : solver.best.length;
+        return new BoundedSolution(solver.best, lowerBound);
+    }
+
+    // ---- İndirgeme kuralları ----
+
+    /**
+     * N[u] ⊆ N[v] olan u'ları aday olmaktan çıkarır; eşit komşuluklarda en küçük id kalır.
+     * N[u] ⊆ N[v] için u ∈ N[v] gerektiğinden yalnızca komşu çiftlere bakmak yeterlidir.
+     */
+    private boolean[] reduceCandidates() {
+        boolean[] candidate = new boolean[n];
+        Arrays.fill(candidate, true);
+        for (int u = 0; u < n; u++) {
+            for (int i = graph.adjacencyStart(u); i < graph.adjacencyEnd(u); i++) {
+                int v = graph.adjacencyAt(i);
+                if (graph.degree(v) < graph.degree(u)) continue;
+                if (graph.degree(v) == graph.degree(u) && v > u) continue; // Eşitse küçük id kalır
+                if (closedNeighbourhoodContained(u, v)) {
+                    candidate[u] = false;
+                    break;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    private boolean closedNeighbourhoodContained(int u, int v) {
+        for (int i = graph.adjacencyStart(u); i < graph.adjacencyEnd(u); i++) {
+            int x = graph.adjacencyAt(i);
+            if (x != v && !graph.hasEdge(v, x)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Aday kümeleri başka bir elemanınkinin üst kümesi olan elemanları gereksiz işaretler.
+     * Eşit aday kümelerinde en küçük id gerekli kalır.
+     */
+    private boolean[] reduceElements(boolean[] candidate) {
+        boolean[] required = new boolean[n];
+        Arrays.fill(required, true);
+        int[] buffer = new int[n];
+        for (int y = 0; y < n; y++) {
+            int[] setsOfY = closedNeighbourhood(y, candidate, buffer);
+            if (setsOfY.length == 0) continue;
+            // x, sets(y)'nin her kümesinde olmalı; en küçük kümenin elemanları aday x'lerdir
+            int pivot = setsOfY[0];
+            for (int s : setsOfY) {
+                if (graph.degree(s) < graph.degree(pivot)) pivot = s;
+            }
+            dropIfDominated(pivot, y, setsOfY, candidate, required);
+            for (int i = graph.adjacencyStart(pivot); i < graph.adjacencyEnd(pivot); i++) {
+                dropIfDominated(graph.adjacencyAt(i), y, setsOfY, candidate, required);
+            }
+        }
+        return required;
+    }
+
+    /**
+     * sets(y) ⊆ sets(x) ise x'i gereksiz işaretler; eşitlik durumunda yalnızca büyük id düşer.
+     */
+    private void dropIfDominated(int x, int y, int[] setsOfY, boolean[] candidate, boolean[] required) {
+        if (x == y || !required[x] || !coveredByAll(x, setsOfY)) {
+            return;
+        }
+        if (countCandidates(x, candidate) > setsOfY.length || x > y) {
+            required[x] = false;
+        }
+    }
+
+    private boolean coveredByAll(int x, int[] sets) {
+        for (int s : sets) {
+            if (s != x && !graph.hasEdge(s, x)) return false;
+        }
+        return true;
+    }
+
+    private int countCandidates(int v, boolean[] candidate) {
+        int count = candidate[v] ? 1 : 0;
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            if (candidate[graph.adjacencyAt(i)]) count++;
+        }
+        return count;
+    }
+
+    private int[] closedNeighbourhood(int v, boolean[] filter, int[] buffer) {
+        int size = 0;
+        if (filter[v]) buffer[size++] = v;
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            int u = graph.adjacencyAt(i);
+            if (filter[u]) buffer[size++] = u;
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    // ---- Sınırlar ----
+
+    /**
+     * Aday kümeleri birbirinden ayrık kapsanmamış elemanları sayar; her biri ayrı bir seçim ister.
+     * Kapsanması imkansız bir eleman varsa Integer.MAX_VALUE döner.
+     */
+    private int packingBound() {
+        stampValue++;
+        int bound = 0;
+        for (int e : elementOrder) {
+            if (coverCount[e] > 0) continue;
+            if (available[e] == 0) return Integer.MAX_VALUE;
+            boolean disjoint = true;
+            for (int s : elementSets[e]) {
+                if (!excluded[s] && stamp[s] == stampValue) {
+                    disjoint = false;
+                    break;
+                }
+            }
+            if (disjoint) {
+                bound++;
+                for (int s : elementSets[e]) stamp[s] = stampValue;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Her adımda en çok kapsanmamış eleman kapsayan adayı seçer (kazançlar indexed max-heap'te,
+     * eşitlikte küçük id).
+     */
+    private int[] greedy() {
+        int[] count = new int[n];
+        int remaining = uncovered;
+        int[] result = new int[n];
+        int size = 0;
+        int[] gain = new int[n];
+        IndexedMaxHeap heap = new IndexedMaxHeap(n);
+        for (int s = 0; s < n; s++) {
+            gain[s] = setElements[s].length;
+            if (gain[s] > 0) heap.update(s, gain[s]);
+        }
+        while (remaining > 0) {
+            int bestSet = heap.pollMax();
+            result[size++] = bestSet;
+            for (int e : setElements[bestSet]) {
+                if (count[e]++ == 0) {
+                    remaining--;
+                    for (int s : elementSets[e]) {
+                        if (--gain[s] > 0) {
+                            heap.update(s, gain[s]);
+                        } else {
+                            heap.remove(s);
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // ---- Branch-and-bound ----
+
+    private void branch() {
+        if (uncovered == 0) {
+            if (chosenCount < best.length) {
+                best = Arrays.copyOf(chosen, chosenCount);
+                listener.update(rootLowerBound, best.length);
+            }
+            return;
+        }
+        if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && (System.nanoTime() > deadline || cancelled.getAsBoolean())) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return;
+        }
+
+        int bound = packingBound();
+        if (bound == Integer.MAX_VALUE || chosenCount + bound >= best.length) {
+            return;
+        }
+
+        // En az adayı kalmış kapsanmamış eleman üzerinde dallan
+        int pivot = -1;
+        for (int e : elementOrder) {
+            if (coverCount[e] == 0 && (pivot < 0 || available[e] < available[pivot])) pivot = e;
+        }
+
+        int[] options = new int[available[pivot]];
+        int[] gains = new int[options.length];
+        int optionCount = 0;
+        for (int s : elementSets[pivot]) {
+            if (excluded[s]) continue;
+            int gain = 0;
+            for (int e : setElements[s]) {
+                if (coverCount[e] == 0) gain++;
+            }
+            // Kazanca göre azalan sırada ekle (insertion sort, listeler küçük)
+            int i = optionCount++;
+            while (i > 0 && gains[i - 1] < gain) {
+                options[i] = options[i - 1];
+                gains[i] = gains[i - 1];
+                i--;
+            }
+            options[i] = s;
+            gains[i] = gain;
+        }
+
+        int excludedCount = 0;
+        for (int i = 0; i < optionCount && !timedOut; i++) {
+            int s = options[i];
+            select(s);
+            branch();
+            unselect(s);
+            // Sonraki dallarda s seçilmez: alt ağaçlar ayrık kalır
+            exclude(s);
+            excludedCount++;
+        }
+        for (int i = 0; i < excludedCount; i++) {
+            include(options[i]);
+        }
+    }
+
+    private void select(int s) {
+        chosen[chosenCount++] = s;
+        for (int e : setElements[s]) {
+            if (coverCount[e]++ == 0) uncovered--;
+        }
+    }
+
+    private void unselect(int s) {
+        chosenCount--;
+        for (int e : setElements[s]) {
+            if (--coverCount[e] == 0) uncovered++;
+        }
+    }
+
+    private void exclude(int s) {
+        excluded[s] = true;
+        for (int e : setElements[s]) available[e]--;
+    }
+
+    private void include(int s) {
+        excluded[s] = false;
+        for (int e : setElements[s]) available[e]++;
+    }
+}
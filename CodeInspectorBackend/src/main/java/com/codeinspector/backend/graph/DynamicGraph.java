@@ -0,0 +1,122 @@
+package com.codeinspector.backend.graph;
+
+/**
+ * IntGraph üzerinde node silmeyi destekleyen değişken görünüm.
+ *
+ * Kalan graftaki derece ve komşu derece toplamı (Σ deg(u), u ∈ N(v)) her node için tutulur ve
+ * silmede artımlı güncellenir: v silinince her komşusu u'nun derecesi 1, komşu derece toplamı deg(v)
+ * azalır; u'nun diğer komşularının komşu derece toplamı da 1 azalır. Maliyet O(Σ deg(u), u ∈ N(v)),
+ * her adımda tüm grafı yeniden taramaktan çok daha düşüktür.
+ *
+ * Silmeden etkilenen (derecesi ya da komşu derece toplamı değişen) node'lar touched() ile okunur;
+ * greedy algoritmalar yalnızca bunların öncelik değerini yeniden hesaplar.
+ */
+public final class DynamicGraph {
+
+    private final IntGraph graph;
+    private final boolean[] alive;
+    private final int[] degree;
+    private final long[] neighbourDegreeSum;
+    private int aliveCount;
+
+    // Son silmede etkilenen node'lar (stamp ile tekilleştirilir)
+    private final int[] touched;
+    private final int[] touchedStamp;
+    private int touchedCount = 0;
+    private int stamp = 0;
+
+    public DynamicGraph(IntGraph graph) {
+        this.graph = graph;
+        int n = graph.nodeCount();
+        this.alive = new boolean[n];
+        this.degree = new int[n];
+        this.neighbourDegreeSum = new long[n];
+        this.touched = new int[n];
+        this.touchedStamp = new int[n];
+        this.aliveCount = n;
+        for (int v = 0; v < n; v++) {
+            alive[v] = true;
+            degree[v] = graph.degree(v);
+        }
+        for (int v = 0; v < n; v++) {
+            long sum = 0;
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                sum += degree[graph.adjacencyAt(i)];
+            }
+            neighbourDegreeSum[v] = sum;
+        }
+    }
+
+    public IntGraph graph() {
+        return graph;
+    }
+
+    public int nodeCount() {
+        return graph.nodeCount();
+    }
+
+    public int aliveCount() {
+        return aliveCount;
+    }
+
+    public boolean isAlive(int v) {
+        return alive[v];
+    }
+
+    /**
+     * Kalan graftaki derece
+     */
+    public int degree(int v) {
+        return degree[v];
+    }
+
+    /**
+     * Kalan graftaki komşuların derece toplamı
+     */
+    public long neighbourDegreeSum(int v) {
+        return neighbourDegreeSum[v];
+    }
+
+    /**
+     * v'yi grafdan siler; etkilenen node'lar touched() ile okunabilir.
+     */
+    public void delete(int v) {
+        if (!alive[v]) return;
+        alive[v] = false;
+        aliveCount--;
+        stamp++;
+        touchedCount = 0;
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            int u = graph.adjacencyAt(i);
+            if (!alive[u]) continue;
+            // u artık v'yi komşu saymaz (deg(v) düşer) ve kendi derecesi 1 azalır
+            degree[u]--;
+            neighbourDegreeSum[u] -= degree[v];
+            touch(u);
+            for (int j = graph.adjacencyStart(u); j < graph.adjacencyEnd(u); j++) {
+                int w = graph.adjacencyAt(j);
+                if (alive[w]) {
+                    neighbourDegreeSum[w]--;
+                    touch(w);
+                }
+            }
+        }
+        degree[v] = 0;
+        neighbourDegreeSum[v] = 0;
+    }
+
+    public int touchedCount() {
+        return touchedCount;
+    }
+
+    public int touched(int i) {
+        return touched[i];
+    }
+
+    private void touch(int v) {
+        if (touchedStamp[v] != stamp) {
+            touchedStamp[v] = stamp;
+            touched[touchedCount++] = v;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tek bir Java dosyasının graf için gereken özeti.
+ * Dosya bir kez okunup parse edilir; isim çözümleme (simple name -> full name) tüm özetler
+ * toplandıktan sonra birleştirme aşamasında yapılır, bu yüzden özetler birbirinden bağımsız üretilebilir.
+ *
+ * @param path            Proje köküne göre dosya yolu
+ * @param packageName     Package adı, yoksa null
+ * @param className       Dosyadaki ilk sınıfın simple name'i, sınıf yoksa null
+ * @param imports         Import edilen isimler (external kütüphaneler hariç)
+ * @param methods         Metot adları
+ * @param astDependencies AST'den çıkarılan, henüz çözümlenmemiş tip isimleri (simple ya da qualified)
+ * @param methodCalls     Metot adı -> çağırdığı metotlar
+ */
+public record FileSymbolSummary(
+        String path,
+        String packageName,
+        String className,
+        List<String> imports,
+        List<String> methods,
+        Set<String> astDependencies,
+        Map<String, Set<String>> methodCalls) {
+
+    public boolean hasClass() {
+        return className != null;
+    }
+
+    public String fullClassName() {
+        return packageName != null ? packageName + "." + className : className;
+    }
+
+    /**
+     * Aynı içeriğin başka bir yoldaki özeti (özetler blob id'ye göre paylaşılır).
+     */
+    public FileSymbolSummary withPath(String newPath) {
+        return newPath.equals(path) ? this
+                : new FileSymbolSummary(newPath, packageName, className, imports, methods, astDependencies, methodCalls);
+    }
+}
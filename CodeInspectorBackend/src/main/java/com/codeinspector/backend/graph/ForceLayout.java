@@ -0,0 +1,318 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Barnes–Hut yaklaşımlı force-directed graf yerleşimi (Fruchterman–Reingold kuvvetleri).
+ *
+ * Her iterasyonda node'lar arası itme k² / d, edge'ler boyunca çekme d² / k ve merkeze doğru zayıf bir
+ * çekim uygulanır; hareket sıcaklıkla sınırlanır ve sıcaklık doğrusal olarak düşer. İtme kuvveti tüm
+ * çiftler yerine bir quadtree üzerinden hesaplanır: hücre boyutu / uzaklık < θ olan hücreler kütle
+ * merkezinde tek bir node gibi sayılır, böylece iterasyon O(V log V + E) olur.
+ *
+ * Quadtree her iterasyonda tek thread'de kurulur; kuvvetler node aralıklarına bölünerek fork/join ile paralel
+ * hesaplanır (ağaç salt okunur, her node yalnızca kendi yer değiştirmesini yazar). Her node'un toplamı tek bir
+ * thread'de sabit sırayla yapıldığı için sonuç thread sayısından bağımsız ve deterministiktir.
+ * Başlangıç konumları node sırasına göre phyllotaxis spiralidir (rastgelelik yok).
+ */
+public final class ForceLayout {
+
+    public static final double EDGE_LENGTH = 30.0; // İdeal edge uzunluğu (k)
+    private static final double THETA = 0.9;       // Barnes–Hut açı eşiği
+    private static final double GRAVITY = 0.02;    // Bağlantısız bileşenleri merkezde tutan çekim katsayısı
+    private static final double MIN_DISTANCE = 0.01;
+    private static final int PARALLEL_THRESHOLD = 512; // Bu kadar node'dan küçük aralıklar bölünmez
+    private static final int MAX_TREE_DEPTH = 48;       // Çakışan node'lar aynı yaprakta birikir
+
+    private final IntGraph graph;
+    private final int n;
+    private final double[] x;
+    private final double[] y;
+    private final double[] dx;
+    private final double[] dy;
+    private final QuadTree tree;
+
+    private ForceLayout(IntGraph graph) {
+        this.graph = graph;
+        this.n = graph.nodeCount();
+        this.x = new double[n];
+        this.y = new double[n];
+        this.dx = new double[n];
+        this.dy = new double[n];
+        this.tree = new QuadTree(n);
+        double golden = Math.PI * (3 - Math.sqrt(5));
+        for (int v = 0; v < n; v++) {
+            double radius = EDGE_LENGTH * Math.sqrt(0.5 + v);
+            double angle = v * golden;
+            x[v] = radius * Math.cos(angle);
+            y[v] = radius * Math.sin(angle);
+        }
+    }
+
+    /**
+     * Grafı yerleştirir; dönen konumlar ağırlık merkezi orijinde olacak şekilde kaydırılır.
+     *
+     * @return [0] = x, [1] = y koordinatları (node id sırasında)
+     */
+    public static double[][] layout(IntGraph graph, int iterations, ForkJoinPool pool) {
+        ForceLayout layout = new ForceLayout(graph);
+        if (layout.n > 1) {
+            // Yorum: başlangıç sıcaklığı spiralin yarıçapı mertebesinde; her adımda doğrusal olarak sönümlenir
+            double initial = EDGE_LENGTH * Math.sqrt(layout.n);
+            for (int i = 0; i < iterations; i++) {
+                double temperature = initial * (1.0 - (double) i / iterations) + EDGE_LENGTH * 0.01;
+                layout.step(temperature, pool);
+            }
+        }
+        layout.center();
+        return new double[][]{layout.x, layout.y};
+    }
+
+    private void step(double temperature, ForkJoinPool pool) {
+        tree.build(x, y);
+        double k2 = EDGE_LENGTH * EDGE_LENGTH;
+        pool.invoke(new RangeTask(0, n, v -> {
+            double fx = 0;
+            double fy = 0;
+            // İtme (Barnes–Hut)
+            double[] repulsion = tree.repulsion(v, x[v], y[v], k2);
+            fx += repulsion[0];
+            fy += repulsion[1];
+            // Çekme: her node kendi edge'lerinin kendi ucuna düşen kısmını toplar
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                double ex = x[u] - x[v];
+                double ey = y[u] - y[v];
+                double distance = Math.max(MIN_DISTANCE, Math.sqrt(ex * ex + ey * ey));
+                double force = distance / EDGE_LENGTH; // (d² / k) / d
+                fx += ex * force;
+                fy += ey * force;
+            }
+            // Merkeze çekim
+            fx -= GRAVITY * x[v];
+            fy -= GRAVITY * y[v];
+            dx[v] = fx;
+            dy[v] = fy;
+        }));
+        for (int v = 0; v < n; v++) {
+            double length = Math.sqrt(dx[v] * dx[v] + dy[v] * dy[v]);
+            if (length > 0) {
+                double limited = Math.min(length, temperature);
+                x[v] += dx[v] / length * limited;
+                y[v] += dy[v] / length * limited;
+            }
+        }
+    }
+
+    private void center() {
+        if (n == 0) return;
+        double sx = 0;
+        double sy = 0;
+        for (int v = 0; v < n; v++) {
+            sx += x[v];
+            sy += y[v];
+        }
+        sx /= n;
+        sy /= n;
+        for (int v = 0; v < n; v++) {
+            x[v] -= sx;
+            y[v] -= sy;
+        }
+    }
+
+    /**
+     * [from, to) node aralığını eşiğe kadar ikiye bölerek paralel işler.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int v = from; v < to; v++) body.accept(v);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+        }
+    }
+
+    /**
+     * Dizi tabanlı quadtree: her hücre kütlesini (node sayısı) ve kütle merkezini tutar.
+     * Yapraklar tek bir node içerir; derinlik sınırında çakışan node'lar aynı yaprakta toplanır.
+     */
+    private static final class QuadTree {
+        private int[] children;   // 4 * hücre; -1 = boş
+        private int[] point;      // yapraktaki node, iç hücre ya da boş ise -1
+        private double[] mass;
+        private double[] sumX;    // kütle merkezi = sum / mass
+        private double[] sumY;
+        private double[] cellX;   // hücrenin sol alt köşesi ve kenar uzunluğu
+        private double[] cellY;
+        private double[] cellSize;
+        private int cells;
+
+        QuadTree(int n) {
+            allocate(Math.max(16, 2 * n));
+        }
+
+        private void allocate(int capacity) {
+            children = new int[4 * capacity];
+            point = new int[capacity];
+            mass = new double[capacity];
+            sumX = new double[capacity];
+            sumY = new double[capacity];
+            cellX = new double[capacity];
+            cellY = new double[capacity];
+            cellSize = new double[capacity];
+        }
+
+        private void grow() {
+            int capacity = point.length * 2;
+            children = Arrays.copyOf(children, 4 * capacity);
+            point = Arrays.copyOf(point, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            sumX = Arrays.copyOf(sumX, capacity);
+            sumY = Arrays.copyOf(sumY, capacity);
+            cellX = Arrays.copyOf(cellX, capacity);
+            cellY = Arrays.copyOf(cellY, capacity);
+            cellSize = Arrays.copyOf(cellSize, capacity);
+        }
+
+        private int newCell(double left, double bottom, double size) {
+            if (cells == point.length) grow();
+            int c = cells++;
+            Arrays.fill(children, 4 * c, 4 * c + 4, -1);
+            point[c] = -1;
+            mass[c] = 0;
+            sumX[c] = 0;
+            sumY[c] = 0;
+            cellX[c] = left;
+            cellY[c] = bottom;
+            cellSize[c] = size;
+            return c;
+        }
+
+        void build(double[] x, double[] y) {
+            cells = 0;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < x.length; v++) {
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+            }
+            double size = Math.max(maxX - minX, maxY - minY) + 1.0;
+            newCell(minX, minY, size);
+            for (int v = 0; v < x.length; v++) {
+                insert(v, x[v], y[v], x, y);
+            }
+        }
+
+        private void insert(int v, double px, double py, double[] x, double[] y) {
+            int c = 0;
+            for (int depth = 0; ; depth++) {
+                boolean empty = mass[c] == 0;
+                boolean leaf = point[c] >= 0 || empty;
+                mass[c] += 1;
+                sumX[c] += px;
+                sumY[c] += py;
+                if (empty) {
+                    point[c] = v;
+                    return;
+                }
+                if (leaf) {
+                    if (depth >= MAX_TREE_DEPTH) {
+                        return; // Çakışan node'lar: kütle yaprakta birikir
+                    }
+                    // Yaprağı böl: mevcut node'u bir alt hücreye taşı
+                    int existing = point[c];
+                    point[c] = -1;
+                    int q = quadrant(c, x[existing], y[existing]);
+                    int child = childCell(c, q);
+                    mass[child] = 1;
+                    sumX[child] = x[existing];
+                    sumY[child] = y[existing];
+                    point[child] = existing;
+                }
+                c = childCell(c, quadrant(c, px, py));
+            }
+        }
+
+        private int quadrant(int c, double px, double py) {
+            double half = cellSize[c] / 2;
+            int q = px >= cellX[c] + half ? 1 : 0;
+            if (py >= cellY[c] + half) q += 2;
+            return q;
+        }
+
+        private int childCell(int c, int q) {
+            int child = children[4 * c + q];
+            if (child < 0) {
+                double half = cellSize[c] / 2;
+                double left = cellX[c] + ((q & 1) != 0 ? half : 0);
+                double bottom = cellY[c] + ((q & 2) != 0 ? half : 0);
+                child = newCell(left, bottom, half);
+                children[4 * c + q] = child;
+            }
+            return child;
+        }
+
+        /**
+         * v'ye etki eden toplam itme kuvveti; uzak hücreler kütle merkezinde tek node sayılır.
+         */
+        double[] repulsion(int v, double px, double py, double k2) {
+            double fx = 0;
+            double fy = 0;
+            int[] stack = new int[4 * MAX_TREE_DEPTH + 4];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int c = stack[--top];
+                double m = mass[c];
+                if (m == 0) continue;
+                double ex = px - sumX[c] / m;
+                double ey = py - sumY[c] / m;
+                double d2 = ex * ex + ey * ey;
+                boolean leaf = point[c] >= 0;
+                if (leaf || cellSize[c] * cellSize[c] < THETA * THETA * d2) {
+                    if (leaf && point[c] == v) {
+                        m -= 1; // Kendisi (ve varsa aynı yaprakta biriken çakışan node'lar)
+                        if (m == 0) continue;
+                    }
+                    if (d2 < MIN_DISTANCE * MIN_DISTANCE) {
+                        // Çakışan konum: yönü node id'sinden türet, kuvvet sınırlı kalsın
+                        double angle = v * 2.399963;
+                        ex = Math.cos(angle) * MIN_DISTANCE;
+                        ey = Math.sin(angle) * MIN_DISTANCE;
+                        d2 = MIN_DISTANCE * MIN_DISTANCE;
+                    }
+                    double force = m * k2 / d2; // (k² / d) / d
+                    fx += ex * force;
+                    fy += ey * force;
+                    continue;
+                }
+                for (int q = 0; q < 4; q++) {
+                    int child = children[4 * c + q];
+                    if (child >= 0) stack[top++] = child;
+                }
+            }
+            return new double[]{fx, fy};
+        }
+    }
+}
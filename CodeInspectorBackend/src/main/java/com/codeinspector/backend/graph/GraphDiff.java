@@ -0,0 +1,292 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * İki CodeGraphResult arasındaki yapısal farkı hesaplar.
+ *
+ * İki grafın tüm vertex id'leri ve edge uçları tek bir sıralı string tablosunda numaralandırılır; böylece
+ * numara sırası id sırasıyla aynıdır. Vertex'ler sıralı int dizileri, edge'ler ise (source, target, tip)
+ * üçlüsünü tek bir long'a paketleyen sıralı diziler olarak tutulur. Eklenen / silinen vertex ve edge'ler bu
+ * dizilerin tek geçişlik birleştirmesiyle (merge) bulunur; sıralamadan sonraki iş doğrusal süredir.
+ * Tekrarlanan edge'ler tek edge sayılır.
+ */
+public final class GraphDiff {
+
+    private static final int TYPE_BITS = 8;
+    private static final int ID_BITS = 27;        // (63 − TYPE_BITS) / 2; source ve target için
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    private GraphDiff() {
+    }
+
+    /**
+     * @param limit Her listede döndürülecek en fazla eleman sayısı
+     */
+    public static GraphDiffResult diff(CodeGraphResult from, CodeGraphResult to, int limit) {
+        long start = System.currentTimeMillis();
+        List<CodeGraphResult.Vertex> oldVertices = orEmpty(from.getVertices());
+        List<CodeGraphResult.Vertex> newVertices = orEmpty(to.getVertices());
+        List<CodeGraphResult.Edge> oldEdges = orEmpty(from.getEdges());
+        List<CodeGraphResult.Edge> newEdges = orEmpty(to.getEdges());
+
+        // Yorum: sıralı id tablosu; numara sırası = id'nin sözlük sırası. Edge uçları neredeyse her zaman
+        // vertex'tir; tablo vertex id'lerinden kurulur, vertex olmayan uçlar görülürse bir kez genişletilir
+        Set<String> names = new HashSet<>(Math.max(16, (oldVertices.size() + newVertices.size()) * 2));
+        for (CodeGraphResult.Vertex v : oldVertices) names.add(v.getId());
+        for (CodeGraphResult.Vertex v : newVertices) names.add(v.getId());
+        Map<String, Integer> index = sortedIndex(names);
+        if (addMissingEndpoints(oldEdges, index, names) | addMissingEndpoints(newEdges, index, names)) {
+            index = sortedIndex(names);
+        }
+        String[] ids = new String[index.size()];
+        for (Map.Entry<String, Integer> entry : index.entrySet()) ids[entry.getValue()] = entry.getKey();
+
+        TreeSet<String> typeNames = new TreeSet<>();
+        for (CodeGraphResult.Edge e : oldEdges) typeNames.add(String.valueOf(e.getType()));
+        for (CodeGraphResult.Edge e : newEdges) typeNames.add(String.valueOf(e.getType()));
+        String[] types = typeNames.toArray(new String[0]);
+        if (types.length >= 1 << TYPE_BITS) {
+            throw new IllegalArgumentException("Too many edge types to diff: " + types.length);
+        }
+        Map<String, Integer> typeIndex = new HashMap<>();
+        for (int i = 0; i < types.length; i++) typeIndex.put(types[i], i);
+
+        int[] oldIds = vertexIds(oldVertices, index);
+        int[] newIds = vertexIds(newVertices, index);
+        long[] oldKeys = edgeKeys(oldEdges, index, typeIndex);
+        long[] newKeys = edgeKeys(newEdges, index, typeIndex);
+
+        Map<String, CodeGraphResult.Vertex> oldById = byId(oldVertices);
+        Map<String, CodeGraphResult.Vertex> newById = byId(newVertices);
+        List<String> addedVertices = new ArrayList<>();
+        List<String> removedVertices = new ArrayList<>();
+        List<GraphDiffResult.VertexChange> changedVertices = new ArrayList<>();
+        int addedVertexCount = 0;
+        int removedVertexCount = 0;
+        int changedVertexCount = 0;
+        int unchangedVertexCount = 0;
+        for (int i = 0, j = 0; i < oldIds.length || j < newIds.length; ) {
+            if (j == newIds.length || (i < oldIds.length && oldIds[i] < newIds[j])) {
+                if (removedVertexCount++ < limit) removedVertices.add(ids[oldIds[i]]);
+                i++;
+            } else if (i == oldIds.length || newIds[j] < oldIds[i]) {
+                if (addedVertexCount++ < limit) addedVertices.add(ids[newIds[j]]);
+                j++;
+            } else {
+                String id = ids[oldIds[i]];
+                List<GraphDiffResult.MetricChange> changes = vertexChanges(oldById.get(id), newById.get(id));
+                if (changes.isEmpty()) {
+                    unchangedVertexCount++;
+                } else if (changedVertexCount++ < limit) {
+                    changedVertices.add(new GraphDiffResult.VertexChange(id, changes));
+                }
+                i++;
+                j++;
+            }
+        }
+
+        List<GraphDiffResult.EdgeChange> addedEdges = new ArrayList<>();
+        List<GraphDiffResult.EdgeChange> removedEdges = new ArrayList<>();
+        int addedEdgeCount = 0;
+        int removedEdgeCount = 0;
+        int unchangedEdgeCount = 0;
+        for (int i = 0, j = 0; i < oldKeys.length || j < newKeys.length; ) {
+            if (j == newKeys.length || (i < oldKeys.length && oldKeys[i] < newKeys[j])) {
+                if (removedEdgeCount++ < limit) removedEdges.add(edge(oldKeys[i], ids, types));
+                i++;
+            } else if (i == oldKeys.length || newKeys[j] < oldKeys[i]) {
+                if (addedEdgeCount++ < limit) addedEdges.add(edge(newKeys[j], ids, types));
+                j++;
+            } else {
+                unchangedEdgeCount++;
+                i++;
+                j++;
+            }
+        }
+
+        boolean truncated = addedVertexCount > limit || removedVertexCount > limit || changedVertexCount > limit
+                || addedEdgeCount > limit || removedEdgeCount > limit;
+        GraphDiffResult.Summary summary = new GraphDiffResult.Summary(addedVertexCount, removedVertexCount,
+                changedVertexCount, unchangedVertexCount, addedEdgeCount, removedEdgeCount, unchangedEdgeCount);
+        return new GraphDiffResult(summary, addedVertices, removedVertices, addedEdges, removedEdges,
+                changedVertices, graphMetricChanges(from.getMetrics(), to.getMetrics()), truncated,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * id -> sözlük sırasındaki numarası
+     */
+    private static Map<String, Integer> sortedIndex(Set<String> names) {
+        String[] ids = names.toArray(new String[0]);
+        Arrays.sort(ids);
+        if (ids.length > ID_MASK) {
+            throw new IllegalArgumentException("Graphs are too large to diff: " + ids.length + " vertices");
+        }
+        Map<String, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) index.put(ids[i], i);
+        return index;
+    }
+
+    /**
+     * @return Tabloda olmayan bir edge ucu bulunup names'e eklendiyse true
+     */
+    private static boolean addMissingEndpoints(List<CodeGraphResult.Edge> edges, Map<String, Integer> index,
+                                               Set<String> names) {
+        boolean added = false;
+        for (CodeGraphResult.Edge e : edges) {
+            if (!index.containsKey(e.getSource())) added |= names.add(e.getSource());
+            if (!index.containsKey(e.getTarget())) added |= names.add(e.getTarget());
+        }
+        return added;
+    }
+
+    /**
+     * Tekilleştirilmiş, sıralı vertex numaraları
+     */
+    private static int[] vertexIds(List<CodeGraphResult.Vertex> vertices, Map<String, Integer> index) {
+        int[] result = new int[vertices.size()];
+        for (int i = 0; i < result.length; i++) result[i] = index.get(vertices.get(i).getId());
+        Arrays.sort(result);
+        return distinct(result);
+    }
+
+    /**
+     * Tekilleştirilmiş, sıralı edge anahtarları: source · 2^(ID_BITS + TYPE_BITS) | target · 2^TYPE_BITS | tip
+     */
+    private static long[] edgeKeys(List<CodeGraphResult.Edge> edges, Map<String, Integer> index,
+                                   Map<String, Integer> typeIndex) {
+        long[] keys = new long[edges.size()];
+        for (int i = 0; i < keys.length; i++) {
+            CodeGraphResult.Edge e = edges.get(i);
+            keys[i] = ((long) index.get(e.getSource()) << (ID_BITS + TYPE_BITS))
+                    | ((long) index.get(e.getTarget()) << TYPE_BITS)
+                    | typeIndex.get(String.valueOf(e.getType()));
+        }
+        Arrays.sort(keys);
+        int k = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) keys[k++] = keys[i];
+        }
+        return Arrays.copyOf(keys, k);
+    }
+
+    private static int[] distinct(int[] sorted) {
+        int k = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[k++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, k);
+    }
+
+    private static GraphDiffResult.EdgeChange edge(long key, String[] ids, String[] types) {
+        int source = (int) (key >>> (ID_BITS + TYPE_BITS));
+        int target = (int) ((key >>> TYPE_BITS) & ID_MASK);
+        int type = (int) (key & ((1 << TYPE_BITS) - 1));
+        return new GraphDiffResult.EdgeChange(ids[source], ids[target], types[type]);
+    }
+
+    private static Map<String, CodeGraphResult.Vertex> byId(List<CodeGraphResult.Vertex> vertices) {
+        Map<String, CodeGraphResult.Vertex> byId = new HashMap<>(vertices.size() * 2);
+        for (CodeGraphResult.Vertex v : vertices) byId.putIfAbsent(v.getId(), v);
+        return byId;
+    }
+
+    /**
+     * Değeri değişen, eklenen ya da kaldırılan vertex metrikleri (anahtar sırasıyla)
+     */
+    private static List<GraphDiffResult.MetricChange> vertexChanges(CodeGraphResult.Vertex before,
+                                                                    CodeGraphResult.Vertex after) {
+        Map<String, Object> oldMetrics = before.getMetrics() != null ? before.getMetrics() : Map.of();
+        Map<String, Object> newMetrics = after.getMetrics() != null ? after.getMetrics() : Map.of();
+        if (oldMetrics.equals(newMetrics)) {
+            return List.of();
+        }
+        TreeSet<String> keys = new TreeSet<>(oldMetrics.keySet());
+        keys.addAll(newMetrics.keySet());
+        List<GraphDiffResult.MetricChange> changes = new ArrayList<>();
+        for (String key : keys) {
+            Object from = oldMetrics.get(key);
+            Object to = newMetrics.get(key);
+            if (!sameValue(from, to)) {
+                changes.add(change(key, from, to));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Sayılar türünden bağımsız karşılaştırılır (ör. JSON'dan okunan 3 ile hesaplanan 3L aynıdır)
+     */
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue()) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static GraphDiffResult.MetricChange change(String metric, Object from, Object to) {
+        Double delta = null;
+        if (from instanceof Number x && to instanceof Number y) {
+            double d = y.doubleValue() - x.doubleValue();
+            delta = Double.isFinite(d) ? d : null; // Yorum: ör. parçalanamayan grafta toughness sonsuzdur
+        }
+        return new GraphDiffResult.MetricChange(metric, from, to, delta);
+    }
+
+    /**
+     * Graf parametreleri; hesaplanmamış değerler (-1) null olarak gösterilir, iki tarafta da yoksa atlanır.
+     */
+    private static List<GraphDiffResult.MetricChange> graphMetricChanges(CodeGraphResult.GraphMetrics before,
+                                                                         CodeGraphResult.GraphMetrics after) {
+        Map<String, Number> oldValues = scalarMetrics(before);
+        Map<String, Number> newValues = scalarMetrics(after);
+        List<GraphDiffResult.MetricChange> changes = new ArrayList<>();
+        for (String key : oldValues.keySet()) {
+            Number from = oldValues.get(key);
+            Number to = newValues.get(key);
+            if (from != null || to != null) {
+                changes.add(change(key, from, to));
+            }
+        }
+        return changes;
+    }
+
+    private static Map<String, Number> scalarMetrics(CodeGraphResult.GraphMetrics m) {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("totalNodes", m != null ? m.getTotalNodes() : null);
+        values.put("totalEdges", m != null ? m.getTotalEdges() : null);
+        values.put("avgDegree", m != null ? m.getAvgDegree() : null);
+        values.put("maxDegree", m != null ? m.getMaxDegree() : null);
+        values.put("connectivityNumber", m != null ? computed(m.getConnectivityNumber()) : null);
+        values.put("scatteringNumber", m != null ? computed(m.getScatteringNumber()) : null);
+        values.put("ruptureNumber", m != null ? computed(m.getRuptureNumber()) : null);
+        values.put("integrityNumber", m != null ? computed(m.getIntegrityNumber()) : null);
+        values.put("toughnessNumber", m != null ? computed(m.getToughnessNumber()) : null);
+        values.put("dominationNumber", m != null ? computed(m.getDominationNumber()) : null);
+        values.put("twoVertexCoverNumber", m != null ? computed(m.getTwoVertexCoverNumber()) : null);
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static Number computed(int value) {
+        return value != -1 ? value : null;
+    }
+
+    private static Number computed(double value) {
+        return value != -1.0 ? value : null;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
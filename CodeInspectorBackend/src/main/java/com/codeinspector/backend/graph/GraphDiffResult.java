@@ -0,0 +1,37 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+
+/**
+ * İki graf arasındaki yapısal fark. Listeler id sırasına göre sıralıdır ve en fazla limit eleman içerir;
+ * toplam sayılar her zaman summary'dedir.
+ *
+ * @param changedVertices İki grafta da bulunan ve metrikleri değişen vertex'ler
+ * @param graphMetrics    Graf parametrelerinin eski / yeni değerleri (en az birinde hesaplanmış olanlar)
+ * @param truncated       Listelerden en az biri limit nedeniyle kesildiyse true
+ */
+public record GraphDiffResult(
+        Summary summary,
+        List<String> addedVertices,
+        List<String> removedVertices,
+        List<EdgeChange> addedEdges,
+        List<EdgeChange> removedEdges,
+        List<VertexChange> changedVertices,
+        List<MetricChange> graphMetrics,
+        boolean truncated,
+        long elapsedMs) {
+
+    public record Summary(int addedVertices, int removedVertices, int changedVertices, int unchangedVertices,
+                          int addedEdges, int removedEdges, int unchangedEdges) {}
+
+    public record EdgeChange(String source, String target, String type) {}
+
+    public record VertexChange(String id, List<MetricChange> metrics) {}
+
+    /**
+     * @param from  Eski değer (yoksa ya da hesaplanmadıysa null)
+     * @param to    Yeni değer (yoksa ya da hesaplanmadıysa null)
+     * @param delta İki değer de sayıysa to − from, değilse null
+     */
+    public record MetricChange(String metric, Object from, Object to, Double delta) {}
+}
@@ -0,0 +1,37 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+
+/**
+ * Sunucuda hesaplanan graf yerleşimi: her vertex'in koordinatı ve uzaklaştırılmış görünümler için
+ * iç içe küme seviyeleri. Frontend koordinatları doğrudan çizer, kendi simülasyonunu çalıştırmaz.
+ *
+ * @param positions  Vertex koordinatları (id'ye göre sıralı)
+ * @param levels     İnceden kabaya küme seviyeleri (level of detail)
+ * @param iterations Yerleşim iterasyon sayısı
+ * @param elapsedMs  Yerleşim ve kümelerin hesaplanma süresi
+ */
+public record GraphLayoutResult(
+        List<Position> positions,
+        List<Level> levels,
+        int iterations,
+        long elapsedMs) {
+
+    public record Position(String id, double x, double y) {}
+
+    /**
+     * @param label Kümenin en yüksek dereceli üyesinin id'si
+     */
+    public record Cluster(int id, double x, double y, int size, String label) {}
+
+    /**
+     * @param weight İki küme arasındaki edge sayısı
+     */
+    public record ClusterEdge(int source, int target, int weight) {}
+
+    /**
+     * @param cellSize   Kümeleri oluşturan kare hücrenin kenarı
+     * @param assignment assignment[i] = positions[i]'nin küme id'si
+     */
+    public record Level(double cellSize, int[] assignment, List<Cluster> clusters, List<ClusterEdge> edges) {}
+}
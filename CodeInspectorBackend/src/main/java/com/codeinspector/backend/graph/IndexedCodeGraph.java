@@ -0,0 +1,384 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Sorgu için indekslenmiş, yönlü kod grafı. Giden ve gelen komşuluklar iki ayrı CSR dizisinde, edge tipleri
+ * (depends / has / calls) bit maskesi olarak byte dizisinde tutulur; id → node eşlemesi tek bir HashMap'tir.
+ * Komşuluk ve k-hop sorguları yalnızca erişilen node'ları gezer, en kısa yol iki yönlü BFS ile aranır;
+ * ziyaret bilgisi her sorguda sıfırlanan diziler yerine damgalı (epoch) diziler ile tutulur, bu yüzden küçük
+ * sorgular graf boyutundan bağımsız sürede yanıtlanır.
+ *
+ * Oluşturulduktan sonra değişmez; birden fazla thread tarafından eşzamanlı sorgulanabilir
+ * (her sorgu havuzdan kendi çalışma dizilerini alır).
+ */
+public final class IndexedCodeGraph {
+
+    public static final int DEPENDS = 1;
+    public static final int HAS = 2;
+    public static final int CALLS = 4;
+    public static final int ALL_TYPES = DEPENDS | HAS | CALLS;
+    private static final int MAX_POOLED_SCRATCH = 8;
+
+    public enum Direction { OUT, IN, BOTH }
+
+    /**
+     * @param distance Kaynaktan edge sayısı cinsinden uzaklık
+     */
+    public record Hop(String id, String type, int distance) {}
+
+    private final String[] ids;
+    private final String[] vertexTypes;
+    private final Map<String, Integer> index;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final byte[] outTypes;
+    private final int[] inOffsets;
+    private final int[] inTargets;
+    private final byte[] inTypes;
+    private final ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private IndexedCodeGraph(String[] ids, String[] vertexTypes, Map<String, Integer> index,
+                             int[] outOffsets, int[] outTargets, byte[] outTypes,
+                             int[] inOffsets, int[] inTargets, byte[] inTypes) {
+        this.ids = ids;
+        this.vertexTypes = vertexTypes;
+        this.index = index;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outTypes = outTypes;
+        this.inOffsets = inOffsets;
+        this.inTargets = inTargets;
+        this.inTypes = inTypes;
+    }
+
+    /**
+     * Kod grafından indeks oluşturur; bilinmeyen node'a giden edge'ler ve tekrarlanan id'ler atlanır.
+     */
+    public static IndexedCodeGraph of(List<CodeGraphResult.Vertex> vertices, List<CodeGraphResult.Edge> edges) {
+        Map<String, Integer> index = new HashMap<>(vertices.size() * 2);
+        String[] ids = new String[vertices.size()];
+        String[] vertexTypes = new String[vertices.size()];
+        for (CodeGraphResult.Vertex vertex : vertices) {
+            if (!index.containsKey(vertex.getId())) {
+                ids[index.size()] = vertex.getId();
+                vertexTypes[index.size()] = vertex.getType();
+                index.put(vertex.getId(), index.size());
+            }
+        }
+        int n = index.size();
+
+        int[] sources = new int[edges.size()];
+        int[] targets = new int[edges.size()];
+        byte[] types = new byte[edges.size()];
+        int m = 0;
+        for (CodeGraphResult.Edge edge : edges) {
+            Integer u = index.get(edge.getSource());
+            Integer v = index.get(edge.getTarget());
+            if (u == null || v == null) continue;
+            sources[m] = u;
+            targets[m] = v;
+            types[m] = (byte) typeBit(edge.getType());
+            m++;
+        }
+
+        int[] outOffsets = new int[n + 1];
+        int[] inOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            outOffsets[sources[e] + 1]++;
+            inOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] outTargets = new int[m];
+        byte[] outTypes = new byte[m];
+        int[] inTargets = new int[m];
+        byte[] inTypes = new byte[m];
+        int[] outCursor = new int[n];
+        int[] inCursor = new int[n];
+        for (int e = 0; e < m; e++) {
+            int u = sources[e];
+            int v = targets[e];
+            int o = outOffsets[u] + outCursor[u]++;
+            outTargets[o] = v;
+            outTypes[o] = types[e];
+            int i = inOffsets[v] + inCursor[v]++;
+            inTargets[i] = u;
+            inTypes[i] = types[e];
+        }
+        String[] compactIds = Arrays.copyOf(ids, n);
+        String[] compactTypes = Arrays.copyOf(vertexTypes, n);
+        return new IndexedCodeGraph(compactIds, compactTypes, index,
+                outOffsets, outTargets, outTypes, inOffsets, inTargets, inTypes);
+    }
+
+    /**
+     * Edge tipi adlarından bit maskesi; boş ya da null ise tüm tipler.
+     *
+     * @throws IllegalArgumentException bilinmeyen tip
+     */
+    public static int typeMask(Collection<String> types) {
+        if (types == null || types.isEmpty()) {
+            return ALL_TYPES;
+        }
+        int mask = 0;
+        for (String type : types) {
+            int bit = typeBit(type);
+            if (bit == 0) {
+                throw new IllegalArgumentException("Unknown edge type: " + type);
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    private static int typeBit(String type) {
+        if (type == null) return 0;
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case "depends" -> DEPENDS;
+            case "has" -> HAS;
+            case "calls" -> CALLS;
+            default -> 0;
+        };
+    }
+
+    public int nodeCount() {
+        return ids.length;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    /**
+     * @return Node numarası, yoksa -1
+     */
+    public int indexOf(String id) {
+        Integer v = index.get(id);
+        return v != null ? v : -1;
+    }
+
+    public String id(int v) {
+        return ids[v];
+    }
+
+    /**
+     * Dizilerin yaklaşık bellek kullanımı (id string'leri hariç)
+     */
+    public long estimatedBytes() {
+        return 4L * (outOffsets.length + inOffsets.length + outTargets.length + inTargets.length)
+                + outTypes.length + inTypes.length + 8L * ids.length * 2;
+    }
+
+    /**
+     * source'tan en fazla depth edge uzaklıktaki node'lar (source hariç), BFS sırasıyla.
+     *
+     * @param limit En fazla döndürülecek node sayısı
+     */
+    public List<Hop> neighbourhood(int source, int depth, Direction direction, int typeMask, int limit) {
+        Scratch scratch = acquire();
+        try {
+            int epoch = scratch.nextEpoch();
+            Frontier frontier = scratch.forward.start(source, epoch);
+            List<Hop> result = new ArrayList<>();
+            while (frontier.hasNext() && result.size() < limit) {
+                int v = frontier.queue[frontier.head++];
+                int next = frontier.distance[v] + 1;
+                if (next > depth) break; // BFS sırası: sonraki tüm node'lar da daha uzak
+                for (int pass = 0; pass < 2; pass++) {
+                    boolean outgoing = pass == 0;
+                    if (outgoing ? direction == Direction.IN : direction == Direction.OUT) continue;
+                    int[] offsets = outgoing ? outOffsets : inOffsets;
+                    int[] targets = outgoing ? outTargets : inTargets;
+                    byte[] types = outgoing ? outTypes : inTypes;
+                    for (int e = offsets[v]; e < offsets[v + 1] && result.size() < limit; e++) {
+                        int w = targets[e];
+                        if ((types[e] & typeMask) == 0 || frontier.stamp[w] == epoch) continue;
+                        frontier.stamp[w] = epoch;
+                        frontier.distance[w] = next;
+                        frontier.queue[frontier.tail++] = w;
+                        result.add(new Hop(ids[w], vertexTypes[w], next));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * source'tan target'a en kısa yol (node numaraları). target'a ulaşılamıyorsa null.
+     *
+     * İki yönlü BFS: her adımda sınırı küçük olan taraf bir seviye genişletilir (geri taraf edge'leri ters
+     * yönde izler); iki taraf karşılaştığında seviye tamamlanıp en kısa birleşim seçilir. Gezilen node sayısı
+     * tek yönlü BFS'e göre kabaca karekökü kadardır.
+     */
+    public int[] shortestPath(int source, int target, Direction direction, int typeMask) {
+        if (source == target) {
+            return new int[]{source};
+        }
+        Direction reverse = switch (direction) {
+            case OUT -> Direction.IN;
+            case IN -> Direction.OUT;
+            case BOTH -> Direction.BOTH;
+        };
+        Scratch scratch = acquire();
+        try {
+            int epoch = scratch.nextEpoch();
+            Frontier forward = scratch.forward.start(source, epoch);
+            Frontier backward = scratch.backward().start(target, epoch);
+            while (forward.hasNext() && backward.hasNext()) {
+                boolean expandForward = forward.size() <= backward.size();
+                int meeting = expandForward
+                        ? expandLevel(forward, backward, direction, typeMask, epoch)
+                        : expandLevel(backward, forward, reverse, typeMask, epoch);
+                if (meeting >= 0) {
+                    return tracePath(forward, backward, meeting, source, target);
+                }
+            }
+            return null;
+        } finally {
+            release(scratch);
+        }
+    }
+
+    /**
+     * frontier'ın mevcut seviyesini genişletir. Karşı tarafın ziyaret ettiği bir node'a ulaşılırsa toplam
+     * uzaklığı en küçük olan buluşma node'unu döndürür, yoksa -1.
+     */
+    private int expandLevel(Frontier frontier, Frontier other, Direction direction, int typeMask, int epoch) {
+        int meeting = -1;
+        int best = Integer.MAX_VALUE;
+        int levelEnd = frontier.tail;
+        while (frontier.head < levelEnd) {
+            int v = frontier.queue[frontier.head++];
+            int next = frontier.distance[v] + 1;
+            for (int pass = 0; pass < 2; pass++) {
+                boolean outgoing = pass == 0;
+                if (outgoing ? direction == Direction.IN : direction == Direction.OUT) continue;
+                int[] offsets = outgoing ? outOffsets : inOffsets;
+                int[] targets = outgoing ? outTargets : inTargets;
+                byte[] types = outgoing ? outTypes : inTypes;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if ((types[e] & typeMask) == 0 || frontier.stamp[w] == epoch) continue;
+                    frontier.stamp[w] = epoch;
+                    frontier.distance[w] = next;
+                    frontier.parent[w] = v;
+                    frontier.queue[frontier.tail++] = w;
+                    if (other.stamp[w] == epoch && next + other.distance[w] < best) {
+                        best = next + other.distance[w];
+                        meeting = w;
+                    }
+                }
+            }
+        }
+        return meeting;
+    }
+
+    private static int[] tracePath(Frontier forward, Frontier backward, int meeting, int source, int target) {
+        int[] path = new int[forward.distance[meeting] + backward.distance[meeting] + 1];
+        int i = forward.distance[meeting];
+        for (int v = meeting; ; v = forward.parent[v]) {
+            path[i--] = v;
+            if (v == source) break;
+        }
+        i = forward.distance[meeting];
+        for (int v = meeting; v != target; ) {
+            v = backward.parent[v];
+            path[++i] = v;
+        }
+        return path;
+    }
+
+    private Scratch acquire() {
+        Scratch scratch = scratchPool.poll();
+        return scratch != null ? scratch : new Scratch(ids.length);
+    }
+
+    private void release(Scratch scratch) {
+        if (scratchPool.size() < MAX_POOLED_SCRATCH) {
+            scratchPool.offer(scratch);
+        }
+    }
+
+    /**
+     * Bir sorgunun çalışma dizileri. Ziyaret bilgisi Frontier'lardaki damgalarla tutulur; geri yön
+     * yalnızca en kısa yol sorgusunda gerektiğinden ilk kullanımda oluşturulur.
+     */
+    private static final class Scratch {
+        final int n;
+        final Frontier forward;
+        Frontier backward;
+        int epoch;
+
+        Scratch(int n) {
+            this.n = n;
+            this.forward = new Frontier(n);
+        }
+
+        Frontier backward() {
+            if (backward == null) {
+                backward = new Frontier(n);
+            }
+            return backward;
+        }
+
+        int nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(forward.stamp, 0);
+                if (backward != null) Arrays.fill(backward.stamp, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+    }
+
+    /**
+     * Tek yönlü BFS durumu. stamp[v] == epoch ise v bu sorguda ziyaret edilmiştir; distance ve parent
+     * yalnızca ziyaret edilen node'lar için geçerlidir. queue[head, tail) henüz genişletilmemiş node'lardır.
+     */
+    private static final class Frontier {
+        final int[] stamp;
+        final int[] distance;
+        final int[] parent;
+        final int[] queue;
+        int head;
+        int tail;
+
+        Frontier(int n) {
+            this.stamp = new int[n];
+            this.distance = new int[n];
+            this.parent = new int[n];
+            this.queue = new int[n];
+        }
+
+        Frontier start(int source, int epoch) {
+            head = 0;
+            tail = 0;
+            queue[tail++] = source;
+            stamp[source] = epoch;
+            distance[source] = 0;
+            parent[source] = -1;
+            return this;
+        }
+
+        boolean hasNext() {
+            return head < tail;
+        }
+
+        int size() {
+            return tail - head;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+
+/**
+ * 0..n-1 arası id'ler için anahtarı güncellenebilen ikili max-heap.
+ *
+ * Her id'nin heap'teki konumu tutulur; anahtar değiştirme ve silme O(log n)'dir, bu yüzden
+ * greedy algoritmalar her adımda tüm node'ları taramak yerine yalnızca değişen node'ları günceller.
+ * Eşit anahtarlarda küçük id önce çıkar (node'ları sırayla tarayıp ilk en büyüğü seçmekle aynı sonuç).
+ */
+public final class IndexedMaxHeap {
+
+    private final int[] heap;      // heap konumu -> id
+    private final int[] position;  // id -> heap konumu, heap'te değilse -1
+    private final double[] key;
+    private int size = 0;
+
+    public IndexedMaxHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    public double key(int id) {
+        return key[id];
+    }
+
+    public int peekMax() {
+        return heap[0];
+    }
+
+    /**
+     * id heap'te yoksa ekler, varsa anahtarını günceller.
+     */
+    public void update(int id, double newKey) {
+        if (position[id] < 0) {
+            key[id] = newKey;
+            heap[size] = id;
+            position[id] = size;
+            siftUp(size++);
+            return;
+        }
+        double oldKey = key[id];
+        key[id] = newKey;
+        if (newKey > oldKey) {
+            siftUp(position[id]);
+        } else if (newKey < oldKey) {
+            siftDown(position[id]);
+        }
+    }
+
+    public void remove(int id) {
+        int i = position[id];
+        if (i < 0) return;
+        int last = heap[--size];
+        position[id] = -1;
+        if (i == size) return;
+        heap[i] = last;
+        position[last] = i;
+        siftUp(i);
+        siftDown(position[last]);
+    }
+
+    public int pollMax() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (!higher(key[id], id, key[p], p)) break;
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && higher(key[heap[child + 1]], heap[child + 1], key[heap[child]], heap[child])) {
+                child++;
+            }
+            int c = heap[child];
+            if (!higher(key[c], c, key[id], id)) break;
+            heap[i] = c;
+            position[c] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private static boolean higher(double keyA, int a, double keyB, int b) {
+        return keyA > keyB || (keyA == keyB && a < b);
+    }
+}
@@ -0,0 +1,207 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrik servisleri için sıkıştırılmış, yönsüz ve basit (çoklu kenar / self-loop içermeyen) graf.
+ * Node id'leri 0..n-1 arası int'lere çevrilir; komşuluk CSR formatında iki int[] dizisinde tutulur:
+ * v'nin komşuları adjacency[offsets[v] .. offsets[v+1]) aralığıdır.
+ * String anahtarlı Set/Map yapılarına göre bellek ve hash maliyeti çok daha düşüktür.
+ * Oluşturulduktan sonra değişmez; birden fazla thread tarafından okunabilir.
+ */
+public final class IntGraph {
+
+    private final String[] labels;
+    private final Map<String, Integer> index;
+    private final int[] offsets;
+    private final int[] adjacency;
+    private final int edgeCount;
+
+    /**
+     * Bir node kümesi çıkarıldıktan sonra kalan grafın bileşen özeti.
+     *
+     * @param count     Bağlı bileşen sayısı (ω)
+     * @param largest   En büyük bileşenin node sayısı (m)
+     * @param remaining Kalan node sayısı
+     */
+    public record ComponentStats(int count, int largest, int remaining) {}
+
+    private IntGraph(String[] labels, Map<String, Integer> index, int[] offsets, int[] adjacency) {
+        this.labels = labels;
+        this.index = index;
+        this.offsets = offsets;
+        this.adjacency = adjacency;
+        this.edgeCount = adjacency.length / 2;
+    }
+
+    /**
+     * Kod grafından yönsüz graf oluşturur. Tüm edge tipleri (depends, has, calls) dahil edilir;
+     * (u, v) ve (v, u) tek kenar sayılır, self-loop'lar ve bilinmeyen node'a giden kenarlar atlanır.
+     */
+    public static IntGraph fromCodeGraph(List<CodeGraphResult.Vertex> vertices, List<CodeGraphResult.Edge> edges) {
+        Map<String, Integer> index = new HashMap<>(vertices.size() * 2);
+        String[] labels = new String[vertices.size()];
+        for (CodeGraphResult.Vertex vertex : vertices) {
+            if (!index.containsKey(vertex.getId())) {
+                labels[index.size()] = vertex.getId();
+                index.put(vertex.getId(), index.size());
+            }
+        }
+        int n = index.size();
+
+        // Yorum: kenar anahtarı (min << 32 | max); sıralayıp tekilleştirmek string anahtarlı set'ten çok daha ucuz
+        long[] keys = new long[edges.size()];
+        int k = 0;
+        for (CodeGraphResult.Edge e : edges) {
+            Integer u = index.get(e.getSource());
+            Integer v = index.get(e.getTarget());
+            if (u == null || v == null || u.equals(v)) {
+                continue;
+            }
+            keys[k++] = ((long) Math.min(u, v) << 32) | Math.max(u, v);
+        }
+        return fromEdgeKeys(Arrays.copyOf(labels, n), index, keys, k);
+    }
+
+    /**
+     * Etiketleri ve kenar listesi verilen grafı oluşturur (us[i] - vs[i] kenarları).
+     */
+    public static IntGraph of(String[] labels, int[] us, int[] vs) {
+        Map<String, Integer> index = new HashMap<>(labels.length * 2);
+        for (int i = 0; i < labels.length; i++) {
+            index.put(labels[i], i);
+        }
+        long[] keys = new long[us.length];
+        int k = 0;
+        for (int i = 0; i < us.length; i++) {
+            if (us[i] == vs[i]) continue;
+            keys[k++] = ((long) Math.min(us[i], vs[i]) << 32) | Math.max(us[i], vs[i]);
+        }
+        return fromEdgeKeys(labels.clone(), index, keys, k);
+    }
+
+    private static IntGraph fromEdgeKeys(String[] labels, Map<String, Integer> index, long[] keys, int count) {
+        int n = labels.length;
+        Arrays.sort(keys, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < unique; i++) {
+            offsets[(int) (keys[i] >>> 32) + 1]++;
+            offsets[(int) keys[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] adjacency = new int[unique * 2];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < unique; i++) {
+            int u = (int) (keys[i] >>> 32);
+            int v = (int) keys[i];
+            adjacency[cursor[u]++] = v;
+            adjacency[cursor[v]++] = u;
+        }
+        // Yorum: anahtarlar sıralı olduğu için her komşu listesi de artan sırada
+        return new IntGraph(labels, index, offsets, adjacency);
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public String label(int v) {
+        return labels[v];
+    }
+
+    /**
+     * @return node id'si, bilinmeyen etiket için -1
+     */
+    public int indexOf(String label) {
+        Integer v = index.get(label);
+        return v == null ? -1 : v;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * v'nin komşuları adjacencyAt(adjacencyStart(v)) .. adjacencyAt(adjacencyEnd(v) - 1)
+     */
+    public int adjacencyStart(int v) {
+        return offsets[v];
+    }
+
+    public int adjacencyEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    public int adjacencyAt(int i) {
+        return adjacency[i];
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return Arrays.binarySearch(adjacency, offsets[u], offsets[u + 1], v) >= 0;
+    }
+
+    /**
+     * Node id'leri degree'ye göre azalan sırada (eşit degree'de id sırası korunur).
+     */
+    public int[] verticesByDegreeDescending() {
+        Integer[] order = new Integer[labels.length];
+        for (int v = 0; v < order.length; v++) order[v] = v;
+        Arrays.sort(order, (a, b) -> Integer.compare(degree(b), degree(a)));
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) result[i] = order[i];
+        return result;
+    }
+
+    /**
+     * removed kümesindeki node'lar çıkarıldıktan sonra kalan grafın bileşen sayısı ve en büyük bileşeni.
+     * Iteratif BFS kullanır; büyük graflarda stack taşması olmaz.
+     *
+     * @param removed Çıkarılan node id'leri (null = hiçbiri)
+     */
+    public ComponentStats componentStats(BitSet removed) {
+        int n = labels.length;
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int count = 0;
+        int largest = 0;
+        int remaining = 0;
+        for (int start = 0; start < n; start++) {
+            if (visited[start] || (removed != null && removed.get(start))) continue;
+            visited[start] = true;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int u = adjacency[i];
+                    if (!visited[u] && (removed == null || !removed.get(u))) {
+                        visited[u] = true;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+            count++;
+            largest = Math.max(largest, tail);
+            remaining += tail;
+        }
+        return new ComponentStats(count, largest, remaining);
+    }
+}
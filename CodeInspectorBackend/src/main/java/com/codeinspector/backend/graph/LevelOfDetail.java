@@ -0,0 +1,118 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Yerleşim koordinatlarından uzaklaştırılmış görünümler için küme seviyeleri (level of detail) üretir.
+ *
+ * Seviye l'de düzlem kenarı EDGE_LENGTH · 2^(l+1) olan kare hücrelere bölünür; aynı hücreye düşen node'lar
+ * tek bir küme olur (konumu üyelerin ağırlık merkezi, etiketi en yüksek dereceli üyesi). Kümeler arası
+ * edge'ler tekilleştirilip sayılır. Hücre kenarı her seviyede iki katına çıktığından seviyeler iç içedir.
+ * Yalnızca bir öncekinden belirgin biçimde daha az küme içeren seviyeler tutulur; küme sayısı
+ * minClusters'ın altına inince durulur.
+ */
+public final class LevelOfDetail {
+
+    private static final double MIN_REDUCTION = 0.7; // Bir seviye öncekinin en fazla %70'i kadar küme içermeli
+    private static final int MAX_LEVELS = 12;
+
+    private LevelOfDetail() {
+    }
+
+    /**
+     * @param minClusters Bu sayıya ya da altına inen seviyeden sonra durulur
+     */
+    public static List<GraphLayoutResult.Level> build(IntGraph graph, double[] x, double[] y, int minClusters) {
+        int n = graph.nodeCount();
+        List<GraphLayoutResult.Level> levels = new ArrayList<>();
+        int previousCount = n;
+        double cellSize = ForceLayout.EDGE_LENGTH * 2;
+        for (int l = 0; l < MAX_LEVELS && previousCount > minClusters; l++, cellSize *= 2) {
+            int[] assignment = new int[n];
+            int count = assign(x, y, cellSize, assignment);
+            if (count > previousCount * MIN_REDUCTION) {
+                continue; // Yeterince seyrekleşmedi; bir sonraki (daha kaba) hücre boyutunu dene
+            }
+            levels.add(level(graph, x, y, cellSize, assignment, count));
+            previousCount = count;
+        }
+        return levels;
+    }
+
+    /**
+     * Node'ları hücrelerine atar; küme numaraları hücrenin ilk görüldüğü node sırasına göredir.
+     *
+     * @return Küme sayısı
+     */
+    private static int assign(double[] x, double[] y, double cellSize, int[] assignment) {
+        Map<Long, Integer> cells = new HashMap<>();
+        for (int v = 0; v < x.length; v++) {
+            long cx = (long) Math.floor(x[v] / cellSize);
+            long cy = (long) Math.floor(y[v] / cellSize);
+            long key = (cx << 32) ^ (cy & 0xffffffffL);
+            Integer cluster = cells.get(key);
+            if (cluster == null) {
+                cluster = cells.size();
+                cells.put(key, cluster);
+            }
+            assignment[v] = cluster;
+        }
+        return cells.size();
+    }
+
+    private static GraphLayoutResult.Level level(IntGraph graph, double[] x, double[] y, double cellSize,
+                                                 int[] assignment, int count) {
+        int n = graph.nodeCount();
+        double[] sumX = new double[count];
+        double[] sumY = new double[count];
+        int[] size = new int[count];
+        int[] representative = new int[count];
+        Arrays.fill(representative, -1);
+        for (int v = 0; v < n; v++) {
+            int c = assignment[v];
+            sumX[c] += x[v];
+            sumY[c] += y[v];
+            size[c]++;
+            int r = representative[c];
+            if (r < 0 || graph.degree(v) > graph.degree(r)) {
+                representative[c] = v;
+            }
+        }
+
+        List<GraphLayoutResult.Cluster> clusters = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            clusters.add(new GraphLayoutResult.Cluster(c, round(sumX[c] / size[c]), round(sumY[c] / size[c]),
+                    size[c], graph.label(representative[c])));
+        }
+
+        // Yorum: küme çifti anahtarı (min << 32 | max); sıralayıp ardışık eşitleri saymak map'ten ucuz
+        long[] keys = new long[graph.edgeCount()];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (u <= v || assignment[u] == assignment[v]) continue;
+                int a = Math.min(assignment[u], assignment[v]);
+                int b = Math.max(assignment[u], assignment[v]);
+                keys[k++] = ((long) a << 32) | b;
+            }
+        }
+        Arrays.sort(keys, 0, k);
+        List<GraphLayoutResult.ClusterEdge> edges = new ArrayList<>();
+        for (int i = 0; i < k; ) {
+            int j = i;
+            while (j < k && keys[j] == keys[i]) j++;
+            edges.add(new GraphLayoutResult.ClusterEdge((int) (keys[i] >>> 32), (int) keys[i], j - i));
+            i = j;
+        }
+        return new GraphLayoutResult.Level(cellSize, assignment, clusters, edges);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.codeinspector.backend.graph;
+
+import com.codeinspector.backend.graph.CodeGraphResult.Edge;
+import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.PackageGraphResult.PackageEdge;
+import com.codeinspector.backend.graph.PackageGraphResult.PackageNode;
+
+import java.util.*;
+
+/**
+ * Sınıf/metot grafını package seviyesine yoğunlaştırır ve mimari sağlığını O(V + E) sürede raporlar.
+ *
+ * - Her sınıf package'ına, her metot parentClass'ının package'ına eşlenir.
+ * - "depends" ve "calls" edge'leri package çiftlerine toplanır ("has" ve hub edge'leri yapısaldır, sayılmaz).
+ * - Tarjan SCC ile döngüsel package grupları bulunur; SCC'lerin döngüsüz grafında her package'a
+ *   katman atanır (en uzun bağımlılık zinciri).
+ * - Katman ihlali: aynı SCC içinde DFS back edge'i olan package bağımlılıkları. Bunlar çıkarıldığında
+ *   package grafı döngüsüz olur, yani katmanlı bir mimariye dönmek için kırılması gereken edge'lerdir.
+ */
+public final class PackageCondensation {
+
+    public static final String DEFAULT_PACKAGE = "(default)";
+
+    private PackageCondensation() {
+    }
+
+    public static PackageGraphResult condense(List<Vertex> vertices, List<Edge> edges) {
+        // Package indeksleri (ada göre sıralı, deterministik id'ler için)
+        Map<String, String> packageOfVertex = new HashMap<>();
+        SortedMap<String, int[]> counts = new TreeMap<>(); // package -> {classCount, methodCount}
+        for (Vertex v : vertices) {
+            if (CodeGraphResult.HUB_NODE_ID.equals(v.getId())) continue;
+            String owner = "method".equals(v.getType()) ? parentClassOf(v) : v.getId();
+            if (owner == null) continue;
+            String pkg = packageOf(owner);
+            packageOfVertex.put(v.getId(), pkg);
+            counts.computeIfAbsent(pkg, k -> new int[2])["method".equals(v.getType()) ? 1 : 0]++;
+        }
+
+        String[] names = counts.keySet().toArray(new String[0]);
+        Map<String, Integer> idOf = new HashMap<>();
+        for (int i = 0; i < names.length; i++) idOf.put(names[i], i);
+        int p = names.length;
+
+        // Package çifti -> ağırlık
+        Map<Long, Integer> weights = new HashMap<>();
+        for (Edge e : edges) {
+            if ("has".equals(e.getType())) continue;
+            String from = packageOfVertex.get(e.getSource());
+            String to = packageOfVertex.get(e.getTarget());
+            if (from == null || to == null || from.equals(to)) continue;
+            weights.merge((long) idOf.get(from) * p + idOf.get(to), 1, Integer::sum);
+        }
+
+        // CSR (kaynak, sonra hedef sırasına göre)
+        long[] keys = new long[weights.size()];
+        int k = 0;
+        for (long key : weights.keySet()) keys[k++] = key;
+        Arrays.sort(keys);
+        int[] offsets = new int[p + 1];
+        int[] targets = new int[keys.length];
+        int[] edgeWeights = new int[keys.length];
+        int[] afferent = new int[p];
+        for (int i = 0; i < keys.length; i++) {
+            int from = (int) (keys[i] / p);
+            int to = (int) (keys[i] % p);
+            offsets[from + 1]++;
+            targets[i] = to;
+            edgeWeights[i] = weights.get(keys[i]);
+            afferent[to]++;
+        }
+        for (int i = 0; i < p; i++) offsets[i + 1] += offsets[i];
+
+        StronglyConnectedComponents scc = StronglyConnectedComponents.compute(p, offsets, targets);
+
+        // Katmanlar: bileşen id'leri ters topolojik sırada, bağımlılıklar daha küçük id'li bileşenlerde
+        int componentCount = scc.componentCount();
+        List<List<Integer>> members = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) members.add(new ArrayList<>());
+        for (int v = 0; v < p; v++) members.get(scc.componentOf(v)).add(v);
+        int[] componentLayer = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            for (int v : members.get(c)) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int d = scc.componentOf(targets[e]);
+                    if (d != c) componentLayer[c] = Math.max(componentLayer[c], componentLayer[d] + 1);
+                }
+            }
+        }
+
+        List<PackageNode> packages = new ArrayList<>(p);
+        List<PackageEdge> packageEdges = new ArrayList<>(keys.length);
+        List<PackageEdge> violations = new ArrayList<>();
+        for (int v = 0; v < p; v++) {
+            int efferent = offsets[v + 1] - offsets[v];
+            int coupling = afferent[v] + efferent;
+            packages.add(new PackageNode(names[v], counts.get(names[v])[0], counts.get(names[v])[1],
+                    componentLayer[scc.componentOf(v)], scc.componentOf(v), afferent[v], efferent,
+                    coupling == 0 ? 0.0 : (double) efferent / coupling));
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                PackageEdge edge = new PackageEdge(names[v], names[targets[e]], edgeWeights[e]);
+                packageEdges.add(edge);
+                if (scc.isBackEdge(e)) violations.add(edge);
+            }
+        }
+
+        List<List<String>> cycles = new ArrayList<>();
+        for (List<Integer> component : members) {
+            if (component.size() < 2) continue;
+            List<String> cycle = new ArrayList<>(component.size());
+            for (int v : component) cycle.add(names[v]);
+            Collections.sort(cycle);
+            cycles.add(cycle);
+        }
+        cycles.sort((a, b) -> Integer.compare(b.size(), a.size()));
+
+        return new PackageGraphResult(packages, packageEdges, cycles, violations);
+    }
+
+    private static String parentClassOf(Vertex v) {
+        Object parent = v.getMetrics() != null ? v.getMetrics().get("parentClass") : null;
+        return parent != null ? parent.toString() : null;
+    }
+
+    private static String packageOf(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot > 0 ? className.substring(0, dot) : DEFAULT_PACKAGE;
+    }
+}
@@ -0,0 +1,31 @@
+package com.codeinspector.backend.graph;
+
+import java.util.List;
+
+/**
+ * Package seviyesinde yoğunlaştırılmış graf: her node bir package, edge ağırlığı package'lar arası
+ * sınıf bağımlılığı ve metot çağrısı sayısıdır.
+ *
+ * @param packages           Package'lar (ada göre sıralı)
+ * @param edges              Package'lar arası ağırlıklı edge'ler
+ * @param cycles             Döngüye giren package grupları (SCC boyutu > 1), büyükten küçüğe
+ * @param layeringViolations Katman sırasını bozan edge'ler; çıkarıldıklarında package grafı döngüsüz kalır
+ */
+public record PackageGraphResult(
+        List<PackageNode> packages,
+        List<PackageEdge> edges,
+        List<List<String>> cycles,
+        List<PackageEdge> layeringViolations) {
+
+    /**
+     * @param layer       Döngüsüz yoğunlaştırmadaki katman; 0 = başka package'a bağımlı değil
+     * @param componentId Ait olduğu SCC; aynı id'ye sahip package'lar birbirine döngüsel bağımlıdır
+     * @param afferent    Bu package'a bağımlı package sayısı (Ca)
+     * @param efferent    Bu package'ın bağımlı olduğu package sayısı (Ce)
+     * @param instability Ce / (Ca + Ce); bağlantısız package için 0
+     */
+    public record PackageNode(String name, int classCount, int methodCount, int layer, int componentId,
+                              int afferent, int efferent, double instability) {}
+
+    public record PackageEdge(String source, String target, int weight) {}
+}
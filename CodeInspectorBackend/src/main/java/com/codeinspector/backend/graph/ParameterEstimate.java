@@ -0,0 +1,17 @@
+package com.codeinspector.backend.graph;
+
+/**
+ * Bir graf parametresinin o ana kadarki en iyi tahmini ve ispatlanmış sınırları (anytime sonuç).
+ * lowerBound == upperBound ise değer kesindir. Sınırı bilinmeyen taraf ±∞ olarak döner.
+ *
+ * @param parameter  Parametre adı (connectivity, scattering, ...)
+ * @param value      Bulunan en iyi değer (gerçek bir çözümün değeri)
+ * @param lowerBound Gerçek değer için ispatlanmış alt sınır
+ * @param upperBound Gerçek değer için ispatlanmış üst sınır
+ * @param method     Değeri üreten yöntem (BOUNDS / HEURISTIC / EXACT / TREE_DECOMPOSITION / ...)
+ * @param elapsedMs  Hesaplama başladığından beri geçen süre
+ * @param finished   Bu parametre için başka iyileştirme gelmeyecekse true
+ */
+public record ParameterEstimate(String parameter, double value, double lowerBound, double upperBound,
+                                String method, long elapsedMs, boolean finished) {
+}
@@ -0,0 +1,91 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+
+/**
+ * Derece dizisinden ayırıcı parametreleri (scattering, rupture, integrity, toughness) için ucuz sınırlar.
+ *
+ * Bir node silinince bileşen sayısı en fazla deg(v) − 1 artar. Bu yüzden s node silindiğinde
+ * ω(G−S) ≤ W(s) = min(n − s, c + Σ max(dᵢ − 1, 0)) olur; toplam en büyük s derece üzerindendir
+ * (c: başlangıçtaki bileşen sayısı). En büyük bileşen de en az ⌈(n − s) / ω⌉ node içerir.
+ * Sınırlar |S| kısıtı olmadan geçerlidir, dolayısıyla |S| ≤ r ile sınırlı değerler de aralığın içinde kalır.
+ * Kurulum O(n log n), her sınır O(n).
+ */
+public final class SeparatorBounds {
+
+    private final int n;
+    private final int[] maxComponents; // maxComponents[s] = W(s), s = 0..n
+
+    public SeparatorBounds(IntGraph graph, int componentCount) {
+        this.n = graph.nodeCount();
+        int[] degrees = new int[n];
+        for (int v = 0; v < n; v++) degrees[v] = graph.degree(v);
+        Arrays.sort(degrees);
+
+        this.maxComponents = new int[n + 1];
+        long bound = componentCount;
+        maxComponents[0] = Math.min(n, componentCount);
+        for (int s = 1; s <= n; s++) {
+            bound += Math.max(degrees[n - s] - 1, 0);
+            maxComponents[s] = (int) Math.min(n - s, bound);
+        }
+    }
+
+    /**
+     * s node silindiğinde oluşabilecek en fazla bileşen sayısı (W(s))
+     */
+    public int maxComponents(int s) {
+        return maxComponents[s];
+    }
+
+    /**
+     * max{ω(G−S) − |S|} için üst sınır; geçerli ayırıcı olamıyorsa -∞
+     */
+    public double scatteringUpperBound() {
+        double best = Double.NEGATIVE_INFINITY;
+        for (int s = 1; s <= n - 2; s++) {
+            int w = maxComponents[s];
+            if (w >= 2) best = Math.max(best, w - s);
+        }
+        return best;
+    }
+
+    /**
+     * max{ω(G−S) − |S| − m(G−S)} için üst sınır; ω arttıkça değer artmadığından her s için W(s) yeterli
+     */
+    public double ruptureUpperBound() {
+        double best = Double.NEGATIVE_INFINITY;
+        for (int s = 1; s <= n - 2; s++) {
+            int w = maxComponents[s];
+            if (w >= 2) best = Math.max(best, w - s - ceilDiv(n - s, w));
+        }
+        return best;
+    }
+
+    /**
+     * min{|S| + m(G−S)} için alt sınır (S boş olabilir)
+     */
+    public double integrityLowerBound() {
+        double best = n;
+        for (int s = 0; s < n; s++) {
+            best = Math.min(best, s + ceilDiv(n - s, Math.max(1, maxComponents[s])));
+        }
+        return best;
+    }
+
+    /**
+     * min{|S| / ω(G−S) : ω(G−S) ≥ 2} için alt sınır; hiçbir S grafı bölemiyorsa +∞
+     */
+    public double toughnessLowerBound() {
+        double best = Double.POSITIVE_INFINITY;
+        for (int s = 1; s <= n - 2; s++) {
+            int w = maxComponents[s];
+            if (w >= 2) best = Math.min(best, (double) s / w);
+        }
+        return best;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,676 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Düşük treewidth'li graflarda integrity, toughness ve scattering'i tree decomposition üzerinde dinamik programlama
+ * ile exact hesaplar. SeparatorSearch'ün aksine |S| için üst sınır yoktur.
+ *
+ * Her bag için durum: bag node'larının çıkarılıp çıkarılmadığı ve kalan node'ların işlenmiş alt grafta
+ * hangi bileşende olduğu (bag üzerinde bir partition). Node'lar elimine edildikleri adımda sayılır
+ * (unutma/forget), böylece birleştirmede (join) ortak bag node'ları iki kez sayılmaz. Bir bileşenin
+ * son bag node'u unutulduğunda bileşen kapanır.
+ *
+ * - Integrity: tüm k değerleri tek geçişte çözülür. Durum açık bileşenlerin unutulmuş node sayılarını da
+ *   taşır; değeri bir vektördür: v[k] = tüm bileşenler (kapanmış ve açık) ≤ k iken en az kaç node
+ *   çıkarılmış olduğu. Join'de vektörler eleman eleman toplanır (iki taraf aynı k ile bağımsız seçilir),
+ *   I(G) = min k + v[k] kökten okunur. k + v[k] bir eşiğe ulaşan değerler budanır; eşik küçük başlar ve o
+ *   eşiğin altında çözüm yoksa (bilinen üst sınıra kadar) 1.5 katına çıkarılır.
+ * - Toughness: τ = p / q oranı için min q·|S| − p·ω(G−S) (ω ≥ 2) çözülür; sonuç negatifse daha küçük bir
+ *   oran bulunmuştur (Dinkelbach). Değer sıfıra ulaşınca oran optimaldir.
+ * - Scattering: aynı maliyet p = q = 1 ile tek geçişte çözülür; min |S| − ω(G−S) = −s(G).
+ *
+ * Durum sayısı bag başına en fazla 2^b · Bell(b) (integrity'de eşikten küçük bileşen boyutlarıyla çarpılır),
+ * bu yüzden yalnızca dar decomposition'larda kullanılır. Süre bütçesi aşılırsa ya da cancelled true dönerse
+ * sonuç boş döner.
+ */
+public final class SeparatorDP {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+    private static final int INITIAL_INTEGRITY_LIMIT = 16;
+    private static final long NONE = Long.MAX_VALUE; // Integrity vektöründe bu k için çözüm yok
+    private static final long DOMINANCE_GRID_LIMIT = 1L << 22; // Bir etiket grubunun ızgara hücresi × k sayısı
+
+    private enum Mode { INTEGRITY, TOUGHNESS } // Scattering TOUGHNESS maliyetini p = q = 1 ile kullanır
+
+    private final IntGraph graph;
+    private final TreeDecomposition decomposition;
+    private final Mode mode;
+    private final long deadline;
+    private final BooleanSupplier cancelled;
+    private long operations = 0;
+    private boolean timedOut = false;
+
+    // Integrity: vektör uzunluğu; k + v[k] bu değere ulaşırsa budanır
+    private int limit;
+    // Toughness: maliyet = q·|S| − p·ω
+    private long p;
+    private long q;
+
+    /**
+     * Bag üzerindeki bir durum: data[0..b) bileşen etiketleri (çıkarılan node için -1), ardından
+     * integrity'de her açık bileşenin unutulmuş node sayısı, toughness'ta kapanmış bileşen sayısı (en fazla 2)
+     * ve en az bir node çıkarılıp çıkarılmadığı (S boş olamaz).
+     */
+    private static final class State {
+        final int[] data;
+        final int hash;
+
+        State(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof State other && hash == other.hash && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Bir bag üzerindeki durumlar -> değer. Toughness'ta {maliyet, tanık}: tanık o maliyeti veren çözümlerden
+     * birinin çıkarılan node sayısı. Integrity'de k'ya göre çıkarılan node sayısı vektörü (uzunluk limit).
+     */
+    private record Table(int[] bag, Map<State, long[]> entries) {}
+
+    private SeparatorDP(IntGraph graph, TreeDecomposition decomposition, Mode mode, long timeBudgetMillis,
+                        BooleanSupplier cancelled) {
+        this.graph = graph;
+        this.decomposition = decomposition;
+        this.mode = mode;
+        this.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * I(G) = min{|S| + m(G−S)}
+     *
+     * @param upperBound Bilinen bir çözümün değeri (ör. heuristic), yoksa Double.POSITIVE_INFINITY
+     * @return Exact değer, süre biterse boş
+     */
+    public static OptionalDouble integrity(IntGraph graph, TreeDecomposition decomposition,
+                                           double upperBound, long timeBudgetMillis) {
+        return integrity(graph, decomposition, upperBound, timeBudgetMillis, () -> false);
+    }
+
+    /**
+     * integrity; cancelled true dönerse (ör. çağıranın süre bütçesi doldu) hesaplama durur ve sonuç boş döner.
+     */
+    public static OptionalDouble integrity(IntGraph graph, TreeDecomposition decomposition,
+                                           double upperBound, long timeBudgetMillis, BooleanSupplier cancelled) {
+        int n = graph.nodeCount();
+        SeparatorDP dp = new SeparatorDP(graph, decomposition, Mode.INTEGRITY, timeBudgetMillis, cancelled);
+        int best = (int) Math.min(n, upperBound); // S = V her zaman n verir
+        // Eşiğin altında çözüm varsa kökteki en küçük değer optimumdur (daha iyisi hiç budanmaz); yoksa eşik
+        // büyütülür. Durum sayısı eşikle hızla büyüdüğü için toplam süreyi son geçiş belirler.
+        int limit = Math.min(best, INITIAL_INTEGRITY_LIMIT);
+        while (true) {
+            dp.limit = limit;
+            Table root = dp.run();
+            if (dp.timedOut) {
+                return OptionalDouble.empty();
+            }
+            long[] removed = root.entries().get(dp.emptyState());
+            if (removed != null) {
+                long found = NONE;
+                for (int k = 0; k < removed.length; k++) {
+                    if (removed[k] != NONE) found = Math.min(found, k + removed[k]);
+                }
+                return OptionalDouble.of(found);
+            }
+            if (limit >= best) {
+                return OptionalDouble.of(best); // best'ten küçük çözüm yok
+            }
+            limit = (int) Math.min(best, limit + limit / 2L);
+        }
+    }
+
+    /**
+     * τ(G) = min{|S| / ω(G−S) : ω(G−S) ≥ 2}
+     *
+     * @return Exact değer (graf parçalanamıyorsa Double.POSITIVE_INFINITY), süre biterse boş
+     */
+    public static OptionalDouble toughness(IntGraph graph, TreeDecomposition decomposition, long timeBudgetMillis) {
+        return toughness(graph, decomposition, timeBudgetMillis, () -> false);
+    }
+
+    /**
+     * toughness; cancelled true dönerse hesaplama durur ve sonuç boş döner.
+     */
+    public static OptionalDouble toughness(IntGraph graph, TreeDecomposition decomposition, long timeBudgetMillis,
+                                           BooleanSupplier cancelled) {
+        SeparatorDP dp = new SeparatorDP(graph, decomposition, Mode.TOUGHNESS, timeBudgetMillis, cancelled);
+        // Başlangıç oranı n: her ayırıcının oranı (n − 2) / 2'den küçüktür
+        dp.p = graph.nodeCount();
+        dp.q = 1;
+        boolean found = false;
+        while (true) {
+            Table root = dp.run();
+            if (dp.timedOut) {
+                return OptionalDouble.empty();
+            }
+            long[] best = bestSeparator(root);
+            if (best == null) {
+                return OptionalDouble.of(Double.POSITIVE_INFINITY); // ω ≥ 2 yapan S yok
+            }
+            if (found && best[0] >= 0) {
+                return OptionalDouble.of((double) dp.p / dp.q);
+            }
+            // Daha küçük oranlı bir ayırıcı: yeni oran |S| / ω
+            long removed = best[1];
+            long components = (dp.q * removed - best[0]) / dp.p;
+            long gcd = gcd(removed, components);
+            dp.p = removed / gcd;
+            dp.q = components / gcd;
+            found = true;
+        }
+    }
+
+    /**
+     * s(G) = max{ω(G−S) − |S| : S ≠ ∅, ω(G−S) ≥ 2}
+     *
+     * @return Exact değer (graf parçalanamıyorsa Double.NEGATIVE_INFINITY), süre biterse boş
+     */
+    public static OptionalDouble scattering(IntGraph graph, TreeDecomposition decomposition, long timeBudgetMillis) {
+        return scattering(graph, decomposition, timeBudgetMillis, () -> false);
+    }
+
+    /**
+     * scattering; cancelled true dönerse hesaplama durur ve sonuç boş döner.
+     */
+    public static OptionalDouble scattering(IntGraph graph, TreeDecomposition decomposition, long timeBudgetMillis,
+                                            BooleanSupplier cancelled) {
+        SeparatorDP dp = new SeparatorDP(graph, decomposition, Mode.TOUGHNESS, timeBudgetMillis, cancelled);
+        dp.p = 1;
+        dp.q = 1;
+        Table root = dp.run();
+        if (dp.timedOut) {
+            return OptionalDouble.empty();
+        }
+        long[] best = bestSeparator(root);
+        return OptionalDouble.of(best == null ? Double.NEGATIVE_INFINITY : -best[0]);
+    }
+
+    /**
+     * Kök tablosunda ω ≥ 2 ve S ≠ ∅ olan en küçük maliyetli durumun değeri; yoksa null
+     */
+    private static long[] bestSeparator(Table root) {
+        long[] best = null;
+        for (Map.Entry<State, long[]> entry : root.entries().entrySet()) {
+            int[] data = entry.getKey().data;
+            if (data[0] >= 2 && data[1] == 1 && (best == null || entry.getValue()[0] < best[0])) {
+                best = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Tüm decomposition'ı yapraklardan köke işler; kök tablosu boş bag üzerindedir.
+     */
+    private Table run() {
+        int size = decomposition.size();
+        Table[] pending = new Table[size];
+        Table root = new Table(new int[0], new HashMap<>());
+        root.entries().put(emptyState(), mode == Mode.INTEGRITY ? new long[limit] : new long[]{0, 0});
+        for (int i = 0; i < size && !timedOut; i++) {
+            Table acc = pending[i] != null ? pending[i] : base(decomposition.bag(i));
+            pending[i] = null;
+            Table forgotten = forget(acc);
+            int parent = decomposition.parent(i);
+            if (parent < 0) {
+                root = join(root, forgotten);
+            } else {
+                Table parentAcc = pending[parent] != null ? pending[parent] : base(decomposition.bag(parent));
+                pending[parent] = join(parentAcc, forgotten);
+            }
+        }
+        return root;
+    }
+
+    private State emptyState() {
+        return new State(mode == Mode.INTEGRITY ? new int[0] : new int[]{0, 0});
+    }
+
+    /**
+     * Bag'in her çıkarma seçimi için, bag içindeki edge'lerle oluşan bileşenler (henüz unutulmuş node yok)
+     */
+    private Table base(int[] bag) {
+        int b = bag.length;
+        boolean[][] adjacent = new boolean[b][b];
+        for (int i = 0; i < b; i++) {
+            for (int j = i + 1; j < b; j++) {
+                adjacent[i][j] = adjacent[j][i] = graph.hasEdge(bag[i], bag[j]);
+            }
+        }
+        Map<State, long[]> entries = new HashMap<>();
+        int[] uf = new int[b];
+        for (int mask = 0; mask < (1 << b); mask++) {
+            for (int i = 0; i < b; i++) uf[i] = i;
+            for (int i = 0; i < b; i++) {
+                if ((mask & (1 << i)) != 0) continue;
+                for (int j = i + 1; j < b; j++) {
+                    if ((mask & (1 << j)) == 0 && adjacent[i][j]) union(uf, i, j);
+                }
+            }
+            int[] raw = new int[b];
+            for (int i = 0; i < b; i++) {
+                raw[i] = (mask & (1 << i)) != 0 ? -1 : find(uf, i);
+            }
+            State state = canonical(raw, b, new long[b], 0, 0);
+            if (state == null) continue;
+            if (mode == Mode.TOUGHNESS) {
+                entries.put(state, new long[]{0, 0});
+            } else {
+                long[] removed = restrict(new long[limit], largestOpen(state.data, b));
+                if (removed != null) entries.put(state, removed);
+            }
+        }
+        return new Table(bag, entries);
+    }
+
+    /**
+     * Bag'in ilk node'unu (bu adımda elimine edilen) unutur ve sayar.
+     */
+    private Table forget(Table table) {
+        int[] bag = table.bag();
+        int b = bag.length;
+        Map<State, long[]> entries = new HashMap<>();
+        for (Map.Entry<State, long[]> entry : table.entries().entrySet()) {
+            if (tick()) break;
+            int[] data = entry.getKey().data;
+            int blocks = blockCount(data, b);
+            long[] sizes = new long[blocks];
+            int label = data[0];
+
+            if (mode == Mode.INTEGRITY) {
+                // Bileşen boyutları değişmez (node bag'den unutulmuş sayıya geçer). Kapanan bileşen açıkken
+                // her k için ≤ k tutulduğundan durumdan düşmesi yeterlidir.
+                for (int c = 0; c < blocks; c++) sizes[c] = data[b + c];
+                if (label >= 0) sizes[label]++;
+                State state = canonical(Arrays.copyOfRange(data, 1, b), blocks, sizes, 0, 0);
+                long[] removed = entry.getValue();
+                if (label < 0) {
+                    removed = Arrays.copyOf(removed, limit);
+                    for (int k = 0; k < limit; k++) {
+                        if (removed[k] != NONE) removed[k]++;
+                    }
+                    removed = restrict(removed, 0);
+                }
+                if (removed != null) offerMin(entries, state, removed);
+                continue;
+            }
+
+            long value = entry.getValue()[0];
+            long witness = entry.getValue()[1];
+            int closed = data[b];
+            int anyRemoved = data[b + 1];
+            if (label < 0) {
+                value += q;
+                witness++;
+                anyRemoved = 1;
+            } else {
+                boolean open = false;
+                for (int i = 1; i < b && !open; i++) open = data[i] == label;
+                if (!open) {
+                    // Bileşen kapandı
+                    closed = Math.min(2, closed + 1);
+                    value -= p;
+                }
+            }
+            State state = canonical(Arrays.copyOfRange(data, 1, b), blocks, sizes, closed, anyRemoved);
+            offer(entries, state, value, witness);
+        }
+        return new Table(Arrays.copyOfRange(bag, 1, b), dominanceFilter(entries, b - 1));
+    }
+
+    /**
+     * acc (bag B) ile child tablosunu (bag ⊆ B) birleştirir: çıkarma seçimleri ortak node'larda aynı olmalı,
+     * bileşenler ortak node'lar üzerinden birleşir, maliyetler ve unutulmuş node sayıları toplanır.
+     * Birleşen bileşenler yalnızca etiketlere bağlı olduğu için her etiket çifti için bir kez hesaplanır.
+     */
+    private Table join(Table acc, Table child) {
+        int[] bag = acc.bag();
+        int b = bag.length;
+        int[] childBag = child.bag();
+        int cb = childBag.length;
+        int[] position = new int[cb];
+        for (int j = 0; j < cb; j++) {
+            position[j] = indexOf(bag, childBag[j]);
+        }
+
+        // Child durumlarını çıkarma maskesine, sonra etiketlere göre grupla
+        Map<Integer, Map<State, List<Map.Entry<State, long[]>>>> byMask = new HashMap<>();
+        for (Map.Entry<State, long[]> entry : child.entries().entrySet()) {
+            int[] c = entry.getKey().data;
+            int mask = 0;
+            for (int j = 0; j < cb; j++) {
+                if (c[j] < 0) mask |= 1 << j;
+            }
+            byMask.computeIfAbsent(mask, m -> new HashMap<>())
+                    .computeIfAbsent(new State(Arrays.copyOf(c, cb)), l -> new ArrayList<>()).add(entry);
+        }
+        Map<State, List<Map.Entry<State, long[]>>> accByLabels = new HashMap<>();
+        for (Map.Entry<State, long[]> entry : acc.entries().entrySet()) {
+            accByLabels.computeIfAbsent(new State(Arrays.copyOf(entry.getKey().data, b)), l -> new ArrayList<>())
+                    .add(entry);
+        }
+
+        Map<State, long[]> entries = new HashMap<>();
+        int[] uf = new int[2 * (b + cb)];
+        for (Map.Entry<State, List<Map.Entry<State, long[]>>> accGroup : accByLabels.entrySet()) {
+            int[] a = accGroup.getKey().data;
+            int mask = 0;
+            for (int j = 0; j < cb; j++) {
+                if (a[position[j]] < 0) mask |= 1 << j;
+            }
+            Map<State, List<Map.Entry<State, long[]>>> matches = byMask.get(mask);
+            if (matches == null) continue;
+            int aBlocks = blockCount(a, b);
+            for (Map.Entry<State, List<Map.Entry<State, long[]>>> childGroup : matches.entrySet()) {
+                if (tick()) return new Table(bag, entries);
+                int[] c = childGroup.getKey().data;
+                int cBlocks = blockCount(c, cb);
+                int total = aBlocks + cBlocks;
+                for (int i = 0; i < total; i++) uf[i] = i;
+                for (int j = 0; j < cb; j++) {
+                    if (c[j] >= 0) union(uf, a[position[j]], aBlocks + c[j]);
+                }
+                // Birleşik etiketler ve her eski bileşenin yeni bileşeni
+                int[] labels = new int[b];
+                int[] relabel = new int[total];
+                Arrays.fill(relabel, -1);
+                int blocks = 0;
+                for (int i = 0; i < b; i++) {
+                    if (a[i] < 0) {
+                        labels[i] = -1;
+                    } else {
+                        int root = find(uf, a[i]);
+                        if (relabel[root] < 0) relabel[root] = blocks++;
+                        labels[i] = relabel[root];
+                    }
+                }
+                int[] target = new int[total];
+                for (int x = 0; x < total; x++) target[x] = relabel[find(uf, x)];
+                int[] members = new int[blocks];
+                for (int i = 0; i < b; i++) {
+                    if (labels[i] >= 0) members[labels[i]]++;
+                }
+
+                for (Map.Entry<State, long[]> accEntry : accGroup.getValue()) {
+                    for (Map.Entry<State, long[]> childEntry : childGroup.getValue()) {
+                        if (tick()) return new Table(bag, entries);
+                        if (mode == Mode.TOUGHNESS) {
+                            int[] data = Arrays.copyOf(labels, b + 2);
+                            data[b] = Math.min(2, accEntry.getKey().data[b] + childEntry.getKey().data[cb]);
+                            data[b + 1] = accEntry.getKey().data[b + 1] | childEntry.getKey().data[cb + 1];
+                            offer(entries, new State(data), accEntry.getValue()[0] + childEntry.getValue()[0],
+                                    accEntry.getValue()[1] + childEntry.getValue()[1]);
+                        } else {
+                            joinIntegrity(accEntry, childEntry, labels, target, members, aBlocks, cBlocks, entries);
+                        }
+                    }
+                }
+            }
+        }
+        return new Table(bag, dominanceFilter(entries, b));
+    }
+
+    /**
+     * İki integrity durumunu birleştirir: bileşen boyutları yeni bileşenlerde toplanır, her k için iki taraf
+     * birbirinden bağımsız seçildiğinden vektörler eleman eleman toplanır.
+     */
+    private void joinIntegrity(Map.Entry<State, long[]> accEntry, Map.Entry<State, long[]> childEntry,
+                               int[] labels, int[] target, int[] members, int aBlocks, int cBlocks,
+                               Map<State, long[]> entries) {
+        int b = labels.length;
+        int[] a = accEntry.getKey().data;
+        int[] c = childEntry.getKey().data;
+        int cb = c.length - cBlocks;
+        int[] data = Arrays.copyOf(labels, b + members.length);
+        for (int x = 0; x < aBlocks; x++) data[b + target[x]] += a[a.length - aBlocks + x];
+        for (int x = 0; x < cBlocks; x++) data[b + target[aBlocks + x]] += c[cb + x];
+        int open = 0;
+        for (int x = 0; x < members.length; x++) open = Math.max(open, data[b + x] + members[x]);
+        if (open >= limit) return;
+
+        long[] x = accEntry.getValue();
+        long[] y = childEntry.getValue();
+        long[] removed = new long[limit];
+        boolean any = false;
+        for (int k = 0; k < limit; k++) {
+            if (k < open || x[k] == NONE || y[k] == NONE || k + x[k] + y[k] >= limit) {
+                removed[k] = NONE;
+            } else {
+                removed[k] = x[k] + y[k];
+                any = true;
+            }
+        }
+        if (any) offerMin(entries, new State(data), removed);
+    }
+
+    /**
+     * Integrity'de aynı etiketlere sahip iki durumdan tüm açık bileşenleri küçük ya da eşit olanın değeri bir k
+     * için küçük ya da eşitse, diğeri o k'da gereksizdir (her devamda en az onun kadar iyidir) ve atılır.
+     * Aynı etiketli durumlar bileşen boyutlarıyla indekslenen bir ızgaraya yerleştirilir; her hücre kendisi ve
+     * her boyutta bir önceki hücrenin eleman eleman minimumunu (kendinden küçük tüm boyutların en iyisini)
+     * taşır. Izgara DOMINANCE_GRID_LIMIT'i aşan gruplar süzülmez.
+     */
+    private Map<State, long[]> dominanceFilter(Map<State, long[]> entries, int b) {
+        if (mode != Mode.INTEGRITY || entries.size() < 2) {
+            return entries;
+        }
+        Map<State, List<Map.Entry<State, long[]>>> byLabels = new HashMap<>();
+        for (Map.Entry<State, long[]> entry : entries.entrySet()) {
+            if (tick()) return entries;
+            if (entry.getKey().data.length > b) {
+                State labels = new State(Arrays.copyOf(entry.getKey().data, b));
+                byLabels.computeIfAbsent(labels, l -> new ArrayList<>()).add(entry);
+            }
+        }
+        for (List<Map.Entry<State, long[]>> group : byLabels.values()) {
+            if (group.size() < 2) continue;
+            int blocks = group.get(0).getKey().data.length - b;
+            // Her boyutta hücre sayısı (en büyük unutulmuş boyut + 1) ve adım
+            int[] extent = new int[blocks];
+            int[] stride = new int[blocks];
+            long cells = 1;
+            for (int x = 0; x < blocks; x++) {
+                for (Map.Entry<State, long[]> entry : group) {
+                    extent[x] = Math.max(extent[x], entry.getKey().data[b + x] + 1);
+                }
+                stride[x] = (int) cells;
+                cells *= extent[x];
+            }
+            if (cells * limit > DOMINANCE_GRID_LIMIT) continue;
+
+            List<Map.Entry<State, long[]>> byCell = new ArrayList<>(Collections.nCopies((int) cells, null));
+            for (Map.Entry<State, long[]> entry : group) {
+                byCell.set(cellOf(entry.getKey().data, b, stride), entry);
+            }
+            long[] grid = new long[(int) cells * limit];
+            int[] coordinate = new int[blocks];
+            for (int cell = 0; cell < cells; cell++) {
+                if (tick()) return entries;
+                // Koordinatlar cell ile birlikte artırılır (ilk boyut en hızlı değişir)
+                if (cell > 0) {
+                    for (int x = 0; x < blocks; x++) {
+                        if (++coordinate[x] < extent[x]) break;
+                        coordinate[x] = 0;
+                    }
+                }
+                // Bileşeni bu hücrenin boyutundan küçük k'larda hiçbir durumun değeri yoktur; bu kısım atlanır
+                // (önceki hücrelerin başlangıcı daha küçük olduğu için okunan kısım her zaman hesaplanmıştır)
+                int first = 0;
+                for (int x = 0; x < blocks; x++) first = Math.max(first, coordinate[x]);
+                int offset = cell * limit;
+                Arrays.fill(grid, offset + first, offset + limit, NONE);
+                for (int x = 0; x < blocks; x++) {
+                    if (coordinate[x] == 0) continue;
+                    int previous = (cell - stride[x]) * limit;
+                    for (int k = first; k < limit; k++) {
+                        grid[offset + k] = Math.min(grid[offset + k], grid[previous + k]);
+                    }
+                }
+                Map.Entry<State, long[]> entry = byCell.get(cell);
+                if (entry == null) continue;
+                long[] removed = entry.getValue();
+                boolean any = false;
+                for (int k = first; k < limit; k++) {
+                    if (removed[k] >= grid[offset + k]) {
+                        removed[k] = NONE;
+                    } else {
+                        grid[offset + k] = removed[k];
+                        any = true;
+                    }
+                }
+                if (!any) entries.remove(entry.getKey());
+            }
+        }
+        return entries;
+    }
+
+    private static int cellOf(int[] data, int b, int[] stride) {
+        int cell = 0;
+        for (int x = 0; x < stride.length; x++) cell += data[b + x] * stride[x];
+        return cell;
+    }
+
+    /**
+     * En büyük bileşeni open'dan küçük olan k'ları ve k + v[k] limit'e ulaşan değerleri atar; hiç değer
+     * kalmazsa null döner.
+     */
+    private long[] restrict(long[] removed, long open) {
+        boolean any = false;
+        for (int k = 0; k < limit; k++) {
+            if (removed[k] == NONE) continue;
+            if (k < open || k + removed[k] >= limit) {
+                removed[k] = NONE;
+            } else {
+                any = true;
+            }
+        }
+        return any ? removed : null;
+    }
+
+    /**
+     * En büyük açık bileşenin boyutu (unutulmuş + bag'deki node'lar)
+     */
+    private static long largestOpen(int[] data, int b) {
+        long largest = 0;
+        for (int x = 0; x < data.length - b; x++) {
+            long size = data[b + x];
+            for (int i = 0; i < b; i++) {
+                if (data[i] == x) size++;
+            }
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    /**
+     * Etiketleri ilk görülme sırasına göre yeniden numaralar. Integrity'de açık bir bileşenin boyutu
+     * (unutulmuş + bag'deki node'lar) limit'e ulaşırsa null döner.
+     */
+    private State canonical(int[] raw, int rawBlocks, long[] rawSizes, int closed, int anyRemoved) {
+        int b = raw.length;
+        int[] relabel = new int[rawBlocks];
+        Arrays.fill(relabel, -1);
+        int blocks = 0;
+        int[] labels = new int[b];
+        for (int i = 0; i < b; i++) {
+            if (raw[i] < 0) {
+                labels[i] = -1;
+            } else {
+                if (relabel[raw[i]] < 0) relabel[raw[i]] = blocks++;
+                labels[i] = relabel[raw[i]];
+            }
+        }
+        if (mode == Mode.TOUGHNESS) {
+            int[] data = Arrays.copyOf(labels, b + 2);
+            data[b] = closed;
+            data[b + 1] = anyRemoved;
+            return new State(data);
+        }
+        int[] data = Arrays.copyOf(labels, b + blocks);
+        for (int x = 0; x < rawBlocks; x++) {
+            if (relabel[x] >= 0) data[b + relabel[x]] = (int) rawSizes[x];
+        }
+        return largestOpen(data, b) >= limit ? null : new State(data);
+    }
+
+    private static void offer(Map<State, long[]> entries, State state, long value, long witness) {
+        long[] current = entries.get(state);
+        if (current == null) {
+            entries.put(state, new long[]{value, witness});
+        } else if (value < current[0] || (value == current[0] && witness < current[1])) {
+            current[0] = value;
+            current[1] = witness;
+        }
+    }
+
+    /**
+     * Integrity: aynı duruma gelen vektörlerin eleman eleman minimumu
+     */
+    private static void offerMin(Map<State, long[]> entries, State state, long[] removed) {
+        long[] current = entries.putIfAbsent(state, removed);
+        if (current != null) {
+            for (int k = 0; k < current.length; k++) {
+                current[k] = Math.min(current[k], removed[k]);
+            }
+        }
+    }
+
+    private boolean tick() {
+        if (++operations % DEADLINE_CHECK_INTERVAL == 0
+                && (System.nanoTime() > deadline || cancelled.getAsBoolean())) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    private static int blockCount(int[] data, int b) {
+        int max = -1;
+        for (int i = 0; i < b; i++) max = Math.max(max, data[i]);
+        return max + 1;
+    }
+
+    private static int indexOf(int[] bag, int v) {
+        for (int i = 0; i < bag.length; i++) {
+            if (bag[i] == v) return i;
+        }
+        throw new IllegalStateException("Vertex " + v + " is not in the parent bag");
+    }
+
+    private static int find(int[] uf, int x) {
+        while (uf[x] != x) x = uf[x];
+        return x;
+    }
+
+    private static void union(int[] uf, int x, int y) {
+        int rx = find(uf, x);
+        int ry = find(uf, y);
+        if (rx != ry) uf[Math.max(rx, ry)] = Math.min(rx, ry);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,334 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Scattering, integrity ve toughness için ortak ayırıcı (separator) değerlendirme motoru.
+ * Verilen aday listesinden r elemanlı her S kümesi için G − S'nin bileşen sayısını (ω),
+ * en büyük bileşenini (m) ve kalan node sayısını hesaplar.
+ *
+ * Her S için BFS yapmak yerine G − S geri alınabilir (rollback) bir union-find'a node node eklenerek kurulur.
+ * Aday listesi böl-ve-yönet ile gezilir: bir yarıdan kaç eleman çıkarılacağı seçilir, tamamen tutulan
+ * parçalar bir kez eklenir ve alt dallar bitince geri alınır. Böylece ardışık S kümeleri ortak kısımlarını
+ * paylaşır; her aday değerlendirmesi toplamda O(Δ · log n) civarında kalır.
+ *
+ * Paralel modda kombinasyon uzayı "ilk çıkarılan aday" indeksine göre bağımsız aralıklara bölünür ve
+ * fork/join ile work-stealing yapılarak gezilir; her yaprak görev kendi union-find örneğini kullanır.
+ * Bir örnek aynı anda tek thread tarafından kullanılmalıdır.
+ *
+ * Fork/join worker'ları çağıran thread'in kesilmesini (interrupt) görmediği için iptal, her dalda sorulan
+ * bir cancelled bayrağıyla yapılır; bayrak true olunca tüm görevler o ana kadar gezdikleriyle döner.
+ */
+public final class SeparatorSearch {
+
+    /**
+     * @return false dönerse arama durur
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        boolean visit(int[] removed, int removedCount, int components, int largest, int remaining);
+    }
+
+    /**
+     * Yarım kalmış bir dalın budanıp budanamayacağına karar verir.
+     * pendingInserts: bu dalda grafa daha eklenecek node sayısı. Node eklendikçe largest azalmaz,
+     * bileşen sayısı ise en fazla pendingInserts kadar artabilir; bound'lar buna göre kurulur.
+     */
+    @FunctionalInterface
+    public interface Pruner {
+        boolean prune(int removedCount, int components, int largest, int remaining, int pendingInserts);
+    }
+
+    // Bu sayıdan az aday varsa paralelleştirme maliyetine değmez
+    private static final int PARALLEL_MIN_CANDIDATES = 24;
+
+    private final IntGraph graph;
+    private final int[] candidates;
+    private final Pruner pruner;
+    private final AtomicBoolean stop;
+    private final BooleanSupplier cancelled;
+
+    // Rollback union-find (path compression yok, union by size)
+    private final int[] parent;
+    private final int[] size;
+    private final BitSet present;
+    private int components = 0;
+    private int presentCount = 0;
+    private int largest = 0;
+
+    // İşlem geçmişi: >= 0 ise birleştirilen kökün id'si, < 0 ise eklenen node (-(v + 1))
+    private int[] history;
+    private int[] previousLargest;
+    private int historySize = 0;
+
+    private final int[] removed;
+    private int removedCount = 0;
+    private long visited = 0;
+
+    private SeparatorSearch(IntGraph graph, int[] candidates, Pruner pruner, AtomicBoolean stop,
+                            BooleanSupplier cancelled) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.candidates = candidates;
+        this.pruner = pruner;
+        this.stop = stop;
+        this.cancelled = cancelled;
+        this.parent = new int[n];
+        this.size = new int[n];
+        this.present = new BitSet(n);
+        this.history = new int[Math.max(16, 2 * n)];
+        this.previousLargest = new int[history.length];
+        this.removed = new int[candidates.length];
+    }
+
+    /**
+     * candidates içinden r elemanlı her kümeyi çıkararak visitor'ı çağırır.
+     * Aday olmayan node'lar her zaman grafta kalır.
+     *
+     * @return Değerlendirilen küme sayısı
+     */
+    public static long enumerate(IntGraph graph, int[] candidates, int r, Visitor visitor) {
+        return enumerate(graph, candidates, r, null, visitor);
+    }
+
+    /**
+     * Tek thread'de gezinir; pruner null değilse umutsuz dallar atlanır.
+     */
+    public static long enumerate(IntGraph graph, int[] candidates, int r, Pruner pruner, Visitor visitor) {
+        if (r < 0 || r > candidates.length) {
+            return 0;
+        }
+        SeparatorSearch search = new SeparatorSearch(graph, candidates, pruner, new AtomicBoolean(), () -> false);
+        search.insertNonCandidates();
+        search.solve(new int[]{0, candidates.length, r}, 1, visitor);
+        return search.visited;
+    }
+
+    /**
+     * Kombinasyon uzayını fork/join havuzunda paralel gezer.
+     * visitor ve pruner birden fazla thread'den çağrılır; paylaşılan durum thread-safe olmalıdır
+     * (ör. {@link SharedBound}). visitor false dönerse tüm görevler durur.
+     *
+     * @return Değerlendirilen küme sayısı
+     */
+    public static long enumerateParallel(IntGraph graph, int[] candidates, int r,
+                                         Pruner pruner, Visitor visitor, ForkJoinPool pool) {
+        return enumerateParallel(graph, candidates, r, pruner, visitor, pool, () -> false);
+    }
+
+    /**
+     * enumerateParallel; cancelled true dönünce tüm görevler durur (ör. hesaplamanın süre bütçesi doldu).
+     * cancelled birden fazla thread'den sık çağrılır, ucuz olmalıdır.
+     */
+    public static long enumerateParallel(IntGraph graph, int[] candidates, int r, Pruner pruner,
+                                         Visitor visitor, ForkJoinPool pool, BooleanSupplier cancelled) {
+        if (r < 0 || r > candidates.length) {
+            return 0;
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        if (r == 0 || candidates.length < PARALLEL_MIN_CANDIDATES) {
+            SeparatorSearch search = new SeparatorSearch(graph, candidates, pruner, stop, cancelled);
+            search.insertNonCandidates();
+            search.solve(new int[]{0, candidates.length, r}, 1, visitor);
+            return search.visited;
+        }
+        return pool.invoke(new FirstChoiceTask(graph, candidates, r, pruner, visitor, stop, cancelled,
+                0, candidates.length - r + 1));
+    }
+
+    /**
+     * İlk (en küçük indeksli) çıkarılan adayı [from, to) aralığında olan kümeleri gezer.
+     * Aralık tek elemana inene kadar ikiye bölünür; boşta kalan worker'lar kalan yarıları çalar.
+     */
+    private static final class FirstChoiceTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final IntGraph graph;
+        private final int[] candidates;
+        private final int r;
+        private final Pruner pruner;
+        private final Visitor visitor;
+        private final AtomicBoolean stop;
+        private final BooleanSupplier cancelled;
+        private final int from;
+        private final int to;
+
+        FirstChoiceTask(IntGraph graph, int[] candidates, int r, Pruner pruner, Visitor visitor,
+                        AtomicBoolean stop, BooleanSupplier cancelled, int from, int to) {
+            this.graph = graph;
+            this.candidates = candidates;
+            this.r = r;
+            this.pruner = pruner;
+            this.visitor = visitor;
+            this.stop = stop;
+            this.cancelled = cancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (stop.get()) {
+                return 0L;
+            }
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                FirstChoiceTask left = new FirstChoiceTask(graph, candidates, r, pruner, visitor, stop, cancelled,
+                        from, mid);
+                left.fork();
+                long right = new FirstChoiceTask(graph, candidates, r, pruner, visitor, stop, cancelled,
+                        mid, to).compute();
+                return right + left.join();
+            }
+
+            // Yaprak: candidates[from] çıkarılır, ondan önceki adaylar grafta tutulur
+            SeparatorSearch search = new SeparatorSearch(graph, candidates, pruner, stop, cancelled);
+            search.insertNonCandidates();
+            for (int i = 0; i < from; i++) search.insert(candidates[i]);
+            search.removed[search.removedCount++] = candidates[from];
+            search.solve(new int[]{from + 1, candidates.length, r - 1}, 1, visitor);
+            return search.visited;
+        }
+    }
+
+    private void insertNonCandidates() {
+        BitSet isCandidate = new BitSet(graph.nodeCount());
+        for (int v : candidates) isCandidate.set(v);
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (!isCandidate.get(v)) insert(v);
+        }
+    }
+
+    /**
+     * segments: (lo, hi, k) üçlüleri; her segmentin [lo, hi) aralığından tam k aday çıkarılacak.
+     * Segment dışındaki adaylar için karar zaten verilmiştir (eklendi ya da çıkarıldı).
+     */
+    private boolean solve(int[] segments, int count, Visitor visitor) {
+        if (stop.get()) {
+            return false;
+        }
+        if (cancelled.getAsBoolean()) {
+            stop.set(true);
+            return false;
+        }
+        int checkpoint = historySize;
+        int removedMark = removedCount;
+
+        // Tamamen tutulan ya da tamamen çıkarılan segmentleri hemen uygula
+        int[] open = new int[count * 3 + 3];
+        int openCount = 0;
+        int pendingInserts = 0;
+        for (int s = 0; s < count; s++) {
+            int lo = segments[3 * s];
+            int hi = segments[3 * s + 1];
+            int k = segments[3 * s + 2];
+            if (k == 0) {
+                for (int i = lo; i < hi; i++) insert(candidates[i]);
+            } else if (k == hi - lo) {
+                for (int i = lo; i < hi; i++) removed[removedCount++] = candidates[i];
+            } else {
+                open[3 * openCount] = lo;
+                open[3 * openCount + 1] = hi;
+                open[3 * openCount + 2] = k;
+                openCount++;
+                pendingInserts += hi - lo - k;
+            }
+        }
+
+        boolean proceed = true;
+        if (openCount == 0) {
+            visited++;
+            proceed = visitor.visit(removed, removedCount, components, largest, presentCount);
+            if (!proceed) stop.set(true);
+        } else if (pruner == null
+                || !pruner.prune(removedCount, components, largest, presentCount, pendingInserts)) {
+            // Bound iyileşebilir: ilk açık segmenti ikiye böl; j = sol yarıdan çıkarılacak sayı (büyükten küçüğe)
+            int lo = open[0];
+            int hi = open[1];
+            int k = open[2];
+            int mid = (lo + hi) >>> 1;
+            int[] next = new int[openCount * 3 + 3];
+            System.arraycopy(open, 3, next, 6, (openCount - 1) * 3);
+            for (int j = Math.min(k, mid - lo); j >= Math.max(0, k - (hi - mid)) && proceed; j--) {
+                next[0] = lo;
+                next[1] = mid;
+                next[2] = j;
+                next[3] = mid;
+                next[4] = hi;
+                next[5] = k - j;
+                proceed = solve(next, openCount + 1, visitor);
+            }
+        }
+
+        rollback(checkpoint);
+        removedCount = removedMark;
+        return proceed;
+    }
+
+    private void insert(int v) {
+        present.set(v);
+        parent[v] = v;
+        size[v] = 1;
+        components++;
+        presentCount++;
+        record(-(v + 1));
+        largest = Math.max(largest, 1);
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            int u = graph.adjacencyAt(i);
+            if (present.get(u)) union(v, u);
+        }
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return;
+        if (size[ra] < size[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        record(rb);
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        components--;
+        largest = Math.max(largest, size[ra]);
+    }
+
+    private int find(int v) {
+        while (parent[v] != v) v = parent[v];
+        return v;
+    }
+
+    private void record(int op) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, history.length * 2);
+            previousLargest = Arrays.copyOf(previousLargest, history.length);
+        }
+        history[historySize] = op;
+        previousLargest[historySize] = largest;
+        historySize++;
+    }
+
+    private void rollback(int checkpoint) {
+        while (historySize > checkpoint) {
+            historySize--;
+            int op = history[historySize];
+            largest = previousLargest[historySize];
+            if (op < 0) {
+                present.clear(-op - 1);
+                components--;
+                presentCount--;
+            } else {
+                int root = parent[op];
+                size[root] -= size[op];
+                parent[op] = op;
+                components++;
+            }
+        }
+    }
+}
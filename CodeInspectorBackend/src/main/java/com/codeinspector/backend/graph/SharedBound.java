@@ -0,0 +1,54 @@
+package com.codeinspector.backend.graph;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paralel aramalarda thread'ler arasında paylaşılan en iyi değer (bound).
+ * Değer double bitleri olarak AtomicLong içinde tutulur; güncellemeler CAS ile yapılır.
+ */
+public final class SharedBound {
+
+    private final AtomicLong bits;
+
+    public SharedBound(double initial) {
+        this.bits = new AtomicLong(Double.doubleToRawLongBits(initial));
+    }
+
+    public double get() {
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    /**
+     * Değer mevcut bound'dan küçükse bound'u günceller.
+     *
+     * @return Bound iyileştiyse true
+     */
+    public boolean offerMin(double value) {
+        while (true) {
+            long current = bits.get();
+            if (value >= Double.longBitsToDouble(current)) {
+                return false;
+            }
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Değer mevcut bound'dan büyükse bound'u günceller.
+     *
+     * @return Bound iyileştiyse true
+     */
+    public boolean offerMax(double value) {
+        while (true) {
+            long current = bits.get();
+            if (value <= Double.longBitsToDouble(current)) {
+                return false;
+            }
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+                return true;
+            }
+        }
+    }
+}
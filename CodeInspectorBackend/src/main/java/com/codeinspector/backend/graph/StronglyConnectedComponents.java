@@ -0,0 +1,112 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+
+/**
+ * Yönlü graf için Tarjan strongly connected components, O(V + E).
+ *
+ * Özyineleme yerine açık bir çağrı yığını kullanılır; binlerce node'luk zincirlerde stack overflow olmaz.
+ * Graf CSR biçiminde verilir: v'nin komşuları targets[offsets[v] .. offsets[v + 1]).
+ *
+ * Bileşen id'leri Tarjan'ın bitirme sırasıdır, yani ters topolojik sıradır: c1 -> c2 edge'i varsa
+ * (c1 != c2) c1 > c2. Aynı DFS sırasında back edge'ler (DFS yolundaki bir ataya giden edge'ler)
+ * işaretlenir; bunlar çıkarıldığında graf döngüsüz kalır.
+ */
+public final class StronglyConnectedComponents {
+
+    private final int[] component;
+    private final int[] componentSize;
+    private final boolean[] backEdge;
+
+    private StronglyConnectedComponents(int[] component, int[] componentSize, boolean[] backEdge) {
+        this.component = component;
+        this.componentSize = componentSize;
+        this.backEdge = backEdge;
+    }
+
+    public static StronglyConnectedComponents compute(int n, int[] offsets, int[] targets) {
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] onStack = new boolean[n];
+        boolean[] onPath = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] component = new int[n];
+        int[] sizes = new int[n];
+        boolean[] backEdge = new boolean[targets.length];
+        Arrays.fill(index, -1);
+
+        int counter = 0;
+        int stackTop = 0;
+        int componentCount = 0;
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) continue;
+
+            int callTop = 0;
+            index[root] = low[root] = counter++;
+            stack[stackTop++] = root;
+            onStack[root] = onPath[root] = true;
+            nextEdge[root] = offsets[root];
+            callStack[callTop++] = root;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                if (nextEdge[v] < offsets[v + 1]) {
+                    int e = nextEdge[v]++;
+                    int w = targets[e];
+                    if (index[w] < 0) {
+                        // Ağaç edge'i: w'ye in
+                        index[w] = low[w] = counter++;
+                        stack[stackTop++] = w;
+                        onStack[w] = onPath[w] = true;
+                        nextEdge[w] = offsets[w];
+                        callStack[callTop++] = w;
+                    } else {
+                        if (onPath[w]) backEdge[e] = true;
+                        if (onStack[w]) low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // v bitti
+                callTop--;
+                onPath[v] = false;
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackTop];
+                        onStack[w] = false;
+                        component[w] = componentCount;
+                        sizes[componentCount]++;
+                    } while (w != v);
+                    componentCount++;
+                }
+                if (callTop > 0) {
+                    int parent = callStack[callTop - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return new StronglyConnectedComponents(component, Arrays.copyOf(sizes, componentCount), backEdge);
+    }
+
+    public int componentCount() {
+        return componentSize.length;
+    }
+
+    public int componentOf(int v) {
+        return component[v];
+    }
+
+    public int componentSize(int c) {
+        return componentSize[c];
+    }
+
+    /**
+     * CSR'deki e. edge DFS back edge'i mi (döngüyü kapatan edge)
+     */
+    public boolean isBackEdge(int e) {
+        return backEdge[e];
+    }
+}
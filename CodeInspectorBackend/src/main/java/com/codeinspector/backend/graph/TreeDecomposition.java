@@ -0,0 +1,201 @@
+package com.codeinspector.backend.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Eliminasyon sırasından kurulan tree decomposition.
+ *
+ * Node'lar sırayla elimine edilir: v elimine edilirken kalan komşuları birbirine bağlanır (fill edge)
+ * ve v'nin bag'i {v} ∪ N+(v) olur (N+(v): v'den sonra elimine edilecek komşular). v'nin parent'ı
+ * N+(v) içinde ilk elimine edilen node'dur; N+(v) \ {parent} ⊆ N+(parent) olduğu için bu ağaç geçerli bir
+ * tree decomposition'dır ve genişliği max |N+(v)|'dir.
+ *
+ * Sıra iki klasik heuristic'ten biriyle seçilir: min-degree (en az komşulu node) ve min-fill (en az fill edge
+ * ekleyen node). Genişlik sınırı verildiğinde yalnızca derecesi sınırın altındaki node'lar elimine edilebilir;
+ * böyle node kalmazsa kurulum hemen bırakılır, yani geniş graflarda maliyet düşük kalır.
+ */
+public final class TreeDecomposition {
+
+    public enum Heuristic { MIN_DEGREE, MIN_FILL }
+
+    // Min-fill her adımda komşular arası çiftleri saydığı için bu boyutun üzerinde sadece min-degree denenir
+    private static final int MIN_FILL_NODE_LIMIT = 20_000;
+
+    private final int[] order;     // eliminasyon sırası: i. adımda elimine edilen node
+    private final int[][] bags;    // i. adımın bag'i: bags[i][0] = order[i], ardından N+(order[i])
+    private final int[] parent;    // i. adımın parent adımı, kök ise -1
+    private final int width;
+
+    private TreeDecomposition(int[] order, int[][] bags, int[] parent, int width) {
+        this.order = order;
+        this.bags = bags;
+        this.parent = parent;
+        this.width = width;
+    }
+
+    /**
+     * Önce min-degree, genişlik 1'den büyükse min-fill dener ve daha dar olanı döndürür.
+     *
+     * @return Genişliği maxWidth'i aşmayan decomposition, bulunamazsa null
+     */
+    public static TreeDecomposition compute(IntGraph graph, int maxWidth) {
+        TreeDecomposition best = compute(graph, maxWidth, Heuristic.MIN_DEGREE);
+        if ((best == null || best.width > 1) && graph.nodeCount() <= MIN_FILL_NODE_LIMIT) {
+            TreeDecomposition fill = compute(graph, best == null ? maxWidth : best.width - 1, Heuristic.MIN_FILL);
+            if (fill != null) {
+                best = fill;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return Genişliği maxWidth'i aşmayan decomposition, bu heuristic ile bulunamazsa null
+     */
+    public static TreeDecomposition compute(IntGraph graph, int maxWidth, Heuristic heuristic) {
+        int n = graph.nodeCount();
+        List<Set<Integer>> adjacency = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            Set<Integer> neighbours = new HashSet<>(graph.degree(v) * 2);
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                neighbours.add(graph.adjacencyAt(i));
+            }
+            adjacency.add(neighbours);
+        }
+
+        // Yorum: IndexedMaxHeap en büyüğü verdiği için anahtarlar negatif; eşitlikte küçük id önce
+        IndexedMaxHeap candidates = new IndexedMaxHeap(n);
+        for (int v = 0; v < n; v++) {
+            updateCandidate(candidates, adjacency, v, maxWidth, heuristic);
+        }
+
+        int[] order = new int[n];
+        int[] step = new int[n];
+        int[][] higher = new int[n][];
+        int width = 0;
+        for (int i = 0; i < n; i++) {
+            if (candidates.isEmpty()) {
+                return null; // Kalan tüm node'ların derecesi sınırın üzerinde
+            }
+            int v = candidates.pollMax();
+            order[i] = v;
+            step[v] = i;
+            Set<Integer> neighbours = adjacency.get(v);
+            int[] rest = new int[neighbours.size()];
+            int k = 0;
+            for (int u : neighbours) rest[k++] = u;
+            Arrays.sort(rest);
+            higher[i] = rest;
+            width = Math.max(width, rest.length);
+
+            // v'yi çıkar, komşularını birbirine bağla
+            Set<Integer> affected = new HashSet<>();
+            for (int u : rest) {
+                adjacency.get(u).remove(v);
+                affected.add(u);
+            }
+            for (int a = 0; a < rest.length; a++) {
+                for (int b = a + 1; b < rest.length; b++) {
+                    if (adjacency.get(rest[a]).add(rest[b])) {
+                        adjacency.get(rest[b]).add(rest[a]);
+                        if (heuristic == Heuristic.MIN_FILL) {
+                            // Yeni edge, iki ucun ortak komşularının fill sayısını azaltır
+                            addCommonNeighbours(adjacency, rest[a], rest[b], maxWidth, affected);
+                        }
+                    }
+                }
+            }
+            adjacency.set(v, Set.of());
+            for (int u : affected) {
+                updateCandidate(candidates, adjacency, u, maxWidth, heuristic);
+            }
+        }
+
+        int[][] bags = new int[n][];
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] bag = new int[higher[i].length + 1];
+            bag[0] = order[i];
+            System.arraycopy(higher[i], 0, bag, 1, higher[i].length);
+            bags[i] = bag;
+            int first = -1;
+            for (int u : higher[i]) {
+                if (first < 0 || step[u] < first) first = step[u];
+            }
+            parent[i] = first;
+        }
+        return new TreeDecomposition(order, bags, parent, width);
+    }
+
+    private static void updateCandidate(IndexedMaxHeap candidates, List<Set<Integer>> adjacency, int v,
+                                        int maxWidth, Heuristic heuristic) {
+        Set<Integer> neighbours = adjacency.get(v);
+        if (neighbours.size() > maxWidth) {
+            candidates.remove(v); // Şu an elimine edilirse bag sınırı aşılır
+            return;
+        }
+        double key = heuristic == Heuristic.MIN_DEGREE
+                ? neighbours.size()
+                : fillCount(adjacency, neighbours) * (double) (maxWidth + 1) + neighbours.size();
+        candidates.update(v, -key);
+    }
+
+    /**
+     * Komşular arasındaki eksik edge sayısı (v elimine edilirse eklenecek fill edge'ler)
+     */
+    private static int fillCount(List<Set<Integer>> adjacency, Set<Integer> neighbours) {
+        int[] members = new int[neighbours.size()];
+        int k = 0;
+        for (int u : neighbours) members[k++] = u;
+        int missing = 0;
+        for (int a = 0; a < members.length; a++) {
+            for (int b = a + 1; b < members.length; b++) {
+                if (!adjacency.get(members[a]).contains(members[b])) missing++;
+            }
+        }
+        return missing;
+    }
+
+    private static void addCommonNeighbours(List<Set<Integer>> adjacency, int x, int y, int maxWidth,
+                                            Set<Integer> affected) {
+        Set<Integer> small = adjacency.get(x);
+        Set<Integer> large = adjacency.get(y);
+        if (small.size() > large.size()) {
+            Set<Integer> swap = small;
+            small = large;
+            large = swap;
+        }
+        for (int w : small) {
+            if (large.contains(w) && adjacency.get(w).size() <= maxWidth) {
+                affected.add(w);
+            }
+        }
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public int eliminated(int i) {
+        return order[i];
+    }
+
+    /**
+     * i. adımın bag'i; ilk eleman elimine edilen node
+     */
+    public int[] bag(int i) {
+        return bags[i];
+    }
+
+    public int parent(int i) {
+        return parent[i];
+    }
+}
@@ -0,0 +1,243 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Menger teoremi ile kesin vertex connectivity (κ(G)) hesabı.
+ * Her node v iki node'a bölünür (v_in → v_out, kapasite 1); her yönsüz kenar {x, y}
+ * x_out → y_in ve y_out → x_in yayları olur. s_out'tan t_in'e maksimum akış,
+ * s ile t arasındaki iç-ayrık yol sayısına, yani onları ayıran minimum node kümesine eşittir.
+ *
+ * κ(G) için Even'in algoritmasının Esfahanian–Hakimi varyantı kullanılır: minimum degree'li v seçilir,
+ * v ile komşu olmayan her u ve v'nin komşu olmayan her komşu çifti (a, b) için yerel bağlantı hesaplanır.
+ * Minimum ayırıcı v'yi içermiyorsa ilk grup, içeriyorsa ikinci grup onu bulur.
+ * Akışlar o ana kadarki en iyi değerle sınırlanır, bu yüzden her sorgu O(κ·(V+E)) maliyetlidir.
+ * Akış dizileri yeniden kullanıldığı için bir örnek aynı anda tek thread tarafından kullanılmalıdır.
+ */
+public final class VertexConnectivity {
+
+    private final IntGraph graph;
+    private final int[] offsets;
+    private final int[] arcs; // Network node'u -> yay indeksleri (CSR)
+    private final int[] head;
+    private final int[] capacity;
+    private final int[] flow;
+
+    // İki yönlü BFS için tekrar kullanılan diziler
+    private final int[] forwardQueue;
+    private final int[] backwardQueue;
+    private final int[] forwardParent;
+    private final int[] backwardParent;
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private int epoch = 0;
+    private int[] touched;
+    private int touchedCount = 0;
+
+    public VertexConnectivity(IntGraph graph) {
+        this.graph = graph;
+        int n = graph.nodeCount();
+        int networkNodes = 2 * n;
+        int arcCount = 2 * n + 4 * graph.edgeCount();
+        int infinity = Math.max(1, n);
+
+        head = new int[arcCount];
+        capacity = new int[arcCount];
+        flow = new int[arcCount];
+        int[] tail = new int[arcCount];
+        int a = 0;
+        for (int v = 0; v < n; v++) {
+            a = addArc(tail, a, in(v), out(v), 1);
+        }
+        for (int x = 0; x < n; x++) {
+            for (int i = graph.adjacencyStart(x); i < graph.adjacencyEnd(x); i++) {
+                int y = graph.adjacencyAt(i);
+                if (x < y) {
+                    a = addArc(tail, a, out(x), in(y), infinity);
+                    a = addArc(tail, a, out(y), in(x), infinity);
+                }
+            }
+        }
+
+        offsets = new int[networkNodes + 1];
+        for (int i = 0; i < arcCount; i++) offsets[tail[i] + 1]++;
+        for (int v = 0; v < networkNodes; v++) offsets[v + 1] += offsets[v];
+        arcs = new int[arcCount];
+        int[] cursor = Arrays.copyOf(offsets, networkNodes);
+        for (int i = 0; i < arcCount; i++) arcs[cursor[tail[i]]++] = i;
+
+        forwardQueue = new int[networkNodes];
+        backwardQueue = new int[networkNodes];
+        forwardParent = new int[networkNodes];
+        backwardParent = new int[networkNodes];
+        forwardStamp = new int[networkNodes];
+        backwardStamp = new int[networkNodes];
+        touched = new int[64];
+    }
+
+    /**
+     * Grafın kesin vertex connectivity değeri.
+     * Bağlantısız (veya 2'den az node'lu) graf için 0, tam graf için n - 1 döner.
+     */
+    public int connectivity() {
+        return connectivity(() -> false);
+    }
+
+    /**
+     * connectivity; cancelled her yerel akış sorgusundan önce sorulur, true dönerse -1 döner.
+     */
+    public int connectivity(BooleanSupplier cancelled) {
+        int n = graph.nodeCount();
+        if (n < 2 || graph.edgeCount() == 0 || graph.componentStats(null).count() > 1) {
+            return 0;
+        }
+
+        int v = 0;
+        for (int u = 1; u < n; u++) {
+            if (graph.degree(u) < graph.degree(v)) v = u;
+        }
+        // Yorum: N(v) çıkarılınca v yalnız kalır, bu yüzden κ ≤ δ; bağlı graf için κ ≥ 1
+        int best = graph.degree(v);
+        if (best <= 1) {
+            return best;
+        }
+
+        for (int u = 0; u < n && best > 1; u++) {
+            if (u != v && !graph.hasEdge(v, u)) {
+                if (cancelled.getAsBoolean()) return -1;
+                best = Math.min(best, localConnectivity(v, u, best));
+            }
+        }
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v) && best > 1; i++) {
+            int a = graph.adjacencyAt(i);
+            for (int j = i + 1; j < graph.adjacencyEnd(v) && best > 1; j++) {
+                int b = graph.adjacencyAt(j);
+                if (!graph.hasEdge(a, b)) {
+                    if (cancelled.getAsBoolean()) return -1;
+                    best = Math.min(best, localConnectivity(a, b, best));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Komşu olmayan s ve t arasındaki iç-ayrık yol sayısı, limit ile sınırlı.
+     * Sonuç limit'ten küçükse tam değerdir.
+     */
+    public int localConnectivity(int s, int t, int limit) {
+        int source = out(s);
+        int sink = in(t);
+        int paths = 0;
+        while (paths < limit && augment(source, sink)) {
+            paths++;
+        }
+        // Yorum: sadece değişen yaylar sıfırlanır; ağ sonraki sorgu için yeniden kurulmaz
+        for (int i = 0; i < touchedCount; i++) {
+            flow[touched[i]] = 0;
+        }
+        touchedCount = 0;
+        return paths;
+    }
+
+    /**
+     * Artık ağda iki yönlü BFS ile bir artırıcı yol bulup üzerinden 1 birim akış gönderir.
+     * Her adımda küçük olan sınır genişletilir; iyi bağlı graflarda tek yönlü BFS'in
+     * tüm grafı gezmesi yerine iki küçük top buluşur.
+     */
+    private boolean augment(int source, int sink) {
+        epoch++;
+        int fHead = 0;
+        int fTail = 0;
+        int bHead = 0;
+        int bTail = 0;
+        forwardQueue[fTail++] = source;
+        forwardStamp[source] = epoch;
+        backwardQueue[bTail++] = sink;
+        backwardStamp[sink] = epoch;
+
+        int meet = -1;
+        while (meet < 0 && fHead < fTail && bHead < bTail) {
+            if (fTail - fHead <= bTail - bHead) {
+                // İleri yönde bir seviye: x -> y, artık kapasiteli yaylar
+                int levelEnd = fTail;
+                while (fHead < levelEnd && meet < 0) {
+                    int x = forwardQueue[fHead++];
+                    for (int i = offsets[x]; i < offsets[x + 1]; i++) {
+                        int a = arcs[i];
+                        int y = head[a];
+                        if (forwardStamp[y] == epoch || capacity[a] - flow[a] <= 0) continue;
+                        forwardStamp[y] = epoch;
+                        forwardParent[y] = a;
+                        if (backwardStamp[y] == epoch) {
+                            meet = y;
+                            break;
+                        }
+                        forwardQueue[fTail++] = y;
+                    }
+                }
+            } else {
+                // Geri yönde bir seviye: x -> y yayı için y'den x'e; (b, b ^ 1) çiftleri y'nin listesinde
+                int levelEnd = bTail;
+                while (bHead < levelEnd && meet < 0) {
+                    int y = backwardQueue[bHead++];
+                    for (int i = offsets[y]; i < offsets[y + 1]; i++) {
+                        int a = arcs[i] ^ 1;
+                        int x = head[arcs[i]];
+                        if (backwardStamp[x] == epoch || capacity[a] - flow[a] <= 0) continue;
+                        backwardStamp[x] = epoch;
+                        backwardParent[x] = a;
+                        if (forwardStamp[x] == epoch) {
+                            meet = x;
+                            break;
+                        }
+                        backwardQueue[bTail++] = x;
+                    }
+                }
+            }
+        }
+        if (meet < 0) {
+            return false;
+        }
+
+        for (int z = meet; z != source; z = head[forwardParent[z] ^ 1]) {
+            push(forwardParent[z]);
+        }
+        for (int z = meet; z != sink; z = head[backwardParent[z]]) {
+            push(backwardParent[z]);
+        }
+        return true;
+    }
+
+    private void push(int arc) {
+        flow[arc]++;
+        flow[arc ^ 1]--;
+        if (touchedCount + 2 > touched.length) {
+            touched = Arrays.copyOf(touched, touched.length * 2);
+        }
+        touched[touchedCount++] = arc;
+        touched[touchedCount++] = arc ^ 1;
+    }
+
+    /**
+     * İleri yay (a) ve ters yayı (a ^ 1) ekler
+     */
+    private int addArc(int[] tail, int a, int from, int to, int cap) {
+        tail[a] = from;
+        head[a] = to;
+        capacity[a] = cap;
+        tail[a + 1] = to;
+        head[a + 1] = from;
+        capacity[a + 1] = 0;
+        return a + 2;
+    }
+
+    private static int in(int v) {
+        return 2 * v;
+    }
+
+    private static int out(int v) {
+        return 2 * v + 1;
+    }
+}
@@ -0,0 +1,447 @@
+package com.codeinspector.backend.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Minimum vertex cover için kernelization + branch-and-bound çözücü.
+ * Önceden seçilmesi zorunlu node'lar (forced) verilebilir; onlar ve kenarları baştan çıkarılır.
+ *
+ * İndirgeme kuralları:
+ * - Degree 0: node çıkarılır. Degree 1: komşusu seçilir.
+ * - LP (Nemhauser–Trotter / crown): iki parçalı çift kopya üzerinde maksimum eşleşme ve König
+ *   teoremiyle yarı tamsayılı LP çözümü bulunur. x = 1 olan node'lar seçilir, x = 0 olanlar çıkarılır;
+ *   bir optimal çözüm bu kararlarla uyumludur. LP değeri kök alt sınırını verir.
+ *
+ * Arama en yüksek dereceli v üzerinde dallanır: ya v seçilir ya da N(v)'nin tamamı.
+ * Maksimum derece 2'ye inince kalan yol/döngüler doğrudan çözülür. Alt sınır, kalan grafta
+ * greedy maximal matching boyutudur. Zaman bütçesi bitince o ana kadarki en iyi çözüm döner.
+ */
+public final class VertexCoverSolver {
+
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final IntGraph graph;
+    private final int n;
+
+    // Kalan graf ve geri alınabilir değişiklikler
+    private final boolean[] alive;
+    private final int[] degree;
+    private final int[] trail;
+    private int trailSize = 0;
+    private final int[] chosen;
+    private int chosenCount = 0;
+    private final int[] queue;
+    private int queueSize = 0;
+    private final boolean[] matched;
+
+    private int[] best;
+    private long deadline;
+    private BooleanSupplier cancelled;
+    private BoundedSolution.Listener listener;
+    private int rootLowerBound;
+    private long nodes = 0;
+    private boolean timedOut = false;
+
+    private VertexCoverSolver(IntGraph graph) {
+        this.graph = graph;
+        this.n = graph.nodeCount();
+        this.alive = new boolean[n];
+        Arrays.fill(alive, true);
+        this.degree = new int[n];
+        for (int v = 0; v < n; v++) degree[v] = graph.degree(v);
+        this.trail = new int[n];
+        this.chosen = new int[n];
+        this.queue = new int[3 * n + 1]; // Bir node rollback'e kadar en fazla üç kez kuyruğa girer
+        this.matched = new boolean[n];
+    }
+
+    /**
+     * @param forced           Çözüme zorunlu dahil edilecek node'lar (null olabilir)
+     * @param timeBudgetMillis Branch-and-bound için süre; 0 ise yalnızca indirgeme, greedy ve alt sınır
+     */
+    public static BoundedSolution solve(IntGraph graph, BitSet forced, long timeBudgetMillis) {
+        return solve(graph, forced, timeBudgetMillis, () -> false);
+    }
+
+    /**
+     * solve; cancelled true dönerse branch-and-bound süre bitmiş gibi durur.
+     */
+    public static BoundedSolution solve(IntGraph graph, BitSet forced, long timeBudgetMillis,
+                                        BooleanSupplier cancelled) {
+        return solve(graph, forced, timeBudgetMillis, cancelled, (lowerBound, bestSize) -> { });
+    }
+
+    /**
+     * solve; indirgeme sonrası kök alt sınırı, greedy çözüm ve aramada bulunan daha iyi çözümler
+     * listener'a bildirilir, ilk tahmin için kernel ikinci kez kurulmaz.
+     */
+    public static BoundedSolution solve(IntGraph graph, BitSet forced, long timeBudgetMillis,
+                                        BooleanSupplier cancelled, BoundedSolution.Listener listener) {
+        VertexCoverSolver solver = new VertexCoverSolver(graph);
+        if (forced != null) {
+            for (int v = forced.nextSetBit(0); v >= 0 && v < solver.n; v = forced.nextSetBit(v + 1)) {
+                solver.choose(v);
+            }
+        }
+        for (int v = 0; v < solver.n; v++) {
+            if (solver.alive[v] && solver.degree[v] <= 1) solver.queue[solver.queueSize++] = v;
+        }
+        solver.propagate();
+        int lpBound = solver.applyLpReduction();
+        solver.propagate();
+        int rootLowerBound = solver.chosenCount + lpBound;
+
+        solver.best = solver.greedy();
+        solver.rootLowerBound = Math.min(rootLowerBound, solver.best.length);
+        solver.listener = listener;
+        listener.update(solver.rootLowerBound, solver.best.length);
+        solver.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        solver.cancelled = cancelled;
+        if (timeBudgetMillis > 0 && rootLowerBound < solver.best.length) {
+            solver.branch();
+        }
+        int lowerBound = solver.timedOut || timeBudgetMillis <= 0
+                ? Math.min(rootLowerBound, solver.best.length)
+                : solver.best.length;
+        return new BoundedSolution(solver.best, lowerBound);
+    }
+
+    // ---- Kalan graf işlemleri ----
+
+    private void remove(int v) {
+        alive[v] = false;
+        trail[trailSize++] = v;
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            int u = graph.adjacencyAt(i);
+            if (alive[u] && --degree[u] <= 1) queue[queueSize++] = u;
+        }
+    }
+
+    private void choose(int v) {
+        chosen[chosenCount++] = v;
+        remove(v);
+    }
+
+    private void rollback(int trailMark, int chosenMark) {
+        while (trailSize > trailMark) {
+            int v = trail[--trailSize];
+            alive[v] = true;
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (alive[u]) degree[u]++;
+            }
+        }
+        chosenCount = chosenMark;
+        queueSize = 0;
+    }
+
+    /**
+     * Kuyruktaki node'lar için degree 0/1 kurallarını sabit noktaya kadar uygular.
+     */
+    private void propagate() {
+        while (queueSize > 0) {
+            int v = queue[--queueSize];
+            if (!alive[v]) continue;
+            if (degree[v] == 0) {
+                remove(v);
+            } else if (degree[v] == 1) {
+                choose(aliveNeighbour(v));
+            }
+        }
+    }
+
+    private int aliveNeighbour(int v) {
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+            int u = graph.adjacencyAt(i);
+            if (alive[u]) return u;
+        }
+        return -1;
+    }
+
+    // ---- LP indirgeme (Nemhauser–Trotter) ----
+
+    /**
+     * Çift kopya iki parçalı graf üzerinde Hopcroft–Karp çalıştırır, König ile minimum örtüyü bulur
+     * ve LP çözümüne göre node'ları seçer/çıkarır.
+     *
+     * @return Kalan graf için LP alt sınırı (⌈|M| / 2⌉)
+     */
+    private int applyLpReduction() {
+        int[] matchLeft = new int[n];
+        int[] matchRight = new int[n];
+        Arrays.fill(matchLeft, -1);
+        Arrays.fill(matchRight, -1);
+        int matching = hopcroftKarp(matchLeft, matchRight);
+
+        // König: serbest sol node'lardan alternating yollarla erişilenler (Z)
+        boolean[] reachLeft = new boolean[n];
+        boolean[] reachRight = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0;
+        for (int v = 0; v < n; v++) {
+            if (alive[v] && matchLeft[v] < 0) {
+                reachLeft[v] = true;
+                stack[top++] = v;
+            }
+        }
+        while (top > 0) {
+            int v = stack[--top];
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (!alive[u] || reachRight[u]) continue;
+                reachRight[u] = true;
+                int w = matchRight[u];
+                if (w >= 0 && !reachLeft[w]) {
+                    reachLeft[w] = true;
+                    stack[top++] = w;
+                }
+            }
+        }
+
+        // Örtü = (L \ Z) ∪ (R ∩ Z); x_v = (sol kopya örtüde + sağ kopya örtüde) / 2
+        int[] take = new int[n];
+        int takeCount = 0;
+        int[] drop = new int[n];
+        int dropCount = 0;
+        for (int v = 0; v < n; v++) {
+            if (!alive[v]) continue;
+            int weight = (reachLeft[v] ? 0 : 1) + (reachRight[v] ? 1 : 0);
+            if (weight == 2) take[takeCount++] = v;
+            else if (weight == 0) drop[dropCount++] = v;
+        }
+        for (int i = 0; i < takeCount; i++) choose(take[i]);
+        for (int i = 0; i < dropCount; i++) {
+            if (alive[drop[i]]) remove(drop[i]);
+        }
+        // LP değeri = |M| / 2 = |V1| + |V½| / 2; V1 zaten seçildi
+        return (matching + 1) / 2 - takeCount;
+    }
+
+    private int hopcroftKarp(int[] matchLeft, int[] matchRight) {
+        int[] dist = new int[n];
+        int[] bfs = new int[n];
+        int[] edgeCursor = new int[n];
+        int[] stack = new int[n];
+        int matching = 0;
+        while (true) {
+            // BFS: serbest sol node'lardan katmanlar
+            int head = 0;
+            int tail = 0;
+            Arrays.fill(dist, -1);
+            for (int v = 0; v < n; v++) {
+                if (alive[v] && matchLeft[v] < 0) {
+                    dist[v] = 0;
+                    bfs[tail++] = v;
+                }
+            }
+            boolean foundFree = false;
+            while (head < tail) {
+                int v = bfs[head++];
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    int u = graph.adjacencyAt(i);
+                    if (!alive[u]) continue;
+                    int w = matchRight[u];
+                    if (w < 0) {
+                        foundFree = true;
+                    } else if (dist[w] < 0) {
+                        dist[w] = dist[v] + 1;
+                        bfs[tail++] = w;
+                    }
+                }
+            }
+            if (!foundFree) {
+                return matching;
+            }
+
+            // DFS (iteratif): katman grafında ayrık artırıcı yollar
+            for (int v = 0; v < n; v++) edgeCursor[v] = graph.adjacencyStart(v);
+            for (int root = 0; root < n; root++) {
+                if (!alive[root] || matchLeft[root] >= 0 || dist[root] != 0) continue;
+                int top = 0;
+                stack[top++] = root;
+                boolean augmented = false;
+                while (top > 0 && !augmented) {
+                    int v = stack[top - 1];
+                    boolean advanced = false;
+                    while (edgeCursor[v] < graph.adjacencyEnd(v)) {
+                        int u = graph.adjacencyAt(edgeCursor[v]);
+                        if (!alive[u]) {
+                            edgeCursor[v]++;
+                            continue;
+                        }
+                        int w = matchRight[u];
+                        if (w < 0) {
+                            // Yolu geriye doğru çevir
+                            for (int k = top - 1; k >= 0; k--) {
+                                int left = stack[k];
+                                int right = graph.adjacencyAt(edgeCursor[left]);
+                                matchLeft[left] = right;
+                                matchRight[right] = left;
+                            }
+                            matching++;
+                            augmented = true;
+                            break;
+                        }
+                        if (dist[w] == dist[v] + 1) {
+                            stack[top++] = w;
+                            advanced = true;
+                            break;
+                        }
+                        edgeCursor[v]++;
+                    }
+                    if (!augmented && !advanced) {
+                        dist[v] = -1; // Çıkmaz: tekrar denenmesin
+                        top--;
+                        if (top > 0) edgeCursor[stack[top - 1]]++;
+                    }
+                }
+            }
+        }
+    }
+
+    // ---- Sınırlar ve greedy çözüm ----
+
+    /**
+     * Kalan grafta greedy maximal matching; her eşleşme kenarı ayrı bir örtü node'u ister.
+     */
+    private int matchingBound() {
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (!alive[v] || matched[v]) continue;
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (alive[u] && !matched[u]) {
+                    matched[v] = true;
+                    matched[u] = true;
+                    size++;
+                    break;
+                }
+            }
+        }
+        Arrays.fill(matched, false);
+        return size;
+    }
+
+    /**
+     * Kalan grafta en yüksek dereceli node'u seçerek örtü kurar (lazy max-heap).
+     */
+    private int[] greedy() {
+        int trailMark = trailSize;
+        int chosenMark = chosenCount;
+        PriorityQueue<long[]> heap = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+        for (int v = 0; v < n; v++) {
+            if (alive[v] && degree[v] > 0) heap.add(new long[]{degree[v], v});
+        }
+        while (!heap.isEmpty()) {
+            long[] top = heap.poll();
+            int v = (int) top[1];
+            if (!alive[v] || degree[v] == 0) continue;
+            if (top[0] != degree[v]) {
+                heap.add(new long[]{degree[v], v}); // Eski kayıt: güncel derece ile geri koy
+                continue;
+            }
+            choose(v);
+            queueSize = 0;
+        }
+        int[] result = Arrays.copyOf(chosen, chosenCount);
+        rollback(trailMark, chosenMark);
+        return result;
+    }
+
+    // ---- Branch-and-bound ----
+
+    private void branch() {
+        if (++nodes % DEADLINE_CHECK_INTERVAL == 0 && (System.nanoTime() > deadline || cancelled.getAsBoolean())) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return;
+        }
+        int trailMark = trailSize;
+        int chosenMark = chosenCount;
+        propagate();
+
+        if (chosenCount + matchingBound() >= best.length) {
+            rollback(trailMark, chosenMark);
+            return;
+        }
+
+        int pivot = -1;
+        for (int v = 0; v < n; v++) {
+            if (alive[v] && (pivot < 0 || degree[v] > degree[pivot])) pivot = v;
+        }
+        if (pivot < 0 || degree[pivot] == 0) {
+            record(null, 0);
+        } else if (degree[pivot] <= 2) {
+            solvePathsAndCycles();
+        } else {
+            // Dal 1: pivot seçilir
+            int innerTrail = trailSize;
+            int innerChosen = chosenCount;
+            choose(pivot);
+            branch();
+            rollback(innerTrail, innerChosen);
+
+            // Dal 2: pivot seçilmez, tüm komşuları seçilir
+            if (!timedOut) {
+                for (int i = graph.adjacencyStart(pivot); i < graph.adjacencyEnd(pivot); i++) {
+                    int u = graph.adjacencyAt(i);
+                    if (alive[u]) choose(u);
+                }
+                remove(pivot);
+                branch();
+            }
+        }
+        rollback(trailMark, chosenMark);
+    }
+
+    /**
+     * Maksimum derece ≤ 2: bileşenler yol ya da döngüdür; yolda her ikinci node, döngüde ⌈k / 2⌉ node seçilir.
+     */
+    private void solvePathsAndCycles() {
+        int[] extra = new int[n];
+        int extraCount = 0;
+        boolean[] visited = new boolean[n];
+        // Önce yollar (degree 1 uçlardan başla), sonra kalan döngüler
+        for (int pass = 0; pass < 2; pass++) {
+            for (int start = 0; start < n; start++) {
+                if (!alive[start] || visited[start] || degree[start] == 0) continue;
+                if (pass == 0 && degree[start] != 1) continue;
+                int previous = -1;
+                int current = start;
+                int index = 0;
+                while (current >= 0 && !visited[current]) {
+                    visited[current] = true;
+                    boolean take = pass == 0 ? index % 2 == 1 : index % 2 == 0;
+                    int next = -1;
+                    for (int i = graph.adjacencyStart(current); i < graph.adjacencyEnd(current); i++) {
+                        int u = graph.adjacencyAt(i);
+                        if (alive[u] && u != previous && !visited[u]) {
+                            next = u;
+                            break;
+                        }
+                    }
+                    if (take) extra[extraCount++] = current;
+                    previous = current;
+                    current = next;
+                    index++;
+                }
+            }
+        }
+        record(extra, extraCount);
+    }
+
+    private void record(int[] extra, int extraCount) {
+        int size = chosenCount + extraCount;
+        if (size >= best.length) {
+            return;
+        }
+        int[] solution = Arrays.copyOf(chosen, size);
+        if (extraCount > 0) System.arraycopy(extra, 0, solution, chosenCount, extraCount);
+        best = solution;
+        listener.update(rootLowerBound, best.length);
+    }
+}
@@ -0,0 +1,35 @@
+package com.codeinspector.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Bir Java blob'unun (git object id) graf özeti. Aynı içerik hangi versiyonda ya da yolda olursa olsun
+ * aynı blob id'ye sahip olduğundan, özet bir kez çıkarılıp tekrar kullanılır.
+ */
+@Entity
+@Table(name = "blob_symbol_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobSymbolSummary {
+    @Id
+    @Column(length = 40)
+    private String blobId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String summaryData; // FileSymbolSummary JSON'u
+
+    // Not: FileSymbolSummary formatının sürümü; eski satırlarda null (ddl-auto ile sonradan eklendi)
+    private Integer formatVersion;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+}
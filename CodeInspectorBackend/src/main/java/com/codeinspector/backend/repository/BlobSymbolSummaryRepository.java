@@ -0,0 +1,9 @@
+package com.codeinspector.backend.repository;
+
+import com.codeinspector.backend.model.BlobSymbolSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BlobSymbolSummaryRepository extends JpaRepository<BlobSymbolSummary, String> {
+}
@@ -10,9 +10,12 @@ import com.codeinspector.backend.model.AnalysisResult;
 import com.codeinspector.backend.model.Project;
 import com.codeinspector.backend.model.ProjectVersion;
 import com.codeinspector.backend.repository.AnalysisResultRepository;
+import com.codeinspector.backend.utils.CloneClassDetector;
 import com.codeinspector.backend.utils.CodeMetricsAnalyzer;
 import com.codeinspector.backend.utils.CodeSmellAnalyzer;
 import com.codeinspector.backend.utils.InMemoryCoverageAnalyzer;
+import com.codeinspector.backend.utils.MethodCloneDetector;
+import com.codeinspector.backend.utils.SimilarityPrefilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,9 +26,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -42,6 +48,9 @@ public class AnalysisService {
     private final CodeGraphService codeGraphService;
     private final SecurityService securityService;
     private final ProjectCoverageService projectCoverageService;
+    private final MethodCloneDetector methodCloneDetector;
+    private final CloneClassDetector cloneClassDetector;
+    private final SimilarityPrefilter similarityPrefilter;
     private final ObjectMapper objectMapper;
     
     @Autowired
@@ -54,6 +63,9 @@ public class AnalysisService {
             CodeGraphService codeGraphService,
             SecurityService securityService,
             ProjectCoverageService projectCoverageService,
+            MethodCloneDetector methodCloneDetector,
+            CloneClassDetector cloneClassDetector,
+            SimilarityPrefilter similarityPrefilter,
             ObjectMapper objectMapper) {
         this.analysisResultRepository = analysisResultRepository;
         this.versionService = versionService;
@@ -63,6 +75,9 @@ public class AnalysisService {
         this.codeGraphService = codeGraphService;
         this.securityService = securityService;
         this.projectCoverageService = projectCoverageService;
+        this.methodCloneDetector = methodCloneDetector;
+        this.cloneClassDetector = cloneClassDetector;
+        this.similarityPrefilter = similarityPrefilter;
         this.objectMapper = objectMapper;
     }
 
@@ -389,113 +404,169 @@ public class AnalysisService {
      * Clone Detection analizi
      * Not: Bu analiz tüm dosya çiftlerini karşılaştırır, uzun sürebilir
      * Performans optimizasyonu: Önce hızlı CPD analizi yapılır, eğer threshold'u geçerse tam analiz yapılır
+     * Ortak satırlar "cloneClasses" altında bir kez listelenir, duplicatePairs sadece sınıf id'lerini taşır
      */
     private String performCloneDetectionAnalysis(Project project, List<ProjectAnalysisService.JavaFileInfo> javaFiles) throws Exception {
         Map<String, Object> result = new HashMap<>();
         List<Map<String, Object>> duplicatePairs = new ArrayList<>();
-        int totalComparisons = 0;
+        long totalComparisons = 0;
         double totalSimilarity = 0;
         final double FAST_THRESHOLD = 20.0; // Hızlı analiz için threshold (tam analiz yapmak için)
         final double FULL_THRESHOLD = 30.0; // Tam analiz sonucu için threshold
         final double CPD_ONLY_THRESHOLD = 20.0; // Sadece CPD analizi için threshold (tam analiz yapmadan)
 
-        // Tüm dosya çiftlerini karşılaştır
-        for (int i = 0; i < javaFiles.size(); i++) {
-            for (int j = i + 1; j < javaFiles.size(); j++) {
-                try {
-                    String code1 = projectAnalysisService.readJavaFile(project.getSlug(), javaFiles.get(i).relativePath());
-                    String code2 = projectAnalysisService.readJavaFile(project.getSlug(), javaFiles.get(j).relativePath());
-                    
-                    // Önce hızlı CPD analizi yap
-                    double fastSimilarity = codeComparisonService.compareCodeFast(code1, code2);
-                    
-                    // Eğer hızlı analiz threshold'u geçerse, tam analiz yap
-                    CodeComparisonResponse comparisonResult;
-                    double similarity;
-                    boolean useFullAnalysis = false;
+        // Her dosya bir kere okunur (çift başına tekrar okunmaz)
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (ProjectAnalysisService.JavaFileInfo fileInfo : javaFiles) {
+            try {
+                sources.put(fileInfo.relativePath(), projectAnalysisService.readJavaFile(project.getSlug(), fileInfo.relativePath()));
+            } catch (IOException e) {
+                logger.warn("Error reading file for clone detection: {}", fileInfo.relativePath(), e);
+            }
+        }
+
+        // Metot seviyesinde Type-2 clone sınıfları (yeniden adlandırma/format farklarına dayanıklı)
+        try {
+            MethodCloneDetector.Result methodClones = methodCloneDetector.detect(sources);
+            result.put("totalMethods", methodClones.totalMethods());
+            result.put("methodCloneClasses", methodClones.cloneClasses());
+        } catch (Exception e) {
+            logger.warn("Method-level clone detection failed for project: {}", project.getSlug(), e);
+        }
+
+        // Dosyalar arası ortak parçalar: her parça ve üye dosyaları bir kez (clone sınıfı)
+        CloneClassDetector.Result cloneClasses = cloneClassDetector.detect(sources);
+        result.put("cloneClasses", cloneClasses.cloneClasses());
+
+        // Üst sınırı hızlı analiz eşiğine ulaşamayan çiftler hiç karşılaştırılmaz
+        List<String> codes = new ArrayList<>(javaFiles.size());
+        for (ProjectAnalysisService.JavaFileInfo fileInfo : javaFiles) {
+            codes.add(sources.get(fileInfo.relativePath()));
+        }
+        SimilarityPrefilter.Result prefilter = similarityPrefilter.filter(codes, FAST_THRESHOLD);
+        logger.info("Clone detection prefilter for {}: {} of {} pairs pruned",
+            project.getSlug(), prefilter.prunedPairs(), prefilter.totalPairs());
+
+        // Aday dosya çiftlerini karşılaştır
+        for (int[] candidate : prefilter.candidatePairs()) {
+            int i = candidate[0];
+            int j = candidate[1];
+            try {
+                String code1 = codes.get(i);
+                String code2 = codes.get(j);
+                
+                // Önce hızlı CPD analizi yap
+                double fastSimilarity = codeComparisonService.compareCodeFast(code1, code2);
+                
+                // Eğer hızlı analiz threshold'u geçerse, tam analiz yap
+                CodeComparisonResponse comparisonResult;
+                double similarity;
+                boolean useFullAnalysis = false;
+                
+                if (fastSimilarity >= FAST_THRESHOLD) {
+                    // Tam analiz yap (Simian + CodeBERT) - performans için sadece yeterince yüksek similarity'de
+                    comparisonResult = codeComparisonService.compareCode(code1, code2);
+                    similarity = comparisonResult.hybridSimilarityPercentage();
+                    useFullAnalysis = true;
+                    logger.debug("Full analysis for {} vs {}: fast={}%, hybrid={}%", 
+                        javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
+                        String.format("%.2f", fastSimilarity), String.format("%.2f", similarity));
+                } else {
+                    // Sadece CPD analizi yeterli, tam analiz yapma (performans optimizasyonu)
+                    similarity = fastSimilarity;
+                    comparisonResult = null;
+                    useFullAnalysis = false;
+                    logger.debug("CPD-only analysis for {} vs {}: similarity={}%", 
+                        javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
+                        String.format("%.2f", similarity));
+                }
+                
+                // Threshold kontrolü: Tam analiz için 30, sadece CPD için 20
+                double thresholdToUse = useFullAnalysis ? FULL_THRESHOLD : CPD_ONLY_THRESHOLD;
+                
+                if (similarity > thresholdToUse) {
+                    logger.debug("Adding duplicate pair: {} vs {} with similarity {}%", 
+                        javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
+                        String.format("%.2f", similarity));
+                    Map<String, Object> pair = new HashMap<>();
+                    pair.put("file1", javaFiles.get(i).relativePath());
+                    pair.put("file2", javaFiles.get(j).relativePath());
+                    pair.put("similarity", similarity);
                     
-                    if (fastSimilarity >= FAST_THRESHOLD) {
-                        // Tam analiz yap (Simian + CodeBERT) - performans için sadece yeterince yüksek similarity'de
-                        comparisonResult = codeComparisonService.compareCode(code1, code2);
-                        similarity = comparisonResult.hybridSimilarityPercentage();
-                        useFullAnalysis = true;
-                        logger.debug("Full analysis for {} vs {}: fast={}%, hybrid={}%", 
-                            javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
-                            String.format("%.2f", fastSimilarity), String.format("%.2f", similarity));
+                    if (comparisonResult != null && useFullAnalysis) {
+                        // Tam analiz yapıldıysa tüm detayları ekle
+                        pair.put("codeBertSimilarity", comparisonResult.codeBertSimilarityScore());
+                        pair.put("cpdSimilarity", comparisonResult.CPDsimilarityPercentage());
+                        pair.put("simianSimilarity", comparisonResult.simianSimilarityPercentage());
                     } else {
-                        // Sadece CPD analizi yeterli, tam analiz yapma (performans optimizasyonu)
-                        similarity = fastSimilarity;
-                        comparisonResult = null;
-                        useFullAnalysis = false;
-                        logger.debug("CPD-only analysis for {} vs {}: similarity={}%", 
-                            javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
-                            String.format("%.2f", similarity));
-                    }
-                    
-                    // Threshold kontrolü: Tam analiz için 30, sadece CPD için 20
-                    double thresholdToUse = useFullAnalysis ? FULL_THRESHOLD : CPD_ONLY_THRESHOLD;
-                    
-                    if (similarity > thresholdToUse) {
-                        logger.debug("Adding duplicate pair: {} vs {} with similarity {}%", 
-                            javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), 
-                            String.format("%.2f", similarity));
-                        Map<String, Object> pair = new HashMap<>();
-                        pair.put("file1", javaFiles.get(i).relativePath());
-                        pair.put("file2", javaFiles.get(j).relativePath());
-                        pair.put("similarity", similarity);
-                        
-                        if (comparisonResult != null && useFullAnalysis) {
-                            // Tam analiz yapıldıysa tüm detayları ekle
-                            pair.put("codeBertSimilarity", comparisonResult.codeBertSimilarityScore());
-                            pair.put("cpdSimilarity", comparisonResult.CPDsimilarityPercentage());
-                            pair.put("simianSimilarity", comparisonResult.simianSimilarityPercentage());
-                            
-                            // DuplicatedLines bilgisini ekle
-                            String matchedLines = comparisonResult.matchedLines();
-                            if (matchedLines != null && !matchedLines.isEmpty()) {
-                                // MatchedLines string'ini satırlara böl
-                                String[] lines = matchedLines.split("\n");
-                                List<String> duplicatedLinesList = new ArrayList<String>();
-                                for (String line : lines) {
-                                    String trimmed = line.trim();
-                                    if (!trimmed.isEmpty() && 
-                                        !trimmed.startsWith("Simian Report:") && 
-                                        !trimmed.matches("\\d+\\.\\d+% Similarity")) {
-                                        duplicatedLinesList.add(trimmed);
-                                    }
-                                }
-                                pair.put("duplicatedLines", duplicatedLinesList);
-                            } else {
-                                pair.put("duplicatedLines", new ArrayList<String>());
-                            }
-                        } else {
-                            // Sadece CPD analizi yapıldıysa
-                            pair.put("codeBertSimilarity", 0.0);
-                            pair.put("cpdSimilarity", fastSimilarity);
-                            pair.put("simianSimilarity", 0.0);
-                            pair.put("duplicatedLines", new ArrayList<String>());
-                        }
-                        
-                        duplicatePairs.add(pair);
+                        // Sadece CPD analizi yapıldıysa
+                        pair.put("codeBertSimilarity", 0.0);
+                        pair.put("cpdSimilarity", fastSimilarity);
+                        pair.put("simianSimilarity", 0.0);
                     }
+                    // Ortak satırlar çift başına tekrarlanmaz; çift, içerdiği clone sınıflarına referans verir
+                    pair.put("cloneClassIds", cloneClasses.sharedClassIds(
+                        javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath()));
                     
-                    totalSimilarity += similarity;
-                    totalComparisons++;
-                } catch (Exception e) {
-                    logger.warn("Error comparing files: {} and {}", 
-                        javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), e);
+                    duplicatePairs.add(pair);
                 }
+                
+                totalSimilarity += similarity;
+                totalComparisons++;
+            } catch (Exception e) {
+                logger.warn("Error comparing files: {} and {}", 
+                    javaFiles.get(i).relativePath(), javaFiles.get(j).relativePath(), e);
             }
         }
 
+        // Elenen çiftler de karşılaştırma sayılır, yoksa ortalama yalnızca benzer çiftlerden hesaplanırdı.
+        // Eşiğin altında kaldıkları için CPD benzerlikleri kullanılır; ortak satırları clone sınıflarından gelir
+        // ve hiç ortak sınıfı olmayan çiftlerin benzerliği 0'dır. Okunamayan dosyaların çiftleri eskisi gibi sayılmaz.
+        long readable = codes.stream().filter(code -> code != null).count();
+        totalComparisons += readable * (readable - 1) / 2 - prefilter.candidatePairs().size();
+        totalSimilarity += prunedPairSimilarity(javaFiles, codes, prefilter, cloneClasses);
+
         result.put("totalFiles", javaFiles.size());
         result.put("totalComparisons", totalComparisons);
+        result.put("prunedComparisons", prefilter.prunedPairs());
         result.put("duplicatePairs", duplicatePairs);
         result.put("averageSimilarity", totalComparisons > 0 ? totalSimilarity / totalComparisons : 0);
         
         return objectMapper.writeValueAsString(result);
     }
 
+    /**
+     * Prefilter'ın elediği ve en az bir clone sınıfını paylaşan çiftlerin CPD benzerlik toplamı
+     */
+    private double prunedPairSimilarity(List<ProjectAnalysisService.JavaFileInfo> javaFiles, List<String> codes,
+                                        SimilarityPrefilter.Result prefilter, CloneClassDetector.Result cloneClasses) {
+        Map<String, Integer> indexByPath = new HashMap<>();
+        for (int i = 0; i < javaFiles.size(); i++) {
+            indexByPath.put(javaFiles.get(i).relativePath(), i);
+        }
+        Set<Long> visited = new HashSet<>();
+        for (int[] candidate : prefilter.candidatePairs()) {
+            visited.add(((long) candidate[0] << 32) | candidate[1]);
+        }
+        double sum = 0;
+        for (CloneClassDetector.CloneClass cloneClass : cloneClasses.cloneClasses()) {
+            List<String> files = cloneClass.files();
+            for (int a = 0; a < files.size(); a++) {
+                for (int b = a + 1; b < files.size(); b++) {
+                    Integer i = indexByPath.get(files.get(a));
+                    Integer j = indexByPath.get(files.get(b));
+                    if (i == null || j == null) continue;
+                    int first = Math.min(i, j);
+                    int second = Math.max(i, j);
+                    if (!visited.add(((long) first << 32) | second)) continue;
+                    sum += codeComparisonService.similarityFromDuplicates(codes.get(first), codes.get(second),
+                            cloneClasses.sharedLines(files.get(a), files.get(b)));
+                }
+            }
+        }
+        return sum;
+    }
+
     /**
      * Coverage analizi
      * ProjectCoverageService kullanarak proje coverage raporu üretir.
@@ -0,0 +1,312 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.repository.ProjectRepository;
+import com.codeinspector.backend.repository.ProjectVersionRepository;
+import com.codeinspector.backend.utils.DuplicateCodeDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tüm projelerin son versiyonları üzerinde "benzer kod bul" araması.
+ * Her dosyanın normalize edilmiş satırları 64-bit hash'lenir ve satır hash'i -> dosya listesi
+ * şeklinde bir ters indekse konur. Sorgu, snippet'in satırlarının posting listelerini sayarak cevaplanır.
+ * İndeks import transaction'ı commit edildikten sonra sadece değişen dosyalar (blob id'si değişenler) için
+ * güncellenir; silinen projelerin dosyaları indeksten çıkarılır.
+ */
+@Service
+public class CloneSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloneSearchService.class);
+    private static final int MIN_LINE_LENGTH = 4; // "});" gibi çok kısa satırlar eşleşme sayılmaz
+
+    private final ProjectRepository projectRepository;
+    private final ProjectVersionRepository versionRepository;
+    private final GitService gitService;
+    private final DuplicateCodeDetector duplicateCodeDetector;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Yorum: fileId -> dosya; silinen dosyaların yeri null kalır (tombstone)
+    private final List<IndexedFile> files = new ArrayList<>();
+    // Yorum: satır hash'i -> fileId posting listesi; [0] eleman sayısı, sonrası fileId'ler
+    // (append-only, tombstone'lar sorguda atlanır)
+    private final Map<Long, int[]> postings = new HashMap<>();
+    // Yorum: proje slug'ı -> (dosya yolu -> dosya)
+    private final Map<String, Map<String, IndexedFile>> filesByProject = new HashMap<>();
+    private int deadFiles = 0;
+    private volatile boolean initialized = false;
+
+    private record IndexedFile(int id, String projectSlug, Long versionId, String path, String blobId, long[] lineHashes) {}
+
+    /**
+     * Arama sonucu: snippet ile en az N normalize satır paylaşan dosya
+     */
+    public record CloneSearchHit(String projectSlug, Long versionId, String filePath,
+                                 int sharedLines, double snippetCoverage) {}
+
+    @Autowired
+    public CloneSearchService(
+            ProjectRepository projectRepository,
+            ProjectVersionRepository versionRepository,
+            GitService gitService,
+            DuplicateCodeDetector duplicateCodeDetector) {
+        this.projectRepository = projectRepository;
+        this.versionRepository = versionRepository;
+        this.gitService = gitService;
+        this.duplicateCodeDetector = duplicateCodeDetector;
+    }
+
+    /**
+     * Projenin indeksini verilen versiyona günceller. Dosyalar working tree'den değil
+     * doğrudan commit'ten okunur; blob id'si değişmeyen dosyalar yeniden işlenmez.
+     * Güncellemeler sıralı yapılır, sorgular sadece son adımda kısa süre bekler.
+     */
+    public synchronized void indexVersion(Project project, ProjectVersion version) throws Exception {
+        long start = System.currentTimeMillis();
+        String slug = project.getSlug();
+        List<GitService.JavaBlob> blobs = gitService.listJavaBlobs(project.getStoragePath(), version.getCommitHash());
+
+        Map<String, IndexedFile> current;
+        lock.readLock().lock();
+        try {
+            current = new HashMap<>(filesByProject.getOrDefault(slug, Map.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<String> changedBlobIds = new LinkedHashSet<>();
+        for (GitService.JavaBlob blob : blobs) {
+            IndexedFile existing = current.get(blob.path());
+            if (existing == null || !existing.blobId().equals(blob.blobId())) {
+                changedBlobIds.add(blob.blobId());
+            }
+        }
+        // Yorum: okuma ve hash'leme kilit dışında yapılır, sorgular bloklanmaz
+        Map<String, String> contents = gitService.readBlobs(project.getStoragePath(), changedBlobIds);
+        Map<String, long[]> hashesByBlob = new HashMap<>();
+        contents.forEach((blobId, code) -> hashesByBlob.put(blobId, hashLines(code)));
+
+        lock.writeLock().lock();
+        try {
+            Map<String, IndexedFile> previous = filesByProject.getOrDefault(slug, Map.of());
+            Map<String, IndexedFile> updated = new HashMap<>();
+            for (GitService.JavaBlob blob : blobs) {
+                IndexedFile existing = previous.get(blob.path());
+                if (existing != null && existing.blobId().equals(blob.blobId())) {
+                    updated.put(blob.path(), existing);
+                    continue;
+                }
+                if (existing != null) {
+                    removeFile(existing);
+                }
+                updated.put(blob.path(), addFile(slug, version.getId(), blob.path(), blob.blobId(),
+                        hashesByBlob.get(blob.blobId())));
+            }
+            for (Map.Entry<String, IndexedFile> entry : previous.entrySet()) {
+                if (!updated.containsKey(entry.getKey())) {
+                    removeFile(entry.getValue());
+                }
+            }
+            // Yorum: değişmeyen dosyalar da artık yeni versiyona ait
+            updated.replaceAll((path, f) -> f.versionId().equals(version.getId()) ? f : retarget(f, version.getId()));
+            filesByProject.put(slug, updated);
+            if (deadFiles > files.size() / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Clone search index updated for project {} ({}): {} files, {} re-indexed in {} ms",
+                slug, version.getVersionName(), blobs.size(), changedBlobIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Yeni versiyon kaydı commit edildikten sonra indeksi günceller; rollback olan import'lar indekse girmez.
+     * Hata import'u bozmaz, sadece loglanır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVersionCreated(ProjectVersionCreatedEvent event) {
+        try {
+            indexVersion(event.project(), event.version());
+        } catch (Exception e) {
+            logger.warn("Could not update clone search index for project: " + event.project().getSlug(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        removeProject(event.slug());
+    }
+
+    /**
+     * Projenin tüm dosyalarını indeksten çıkarır; posting'lerde kalan id'ler tombstone olarak atlanır ve
+     * sıkıştırmada temizlenir.
+     */
+    public synchronized void removeProject(String slug) {
+        lock.writeLock().lock();
+        try {
+            Map<String, IndexedFile> removed = filesByProject.remove(slug);
+            if (removed == null) {
+                return;
+            }
+            removed.values().forEach(this::removeFile);
+            if (deadFiles > files.size() / 2) {
+                compact();
+            }
+            logger.info("Clone search index: removed {} files of deleted project {}", removed.size(), slug);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Snippet ile en az minSharedLines normalize satır paylaşan dosyaları, paylaşılan satır sayısına göre sıralı döndürür.
+     *
+     * @param allowedSlugs Sonuçlara dahil edilecek projeler (kullanıcının erişebildikleri)
+     */
+    public List<CloneSearchHit> search(String snippet, int minSharedLines, int limit, Set<String> allowedSlugs) {
+        ensureInitialized();
+        long[] query = hashLines(snippet);
+        if (query.length == 0) {
+            return List.of();
+        }
+
+        List<CloneSearchHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] counts = new int[files.size()];
+            for (long hash : query) {
+                int[] posting = postings.get(hash);
+                if (posting == null) continue;
+                for (int i = 1; i <= posting[0]; i++) {
+                    counts[posting[i]]++;
+                }
+            }
+            for (int fileId = 0; fileId < counts.length; fileId++) {
+                if (counts[fileId] < minSharedLines) continue;
+                IndexedFile file = files.get(fileId);
+                if (file == null || !allowedSlugs.contains(file.projectSlug())) continue;
+                hits.add(new CloneSearchHit(file.projectSlug(), file.versionId(), file.path(),
+                        counts[fileId], counts[fileId] * 100.0 / query.length));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(CloneSearchHit::sharedLines).reversed()
+                .thenComparing(CloneSearchHit::projectSlug)
+                .thenComparing(CloneSearchHit::filePath));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * İlk sorguda tüm projelerin son versiyonlarını indeksler (sonrasında import'lar artımlı günceller)
+     */
+    private void ensureInitialized() {
+        if (initialized) return;
+        synchronized (this) {
+            if (initialized) return;
+            for (Project project : projectRepository.findAllNonDeleted()) {
+                List<ProjectVersion> versions = versionRepository.findByProjectIdOrderByCreatedAtDesc(project.getId());
+                if (versions.isEmpty()) continue;
+                try {
+                    indexVersion(project, versions.get(0));
+                } catch (Exception e) {
+                    logger.warn("Could not index project {} for clone search: {}", project.getSlug(), e.getMessage());
+                }
+            }
+            initialized = true;
+        }
+    }
+
+    private long[] hashLines(String code) {
+        return duplicateCodeDetector.getNormalizedLines(code).stream()
+                .filter(line -> line.length() >= MIN_LINE_LENGTH)
+                .filter(line -> !line.startsWith("import ") && !line.startsWith("package "))
+                .mapToLong(CloneSearchService::hash)
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * 64-bit FNV-1a; String.hashCode'un 32 bit'i büyük indekslerde çakışma üretir
+     */
+    private static long hash(String line) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < line.length(); i++) {
+            h ^= line.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private IndexedFile addFile(String slug, Long versionId, String path, String blobId, long[] lineHashes) {
+        IndexedFile file = new IndexedFile(files.size(), slug, versionId, path, blobId, lineHashes);
+        files.add(file);
+        for (long h : lineHashes) {
+            appendPosting(h, file.id());
+        }
+        return file;
+    }
+
+    private IndexedFile retarget(IndexedFile file, Long versionId) {
+        IndexedFile moved = new IndexedFile(file.id(), file.projectSlug(), versionId, file.path(), file.blobId(), file.lineHashes());
+        files.set(file.id(), moved);
+        return moved;
+    }
+
+    private void removeFile(IndexedFile file) {
+        files.set(file.id(), null);
+        deadFiles++;
+    }
+
+    private void appendPosting(long hash, int fileId) {
+        int[] posting = postings.get(hash);
+        if (posting == null) {
+            postings.put(hash, new int[]{1, fileId});
+            return;
+        }
+        int size = posting[0];
+        if (size + 1 == posting.length) {
+            posting = Arrays.copyOf(posting, posting.length * 2);
+            postings.put(hash, posting);
+        }
+        posting[size + 1] = fileId;
+        posting[0] = size + 1;
+    }
+
+    /**
+     * Tombstone'ları temizler: canlı dosyalara yeni id verip posting listelerini yeniden kurar
+     */
+    private void compact() {
+        List<IndexedFile> live = new ArrayList<>();
+        for (IndexedFile f : files) {
+            if (f != null) live.add(f);
+        }
+        files.clear();
+        postings.clear();
+        deadFiles = 0;
+        for (Map<String, IndexedFile> projectFiles : filesByProject.values()) {
+            projectFiles.clear();
+        }
+        for (IndexedFile f : live) {
+            IndexedFile added = addFile(f.projectSlug(), f.versionId(), f.path(), f.blobId(), f.lineHashes());
+            filesByProject.computeIfAbsent(f.projectSlug(), k -> new HashMap<>()).put(f.path(), added);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import com.codeinspector.backend.dto.CodeBertResponse;
+import com.codeinspector.backend.dto.CodeEmbeddingResponse;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -58,4 +59,39 @@ public class CodeBertService {
             return new CodeBertResponse(0.0);
         }
     }
+    
+    /**
+     * Kodun CodeBERT embedding'ini döndürür (/embed). Hata durumunda null döner.
+     */
+    public float[] embedCode(String code) {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("code", code);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
+        
+        try {
+            ResponseEntity<CodeEmbeddingResponse> response = restTemplate.postForEntity(
+                codebertApiUrl + "/embed",
+                request,
+                CodeEmbeddingResponse.class
+            );
+            
+            CodeEmbeddingResponse body = response.getBody();
+            if (body == null || body.vector() == null) {
+                System.err.println("Python API embedding yanıtı boş geldi");
+                return null;
+            }
+            
+            float[] vector = new float[body.vector().size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = body.vector().get(i).floatValue();
+            }
+            return vector;
+        } catch (Exception e) {
+            System.err.println("Python API'sinden embedding alınırken hata oluştu: " + e.getMessage());
+            return null;
+        }
+    }
 }
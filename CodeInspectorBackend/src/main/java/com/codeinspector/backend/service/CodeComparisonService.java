@@ -8,6 +8,9 @@ import com.codeinspector.backend.utils.CodeMetricsAnalyzer;
 import com.codeinspector.backend.utils.DuplicateCodeDetector;
 import com.codeinspector.backend.utils.SimianAnalyzer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 @Service
 public class CodeComparisonService {
 
@@ -62,6 +65,14 @@ public class CodeComparisonService {
         return duplicateCodeDetector.calculateSimilarityPercentage(code1, code2, duplicatedLines);
     }
 
+    /**
+     * compareCodeFast ile aynı CPD benzerliği; tekrarlanan satırlar zaten biliniyorsa (ör. clone sınıflarından)
+     * detectDuplicates tekrar çalıştırılmaz
+     */
+    public double similarityFromDuplicates(String code1, String code2, Collection<String> duplicatedLines) {
+        return duplicateCodeDetector.calculateSimilarityPercentage(code1, code2, new ArrayList<>(duplicatedLines));
+    }
+
     public CodeMetricsResponse analyzeMetrics(String code) {
         var metrics = codeMetricsAnalyzer.analyzeMetrics(code);
         return new CodeMetricsResponse(metrics);
@@ -0,0 +1,233 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.repository.ProjectVersionRepository;
+import com.codeinspector.backend.utils.HnswVectorIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Versiyon bazlı CodeBERT embedding indeksi.
+ * Her dosyanın embedding'i bir kere hesaplanır, HNSW indeksine konur ve diske yazılır;
+ * benzer dosya sorguları ikili karşılaştırma yapmadan indeks üzerinden cevaplanır.
+ */
+@Service
+public class CodeEmbeddingIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeEmbeddingIndexService.class);
+    private static final boolean QUANTIZE = true; // int8 quantization: 768 boyut için vektör başına 768 byte
+    private static final int MAX_LOADED_INDEXES = 8;
+
+    private final ProjectVersionService versionService;
+    private final ProjectVersionRepository versionRepository;
+    private final ProjectAnalysisService projectAnalysisService;
+    private final ProjectStorageService storageService;
+    private final CodeBertService codeBertService;
+
+    // Yorum: proje slug'ı @ versionId -> yüklenmiş indeks (LRU); çıkarılan indeks kapatılır
+    private final Map<String, HnswVectorIndex> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, HnswVectorIndex> eldest) {
+                    if (size() <= MAX_LOADED_INDEXES) {
+                        return false;
+                    }
+                    eldest.getValue().close();
+                    return true;
+                }
+            });
+
+    /**
+     * Sorgu sonucu; cross-project aramalarda hangi projeden geldiği de taşınır.
+     */
+    public record SimilarFile(String projectSlug, Long versionId, String filePath, double similarity) {}
+
+    @Autowired
+    public CodeEmbeddingIndexService(
+            ProjectVersionService versionService,
+            ProjectVersionRepository versionRepository,
+            ProjectAnalysisService projectAnalysisService,
+            ProjectStorageService storageService,
+            CodeBertService codeBertService) {
+        this.versionService = versionService;
+        this.versionRepository = versionRepository;
+        this.projectAnalysisService = projectAnalysisService;
+        this.storageService = storageService;
+        this.codeBertService = codeBertService;
+    }
+
+    /**
+     * Versiyonu checkout edip tüm Java dosyalarının embedding'lerini çıkarır, indeksi oluşturur ve kaydeder.
+     */
+    public synchronized HnswVectorIndex buildIndex(Project project, ProjectVersion version) throws Exception {
+        long start = System.currentTimeMillis();
+        versionService.checkoutVersion(project, version.getId());
+
+        List<ProjectAnalysisService.JavaFileInfo> javaFiles = projectAnalysisService.findJavaFiles(project.getSlug());
+        List<String> labels = new ArrayList<>(javaFiles.size());
+        List<float[]> vectors = new ArrayList<>(javaFiles.size());
+        for (ProjectAnalysisService.JavaFileInfo fileInfo : javaFiles) {
+            try {
+                String code = projectAnalysisService.readJavaFile(project.getSlug(), fileInfo.relativePath());
+                float[] vector = codeBertService.embedCode(code);
+                if (vector == null) {
+                    logger.warn("Embedding could not be computed for file: {}", fileInfo.relativePath());
+                    continue;
+                }
+                labels.add(fileInfo.relativePath());
+                vectors.add(vector);
+            } catch (IOException e) {
+                logger.warn("Error reading file for embedding: {}", fileInfo.relativePath(), e);
+            }
+        }
+
+        HnswVectorIndex index = HnswVectorIndex.build(labels, vectors, QUANTIZE);
+        index.save(indexFile(project, version));
+        HnswVectorIndex previous = cache.put(cacheKey(project, version), index);
+        if (previous != null) {
+            previous.close();
+        }
+        logger.info("Embedding index built for project {} version {}: {} files in {} ms",
+                project.getSlug(), version.getVersionName(), index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    /**
+     * Önbellekteki ya da diskteki indeksi döndürür; hiç oluşturulmamışsa null.
+     * Dönen indeks önbellekten çıkarılınca kapatılır, bu yüzden acquire/release arasında kullanılmalıdır.
+     */
+    public HnswVectorIndex getIndex(Project project, ProjectVersion version) {
+        return cache.computeIfAbsent(cacheKey(project, version), key -> {
+            try {
+                Path file = indexFile(project, version);
+                return Files.exists(file) ? HnswVectorIndex.load(file) : null;
+            } catch (IOException e) {
+                logger.error("Error loading embedding index for version: " + version.getId(), e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Silinen projenin indekslerini önbellekten çıkarır ve kapatır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        String prefix = event.slug() + "@";
+        synchronized (cache) {
+            Iterator<Map.Entry<String, HnswVectorIndex>> entries = cache.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, HnswVectorIndex> entry = entries.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    entry.getValue().close();
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * İndeksteki bir dosyaya en çok benzeyen k dosyayı döndürür.
+     */
+    public List<SimilarFile> searchByFile(Project project, ProjectVersion version, String filePath, int k) {
+        return withIndex(project, version, index -> {
+            float[] query = index.vectorOf(filePath);
+            if (query == null) {
+                return List.of();
+            }
+            return toResults(project, version, index.search(query, k, filePath));
+        });
+    }
+
+    /**
+     * Yapıştırılan kod parçasına en çok benzeyen k dosyayı döndürür.
+     */
+    public List<SimilarFile> searchBySnippet(Project project, ProjectVersion version, String code, int k) {
+        if (getIndex(project, version) == null) {
+            return null;
+        }
+        float[] query = codeBertService.embedCode(code);
+        if (query == null) {
+            return List.of();
+        }
+        return withIndex(project, version, index -> toResults(project, version, index.search(query, k, null)));
+    }
+
+    /**
+     * Verilen projelerin son versiyonlarının indekslerinde arama yapar (indeksi olmayan projeler atlanır).
+     */
+    public List<SimilarFile> searchAcrossProjects(List<Project> projects, String code, int k) {
+        float[] query = codeBertService.embedCode(code);
+        if (query == null) {
+            return List.of();
+        }
+        List<SimilarFile> results = new ArrayList<>();
+        for (Project project : projects) {
+            List<ProjectVersion> versions = versionRepository.findByProjectIdOrderByCreatedAtDesc(project.getId());
+            if (versions.isEmpty()) {
+                continue;
+            }
+            ProjectVersion latest = versions.get(0);
+            List<SimilarFile> found = withIndex(project, latest, index -> index.dimension() != query.length
+                    ? List.of() : toResults(project, latest, index.search(query, k, null)));
+            if (found != null) {
+                results.addAll(found);
+            }
+        }
+        results.sort(Comparator.comparingDouble(SimilarFile::similarity).reversed());
+        return results.size() > k ? new ArrayList<>(results.subList(0, k)) : results;
+    }
+
+    /**
+     * İndeksi kullanım boyunca açık tutarak action'ı çalıştırır; indeks yoksa null.
+     */
+    private <T> T withIndex(Project project, ProjectVersion version, Function<HnswVectorIndex, T> action) {
+        while (true) {
+            HnswVectorIndex index = getIndex(project, version);
+            if (index == null) {
+                return null;
+            }
+            if (!index.acquire()) {
+                continue; // Yorum: bu arada önbellekten çıkarılıp kapatıldı; tekrar yüklenir
+            }
+            try {
+                return action.apply(index);
+            } finally {
+                index.release();
+            }
+        }
+    }
+
+    private String cacheKey(Project project, ProjectVersion version) {
+        return project.getSlug() + "@" + version.getId();
+    }
+
+    private List<SimilarFile> toResults(Project project, ProjectVersion version, List<HnswVectorIndex.Match> matches) {
+        List<SimilarFile> results = new ArrayList<>(matches.size());
+        for (HnswVectorIndex.Match match : matches) {
+            results.add(new SimilarFile(project.getSlug(), version.getId(), match.label(), match.similarity()));
+        }
+        return results;
+    }
+
+    private Path indexFile(Project project, ProjectVersion version) throws IOException {
+        return storageService.ensureIndexDirectory(project.getSlug()).resolve("embeddings-" + version.getId() + ".hnsw");
+    }
+}
@@ -0,0 +1,198 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.CodeGraphResult.Edge;
+import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.CommunityDetection;
+import com.codeinspector.backend.graph.CommunityGraphResult;
+import com.codeinspector.backend.graph.CommunityHierarchy;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Büyük kod graflarını modularity topluluklarına (süper node'lara) indirger.
+ * Önce yoğunlaştırılmış graf ve metrikleri döner; istenen tek bir topluluğun alt grafı ayrıca açılabilir.
+ * Hiyerarşi yönsüz yapı fingerprint'ine göre önbelleğe alınır.
+ */
+@Service
+public class CommunityGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommunityGraphService.class);
+
+    private final ProjectGraphService projectGraphService;
+    private final GraphLayoutService layoutService;
+    private final GraphResultCacheService resultCache;
+
+    public CommunityGraphService(ProjectGraphService projectGraphService,
+                                 GraphLayoutService layoutService,
+                                 GraphResultCacheService resultCache) {
+        this.projectGraphService = projectGraphService;
+        this.layoutService = layoutService;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Verilen seviyedeki topluluk grafını ve metriklerini döndürür.
+     *
+     * @param level null ise en kaba seviye
+     * @throws IllegalArgumentException seviye hiyerarşide yoksa
+     */
+    public CommunityGraphResult analyzeCommunities(Project project, Integer level) throws IOException {
+        Communities communities = communities(projectGraphService.buildStructure(project));
+        CommunityHierarchy hierarchy = communities.hierarchy;
+        int l = resolveLevel(hierarchy, level);
+        IntGraph graph = communities.graph;
+        int count = hierarchy.communityCount(l);
+
+        int[] size = new int[count];
+        int[] classCount = new int[count];
+        int[] methodCount = new int[count];
+        int[] internalEdges = new int[count];
+        int[] representative = new int[count];
+        Arrays.fill(representative, -1);
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            int c = hierarchy.communityOf(l, v);
+            size[c]++;
+            String type = communities.vertices.get(v).getType();
+            if ("class".equals(type)) classCount[c]++;
+            else if ("method".equals(type)) methodCount[c]++;
+            if (representative[c] < 0 || graph.degree(v) > graph.degree(representative[c])) {
+                representative[c] = v;
+            }
+        }
+
+        // Yorum: topluluk çifti anahtarı (min << 32 | max); sıralayıp ardışık eşitleri saymak map'ten ucuz
+        long[] keys = new long[graph.edgeCount()];
+        int k = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (u <= v) continue;
+                int a = hierarchy.communityOf(l, v);
+                int b = hierarchy.communityOf(l, u);
+                if (a == b) {
+                    internalEdges[a]++;
+                } else {
+                    keys[k++] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+                }
+            }
+        }
+        Arrays.sort(keys, 0, k);
+
+        List<CommunityGraphResult.Community> nodes = new ArrayList<>(count);
+        List<Vertex> superVertices = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            String label = communities.vertices.get(representative[c]).getLabel();
+            nodes.add(new CommunityGraphResult.Community(c, label, size[c], classCount[c], methodCount[c], internalEdges[c]));
+            superVertices.add(new Vertex(communityId(c), label, "community", Map.of("size", size[c])));
+        }
+        List<CommunityGraphResult.CommunityEdge> edges = new ArrayList<>();
+        List<Edge> superEdges = new ArrayList<>();
+        for (int i = 0; i < k; ) {
+            int j = i;
+            while (j < k && keys[j] == keys[i]) j++;
+            int a = (int) (keys[i] >>> 32);
+            int b = (int) keys[i];
+            edges.add(new CommunityGraphResult.CommunityEdge(a, b, j - i));
+            superEdges.add(new Edge(communityId(a), communityId(b), "depends"));
+            i = j;
+        }
+
+        // Metrik servisleri yoğunlaştırılmış graf üzerinde çalışır (süper node sayısı orijinalin çok altında)
+        CodeGraphResult.GraphMetrics metrics = projectGraphService.calculateMetrics(superVertices, superEdges);
+
+        List<CommunityGraphResult.LevelSummary> levels = new ArrayList<>(hierarchy.levelCount());
+        for (int i = 0; i < hierarchy.levelCount(); i++) {
+            levels.add(new CommunityGraphResult.LevelSummary(hierarchy.communityCount(i), hierarchy.modularity(i)));
+        }
+        logger.info("Community graph for project {}: level {} of {}, {} communities, {} edges, modularity {}",
+                project.getSlug(), l, hierarchy.levelCount(), count, edges.size(), hierarchy.modularity(l));
+        return new CommunityGraphResult(l, levels, nodes, edges, metrics);
+    }
+
+    /**
+     * Tek bir topluluğun orijinal vertex ve edge'lerden oluşan alt grafı (metrikler ve yerleşimle).
+     *
+     * @param level null ise en kaba seviye
+     * @return Topluluk yoksa null
+     * @throws IllegalArgumentException seviye hiyerarşide yoksa
+     */
+    public CodeGraphResult community(Project project, Integer level, int communityId) throws IOException {
+        CodeGraphResult structure = projectGraphService.buildStructure(project);
+        Communities communities = communities(structure);
+        int l = resolveLevel(communities.hierarchy, level);
+        if (communityId < 0 || communityId >= communities.hierarchy.communityCount(l)) {
+            return null;
+        }
+
+        int[] members = communities.hierarchy.members(l, communityId);
+        Set<String> ids = new HashSet<>(members.length * 2);
+        List<Vertex> vertices = new ArrayList<>(members.length);
+        for (int v : members) {
+            Vertex vertex = communities.vertices.get(v);
+            ids.add(vertex.getId());
+            vertices.add(vertex);
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (Edge edge : structure.getEdges()) {
+            if (ids.contains(edge.getSource()) && ids.contains(edge.getTarget())) {
+                edges.add(edge);
+            }
+        }
+
+        CodeGraphResult result = new CodeGraphResult();
+        result.setVertices(vertices);
+        result.setEdges(edges);
+        result.setMetrics(projectGraphService.calculateMetrics(vertices, edges));
+        result.setLayout(layoutService.layout(vertices, edges));
+        logger.info("Community {} (level {}) of project {}: {} vertices, {} edges",
+                communityId, l, project.getSlug(), vertices.size(), edges.size());
+        return result;
+    }
+
+    /**
+     * Hiyerarşiyi önbellekten alır ya da hesaplar. Node numaraları vertex id sırasına göredir.
+     */
+    private Communities communities(CodeGraphResult structure) {
+        List<Vertex> sorted = new ArrayList<>(structure.getVertices());
+        sorted.sort(Comparator.comparing(Vertex::getId));
+        // Yorum: IntGraph tekrarlanan id'leri tek node sayar; liste indeksi node id'siyle hizalı kalmalı
+        Set<String> seen = new HashSet<>();
+        sorted.removeIf(vertex -> !seen.add(vertex.getId()));
+        IntGraph graph = IntGraph.fromCodeGraph(sorted, structure.getEdges());
+
+        String fingerprint = GraphResultCacheService.structureFingerprint(graph);
+        CommunityHierarchy hierarchy = resultCache.findCommunities(fingerprint);
+        if (hierarchy == null) {
+            long start = System.currentTimeMillis();
+            hierarchy = CommunityDetection.detect(graph, ForkJoinPool.commonPool());
+            logger.info("Community detection for {} nodes, {} edges: {} levels in {} ms",
+                    graph.nodeCount(), graph.edgeCount(), hierarchy.levelCount(), System.currentTimeMillis() - start);
+            resultCache.storeCommunities(fingerprint, hierarchy);
+        }
+        return new Communities(sorted, graph, hierarchy);
+    }
+
+    private static int resolveLevel(CommunityHierarchy hierarchy, Integer level) {
+        if (level == null) {
+            return hierarchy.levelCount() - 1;
+        }
+        if (level < 0 || level >= hierarchy.levelCount()) {
+            throw new IllegalArgumentException("Community level out of range: " + level);
+        }
+        return level;
+    }
+
+    private static String communityId(int community) {
+        return "community-" + community;
+    }
+
+    private record Communities(List<Vertex> vertices, IntGraph graph, CommunityHierarchy hierarchy) {}
+}
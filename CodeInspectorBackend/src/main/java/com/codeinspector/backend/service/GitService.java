@@ -14,6 +14,8 @@ import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.lib.RepositoryState;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
 import org.eclipse.jgit.util.io.DisabledOutputStream;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.jgit.transport.CredentialsProvider;
@@ -30,7 +32,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class GitService {
@@ -488,6 +493,70 @@ public class GitService {
         git.close();
     }
 
+    /**
+     * Working tree'nin işaret ettiği commit'i döndürür.
+     * Git deposu yoksa, henüz commit yoksa ya da commit edilmemiş değişiklik varsa null döner
+     * (bu durumda working tree'den üretilen sonuç bir commit'e bağlanamaz).
+     */
+    public String resolveCleanHead(String projectPath) {
+        if (!new File(projectPath, ".git").exists()) {
+            return null;
+        }
+        try (Git git = Git.open(new File(projectPath))) {
+            ObjectId head = git.getRepository().resolve("HEAD");
+            if (head == null || !git.status().call().isClean()) {
+                return null;
+            }
+            return head.getName();
+        } catch (GitAPIException | IOException e) {
+            logger.warn("Could not resolve HEAD for {}: {}", projectPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Git'te saklanan bir Java dosyası (yol + blob id)
+     */
+    public record JavaBlob(String path, String blobId) {}
+
+    /**
+     * Belirli bir commit'teki tüm .java dosyalarını working tree'ye dokunmadan listeler
+     */
+    public List<JavaBlob> listJavaBlobs(String projectPath, String commitHash) throws IOException {
+        try (Git git = Git.open(new File(projectPath))) {
+            Repository repository = git.getRepository();
+            ObjectId tree = repository.resolve(commitHash + "^{tree}");
+            if (tree == null) {
+                throw new IllegalArgumentException("Could not resolve commit tree: " + commitHash);
+            }
+            List<JavaBlob> blobs = new ArrayList<>();
+            try (TreeWalk treeWalk = new TreeWalk(repository)) {
+                treeWalk.addTree(tree);
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(PathSuffixFilter.create(".java"));
+                while (treeWalk.next()) {
+                    blobs.add(new JavaBlob(treeWalk.getPathString(), treeWalk.getObjectId(0).getName()));
+                }
+            }
+            return blobs;
+        }
+    }
+
+    /**
+     * Verilen blob'ların içeriklerini okur (blobId -> içerik)
+     */
+    public Map<String, String> readBlobs(String projectPath, Collection<String> blobIds) throws IOException {
+        Map<String, String> contents = new HashMap<>();
+        try (Git git = Git.open(new File(projectPath));
+             ObjectReader reader = git.getRepository().newObjectReader()) {
+            for (String blobId : blobIds) {
+                byte[] bytes = reader.open(ObjectId.fromString(blobId)).getBytes();
+                contents.put(blobId, new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        return contents;
+    }
+
     /**
      * Proje klasöründeki dosyaları temizler (.git klasörü hariç)
      */
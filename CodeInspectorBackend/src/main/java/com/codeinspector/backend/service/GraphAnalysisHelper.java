@@ -1,252 +1,148 @@
 package com.codeinspector.backend.service;
 
+import com.codeinspector.backend.graph.BiconnectedComponents;
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorBounds;
+import com.codeinspector.backend.graph.TreeDecomposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Graph analizi için ortak yardımcı sınıf.
- * Node'ları toplama, undirected edge oluşturma, degree hesaplama gibi
- * ortak işlemleri bir kere yapıp her iki servis (Connectivity ve Scattering) için de kullanır.
+ * Node'ları int id'lere çevirme, undirected edge oluşturma, degree hesaplama gibi
+ * ortak işlemleri bir kere yapıp tüm metrik servisleri için kullanır.
  */
 public class GraphAnalysisHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphAnalysisHelper.class);
+    // Tree decomposition DP'sinin durum sayısı bag boyutuyla üstel büyür; daha geniş graflarda kullanılmaz
+    private static final int MAX_DECOMPOSITION_WIDTH = 6;
 
     /**
      * Hazırlanmış graph data'yı tutan iç sınıf.
      */
     public static class GraphData {
-        public final Set<String> allNodes;
-        public final List<UndirectedEdge> undirectedEdges;
-        public final Map<String, Integer> degree;
-        public final List<String> sortedCandidates; // Degree'ye göre sıralanmış
-
-        public GraphData(Set<String> allNodes, List<UndirectedEdge> undirectedEdges,
-                        Map<String, Integer> degree, List<String> sortedCandidates) {
-            this.allNodes = allNodes;
-            this.undirectedEdges = undirectedEdges;
-            this.degree = degree;
+        public final IntGraph graph;
+        public final int[] sortedCandidates; // Degree'ye göre azalan sırada node id'leri
+        // Yorum: integrity ve toughness aynı decomposition'ı paylaşır; ilk ihtiyaçta bir kez kurulur
+        private TreeDecomposition treeDecomposition;
+        private boolean treeDecompositionComputed = false;
+        private BiconnectedComponents biconnectedComponents;
+        private SeparatorBounds separatorBounds;
+
+        public GraphData(IntGraph graph, int[] sortedCandidates) {
+            this.graph = graph;
             this.sortedCandidates = sortedCandidates;
         }
-    }
-
-    /**
-     * Undirected edge temsili.
-     */
-    public static class UndirectedEdge {
-        public final String u;
-        public final String v;
-
-        public UndirectedEdge(String u, String v) {
-            this.u = u;
-            this.v = v;
-        }
-    }
-
-    /**
-     * Graph data'yı hazırla (node'lar, edge'ler, degree, sıralanmış candidate listesi).
-     * Bu işlem bir kere yapılır ve her iki metrik (Connectivity ve Scattering) için kullanılır.
-     */
-    public static GraphData prepareGraphData(
-            List<CodeGraphResult.Vertex> vertices,
-            List<CodeGraphResult.Edge> edges) {
-
-        // 1. Node'ları topla
-        Set<String> allNodes = vertices.stream()
-                .map(CodeGraphResult.Vertex::getId)
-                .collect(Collectors.toSet());
-
-        logger.debug("Preparing graph data for {} nodes, {} edges", allNodes.size(), edges.size());
-
-        // 2. Undirected edge listesi oluştur
-        List<UndirectedEdge> undirectedEdges = buildUndirectedEdges(edges, allNodes);
-
-        // 3. Degree hesapla
-        Map<String, Integer> degree = calculateDegree(allNodes, undirectedEdges);
-
-        // 4. Node'ları degree'ye göre sırala
-        List<String> sortedCandidates = allNodes.stream()
-                .sorted((a, b) -> Integer.compare(degree.getOrDefault(b, 0), degree.getOrDefault(a, 0)))
-                .collect(Collectors.toList());
 
-        logger.debug("Graph data prepared: {} nodes, {} edges, top degree: {}", 
-                allNodes.size(), undirectedEdges.size(),
-                sortedCandidates.isEmpty() ? 0 : degree.get(sortedCandidates.get(0)));
-
-        return new GraphData(allNodes, undirectedEdges, degree, sortedCandidates);
-    }
-
-    /**
-     * Undirected edge listesi oluştur.
-     * Tüm edge tiplerini (depends, has, calls) dahil eder.
-     */
-    private static List<UndirectedEdge> buildUndirectedEdges(
-            List<CodeGraphResult.Edge> edges,
-            Set<String> validNodes) {
-
-        List<UndirectedEdge> undirectedEdges = new ArrayList<>();
-        Set<String> edgeSet = new HashSet<>(); // Duplicate kontrolü için
-
-        for (CodeGraphResult.Edge e : edges) {
-            String source = e.getSource();
-            String target = e.getTarget();
-
-            // Sadece geçerli node'lar arasındaki edge'leri al
-            if (!validNodes.contains(source) || !validNodes.contains(target)) {
-                continue;
-            }
-
-            // Undirected edge: (u, v) ve (v, u) aynı
-            String edgeKey1 = source + "|" + target;
-            String edgeKey2 = target + "|" + source;
-
-            if (!edgeSet.contains(edgeKey1) && !edgeSet.contains(edgeKey2)) {
-                undirectedEdges.add(new UndirectedEdge(source, target));
-                edgeSet.add(edgeKey1);
+        /**
+         * Block'lar, articulation point'ler ve her tek node'luk ayırıcının bileşen özeti (lineer sürede, bir kez).
+         */
+        public synchronized BiconnectedComponents biconnectedComponents() {
+            if (biconnectedComponents == null) {
+                biconnectedComponents = BiconnectedComponents.compute(graph);
+                logger.debug("Biconnected components: {} blocks, {} articulation points",
+                        biconnectedComponents.blockCount(), biconnectedComponents.articulationPointCount());
             }
+            return biconnectedComponents;
         }
 
-        logger.debug("Built {} undirected edges from {} directed edges",
-                undirectedEdges.size(), edges.size());
-        return undirectedEdges;
-    }
-
-    /**
-     * Her node'un degree'sini hesapla (undirected graph için).
-     */
-    private static Map<String, Integer> calculateDegree(
-            Set<String> nodes,
-            List<UndirectedEdge> edges) {
-
-        Map<String, Integer> degree = new HashMap<>();
-        for (String node : nodes) {
-            degree.put(node, 0);
-        }
-
-        for (UndirectedEdge e : edges) {
-            degree.put(e.u, degree.get(e.u) + 1);
-            degree.put(e.v, degree.get(e.v) + 1);
+        /**
+         * Derece dizisinden ayırıcı parametreleri için ucuz sınırlar (anytime sonuçların ilk adımı).
+         */
+        public synchronized SeparatorBounds separatorBounds() {
+            if (separatorBounds == null) {
+                separatorBounds = new SeparatorBounds(graph, biconnectedComponents().componentCount());
+            }
+            return separatorBounds;
         }
 
-        return degree;
-    }
-
-    /**
-     * Connected components sayısını hesapla (DFS ile).
-     */
-    public static int countConnectedComponents(
-            Set<String> nodes,
-            List<UndirectedEdge> edges) {
-
-        if (nodes.isEmpty()) {
-            return 0;
+        /**
+         * Graf bir orman mı (her block tek bir edge)
+         */
+        public boolean isForest() {
+            return graph.edgeCount() == graph.nodeCount() - biconnectedComponents().componentCount();
         }
 
-        // Adjacency list oluştur
-        Map<String, Set<String>> adj = new HashMap<>();
-        for (String node : nodes) {
-            adj.put(node, new HashSet<>());
+        /**
+         * Genişliği MAX_DECOMPOSITION_WIDTH'i aşmayan tree decomposition, graf bu kadar dar değilse null.
+         */
+        public synchronized TreeDecomposition treeDecomposition() {
+            if (!treeDecompositionComputed) {
+                long start = System.currentTimeMillis();
+                treeDecomposition = TreeDecomposition.compute(graph, MAX_DECOMPOSITION_WIDTH);
+                treeDecompositionComputed = true;
+                logger.debug("Tree decomposition for {} nodes: width {} in {} ms", graph.nodeCount(),
+                        treeDecomposition == null ? "> " + MAX_DECOMPOSITION_WIDTH : treeDecomposition.width(),
+                        System.currentTimeMillis() - start);
+            }
+            return treeDecomposition;
         }
 
-        for (UndirectedEdge e : edges) {
-            adj.get(e.u).add(e.v);
-            adj.get(e.v).add(e.u);
+        public int nodeCount() {
+            return graph.nodeCount();
         }
 
-        // DFS ile bileşenleri bul
-        Set<String> visited = new HashSet<>();
-        int componentCount = 0;
-
-        for (String start : nodes) {
-            if (!visited.contains(start)) {
-                dfs(start, adj, visited);
-                componentCount++;
-            }
+        public int edgeCount() {
+            return graph.edgeCount();
         }
-
-        return componentCount;
     }
 
     /**
-     * DFS traversal.
+     * Ayırıcı kümesinin değerini puanlar; büyük puan daha iyi.
      */
-    private static void dfs(String node, Map<String, Set<String>> adj, Set<String> visited) {
-        visited.add(node);
-        for (String neighbor : adj.getOrDefault(node, Collections.emptySet())) {
-            if (!visited.contains(neighbor)) {
-                dfs(neighbor, adj, visited);
-            }
-        }
+    @FunctionalInterface
+    public interface SeparatorScore {
+        double score(int removedCount, IntGraph.ComponentStats stats);
     }
 
     /**
-     * Adjacency list oluştur (undirected graph için).
-     * Rupture number hesaplama için gerekli.
+     * Her adımda kalan grafta tek başına en yüksek puanı veren node'u ekleyerek 1..maxR boyutlu ayırıcılar
+     * kurar. Her adımda tüm adaylar biconnected components geçişiyle lineer sürede değerlendirilir.
+     *
+     * @return i. eleman (i + 1) node çıkarıldıktan sonraki bileşen özeti
      */
-    public static Map<String, Set<String>> buildAdjacency(
-            Set<String> nodes,
-            List<UndirectedEdge> edges) {
-
-        Map<String, Set<String>> adj = new HashMap<>();
-        for (String node : nodes) {
-            adj.put(node, new HashSet<>());
-        }
-
-        for (UndirectedEdge e : edges) {
-            adj.get(e.u).add(e.v);
-            adj.get(e.v).add(e.u);
+    public static List<IntGraph.ComponentStats> greedySeparators(GraphData graphData, int maxR, SeparatorScore score) {
+        IntGraph graph = graphData.graph;
+        List<IntGraph.ComponentStats> result = new ArrayList<>(maxR);
+        BitSet removed = new BitSet(graph.nodeCount());
+        BiconnectedComponents current = graphData.biconnectedComponents();
+        for (int r = 1; r <= maxR && current.remaining() > 1; r++) {
+            int bestNode = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                if (removed.get(v)) continue;
+                double value = score.score(r, current.statsWithout(v));
+                if (bestNode < 0 || value > bestScore) {
+                    bestNode = v;
+                    bestScore = value;
+                }
+            }
+            result.add(current.statsWithout(bestNode));
+            removed.set(bestNode);
+            current = BiconnectedComponents.compute(graph, removed);
         }
-
-        return adj;
+        return result;
     }
 
     /**
-     * Connected components listesini döndür (en büyük parçayı bulmak için).
-     * Her component bir Set<String> olarak döner.
+     * Graph data'yı hazırla (CSR graf, degree'ye göre sıralanmış candidate listesi).
+     * Bu işlem bir kere yapılır ve tüm metrikler için kullanılır.
      */
-    public static List<Set<String>> getConnectedComponents(
-            Set<String> nodes,
-            List<UndirectedEdge> edges) {
-
-        if (nodes.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Adjacency list oluştur
-        Map<String, Set<String>> adj = buildAdjacency(nodes, edges);
+    public static GraphData prepareGraphData(
+            List<CodeGraphResult.Vertex> vertices,
+            List<CodeGraphResult.Edge> edges) {
 
-        // DFS ile bileşenleri bul
-        Set<String> visited = new HashSet<>();
-        List<Set<String>> components = new ArrayList<>();
+        IntGraph graph = IntGraph.fromCodeGraph(vertices, edges);
+        int[] sortedCandidates = graph.verticesByDegreeDescending();
 
-        for (String start : nodes) {
-            if (!visited.contains(start)) {
-                Set<String> component = new HashSet<>();
-                dfsWithComponent(start, adj, visited, component);
-                components.add(component);
-            }
-        }
+        logger.debug("Graph data prepared: {} nodes, {} undirected edges (from {} directed), top degree: {}",
+                graph.nodeCount(), graph.edgeCount(), edges.size(),
+                sortedCandidates.length == 0 ? 0 : graph.degree(sortedCandidates[0]));
 
-        return components;
-    }
-
-    /**
-     * DFS traversal ile component toplama.
-     */
-    private static void dfsWithComponent(String node, Map<String, Set<String>> adj, 
-                                        Set<String> visited, Set<String> component) {
-        visited.add(node);
-        component.add(node);
-        for (String neighbor : adj.getOrDefault(node, Collections.emptySet())) {
-            if (!visited.contains(neighbor)) {
-                dfsWithComponent(neighbor, adj, visited, component);
-            }
-        }
+        return new GraphData(graph, sortedCandidates);
     }
 }
-
-
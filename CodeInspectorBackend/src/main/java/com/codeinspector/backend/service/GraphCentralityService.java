@@ -0,0 +1,83 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.Centrality;
+import com.codeinspector.backend.graph.CentralityResult;
+import com.codeinspector.backend.graph.IntGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Betweenness ve harmonic closeness centrality hesaplama servisi.
+ * Derece tabanlı metriklerin gösteremediği darboğaz sınıfları (çok sayıda en kısa yolun geçtiği node'lar) bulur.
+ * Küçük graflarda exact, büyük graflarda hata sınırı çağıran tarafından verilen pivot örneklemesiyle hesaplanır.
+ */
+@Service
+public class GraphCentralityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphCentralityService.class);
+
+    // Normalize değerlerde izin verilen hata; 0 = her zaman exact
+    @Value("${graph.centrality.epsilon:0.05}")
+    private double defaultEpsilon;
+
+    @Value("${graph.centrality.top-n:20}")
+    private int defaultTopN;
+
+    /**
+     * Yapılandırılmış hata sınırı ve N ile hesaplar.
+     */
+    public CentralityResult calculateCentrality(GraphAnalysisHelper.GraphData graphData) {
+        return calculateCentrality(graphData, null, null);
+    }
+
+    /**
+     * @param epsilon Normalize değerlerde izin verilen hata; gereken pivot sayısı node sayısını aşarsa exact
+     *                (null = yapılandırılmış değer)
+     * @param topN    Her ölçüt için döndürülecek node sayısı (null = yapılandırılmış değer)
+     */
+    public CentralityResult calculateCentrality(GraphAnalysisHelper.GraphData graphData, Double epsilon, Integer topN) {
+        IntGraph graph = graphData.graph;
+        double errorBound = epsilon != null ? epsilon : defaultEpsilon;
+        int limit = topN != null ? topN : defaultTopN;
+        long start = System.currentTimeMillis();
+        Centrality.Scores scores = Centrality.compute(graph, errorBound, ForkJoinPool.commonPool());
+        long elapsed = System.currentTimeMillis() - start;
+
+        String method = scores.exact() ? "EXACT" : "SAMPLED";
+        logger.info("Centrality calculated for {} nodes, {} edges: {} with {} pivots (error bound {}) in {} ms",
+                graph.nodeCount(), graph.edgeCount(), method, scores.pivots(), scores.errorBound(), elapsed);
+        return new CentralityResult(method, scores.pivots(), scores.errorBound(), elapsed,
+                top(graph, scores, scores.betweenness(), limit), top(graph, scores, scores.closeness(), limit));
+    }
+
+    /**
+     * values'a göre en yüksek N node (eşitlikte node id sırası)
+     */
+    private static List<CentralityResult.Score> top(IntGraph graph, Centrality.Scores scores, double[] values, int topN) {
+        int n = graph.nodeCount();
+        int limit = Math.min(topN, n);
+        // Yorum: N küçük; N elemanlı min-heap ile O(V log N)
+        Comparator<Integer> ascending = (a, b) -> values[a] != values[b]
+                ? Double.compare(values[a], values[b]) : Integer.compare(b, a);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, limit), ascending);
+        for (int v = 0; v < n && limit > 0; v++) {
+            heap.offer(v);
+            if (heap.size() > limit) heap.poll();
+        }
+        Integer[] ordered = heap.toArray(new Integer[0]);
+        Arrays.sort(ordered, ascending.reversed());
+
+        List<CentralityResult.Score> result = new ArrayList<>(ordered.length);
+        for (int i = 0; i < ordered.length; i++) {
+            int v = ordered[i];
+            result.add(new CentralityResult.Score(graph.label(v), i + 1,
+                    scores.betweenness()[v], scores.closeness()[v]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.GraphDiff;
+import com.codeinspector.backend.graph.GraphDiffResult;
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * İki versiyonun grafları arasındaki yapısal fark (eklenen / silinen vertex ve edge'ler, metrik değişimleri).
+ * Graflar versiyon başına saklanmış sonuçlardan okunur; saklanmamış bir versiyon için yalnızca yapı
+ * (IncrementalGraphService) kullanılır ve graf parametreleri o taraf için boş kalır.
+ */
+@Service
+public class GraphDiffService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphDiffService.class);
+    private static final int MAX_LIMIT = 10_000;
+
+    private final ProjectVersionService versionService;
+    private final GraphResultCacheService resultCache;
+    private final IncrementalGraphService incrementalGraphService;
+
+    public GraphDiffService(
+            ProjectVersionService versionService,
+            GraphResultCacheService resultCache,
+            IncrementalGraphService incrementalGraphService) {
+        this.versionService = versionService;
+        this.resultCache = resultCache;
+        this.incrementalGraphService = incrementalGraphService;
+    }
+
+    /**
+     * @param limit Her listede döndürülecek en fazla eleman sayısı
+     * @return Versiyonlardan biri yoksa ya da projeye ait değilse null
+     * @throws IllegalArgumentException limit aralık dışında
+     * @throws IllegalStateException    versiyonlardan birinin commit'i yok
+     */
+    public GraphDiffResult diff(Project project, Long oldVersionId, Long newVersionId, int limit) throws IOException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be in [1, " + MAX_LIMIT + "]");
+        }
+        ProjectVersion oldVersion = versionOf(project, oldVersionId);
+        ProjectVersion newVersion = versionOf(project, newVersionId);
+        if (oldVersion == null || newVersion == null) {
+            return null;
+        }
+
+        CodeGraphResult from = graphFor(project, oldVersion);
+        CodeGraphResult to = graphFor(project, newVersion);
+        GraphDiffResult diff = GraphDiff.diff(from, to, limit);
+        logger.info("Graph diff {} -> {} for project {}: +{}/-{} vertices, +{}/-{} edges in {} ms",
+                oldVersion.getVersionName(), newVersion.getVersionName(), project.getSlug(),
+                diff.summary().addedVertices(), diff.summary().removedVertices(),
+                diff.summary().addedEdges(), diff.summary().removedEdges(), diff.elapsedMs());
+        return diff;
+    }
+
+    private ProjectVersion versionOf(Project project, Long versionId) {
+        ProjectVersion version = versionService.getVersion(versionId);
+        if (version == null || !version.getProject().getId().equals(project.getId())) {
+            return null;
+        }
+        return version;
+    }
+
+    private CodeGraphResult graphFor(Project project, ProjectVersion version) throws IOException {
+        if (version.getCommitHash() == null || version.getCommitHash().isBlank()) {
+            throw new IllegalStateException("Version " + version.getVersionName() + " has no commit");
+        }
+        CodeGraphResult stored = resultCache.findByCommit(project, version.getCommitHash());
+        if (stored != null) {
+            return stored;
+        }
+        return incrementalGraphService.structureForCommit(project, version.getCommitHash());
+    }
+}
@@ -1,6 +1,10 @@
 package com.codeinspector.backend.service;
 
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.BoundedSolution;
+import com.codeinspector.backend.graph.DominatingSetSolver;
+import com.codeinspector.backend.graph.IndexedMaxHeap;
+import com.codeinspector.backend.graph.IntGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -11,154 +15,154 @@ import java.util.*;
  * Graph domination number (γ(G)) hesaplama servisi.
  * Grafin kontrol edilebilirliğini ölçer.
  * Formül: γ(G) = min{|D| : N[D] = V}
- * 
+ *
  * Bu metrik, grafı kontrol etmek için en az kaç node seçmem gerektiğini ölçer.
  * Diğer metriklerden farklı olarak node silmez, node seçer.
- * 
- * Küçük graflar için exact algoritma, büyük graflar için greedy algoritma kullanır.
+ *
+ * Exact çözüm kernelization + branch-and-bound ile zaman bütçesi içinde aranır (DominatingSetSolver).
+ * Bütçe biterse bulunan en iyi çözüm ispatlanmış alt sınırla birlikte döner.
+ * Çok büyük graflarda yalnızca greedy algoritma kullanılır.
  */
 @Service
 public class GraphDominationService {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphDominationService.class);
-    private static final int EXACT_ALGORITHM_THRESHOLD = 20; // Node sayısı ≤ 20 ise exact algoritma
-    private static final int MAX_SUBSETS = 500; // Exact algoritma için maksimum subset sayısı
+    private static final int EXACT_ALGORITHM_THRESHOLD = 5000; // Node sayısı ≤ 5000 ise kernelization + branch-and-bound
+    private static final long EXACT_TIME_BUDGET_MS = 2000; // Branch-and-bound için süre bütçesi
+
+    /**
+     * Domination sonucunu tutan iç sınıf.
+     */
+    public static class DominationResult {
+        public final int size;
+        public final int lowerBound; // İspatlanmış alt sınır
+        public final boolean exact;  // size == lowerBound ise optimal
+
+        public DominationResult(int size, int lowerBound) {
+            this.size = size;
+            this.lowerBound = lowerBound;
+            this.exact = size == lowerBound;
+        }
+    }
 
     /**
      * Domination number (γ(G)) hesaplar.
      * Hazırlanmış graph data kullanır (performans optimizasyonu).
-     * 
+     *
      * @param graphData Hazırlanmış graph data (GraphAnalysisHelper.prepareGraphData ile oluşturulmuş)
      * @return Domination number, veya -1 eğer hesaplanamazsa
      */
     public int calculateDominationNumber(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
+        return calculateDomination(graphData).size;
+    }
+
+    /**
+     * Domination number'ı ispatlanmış alt sınırıyla birlikte hesaplar.
+     */
+    public DominationResult calculateDomination(GraphAnalysisHelper.GraphData graphData) {
+        return calculateDomination(graphData, ParameterProgress.none());
+    }
+
+    /**
+     * Domination number'ı hesaplar; branch-and-bound'dan önce greedy çözüm ve packing alt sınırı,
+     * arama sırasında da bulunan daha iyi çözümler progress'e bildirilir.
+     */
+    public DominationResult calculateDomination(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int n = graph.nodeCount();
 
         // Edge case: Boş graf
-        if (allNodes.isEmpty()) {
+        if (n == 0) {
             logger.debug("Empty graph, domination number = 0");
-            return 0;
+            return new DominationResult(0, 0);
         }
 
         // Edge case: Tek node
-        if (allNodes.size() == 1) {
+        if (n == 1) {
             logger.debug("Single node graph, domination number = 1");
-            return 1; // Kendisi dominating set
+            return new DominationResult(1, 1); // Kendisi dominating set
         }
 
-        // Adjacency list oluştur
-        Map<String, Set<String>> adj = GraphAnalysisHelper.buildAdjacency(allNodes, allEdges);
-
-        // Algoritma seçimi: Küçük graflar için exact, büyük graflar için greedy
-        int n = allNodes.size();
+        // Algoritma seçimi: kernelization + branch-and-bound, çok büyük graflar için greedy
         if (n <= EXACT_ALGORITHM_THRESHOLD) {
-            logger.info("Using exact algorithm for {} nodes", n);
-            return calculateExactDominationNumber(allNodes, allEdges, adj);
+            logger.info("Using branch-and-bound for {} nodes (budget: {} ms)", n, EXACT_TIME_BUDGET_MS);
+            // Greedy çözüm ve packing alt sınırı aramadan önce, daha iyi çözümler bulundukça bildirilir
+            BoundedSolution solution = DominatingSetSolver.solve(graph, EXACT_TIME_BUDGET_MS,
+                    progress::isCancelled, (lowerBound, bestSize) -> {
+                        progress.bounds(lowerBound, Double.POSITIVE_INFINITY);
+                        progress.feasible(bestSize, "HEURISTIC");
+                    });
+            logger.info("Domination number: {} (lower bound: {}, optimal: {})",
+                    solution.size(), solution.lowerBound(), solution.optimal());
+            return new DominationResult(solution.size(), solution.lowerBound());
         } else {
             logger.info("Using greedy algorithm for {} nodes", n);
-            return calculateGreedyDominationNumber(allNodes, adj);
+            int greedy = calculateGreedyDominationNumber(graph);
+            // Her node en fazla Δ + 1 node kapsar: γ ≥ ⌈n / (Δ + 1)⌉
+            int maxDegree = graphData.sortedCandidates.length == 0 ? 0 : graph.degree(graphData.sortedCandidates[0]);
+            return new DominationResult(greedy, (n + maxDegree) / (maxDegree + 1));
         }
     }
 
-    /**
-     * Exact domination number hesaplama (küçük graflar için).
-     * Tüm kombinasyonları dener ve minimum dominating set'i bulur.
-     */
-    private int calculateExactDominationNumber(
-            Set<String> allNodes,
-            List<GraphAnalysisHelper.UndirectedEdge> allEdges,
-            Map<String, Set<String>> adj) {
-
-        List<String> nodeList = new ArrayList<>(allNodes);
-
-        // k = 1'den başlayarak dene
-        for (int k = 1; k <= allNodes.size(); k++) {
-            logger.debug("Trying k = {} for exact domination", k);
-
-            // k'li subset'ler üret
-            List<Set<String>> subsets = generateLimitedSubsets(nodeList, k, MAX_SUBSETS);
-
-            for (Set<String> subset : subsets) {
-                if (isDominatingSet(subset, allNodes, adj)) {
-                    logger.info("Exact domination number found: {} (subset size: {})", k, subset.size());
-                    return k; // Minimum bulundu
-                }
-            }
-        }
-
-        // Fallback: Tüm node'lar dominating set
-        logger.warn("No dominating set found, returning node count");
-        return allNodes.size();
-    }
-
     /**
      * Greedy domination number hesaplama (büyük graflar için).
      * Her adımda en çok node kapsayan node'u seçer.
+     * Kazançlar (N[v] içinde kapsanmamış node sayısı) indexed max-heap'te tutulur; bir node
+     * kapsandığında yalnızca N[x] içindeki node'ların kazancı 1 azalır. Eşit kazançta küçük id seçilir.
      */
-    private int calculateGreedyDominationNumber(
-            Set<String> allNodes,
-            Map<String, Set<String>> adj) {
-
-        Set<String> covered = new HashSet<>();
-        Set<String> selected = new HashSet<>();
-
-        while (!covered.containsAll(allNodes)) {
-            String bestNode = null;
-            int bestGain = -1;
-
-            // En çok node kapsayan node'u bul
-            for (String v : allNodes) {
-                if (selected.contains(v)) {
-                    continue;
-                }
-
-                // Bu node'un kapsadığı yeni node'ları hesapla
-                Set<String> gain = new HashSet<>(adj.getOrDefault(v, Collections.emptySet()));
-                gain.add(v); // Kendisi de dahil
-                gain.removeAll(covered); // Zaten kapsananları çıkar
-
-                if (gain.size() > bestGain) {
-                    bestGain = gain.size();
-                    bestNode = v;
-                }
-            }
-
-            if (bestNode == null) {
-                // Hiç node kalmadı (olması gerekmez ama güvenlik için)
-                break;
+    private int calculateGreedyDominationNumber(IntGraph graph) {
+        int n = graph.nodeCount();
+        boolean[] covered = new boolean[n];
+        int[] gain = new int[n];
+        IndexedMaxHeap candidates = new IndexedMaxHeap(n);
+        for (int v = 0; v < n; v++) {
+            gain[v] = graph.degree(v) + 1;
+            candidates.update(v, gain[v]);
+        }
+        int coveredCount = 0;
+        int selectedCount = 0;
+
+        while (coveredCount < n && !candidates.isEmpty()) {
+            // En çok node kapsayan node'u seç
+            int bestNode = candidates.pollMax();
+            int bestGain = gain[bestNode];
+            selectedCount++;
+
+            // Bu node'un kapsadığı yeni node'lar: N[v] içinde henüz kapsanmayanlar
+            coveredCount += cover(graph, bestNode, covered, gain, candidates);
+            for (int i = graph.adjacencyStart(bestNode); i < graph.adjacencyEnd(bestNode); i++) {
+                coveredCount += cover(graph, graph.adjacencyAt(i), covered, gain, candidates);
             }
 
-            // En iyi node'u seç
-            selected.add(bestNode);
-            covered.add(bestNode);
-            covered.addAll(adj.getOrDefault(bestNode, Collections.emptySet()));
-
-            logger.debug("Selected node: {} (gain: {})", bestNode, bestGain);
+            logger.debug("Selected node: {} (gain: {})", graph.label(bestNode), bestGain);
         }
 
-        logger.info("Greedy domination number: {} (selected {} nodes)", selected.size(), selected.size());
-        return selected.size();
+        logger.info("Greedy domination number: {} (selected {} nodes)", selectedCount, selectedCount);
+        return selectedCount;
     }
 
     /**
-     * Bir set tüm grafı kapsıyor mu? (Dominating set kontrolü)
-     * N[D] = D ∪ (tüm komşular) = V olmalı
+     * x'i kapsanmış işaretler ve N[x] içindeki seçilmemiş node'ların kazancını düşürür.
+     *
+     * @return x yeni kapsandıysa 1, değilse 0
      */
-    private boolean isDominatingSet(
-            Set<String> D,
-            Set<String> allNodes,
-            Map<String, Set<String>> adj) {
-
-        Set<String> covered = new HashSet<>(D); // D'nin kendisi
-
-        // D'nin tüm komşularını ekle
-        for (String v : D) {
-            covered.addAll(adj.getOrDefault(v, Collections.emptySet()));
+    private int cover(IntGraph graph, int x, boolean[] covered, int[] gain, IndexedMaxHeap candidates) {
+        if (covered[x]) {
+            return 0;
         }
+        covered[x] = true;
+        decreaseGain(x, gain, candidates);
+        for (int i = graph.adjacencyStart(x); i < graph.adjacencyEnd(x); i++) {
+            decreaseGain(graph.adjacencyAt(i), gain, candidates);
+        }
+        return 1;
+    }
 
-        // Tüm node'lar kapsanıyor mu?
-        return covered.containsAll(allNodes);
+    private void decreaseGain(int w, int[] gain, IndexedMaxHeap candidates) {
+        gain[w]--;
+        if (candidates.contains(w)) {
+            candidates.update(w, gain[w]);
+        }
     }
 
     /**
@@ -168,63 +172,8 @@ public class GraphDominationService {
     public int calculateDominationNumber(
             List<CodeGraphResult.Vertex> vertices,
             List<CodeGraphResult.Edge> edges) {
-        
+
         GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
         return calculateDominationNumber(graphData);
     }
-
-    /**
-     * r'li subset'ler üret - Limitli kombinasyonlar (performans için).
-     */
-    private List<Set<String>> generateLimitedSubsets(
-            List<String> candidates,
-            int r,
-            int limit) {
-
-        List<Set<String>> subsets = new ArrayList<>();
-
-        if (r == 0) {
-            subsets.add(new HashSet<>());
-            return subsets;
-        }
-
-        if (r > candidates.size()) {
-            return subsets;
-        }
-
-        // Limitli kombinasyon üretimi
-        generateCombinations(candidates, 0, r, new HashSet<>(), subsets, limit);
-
-        logger.debug("Generated {} subsets of size {} (limit: {})",
-                subsets.size(), r, limit);
-        return subsets;
-    }
-
-    /**
-     * Kombinasyon üretme (recursive, limitli).
-     */
-    private void generateCombinations(
-            List<String> candidates,
-            int start,
-            int r,
-            Set<String> current,
-            List<Set<String>> result,
-            int maxSize) {
-
-        if (result.size() >= maxSize) {
-            return;
-        }
-
-        if (current.size() == r) {
-            result.add(new HashSet<>(current));
-            return;
-        }
-
-        for (int i = start; i < candidates.size() && result.size() < maxSize; i++) {
-            current.add(candidates.get(i));
-            generateCombinations(candidates, i + 1, r, current, result, maxSize);
-            current.remove(candidates.get(i));
-        }
-    }
 }
-
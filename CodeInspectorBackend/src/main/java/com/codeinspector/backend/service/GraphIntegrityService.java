@@ -1,19 +1,25 @@
 package com.codeinspector.backend.service;
 
+import com.codeinspector.backend.graph.BiconnectedComponents;
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorSearch;
+import com.codeinspector.backend.graph.SeparatorDP;
+import com.codeinspector.backend.graph.SharedBound;
+import com.codeinspector.backend.graph.TreeDecomposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Graph integrity number (I(G)) hesaplama servisi.
  * Grafin yapısal bütünlüğünü ölçer.
  * Formül: I(G) = min{|S| + m(G−S)}
- * 
- * Bu metrik, grafı bozmak için silinen node sayısı ile kalan en büyük parçanın boyutunu 
+ *
+ * Bu metrik, grafı bozmak için silinen node sayısı ile kalan en büyük parçanın boyutunu
  * toplayarak minimum değeri bulur.
  */
 @Service
@@ -21,230 +27,185 @@ public class GraphIntegrityService {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphIntegrityService.class);
     private static final int MAX_R = 3; // Maksimum r değeri (daha dengeli: r=0,1,2,3 denenir)
-    private static final int MAX_SUBSETS = 100; // Maksimum subset sayısı (heap-safe, daha kapsamlı)
-    private static final int NODE_LIMIT_FOR_EXACT = 25; // 25'ten fazla node varsa heuristic kullan
+    private static final int NODE_LIMIT_FOR_ENUMERATION = 120; // 120'den fazla node varsa |S| ≤ MAX_R taraması yerine heuristic (tarama paralel çalışır)
+    private static final long DECOMPOSITION_TIME_BUDGET_MS = 20_000; // Tree decomposition DP'si için süre bütçesi
 
     /**
      * Integrity number (I(G)) hesaplar.
      * Hazırlanmış graph data kullanır (performans optimizasyonu).
-     * Küçük graflar için exact, büyük graflar için heuristic algoritma kullanır.
-     * 
+     * Küçük graflarda |S| ≤ 3 olan tüm ayırıcılar, büyük graflarda heuristic ile bir üst sınır bulunur; dar
+     * (düşük treewidth'li) graflarda her boyutta tree decomposition DP'si ile exact değer hesaplanır.
+     *
      * @param graphData Hazırlanmış graph data (GraphAnalysisHelper.prepareGraphData ile oluşturulmuş)
      * @return Integrity number, veya -1.0 eğer hesaplanamazsa
      */
     public double calculateIntegrityNumber(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
-        List<String> candidates = graphData.sortedCandidates;
+        return calculateIntegrityNumber(graphData, ParameterProgress.none());
+    }
+
+    /**
+     * Integrity number hesaplar; ara sonuçlar (alt sınır, bulunan en iyi değer, DP'nin exact değeri)
+     * progress'e bildirilir.
+     */
+    public double calculateIntegrityNumber(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int totalNodes = graph.nodeCount();
 
         // Edge case: Boş graf
-        if (allNodes.isEmpty()) {
+        if (totalNodes == 0) {
             logger.debug("Empty graph, integrity number = 0.0");
             return 0.0;
         }
 
         // Edge case: Tek node
-        if (allNodes.size() == 1) {
+        if (totalNodes == 1) {
             logger.debug("Single node graph, integrity number = 1.0");
             return 1.0;
         }
 
         // Edge case: İki node
-        if (allNodes.size() == 2) {
+        if (totalNodes == 2) {
             logger.debug("Two node graph, integrity number = 2.0");
             return 2.0; // r=0: maxComponentSize=2, r=1: maxComponentSize=1, r=2: maxComponentSize=0 -> min = 2
         }
 
         // Edge case: Hiç edge yok
-        if (allEdges.isEmpty()) {
-            logger.debug("No edges, integrity number = {}", allNodes.size());
-            return allNodes.size(); // Her node ayrı component, r=0: maxComponentSize = node sayısı
+        if (graph.edgeCount() == 0) {
+            logger.debug("No edges, integrity number = {}", totalNodes);
+            return totalNodes; // Her node ayrı component, r=0: maxComponentSize = node sayısı
         }
 
-        int totalNodes = allNodes.size();
-        logger.info("Calculating integrity for {} nodes, {} edges", totalNodes, allEdges.size());
+        logger.info("Calculating integrity for {} nodes, {} edges", totalNodes, graph.edgeCount());
+
+        progress.bounds(graphData.separatorBounds().integrityLowerBound(), Double.POSITIVE_INFINITY);
 
-        // Node limiti kontrolü - büyük graflar için heuristic kullan
-        if (totalNodes > NODE_LIMIT_FOR_EXACT) {
+        // r = 0 (S boş) ve r = 1 block yapısından lineer sürede bilinir; bound olarak başla
+        double best = bestSmallSeparatorIntegrity(graphData);
+        progress.feasible(best, "HEURISTIC");
+
+        // Node limiti kontrolü - |S| ≤ MAX_R taraması yalnızca küçük graflarda yapılır. Her iki yol da yalnızca
+        // üst sınır verir (daha büyük ayırıcılar denenmez); exact değer her boyutta decomposition DP'sinden gelir.
+        if (totalNodes > NODE_LIMIT_FOR_ENUMERATION) {
             logger.info("Graph has {} nodes → using HEURISTIC integrity calculation", totalNodes);
-            return calculateApproximateIntegrity(graphData);
+            best = Math.min(best, calculateApproximateIntegrity(graphData, progress));
+        } else {
+            logger.info("Graph has {} nodes → searching all separators with |S| ≤ {}", totalNodes, MAX_R);
+            best = Math.min(best, searchSmallSeparators(graphData, best, progress));
         }
+        return calculateDecompositionIntegrity(graphData, best, progress);
+    }
 
-        logger.info("Graph has {} nodes → using EXACT integrity calculation", totalNodes);
-
-        double bestIntegrity = Double.POSITIVE_INFINITY;
+    /**
+     * |S| ≤ MAX_R olan tüm ayırıcıları paralel gezer. Daha büyük ayırıcılar denenmediği için sonuç yalnızca
+     * bir üst sınırdır (ör. uzun bir döngüde optimum √n civarında node çıkarır).
+     */
+    private double searchSmallSeparators(GraphAnalysisHelper.GraphData graphData, double initial,
+                                         ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        SharedBound bestIntegrity = new SharedBound(initial);
         // r değerini sınırla
-        int maxR = Math.min(MAX_R, totalNodes); // En fazla tüm node'ları çıkarabiliriz
+        int maxR = Math.min(MAX_R, graph.nodeCount()); // En fazla tüm node'ları çıkarabiliriz
 
-        // r = 0'dan başlayarak dene (hiç node çıkarmadan)
-        for (int r = 0; r <= maxR; r++) {
+        // r = 2'den başlayarak dene
+        for (int r = 2; r <= maxR; r++) {
             logger.debug("Trying r = {} for integrity", r);
-
-            // r'li subset'ler üret - Limitli kombinasyonlar
-            List<Set<String>> subsets = generateLimitedSubsets(candidates, r, MAX_SUBSETS);
-
-            for (Set<String> removedSet : subsets) {
-                // Node'ları çıkar
-                Set<String> remainingNodes = new HashSet<>(allNodes);
-                remainingNodes.removeAll(removedSet);
-
-                if (remainingNodes.isEmpty()) {
-                    // Tüm node'lar çıkarıldı, integrity = r + 0 = r
-                    bestIntegrity = Math.min(bestIntegrity, r);
-                    continue;
-                }
-
-                // Edge'leri filtrele (sadece remainingNodes içindeki edge'ler)
-                List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = allEdges.stream()
-                        .filter(e -> remainingNodes.contains(e.u) && remainingNodes.contains(e.v))
-                        .collect(Collectors.toList());
-
-                // Connected components listesini al
-                List<Set<String>> components = GraphAnalysisHelper.getConnectedComponents(remainingNodes, remainingEdges);
-
-                if (components.isEmpty()) {
-                    // Hiç component yok (tüm node'lar çıkarıldı)
-                    bestIntegrity = Math.min(bestIntegrity, r);
-                    continue;
-                }
-
-                // En büyük component'in boyutunu bul
-                int maxComponentSize = 0;
-                for (Set<String> component : components) {
-                    maxComponentSize = Math.max(maxComponentSize, component.size());
-                }
-
-                // Integrity hesapla: r + maxComponentSize
-                double integrity = r + maxComponentSize;
-                bestIntegrity = Math.min(bestIntegrity, integrity);
-
-                logger.debug("Found integrity = {} (r: {}, maxComponentSize: {})", 
-                        integrity, r, maxComponentSize);
-            }
+            final int size = r;
+
+            // Tüm r'li subset'leri paralel gez; node eklendikçe en büyük component küçülmediği için
+            // r + largest bound'a ulaşan dallar budanır
+            long evaluated = SeparatorSearch.enumerateParallel(graph, graphData.sortedCandidates, r,
+                    (removedCount, components, largest, remaining, pending) ->
+                            size + largest >= bestIntegrity.get(),
+                    (removed, removedCount, components, largest, remaining) -> {
+                        // Integrity hesapla: r + maxComponentSize (tüm node'lar çıkarıldıysa r + 0)
+                        bestIntegrity.offerMin(size + largest);
+                        return true;
+                    },
+                    ForkJoinPool.commonPool(), progress::isCancelled);
+            logger.debug("Evaluated {} subsets of size {}", evaluated, r);
+            progress.feasible(bestIntegrity.get(), "HEURISTIC");
         }
 
-        logger.info("Integrity number calculated: {} (EXACT method)", bestIntegrity);
-        return bestIntegrity == Double.POSITIVE_INFINITY ? -1.0 : bestIntegrity;
+        logger.info("Integrity upper bound from separators with |S| ≤ {}: {}", MAX_R, bestIntegrity.get());
+        return bestIntegrity.get();
     }
 
     /**
      * Heuristic Integrity fonksiyonu (büyük graflar için).
      */
-    private double calculateApproximateIntegrity(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
-        Map<String, Integer> degree = graphData.degree;
-
-        // Degree'ye göre sırala (yüksek degree'li node'lar önce)
-        List<String> sortedByDegree = allNodes.stream()
-                .sorted((a, b) -> Integer.compare(
-                        degree.getOrDefault(b, 0),
-                        degree.getOrDefault(a, 0)
-                ))
-                .limit(3) // En fazla 3 node dene
-                .collect(java.util.stream.Collectors.toList());
+    private double calculateApproximateIntegrity(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int[] sortedByDegree = graphData.sortedCandidates; // Yüksek degree'li node'lar önce
 
         double best = Double.POSITIVE_INFINITY;
-        for (int i = 1; i <= sortedByDegree.size(); i++) {
-            Set<String> removed = new HashSet<>(sortedByDegree.subList(0, i));
-            Set<String> remaining = new HashSet<>(allNodes);
-            remaining.removeAll(removed);
-
-            if (remaining.isEmpty()) {
-                best = Math.min(best, i);
-                continue;
-            }
-
-            // Edge'leri filtrele
-            List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = allEdges.stream()
-                    .filter(e -> remaining.contains(e.u) && remaining.contains(e.v))
-                    .collect(java.util.stream.Collectors.toList());
-
-            List<Set<String>> components = GraphAnalysisHelper.getConnectedComponents(remaining, remainingEdges);
-            if (components.isEmpty()) {
-                best = Math.min(best, i);
-                continue;
-            }
-
-            int maxComponentSize = 0;
-            for (Set<String> component : components) {
-                maxComponentSize = Math.max(maxComponentSize, component.size());
-            }
+        BitSet removed = new BitSet(graph.nodeCount());
+        for (int i = 1; i <= Math.min(MAX_R, sortedByDegree.length); i++) {
+            removed.set(sortedByDegree[i - 1]);
 
+            int maxComponentSize = graph.componentStats(removed).largest();
             double integrity = i + maxComponentSize;
             best = Math.min(best, integrity);
-            logger.debug("Heuristic integrity = {} (r: {}, maxComponentSize: {})", 
+            logger.debug("Heuristic integrity = {} (r: {}, maxComponentSize: {})",
                     integrity, i, maxComponentSize);
         }
+        progress.feasible(best, "HEURISTIC");
+
+        // Block yapısıyla her adımda en iyi tek node'u ekleyen greedy ayırıcılar
+        List<IntGraph.ComponentStats> greedy = GraphAnalysisHelper.greedySeparators(graphData, MAX_R,
+                (removedCount, stats) -> -(removedCount + stats.largest()));
+        for (int i = 0; i < greedy.size(); i++) {
+            best = Math.min(best, i + 1 + greedy.get(i).largest());
+        }
 
         logger.info("Integrity number calculated: {} (HEURISTIC method)", best);
-        return best == Double.POSITIVE_INFINITY ? -1.0 : best;
+        return best;
     }
 
     /**
-     * Backward compatibility: vertices ve edges'den hesapla.
-     * İçeride GraphAnalysisHelper kullanır.
+     * S boş (m(G)) ve tek node'luk ayırıcıların (1 + m(G−v)) en iyi integrity değeri
      */
-    public double calculateIntegrityNumber(
-            List<CodeGraphResult.Vertex> vertices,
-            List<CodeGraphResult.Edge> edges) {
-        
-        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
-        return calculateIntegrityNumber(graphData);
+    private double bestSmallSeparatorIntegrity(GraphAnalysisHelper.GraphData graphData) {
+        BiconnectedComponents blocks = graphData.biconnectedComponents();
+        double best = blocks.largestComponent();
+        for (int v = 0; v < graphData.nodeCount(); v++) {
+            best = Math.min(best, 1 + blocks.statsWithout(v).largest());
+        }
+        return best;
     }
 
     /**
-     * r'li subset'ler üret - Limitli kombinasyonlar (performans için).
+     * Dar (düşük treewidth'li) graflarda üst sınırı tree decomposition DP'si ile exact değere indirir.
+     * Ayırıcı taramasının aksine |S| ≤ MAX_R sınırı yoktur. Graf dar değilse ya da süre biterse üst sınır döner.
      */
-    private List<Set<String>> generateLimitedSubsets(
-            List<String> candidates,
-            int r,
-            int limit) {
-
-        List<Set<String>> subsets = new ArrayList<>();
-
-        if (r == 0) {
-            subsets.add(new HashSet<>());
-            return subsets;
+    private double calculateDecompositionIntegrity(GraphAnalysisHelper.GraphData graphData, double upperBound,
+                                                   ParameterProgress progress) {
+        TreeDecomposition decomposition = graphData.treeDecomposition();
+        if (decomposition == null) {
+            return upperBound;
         }
-
-        if (r > candidates.size()) {
-            return subsets;
+        long start = System.currentTimeMillis();
+        OptionalDouble exact = SeparatorDP.integrity(graphData.graph, decomposition,
+                upperBound, DECOMPOSITION_TIME_BUDGET_MS, progress::isCancelled);
+        if (exact.isEmpty()) {
+            logger.info("Tree decomposition integrity stopped after {} ms, keeping upper bound {}",
+                    System.currentTimeMillis() - start, upperBound);
+            return upperBound;
         }
-
-        // Limitli kombinasyon üretimi
-        generateCombinations(candidates, 0, r, new HashSet<>(), subsets, limit);
-
-        logger.debug("Generated {} subsets of size {} (limit: {})",
-                subsets.size(), r, limit);
-        return subsets;
+        logger.info("Integrity number calculated: {} (TREE DECOMPOSITION method, width {}, {} ms)",
+                exact.getAsDouble(), decomposition.width(), System.currentTimeMillis() - start);
+        progress.exact(exact.getAsDouble(), "TREE_DECOMPOSITION");
+        return exact.getAsDouble();
     }
 
     /**
-     * Kombinasyon üretme (recursive, limitli).
+     * Backward compatibility: vertices ve edges'den hesapla.
+     * İçeride GraphAnalysisHelper kullanır.
      */
-    private void generateCombinations(
-            List<String> candidates,
-            int start,
-            int r,
-            Set<String> current,
-            List<Set<String>> result,
-            int maxSize) {
-
-        if (result.size() >= maxSize) {
-            return;
-        }
-
-        if (current.size() == r) {
-            result.add(new HashSet<>(current));
-            return;
-        }
+    public double calculateIntegrityNumber(
+            List<CodeGraphResult.Vertex> vertices,
+            List<CodeGraphResult.Edge> edges) {
 
-        for (int i = start; i < candidates.size() && result.size() < maxSize; i++) {
-            current.add(candidates.get(i));
-            generateCombinations(candidates, i + 1, r, current, result, maxSize);
-            current.remove(candidates.get(i));
-        }
+        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
+        return calculateIntegrityNumber(graphData);
     }
 }
-
@@ -0,0 +1,75 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult.Edge;
+import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.ForceLayout;
+import com.codeinspector.backend.graph.GraphLayoutResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.LevelOfDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Kod grafı için sunucu tarafında yerleşim (koordinatlar) ve level-of-detail kümeleri hesaplayan servis.
+ * Büyük graflarda tarayıcının binlerce node'u kendisi yerleştirmesi sekmeyi kilitlediği için koordinatlar
+ * burada Barnes–Hut force layout ile üretilir. Yerleşim yalnızca yönsüz yapıya bağlıdır ve yapı
+ * fingerprint'ine göre önbelleğe alınır.
+ */
+@Service
+public class GraphLayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphLayoutService.class);
+
+    private static final int MAX_ITERATIONS = 300;
+    private static final int MIN_ITERATIONS = 80;
+    private static final long ITERATION_WORK = 300_000L; // Yaklaşık iterasyon × node bütçesi (büyük graflarda iterasyon azalır)
+    private static final int OVERVIEW_MIN_CLUSTERS = 50; // En kaba seviye bu kadar kümeye inince durulur
+
+    private final GraphResultCacheService resultCache;
+
+    public GraphLayoutService(GraphResultCacheService resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Vertex koordinatlarını ve küme seviyelerini döndürür; aynı yapı için önbellekteki sonucu kullanır.
+     */
+    public GraphLayoutResult layout(List<Vertex> vertices, List<Edge> edges) {
+        // Yorum: node id'leri vertex id sırasına göre verilir; aynı yapı her istekte aynı yerleşimi alır
+        List<Vertex> sorted = new ArrayList<>(vertices);
+        sorted.sort(Comparator.comparing(Vertex::getId));
+        IntGraph graph = IntGraph.fromCodeGraph(sorted, edges);
+
+        String structure = GraphResultCacheService.structureFingerprint(graph);
+        GraphLayoutResult cached = resultCache.findLayout(structure);
+        if (cached != null) {
+            logger.debug("Reusing graph layout for structure {}", structure.substring(0, 12));
+            return cached;
+        }
+
+        long start = System.currentTimeMillis();
+        int n = graph.nodeCount();
+        int iterations = (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, ITERATION_WORK / Math.max(1, n)));
+        double[][] coordinates = ForceLayout.layout(graph, iterations, ForkJoinPool.commonPool());
+        double[] x = coordinates[0];
+        double[] y = coordinates[1];
+
+        List<GraphLayoutResult.Position> positions = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            positions.add(new GraphLayoutResult.Position(graph.label(v),
+                    Math.round(x[v] * 10.0) / 10.0, Math.round(y[v] * 10.0) / 10.0));
+        }
+        List<GraphLayoutResult.Level> levels = LevelOfDetail.build(graph, x, y, OVERVIEW_MIN_CLUSTERS);
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Graph layout computed for {} nodes, {} edges: {} iterations, {} detail levels in {} ms",
+                n, graph.edgeCount(), iterations, levels.size(), elapsed);
+        GraphLayoutResult result = new GraphLayoutResult(positions, levels, iterations, elapsed);
+        resultCache.storeLayout(structure, result);
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IndexedCodeGraph;
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Versiyon grafı üzerinde nokta sorguları: bir node'a bağımlı olanlar, k-hop komşuluk, en kısa yol ve erişilebilirlik.
+ * Her versiyonun grafı bir kez IndexedCodeGraph'a çevrilip bellekte tutulur (LRU); sorgular grafı yeniden
+ * kurmaz ve metrik hesaplamaz, yalnızca indeks üzerinde BFS yapar.
+ */
+@Service
+public class GraphQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQueryService.class);
+    private static final int MAX_LOADED_GRAPHS = 16;
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_LIMIT = 10_000;
+
+    private final IncrementalGraphService incrementalGraphService;
+    private final GraphResultCacheService resultCache;
+
+    // Yorum: proje slug'ı @ commit -> indekslenmiş graf (LRU)
+    private final Map<String, IndexedCodeGraph> graphs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, IndexedCodeGraph> eldest) {
+                    return size() > MAX_LOADED_GRAPHS;
+                }
+            });
+
+    public GraphQueryService(IncrementalGraphService incrementalGraphService, GraphResultCacheService resultCache) {
+        this.incrementalGraphService = incrementalGraphService;
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * @param truncated Sonuç limit'e ulaştığı için kesildiyse true
+     */
+    public record NeighbourhoodResult(String node, String direction, int depth, List<IndexedCodeGraph.Hop> nodes,
+                                      boolean truncated, long elapsedMicros) {}
+
+    /**
+     * @param length Yoldaki edge sayısı; ulaşılamıyorsa -1
+     */
+    public record PathResult(String from, String to, boolean reachable, int length, List<String> path,
+                             long elapsedMicros) {}
+
+    /**
+     * node'a depth adım içinde (gelen edge'ler boyunca) bağımlı olan node'lar.
+     *
+     * @return node grafta yoksa null
+     */
+    public NeighbourhoodResult dependents(Project project, ProjectVersion version, String node, int depth,
+                                          Collection<String> types, int limit) throws IOException {
+        return neighbourhood(project, version, node, depth, IndexedCodeGraph.Direction.IN, types, limit);
+    }
+
+    /**
+     * node'dan en fazla depth edge uzaklıktaki node'lar.
+     *
+     * @return node grafta yoksa null
+     * @throws IllegalArgumentException depth/limit aralık dışında ya da bilinmeyen edge tipi
+     */
+    public NeighbourhoodResult neighbourhood(Project project, ProjectVersion version, String node, int depth,
+                                             IndexedCodeGraph.Direction direction, Collection<String> types,
+                                             int limit) throws IOException {
+        if (depth < 1 || depth > MAX_DEPTH || limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("depth must be in [1, " + MAX_DEPTH + "] and limit in [1, " + MAX_LIMIT + "]");
+        }
+        int mask = IndexedCodeGraph.typeMask(types);
+        IndexedCodeGraph graph = graphFor(project, version);
+        int source = graph.indexOf(node);
+        if (source < 0) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        // Yorum: bir fazlası istenir; limit'i aşan sonuç kesilmiş demektir
+        List<IndexedCodeGraph.Hop> hops = graph.neighbourhood(source, depth, direction, mask, limit + 1);
+        boolean truncated = hops.size() > limit;
+        List<IndexedCodeGraph.Hop> nodes = truncated ? hops.subList(0, limit) : hops;
+        return new NeighbourhoodResult(node, direction.name(), depth, new ArrayList<>(nodes), truncated,
+                (System.nanoTime() - start) / 1_000);
+    }
+
+    /**
+     * from'dan to'ya en kısa yol (varsayılan yön: bağımlılık yönü, OUT).
+     *
+     * @return from ya da to grafta yoksa null
+     */
+    public PathResult shortestPath(Project project, ProjectVersion version, String from, String to,
+                                   IndexedCodeGraph.Direction direction, Collection<String> types) throws IOException {
+        int mask = IndexedCodeGraph.typeMask(types);
+        IndexedCodeGraph graph = graphFor(project, version);
+        int source = graph.indexOf(from);
+        int target = graph.indexOf(to);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        int[] path = graph.shortestPath(source, target, direction, mask);
+        long elapsed = (System.nanoTime() - start) / 1_000;
+        if (path == null) {
+            return new PathResult(from, to, false, -1, List.of(), elapsed);
+        }
+        List<String> ids = new ArrayList<>(path.length);
+        for (int v : path) {
+            ids.add(graph.id(v));
+        }
+        return new PathResult(from, to, true, path.length - 1, ids, elapsed);
+    }
+
+    /**
+     * Versiyonun indekslenmiş grafı; bellekte yoksa saklanmış graf sonucundan, o da yoksa commit'in
+     * graf yapısından (metrikler olmadan) oluşturulur.
+     *
+     * @throws IllegalStateException versiyonun commit'i yoksa
+     */
+    IndexedCodeGraph graphFor(Project project, ProjectVersion version) throws IOException {
+        if (version.getCommitHash() == null || version.getCommitHash().isBlank()) {
+            throw new IllegalStateException("Version " + version.getVersionName() + " has no commit");
+        }
+        String key = project.getSlug() + "@" + version.getCommitHash();
+        IndexedCodeGraph graph = graphs.get(key);
+        if (graph != null) {
+            return graph;
+        }
+
+        // Yorum: yükleme kilit dışında yapılır; aynı anda iki istek gelirse ilk yazılan korunur
+        long start = System.currentTimeMillis();
+        CodeGraphResult structure = resultCache.findByCommit(project, version.getCommitHash());
+        if (structure == null) {
+            structure = incrementalGraphService.structureForCommit(project, version.getCommitHash());
+        }
+        IndexedCodeGraph loaded = IndexedCodeGraph.of(structure.getVertices(), structure.getEdges());
+        logger.info("Indexed graph for {}: {} nodes, {} edges, ~{} KB in {} ms", key, loaded.nodeCount(),
+                loaded.edgeCount(), loaded.estimatedBytes() / 1024, System.currentTimeMillis() - start);
+        IndexedCodeGraph existing = graphs.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
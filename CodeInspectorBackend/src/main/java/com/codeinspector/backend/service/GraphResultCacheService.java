@@ -0,0 +1,335 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.CodeGraphResult.Edge;
+import com.codeinspector.backend.graph.CodeGraphResult.GraphMetrics;
+import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.CommunityHierarchy;
+import com.codeinspector.backend.graph.CompactGraphFormat;
+import com.codeinspector.backend.graph.GraphLayoutResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.model.AnalysisResult;
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.repository.AnalysisResultRepository;
+import com.codeinspector.backend.repository.ProjectVersionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Proje grafı sonuçları için iki katmanlı önbellek.
+ *
+ * 1. Commit önbelleği: HEAD commit'i bir versiyona karşılık geliyorsa CodeGraphResult, versiyonun indeks
+ *    dizinine CompactGraphFormat dosyası olarak yazılır; tekrar eden istekler (yeniden başlatmadan sonra da)
+ *    dosyayı memory-map edip okur, parse/hesaplama yapmaz. Eski sürümlerin veritabanına JSON olarak
+ *    ("project-graph" analiz sonucu) yazdığı kayıtlar hâlâ okunur.
+ * 2. Fingerprint önbelleği: vertex ve edge kümesinin kanonik SHA-256 özeti -> GraphMetrics.
+ *    Graf değişmeyen commit'lerde (ör. sadece yorum/README değişikliği) metrikler yeniden hesaplanmaz.
+ */
+@Service
+public class GraphResultCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphResultCacheService.class);
+
+    public static final String ANALYSIS_TYPE = "project-graph";
+    // Sonuç formatı değiştiğinde artırılır; eski kayıtlar yok sayılıp yeniden hesaplanır
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_MEMORY_RESULTS = 32;
+    private static final int MAX_MEMORY_METRICS = 128;
+    private static final int MAX_MEMORY_STRUCTURES = 128;
+    private static final int MAX_MEMORY_LAYOUTS = 32;
+    private static final int MAX_MEMORY_COMMUNITIES = 32;
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final ProjectVersionRepository versionRepository;
+    private final ObjectMapper objectMapper;
+    private final ProjectStorageService storageService;
+
+    // Yorum: "slug@commit" -> sonuç (LRU, erişim sırasına göre)
+    private final Map<String, CodeGraphResult> resultsByCommit = lruMap(MAX_MEMORY_RESULTS);
+    // Yorum: graf fingerprint -> metrikler (LRU)
+    private final Map<String, GraphMetrics> metricsByFingerprint = lruMap(MAX_MEMORY_METRICS);
+    // Yorum: yönsüz yapı fingerprint'i -> (parametre adı -> sonucu GraphMetrics'e uygulayan fonksiyon)
+    private final Map<String, Map<String, Consumer<GraphMetrics>>> parametersByStructure = lruMap(MAX_MEMORY_STRUCTURES);
+    // Yorum: yönsüz yapı fingerprint'i -> yerleşim (LRU)
+    private final Map<String, GraphLayoutResult> layoutsByStructure = lruMap(MAX_MEMORY_LAYOUTS);
+    // Yorum: yönsüz yapı fingerprint'i -> topluluk hiyerarşisi (LRU); node'lar id sırasına göre numaralıdır
+    private final Map<String, CommunityHierarchy> communitiesByStructure = lruMap(MAX_MEMORY_COMMUNITIES);
+
+    public GraphResultCacheService(
+            AnalysisResultRepository analysisResultRepository,
+            ProjectVersionRepository versionRepository,
+            ObjectMapper objectMapper,
+            ProjectStorageService storageService) {
+        this.analysisResultRepository = analysisResultRepository;
+        this.versionRepository = versionRepository;
+        this.objectMapper = objectMapper;
+        this.storageService = storageService;
+    }
+
+    /**
+     * Commit için önbellekteki (bellek, graf dosyası ya da veritabanı) graf sonucunu döndürür; yoksa null.
+     */
+    public CodeGraphResult findByCommit(Project project, String commitHash) {
+        String key = project.getSlug() + "@" + commitHash;
+        CodeGraphResult cached = resultsByCommit.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CodeGraphResult compact = readCompact(project, commitHash);
+        if (compact != null) {
+            resultsByCommit.put(key, compact);
+            return compact;
+        }
+
+        Optional<ProjectVersion> version = versionRepository.findByProjectSlugAndCommitHash(project.getSlug(), commitHash);
+        if (version.isEmpty()) {
+            return null;
+        }
+        Optional<AnalysisResult> stored = analysisResultRepository.findByVersionIdAndType(
+                version.get().getId(), ANALYSIS_TYPE);
+        if (stored.isEmpty() || stored.get().getResultData() == null) {
+            return null;
+        }
+
+        try {
+            JsonNode root = objectMapper.readTree(stored.get().getResultData());
+            if (root.path("formatVersion").asInt() != FORMAT_VERSION) {
+                logger.info("Stored graph for {} has an old format, recomputing", key);
+                return null;
+            }
+            CodeGraphResult result = objectMapper.treeToValue(root.get("graph"), CodeGraphResult.class);
+            resultsByCommit.put(key, result);
+            return result;
+        } catch (Exception e) {
+            logger.warn("Could not read stored graph for {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sonucu bellekte tutar; commit bir versiyona karşılık geliyorsa graf dosyası olarak da yazar.
+     * Dosya yazılamazsa (ör. ikili formatın desteklemediği bir vertex metriği) veritabanına JSON olarak yazılır.
+     */
+    public void storeForCommit(Project project, String commitHash, CodeGraphResult result) {
+        String key = project.getSlug() + "@" + commitHash;
+        resultsByCommit.put(key, result);
+
+        Optional<ProjectVersion> version = versionRepository.findByProjectSlugAndCommitHash(project.getSlug(), commitHash);
+        if (version.isEmpty()) {
+            return;
+        }
+        if (writeCompact(project, commitHash, result)) {
+            logger.info("Stored graph file for {} (version {})", key, version.get().getVersionName());
+            return;
+        }
+        try {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("formatVersion", FORMAT_VERSION);
+            payload.put("graph", result);
+            String resultData = objectMapper.writeValueAsString(payload);
+
+            AnalysisResult stored = analysisResultRepository
+                    .findByVersionIdAndType(version.get().getId(), ANALYSIS_TYPE)
+                    .orElseGet(() -> {
+                        AnalysisResult created = new AnalysisResult();
+                        created.setProjectVersion(version.get());
+                        created.setAnalysisType(ANALYSIS_TYPE);
+                        return created;
+                    });
+            stored.setResultData(resultData);
+            analysisResultRepository.save(stored);
+            logger.info("Stored graph result for {} (version {})", key, version.get().getVersionName());
+        } catch (Exception e) {
+            // Önbelleğe yazılamaması isteği bozmaz
+            logger.warn("Could not persist graph result for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path compactPath(Project project, String commitHash) throws IOException {
+        return storageService.ensureIndexDirectory(project.getSlug()).resolve("graph-" + commitHash + ".cgr");
+    }
+
+    /**
+     * Commit'in graf dosyasını memory-map edip okur; dosya yoksa ya da eski formattaysa null.
+     */
+    private CodeGraphResult readCompact(Project project, String commitHash) {
+        try {
+            Path file = compactPath(project, commitHash);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            long start = System.currentTimeMillis();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                CodeGraphResult result = CompactGraphFormat.read(buffer, this::readMetrics);
+                logger.info("Loaded graph file for {}@{} ({} KB) in {} ms", project.getSlug(), commitHash,
+                        channel.size() / 1024, System.currentTimeMillis() - start);
+                return result;
+            }
+        } catch (Exception e) {
+            logger.warn("Could not read graph file for {}@{}: {}", project.getSlug(), commitHash, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Grafı önce geçici dosyaya yazar, ardından yerine taşır; yarım yazılmış dosya hiçbir zaman okunmaz.
+     *
+     * @return Yazıldıysa true
+     */
+    private boolean writeCompact(Project project, String commitHash, CodeGraphResult result) {
+        try {
+            byte[] bytes = CompactGraphFormat.write(result, this::writeMetrics);
+            Path file = compactPath(project, commitHash);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not write graph file for {}@{}: {}", project.getSlug(), commitHash, e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] writeMetrics(GraphMetrics metrics) {
+        try {
+            return objectMapper.writeValueAsBytes(metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private GraphMetrics readMetrics(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, GraphMetrics.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public GraphMetrics findMetrics(String fingerprint) {
+        return metricsByFingerprint.get(fingerprint);
+    }
+
+    public void storeMetrics(String fingerprint, GraphMetrics metrics) {
+        metricsByFingerprint.put(fingerprint, metrics);
+    }
+
+    /**
+     * Aynı yönsüz yapı için daha önce tamamlanmış parametre sonuçları (yoksa boş map).
+     */
+    public Map<String, Consumer<GraphMetrics>> findParameters(String structureFingerprint) {
+        Map<String, Consumer<GraphMetrics>> parameters = parametersByStructure.get(structureFingerprint);
+        return parameters != null ? new HashMap<>(parameters) : Map.of();
+    }
+
+    public void storeParameter(String structureFingerprint, String parameter, Consumer<GraphMetrics> applier) {
+        parametersByStructure.computeIfAbsent(structureFingerprint, k -> new ConcurrentHashMap<>()).put(parameter, applier);
+    }
+
+    public GraphLayoutResult findLayout(String structureFingerprint) {
+        return layoutsByStructure.get(structureFingerprint);
+    }
+
+    public void storeLayout(String structureFingerprint, GraphLayoutResult layout) {
+        layoutsByStructure.put(structureFingerprint, layout);
+    }
+
+    public CommunityHierarchy findCommunities(String structureFingerprint) {
+        return communitiesByStructure.get(structureFingerprint);
+    }
+
+    public void storeCommunities(String structureFingerprint, CommunityHierarchy hierarchy) {
+        communitiesByStructure.put(structureFingerprint, hierarchy);
+    }
+
+    /**
+     * Vertex id'leri ve (source, target, type) edge'lerinin sıralı listesinden SHA-256 özeti üretir.
+     * Sıralama sayesinde dosya gezme sırası ya da HashMap sırası sonucu etkilemez.
+     */
+    public static String fingerprint(List<Vertex> vertices, List<Edge> edges) {
+        List<String> vertexIds = new ArrayList<>(vertices.size());
+        for (Vertex v : vertices) {
+            vertexIds.add(v.getId());
+        }
+        Collections.sort(vertexIds);
+
+        List<String> edgeKeys = new ArrayList<>(edges.size());
+        for (Edge e : edges) {
+            edgeKeys.add(e.getSource() + '\u0000' + e.getTarget() + '\u0000' + e.getType());
+        }
+        Collections.sort(edgeKeys);
+
+        return digest(vertexIds, edgeKeys);
+    }
+
+    private static String digest(List<String> vertexKeys, List<String> edgeKeys) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String key : vertexKeys) {
+                digest.update(key.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            digest.update((byte) 0x1e); // Vertex ve edge bölümleri arasında ayraç
+            for (String key : edgeKeys) {
+                digest.update(key.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Parametre hesaplarının gördüğü yönsüz basit grafın özeti: sıralı node label'ları ve
+     * her edge için sıralı (label, label) çifti. Edge tipi, yönü ve tekrarı özete girmez.
+     */
+    public static String structureFingerprint(IntGraph graph) {
+        int n = graph.nodeCount();
+        List<String> labels = new ArrayList<>(n);
+        List<String> pairs = new ArrayList<>(graph.edgeCount());
+        for (int u = 0; u < n; u++) {
+            String a = graph.label(u);
+            labels.add(a);
+            for (int i = graph.adjacencyStart(u); i < graph.adjacencyEnd(u); i++) {
+                String b = graph.label(graph.adjacencyAt(i));
+                if (a.compareTo(b) < 0) {
+                    pairs.add(a + '\u0000' + b);
+                }
+            }
+        }
+        Collections.sort(labels);
+        Collections.sort(pairs);
+        return digest(labels, pairs);
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+}
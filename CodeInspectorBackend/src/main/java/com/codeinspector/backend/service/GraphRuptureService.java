@@ -1,6 +1,9 @@
 package com.codeinspector.backend.service;
 
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.DynamicGraph;
+import com.codeinspector.backend.graph.IndexedMaxHeap;
+import com.codeinspector.backend.graph.IntGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -11,7 +14,7 @@ import java.util.*;
  * Graph rupture number (r(G)) hesaplama servisi.
  * Grafin en çok ne kadar parçalanabileceğini ölçer, ancak en büyük parçanın boyutunu da hesaba katar.
  * Formül: r(G) = max{ω(G−S) − |S| − m(G−S)}
- * 
+ *
  * Scattering'den farkı: En büyük parçanın boyutunu çıkarır (daha sert bir metrik).
  * Heuristic algoritma kullanır (makaledeki Algorithm 1).
  */
@@ -19,229 +22,191 @@ import java.util.*;
 public class GraphRuptureService {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphRuptureService.class);
+    private static final int MAX_SEPARATOR_SIZE = 3; // Greedy removal set'e ek olarak denenen kısa ayırıcılar (r ≤ 3)
 
     /**
      * Rupture number (r(G)) hesaplar.
      * Hazırlanmış graph data kullanır (performans optimizasyonu).
      * Her zaman heuristic algoritma kullanır (optimal performans için).
-     * 
+     *
      * @param graphData Hazırlanmış graph data (GraphAnalysisHelper.prepareGraphData ile oluşturulmuş)
      * @return Rupture number, veya -1.0 eğer hesaplanamazsa
      */
     public double calculateRuptureNumber(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
+        return calculateRuptureNumber(graphData, ParameterProgress.none());
+    }
+
+    /**
+     * Rupture number hesaplar; üst sınır ve bulunan ayırıcıların değerleri progress'e bildirilir.
+     */
+    public double calculateRuptureNumber(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int totalNodes = graph.nodeCount();
 
         // Edge case: Boş graf
-        if (allNodes.isEmpty()) {
+        if (totalNodes == 0) {
             logger.debug("Empty graph, rupture number = -1.0");
             return -1.0;
         }
 
         // Edge case: Tek node
-        if (allNodes.size() == 1) {
+        if (totalNodes == 1) {
             logger.debug("Single node graph, rupture number = -1.0");
             return -1.0;
         }
 
         // Edge case: İki node
-        if (allNodes.size() == 2) {
+        if (totalNodes == 2) {
             logger.debug("Two node graph, rupture number = -1.0");
             return -1.0;
         }
 
         // Edge case: Hiç edge yok
-        if (allEdges.isEmpty()) {
+        if (graph.edgeCount() == 0) {
             logger.debug("No edges, rupture number = -1.0");
             return -1.0;
         }
 
-        int totalNodes = allNodes.size();
-        logger.info("Calculating rupture for {} nodes, {} edges", totalNodes, allEdges.size());
+        logger.info("Calculating rupture for {} nodes, {} edges", totalNodes, graph.edgeCount());
 
         // Node limiti kontrolü - büyük graflar için zaten heuristic kullanıyoruz
         // Küçük graflar için de heuristic kullanıyoruz (zaten optimal)
         logger.info("Graph has {} nodes → using HEURISTIC rupture calculation", totalNodes);
 
+        // Yorum: geçerli ayırıcı bulunamazsa -1 döndüğü için üst sınır en az -1
+        progress.bounds(Double.NEGATIVE_INFINITY, Math.max(-1.0, graphData.separatorBounds().ruptureUpperBound()));
+
         // Heuristic algoritma ile S kümesini oluştur
-        Set<String> S = buildRemovalSet(allNodes, allEdges);
+        BitSet S = buildRemovalSet(graph);
+
+        // Block yapısından: her adımda kalan grafta en iyi tek node'u ekleyen kısa ayırıcılar
+        double separatorValue = Double.NEGATIVE_INFINITY;
+        List<IntGraph.ComponentStats> greedy = GraphAnalysisHelper.greedySeparators(graphData, MAX_SEPARATOR_SIZE,
+                GraphRuptureService::ruptureOf);
+        for (int i = 0; i < greedy.size(); i++) {
+            separatorValue = Math.max(separatorValue, ruptureOf(i + 1, greedy.get(i)));
+        }
+        if (separatorValue > Double.NEGATIVE_INFINITY) {
+            progress.feasible(separatorValue, "HEURISTIC");
+        }
 
-        if (S.isEmpty()) {
+        if (S.isEmpty() && separatorValue == Double.NEGATIVE_INFINITY) {
             logger.debug("No nodes to remove, rupture number = -1.0");
             return -1.0;
         }
 
         // Rupture değerini hesapla
-        double ruptureValue = computeRuptureValue(allNodes, allEdges, S);
+        double ruptureValue = S.isEmpty() ? -1.0 : computeRuptureValue(graph, S);
+        if (separatorValue > ruptureValue) {
+            logger.debug("Short separator improves rupture: {} -> {}", ruptureValue, separatorValue);
+            ruptureValue = separatorValue;
+        }
 
-        logger.info("Rupture number calculated: {} (removed {} nodes)", ruptureValue, S.size());
+        logger.info("Rupture number calculated: {} (removed {} nodes)", ruptureValue, S.cardinality());
         return ruptureValue;
     }
 
+    /**
+     * ω(G−S) − |S| − m(G−S); en az 2 node ve 2 component kalmıyorsa geçersiz (-∞)
+     */
+    private static double ruptureOf(int removedCount, IntGraph.ComponentStats stats) {
+        if (stats.remaining() < 2 || stats.count() < 2) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return stats.count() - removedCount - stats.largest();
+    }
+
     /**
      * Heuristic algoritma ile çıkarılacak node kümesini oluştur.
      * Algoritma: value(v) = deg(v)³ / (Σ deg(u))² formülü ile en kritik node'ları seçer.
+     * Adaylar value'ya göre indexed max-heap'te tutulur; bir node silinince yalnızca derecesi ya da
+     * komşu derece toplamı değişen node'ların (komşular ve onların komşuları) value'su güncellenir.
+     * Her adım O(Σ deg(u) · log V), u ∈ N(v); eşit value'larda küçük id seçilir.
      */
-    private Set<String> buildRemovalSet(
-            Set<String> allNodes,
-            List<GraphAnalysisHelper.UndirectedEdge> allEdges) {
-
-        Set<String> S = new HashSet<>();
-        Set<String> remainingNodes = new HashSet<>(allNodes);
-        List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = new ArrayList<>(allEdges);
+    private BitSet buildRemovalSet(IntGraph graph) {
+        int n = graph.nodeCount();
+        BitSet S = new BitSet(n);
+        DynamicGraph remaining = new DynamicGraph(graph);
+        IndexedMaxHeap candidates = new IndexedMaxHeap(n);
+        for (int v = 0; v < n; v++) {
+            updateCandidate(candidates, remaining, v);
+        }
 
         // Degree > 1 olan node kalmayana kadar devam et
-        while (true) {
-            // Degree hesapla
-            Map<String, Integer> degree = calculateDegrees(remainingNodes, remainingEdges);
-            
-            // Adjacency list oluştur
-            Map<String, Set<String>> adj = GraphAnalysisHelper.buildAdjacency(remainingNodes, remainingEdges);
-
-            // Degree > 1 olan node'ları aday al
-            List<String> candidates = new ArrayList<>();
-            for (String node : remainingNodes) {
-                if (degree.getOrDefault(node, 0) > 1) {
-                    candidates.add(node);
-                }
-            }
-
-            if (candidates.isEmpty()) {
-                break;
-            }
-
-            // Her aday için heuristic value hesapla
-            String bestNode = null;
-            double bestValue = -1.0;
-
-            for (String v : candidates) {
-                double value = computeHeuristicValue(v, degree, adj);
-                if (value > bestValue) {
-                    bestValue = value;
-                    bestNode = v;
-                }
-            }
-
-            if (bestNode == null) {
-                break;
-            }
+        while (!candidates.isEmpty()) {
+            double bestValue = candidates.key(candidates.peekMax());
+            int bestNode = candidates.pollMax();
 
             // En iyi node'u S'ye ekle ve graf'tan çıkar
-            final String nodeToRemove = bestNode; // Lambda için final
-            S.add(nodeToRemove);
-            remainingNodes.remove(nodeToRemove);
-            remainingEdges.removeIf(e -> e.u.equals(nodeToRemove) || e.v.equals(nodeToRemove));
+            S.set(bestNode);
+            remaining.delete(bestNode);
+            for (int i = 0; i < remaining.touchedCount(); i++) {
+                updateCandidate(candidates, remaining, remaining.touched(i));
+            }
 
-            logger.debug("Removed node: {} (heuristic value: {})", nodeToRemove, bestValue);
+            logger.debug("Removed node: {} (heuristic value: {})", graph.label(bestNode), bestValue);
         }
 
         return S;
     }
 
+    private void updateCandidate(IndexedMaxHeap candidates, DynamicGraph remaining, int v) {
+        double value = computeHeuristicValue(remaining.degree(v), remaining.neighbourDegreeSum(v));
+        if (remaining.isAlive(v) && value >= 0) {
+            candidates.update(v, value);
+        } else {
+            candidates.remove(v);
+        }
+    }
+
     /**
      * Heuristic value hesaplama (makaledeki formül).
      * value(v) = deg(v)³ / (Σ deg(u))²
-     * 
+     *
      * "Kendisi güçlü ama komşuları zayıf olan node'u seç" mantığı.
+     *
+     * @param degV              Kalan graftaki degree
+     * @param neighborDegreeSum Kalan graftaki komşularının toplam degree'si
      */
-    private double computeHeuristicValue(
-            String v,
-            Map<String, Integer> degree,
-            Map<String, Set<String>> adj) {
-
-        int degV = degree.getOrDefault(v, 0);
+    private double computeHeuristicValue(int degV, long neighborDegreeSum) {
         if (degV <= 1) {
             return -1.0;
         }
 
-        // Komşularının toplam degree'si
-        int neighborDegreeSum = 0;
-        Set<String> neighbors = adj.getOrDefault(v, Collections.emptySet());
-        for (String neighbor : neighbors) {
-            neighborDegreeSum += degree.getOrDefault(neighbor, 0);
-        }
-
         if (neighborDegreeSum == 0) {
             return -1.0;
         }
 
         // value(v) = deg(v)³ / (Σ deg(u))²
-        double value = Math.pow(degV, 3) / Math.pow(neighborDegreeSum, 2);
-        return value;
-    }
-
-    /**
-     * Degree hesaplama (undirected graph için).
-     */
-    private Map<String, Integer> calculateDegrees(
-            Set<String> nodes,
-            List<GraphAnalysisHelper.UndirectedEdge> edges) {
-
-        Map<String, Integer> degree = new HashMap<>();
-        for (String node : nodes) {
-            degree.put(node, 0);
-        }
-
-        for (GraphAnalysisHelper.UndirectedEdge e : edges) {
-            degree.put(e.u, degree.get(e.u) + 1);
-            degree.put(e.v, degree.get(e.v) + 1);
-        }
-
-        return degree;
+        return Math.pow(degV, 3) / Math.pow(neighborDegreeSum, 2);
     }
 
     /**
      * Rupture değerini hesapla: r(G) = ω(G−S) − |S| − m(G−S)
-     * 
-     * @param allNodes Tüm node'lar
-     * @param allEdges Tüm edge'ler
-     * @param S Çıkarılan node kümesi
+     *
+     * @param graph Graf
+     * @param S     Çıkarılan node kümesi
      * @return Rupture değeri
      */
-    private double computeRuptureValue(
-            Set<String> allNodes,
-            List<GraphAnalysisHelper.UndirectedEdge> allEdges,
-            Set<String> S) {
-
-        // G - S: Node'ları çıkar
-        Set<String> remainingNodes = new HashSet<>(allNodes);
-        remainingNodes.removeAll(S);
+    private double computeRuptureValue(IntGraph graph, BitSet S) {
+        // G - S: Node'ları çıkar ve bileşenleri say
+        IntGraph.ComponentStats stats = graph.componentStats(S);
 
-        if (remainingNodes.size() < 2) {
+        if (stats.remaining() < 2) {
             logger.debug("Less than 2 nodes remaining, rupture = -1.0");
             return -1.0;
         }
 
-        // Edge'leri filtrele (sadece remainingNodes içindeki edge'ler)
-        List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = new ArrayList<>();
-        for (GraphAnalysisHelper.UndirectedEdge e : allEdges) {
-            if (remainingNodes.contains(e.u) && remainingNodes.contains(e.v)) {
-                remainingEdges.add(e);
-            }
-        }
-
-        // Connected components listesini al
-        List<Set<String>> components = GraphAnalysisHelper.getConnectedComponents(remainingNodes, remainingEdges);
-
-        if (components.size() < 2) {
+        if (stats.count() < 2) {
             logger.debug("Less than 2 components, rupture = -1.0");
             return -1.0;
         }
 
-        // ω(G−S): Component sayısı
-        int omega = components.size();
-
-        // m(G−S): En büyük component'in node sayısı
-        int maxComponentSize = 0;
-        for (Set<String> component : components) {
-            maxComponentSize = Math.max(maxComponentSize, component.size());
-        }
-
         // r(G) = ω(G−S) − |S| − m(G−S)
-        double rupture = omega - S.size() - maxComponentSize;
+        double rupture = stats.count() - S.cardinality() - stats.largest();
 
         logger.debug("Rupture calculation: omega={}, |S|={}, maxComponentSize={}, rupture={}",
-                omega, S.size(), maxComponentSize, rupture);
+                stats.count(), S.cardinality(), stats.largest(), rupture);
 
         return rupture;
     }
@@ -253,9 +218,8 @@ public class GraphRuptureService {
     public double calculateRuptureNumber(
             List<CodeGraphResult.Vertex> vertices,
             List<CodeGraphResult.Edge> edges) {
-        
+
         GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
         return calculateRuptureNumber(graphData);
     }
 }
-
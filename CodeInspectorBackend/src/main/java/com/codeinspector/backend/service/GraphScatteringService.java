@@ -1,12 +1,18 @@
 package com.codeinspector.backend.service;
 
+import com.codeinspector.backend.graph.BiconnectedComponents;
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorSearch;
+import com.codeinspector.backend.graph.SeparatorDP;
+import com.codeinspector.backend.graph.SharedBound;
+import com.codeinspector.backend.graph.TreeDecomposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Graph scattering number (s(G)) hesaplama servisi.
@@ -18,226 +24,207 @@ public class GraphScatteringService {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphScatteringService.class);
     private static final int MAX_R = 3; // Maksimum r değeri (daha dengeli: r=1,2,3 denenir)
-    private static final int NODE_LIMIT_FOR_EXACT = 25; // 25'ten fazla node varsa heuristic kullan
+    private static final int NODE_LIMIT_FOR_ENUMERATION = 120; // 120'den fazla node varsa |S| ≤ MAX_R taraması yerine heuristic (tarama paralel çalışır)
+    private static final long DECOMPOSITION_TIME_BUDGET_MS = 20_000; // Tree decomposition DP'si için süre bütçesi
 
     /**
      * Scattering number (s(G)) hesaplar.
      * Hazırlanmış graph data kullanır (performans optimizasyonu).
-     * Küçük graflar için exact, büyük graflar için heuristic algoritma kullanır.
-     * 
+     * Küçük graflarda |S| ≤ 3 olan tüm ayırıcılar, büyük graflarda heuristic ile bir alt sınır bulunur; dar
+     * (düşük treewidth'li) graflarda her boyutta tree decomposition DP'si ile exact değer hesaplanır.
+     *
      * @param graphData Hazırlanmış graph data (GraphAnalysisHelper.prepareGraphData ile oluşturulmuş)
      * @return Scattering number, veya -1.0 eğer hesaplanamazsa
      */
     public double calculateScatteringNumber(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> undirectedEdges = graphData.undirectedEdges;
-        List<String> candidates = graphData.sortedCandidates;
+        return calculateScatteringNumber(graphData, ParameterProgress.none());
+    }
+
+    /**
+     * Scattering number hesaplar; ara sonuçlar (üst sınır, bulunan en iyi değer, DP'nin exact değeri)
+     * progress'e bildirilir.
+     */
+    public double calculateScatteringNumber(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int totalNodes = graph.nodeCount();
 
         // Edge case: Boş graf
-        if (allNodes.isEmpty()) {
+        if (totalNodes == 0) {
             logger.debug("Empty graph, scattering number = 0.0");
             return 0.0;
         }
 
         // Edge case: Tek node
-        if (allNodes.size() == 1) {
+        if (totalNodes == 1) {
             logger.debug("Single node graph, scattering number = 0.0");
             return 0.0;
         }
 
         // Edge case: İki node
-        if (allNodes.size() == 2) {
+        if (totalNodes == 2) {
             logger.debug("Two node graph, scattering number = 0.0");
             return 0.0; // Çıkarırsak 1 node kalır, component sayısı 1, scattering = 1-1 = 0
         }
 
         // Edge case: Hiç edge yok
-        if (undirectedEdges.isEmpty()) {
+        if (graph.edgeCount() == 0) {
             logger.debug("No edges, scattering number = 0.0");
             return 0.0;
         }
 
-        int totalNodes = allNodes.size();
-        logger.info("Calculating scattering for {} nodes, {} edges", totalNodes, undirectedEdges.size());
+        logger.info("Calculating scattering for {} nodes, {} edges", totalNodes, graph.edgeCount());
 
-        // ADIM 1: Node limiti kontrolü - büyük graflar için heuristic kullan
-        if (totalNodes > NODE_LIMIT_FOR_EXACT) {
-            logger.info("Graph has {} nodes → using HEURISTIC scattering calculation", totalNodes);
-            return calculateApproximateScattering(graphData);
-        }
+        // Yorum: hiçbir ayırıcı bulunamazsa 0 döndüğü için üst sınır en az 0
+        progress.bounds(Double.NEGATIVE_INFINITY, Math.max(0.0, graphData.separatorBounds().scatteringUpperBound()));
 
-        logger.info("Graph has {} nodes → using EXACT scattering calculation", totalNodes);
+        // r = 1 tüm node'lar için block yapısından lineer sürede bilinir; alt sınır olarak başla
+        double best = Math.max(0.0, bestSingleVertexScattering(graphData));
+        progress.feasible(best, "HEURISTIC");
 
-        double maxScattering = 0.0;
-        // ADIM 2: r değerini sınırla (literatürde küçük cut'lar yeterli)
-        int maxR = Math.min(MAX_R, totalNodes - 2); // En az 2 node kalmalı
+        // ADIM 1: Node limiti kontrolü - |S| ≤ MAX_R taraması yalnızca küçük graflarda yapılır. Her iki yol da
+        // yalnızca alt sınır verir (daha büyük ayırıcılar denenmez); exact değer her boyutta decomposition DP'sinden gelir.
+        if (totalNodes > NODE_LIMIT_FOR_ENUMERATION) {
+            logger.info("Graph has {} nodes → using HEURISTIC scattering calculation", totalNodes);
+            best = Math.max(best, calculateApproximateScattering(graphData, progress));
+        } else {
+            logger.info("Graph has {} nodes → searching all separators with |S| ≤ {}", totalNodes, MAX_R);
+            best = Math.max(best, searchSmallSeparators(graphData, best, progress));
+        }
+        return calculateDecompositionScattering(graphData, best, progress);
+    }
 
-        // r = 1'den başlayarak dene
-        for (int r = 1; r <= maxR; r++) {
+    /**
+     * ADIM 2-3: |S| ≤ MAX_R olan tüm ayırıcıları paralel gezer. Daha büyük ayırıcılar denenmediği için sonuç
+     * yalnızca bir alt sınırdır (ör. çok sayıda yaprağı olan bir graf için daha büyük S daha çok parça verir).
+     */
+    private double searchSmallSeparators(GraphAnalysisHelper.GraphData graphData, double initial,
+                                         ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        SharedBound maxScattering = new SharedBound(initial);
+        // ADIM 2: r değerini sınırla
+        int maxR = Math.min(MAX_R, graph.nodeCount() - 2); // En az 2 node kalmalı
+
+        // r = 2'den başlayarak dene
+        for (int r = 2; r <= maxR; r++) {
             logger.debug("Trying r = {} for scattering", r);
-
-            // ADIM 3: Subset'leri limitli üret (heap-safe)
-            List<Set<String>> subsets = generateLimitedSubsets(candidates, r, 100);
-
-            for (Set<String> removedSet : subsets) {
-                // Node'ları çıkar
-                Set<String> remainingNodes = new HashSet<>(allNodes);
-                remainingNodes.removeAll(removedSet);
-
-                // En az 2 node kalmalı
-                if (remainingNodes.size() < 2) {
-                    continue;
-                }
-
-                // Edge'leri filtrele (sadece remainingNodes içindeki edge'ler)
-                List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = undirectedEdges.stream()
-                        .filter(e -> remainingNodes.contains(e.u) && remainingNodes.contains(e.v))
-                        .collect(Collectors.toList());
-
-                // Connected components sayısını hesapla
-                int componentCount = GraphAnalysisHelper.countConnectedComponents(remainingNodes, remainingEdges);
-
-                // Scattering hesapla: componentCount - r
-                if (componentCount >= 2) {
-                    double scattering = componentCount - r;
-                    maxScattering = Math.max(maxScattering, scattering);
-                    
-                    logger.debug("Found scattering = {} (components: {}, removed: {})", 
-                            scattering, componentCount, removedSet.size());
-                }
-            }
+            final int size = r;
+
+            // ADIM 3: Tüm r'li subset'leri paralel gez; kalan node'lar en fazla ayrı birer component
+            // olabileceği için (components + pending - r) bound'u geçemeyen dallar budanır
+            long evaluated = SeparatorSearch.enumerateParallel(graph, graphData.sortedCandidates, r,
+                    (removedCount, components, largest, remaining, pending) ->
+                            components + pending - size <= maxScattering.get(),
+                    (removed, removedCount, components, largest, remaining) -> {
+                        // En az 2 node kalmalı; scattering = componentCount - r
+                        if (remaining >= 2 && components >= 2) {
+                            maxScattering.offerMax(components - size);
+                        }
+                        return true;
+                    },
+                    ForkJoinPool.commonPool(), progress::isCancelled);
+            logger.debug("Evaluated {} subsets of size {}", evaluated, r);
+            progress.feasible(maxScattering.get(), "HEURISTIC");
         }
 
-        logger.info("Scattering number calculated: {} (EXACT method)", maxScattering);
-        return maxScattering;
+        logger.info("Scattering lower bound from separators with |S| ≤ {}: {}", MAX_R, maxScattering.get());
+        return maxScattering.get();
+    }
+
+    /**
+     * Dar (düşük treewidth'li) graflarda alt sınırı tree decomposition DP'si ile exact değere çıkarır.
+     * Ayırıcı taramasının aksine |S| ≤ MAX_R sınırı yoktur. Graf dar değilse ya da süre biterse alt sınır döner.
+     */
+    private double calculateDecompositionScattering(GraphAnalysisHelper.GraphData graphData, double lowerBound,
+                                                    ParameterProgress progress) {
+        TreeDecomposition decomposition = graphData.treeDecomposition();
+        if (decomposition == null) {
+            return lowerBound;
+        }
+        long start = System.currentTimeMillis();
+        OptionalDouble exact = SeparatorDP.scattering(graphData.graph, decomposition, DECOMPOSITION_TIME_BUDGET_MS,
+                progress::isCancelled);
+        if (exact.isEmpty()) {
+            logger.info("Tree decomposition scattering stopped after {} ms, keeping lower bound {}",
+                    System.currentTimeMillis() - start, lowerBound);
+            return lowerBound;
+        }
+        // Yorum: hiçbir ayırıcı yoksa ya da hepsi negatifse servis 0 döndürür
+        double scattering = Math.max(0.0, exact.getAsDouble());
+        logger.info("Scattering number calculated: {} (TREE DECOMPOSITION method, width {}, {} ms)",
+                scattering, decomposition.width(), System.currentTimeMillis() - start);
+        progress.exact(scattering, "TREE_DECOMPOSITION");
+        return scattering;
     }
 
     /**
      * ADIM 4: Heuristic Scattering fonksiyonu (büyük graflar için).
      * Degree'ye göre en kritik node'ları seçer ve parçalanmayı hesaplar.
      */
-    private double calculateApproximateScattering(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> undirectedEdges = graphData.undirectedEdges;
-        Map<String, Integer> degree = graphData.degree;
-
-        // Degree'ye göre sırala (yüksek degree'li node'lar önce)
-        List<String> sortedByDegree = allNodes.stream()
-                .sorted((a, b) -> Integer.compare(
-                        degree.getOrDefault(b, 0),
-                        degree.getOrDefault(a, 0)
-                ))
-                .limit(3) // En fazla 3 node dene
-                .collect(java.util.stream.Collectors.toList());
+    private double calculateApproximateScattering(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int[] sortedByDegree = graphData.sortedCandidates; // Yüksek degree'li node'lar önce
 
         double best = 0.0;
-        for (int i = 1; i <= sortedByDegree.size(); i++) {
-            Set<String> removed = new HashSet<>(sortedByDegree.subList(0, i));
-            Set<String> remaining = new HashSet<>(allNodes);
-            remaining.removeAll(removed);
+        BitSet removed = new BitSet(graph.nodeCount());
+        for (int i = 1; i <= Math.min(MAX_R, sortedByDegree.length); i++) {
+            removed.set(sortedByDegree[i - 1]);
 
-            if (remaining.size() < 2) {
+            IntGraph.ComponentStats stats = graph.componentStats(removed);
+            if (stats.remaining() < 2) {
                 continue;
             }
 
-            // Edge'leri filtrele
-            List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = undirectedEdges.stream()
-                    .filter(e -> remaining.contains(e.u) && remaining.contains(e.v))
-                    .collect(java.util.stream.Collectors.toList());
-
-            int components = GraphAnalysisHelper.countConnectedComponents(remaining, remainingEdges);
-            if (components >= 2) {
-                double scattering = components - i;
+            if (stats.count() >= 2) {
+                double scattering = stats.count() - i;
                 best = Math.max(best, scattering);
-                logger.debug("Heuristic scattering = {} (components: {}, removed: {})", 
-                        scattering, components, i);
+                logger.debug("Heuristic scattering = {} (components: {}, removed: {})",
+                        scattering, stats.count(), i);
             }
         }
+        progress.feasible(best, "HEURISTIC");
+
+        // Block yapısıyla her adımda en iyi tek node'u ekleyen greedy ayırıcılar
+        List<IntGraph.ComponentStats> greedy = GraphAnalysisHelper.greedySeparators(graphData, MAX_R,
+                GraphScatteringService::scatteringOf);
+        for (int i = 0; i < greedy.size(); i++) {
+            best = Math.max(best, scatteringOf(i + 1, greedy.get(i)));
+        }
 
         logger.info("Scattering number calculated: {} (HEURISTIC method)", best);
         return best;
     }
 
     /**
-     * Backward compatibility: vertices ve edges'den hesapla.
-     * İçeride GraphAnalysisHelper kullanır.
+     * Tek node'luk ayırıcıların en iyi scattering değeri (her G − v block yapısından bilinir)
      */
-    public double calculateScatteringNumber(
-            List<CodeGraphResult.Vertex> vertices,
-            List<CodeGraphResult.Edge> edges) {
-        
-        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
-        return calculateScatteringNumber(graphData);
-    }
-
-    /**
-     * r'li subset'ler üret - Limitli kombinasyonlar (heap-safe).
-     */
-    private List<Set<String>> generateLimitedSubsets(
-            List<String> candidates,
-            int r,
-            int limit) {
-
-        List<Set<String>> subsets = new ArrayList<>();
-
-        if (r == 0) {
-            subsets.add(new HashSet<>());
-            return subsets;
+    private double bestSingleVertexScattering(GraphAnalysisHelper.GraphData graphData) {
+        BiconnectedComponents blocks = graphData.biconnectedComponents();
+        double best = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < graphData.nodeCount(); v++) {
+            best = Math.max(best, scatteringOf(1, blocks.statsWithout(v)));
         }
-
-        if (r > candidates.size()) {
-            return subsets;
-        }
-
-        // Limitli kombinasyon üretimi
-        generateCombinations(candidates, 0, r, new HashSet<>(), subsets, limit);
-
-        logger.debug("Generated {} subsets of size {} (limit: {})",
-                subsets.size(), r, limit);
-        return subsets;
+        return best;
     }
 
     /**
-     * Binomial coefficient (kombinasyon sayısı) hesaplama: C(n, k) = n! / (k! * (n-k)!)
+     * ω(G−S) − |S|; en az 2 node ve 2 component kalmıyorsa geçersiz (-∞)
      */
-    private long binomialCoefficient(int n, int k) {
-        if (k > n - k) {
-            k = n - k; // Optimize: C(n, k) = C(n, n-k)
-        }
-
-        long result = 1;
-        for (int i = 0; i < k; i++) {
-            result = result * (n - i) / (i + 1);
+    private static double scatteringOf(int removedCount, IntGraph.ComponentStats stats) {
+        if (stats.remaining() < 2 || stats.count() < 2) {
+            return Double.NEGATIVE_INFINITY;
         }
-        return result;
+        return stats.count() - removedCount;
     }
 
     /**
-     * Kombinasyon üretme (recursive).
+     * Backward compatibility: vertices ve edges'den hesapla.
+     * İçeride GraphAnalysisHelper kullanır.
      */
-    private void generateCombinations(
-            List<String> candidates,
-            int start,
-            int r,
-            Set<String> current,
-            List<Set<String>> result,
-            int maxSize) {
-
-        if (result.size() >= maxSize) {
-            return;
-        }
-
-        if (current.size() == r) {
-            result.add(new HashSet<>(current));
-            return;
-        }
+    public double calculateScatteringNumber(
+            List<CodeGraphResult.Vertex> vertices,
+            List<CodeGraphResult.Edge> edges) {
 
-        for (int i = start; i < candidates.size() && result.size() < maxSize; i++) {
-            current.add(candidates.get(i));
-            generateCombinations(candidates, i + 1, r, current, result, maxSize);
-            current.remove(candidates.get(i));
-        }
+        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
+        return calculateScatteringNumber(graphData);
     }
 }
-
-
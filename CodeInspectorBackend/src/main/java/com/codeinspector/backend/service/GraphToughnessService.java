@@ -1,18 +1,24 @@
 package com.codeinspector.backend.service;
 
+import com.codeinspector.backend.graph.BiconnectedComponents;
 import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorSearch;
+import com.codeinspector.backend.graph.SeparatorDP;
+import com.codeinspector.backend.graph.SharedBound;
+import com.codeinspector.backend.graph.TreeDecomposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Graph toughness number (τ(G)) hesaplama servisi.
  * Grafin parçalanmaya karşı dayanıklılığını ölçer.
  * Formül: τ(G) = min{|S| / ω(G−S) : ω(G−S) ≥ 2}
- * 
+ *
  * Bu metrik, grafı parçalamak için gereken "bir parça başına düşen düğüm maliyeti"ni ölçer.
  * Düşük toughness → graf kolay parçalanır
  * Yüksek toughness → graf dayanıklıdır
@@ -22,23 +28,29 @@ public class GraphToughnessService {
 
     private static final Logger logger = LoggerFactory.getLogger(GraphToughnessService.class);
     private static final int MAX_R = 3; // Maksimum r değeri (daha dengeli: r=1,2,3 denenir)
-    private static final int MAX_SUBSETS = 100; // Maksimum subset sayısı (heap-safe, daha kapsamlı)
-    private static final int NODE_LIMIT_FOR_EXACT = 25; // 25'ten fazla node varsa heuristic kullan
+    private static final int NODE_LIMIT_FOR_ENUMERATION = 120; // 120'den fazla node varsa |S| ≤ MAX_R taraması yerine heuristic (tarama paralel çalışır)
+    private static final long DECOMPOSITION_TIME_BUDGET_MS = 20_000; // Tree decomposition DP'si için süre bütçesi
 
     /**
      * Toughness number (τ(G)) hesaplar.
      * Hazırlanmış graph data kullanır (performans optimizasyonu).
-     * Küçük graflar için exact, büyük graflar için heuristic algoritma kullanır.
-     * 
+     * Küçük graflarda |S| ≤ 3 olan tüm ayırıcılar, büyük graflarda heuristic ile bir üst sınır bulunur; ormanlarda
+     * kapalı form, dar (düşük treewidth'li) graflarda her boyutta tree decomposition DP'si exact değeri verir.
+     *
      * @param graphData Hazırlanmış graph data (GraphAnalysisHelper.prepareGraphData ile oluşturulmuş)
      * @return Toughness number, veya Double.POSITIVE_INFINITY eğer parçalanamazsa, -1.0 eğer hesaplanamazsa
      */
     public double calculateToughnessNumber(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
-        List<String> candidates = graphData.sortedCandidates;
+        return calculateToughnessNumber(graphData, ParameterProgress.none());
+    }
 
-        int n = allNodes.size();
+    /**
+     * Toughness number hesaplar; ara sonuçlar (alt sınır, bulunan en iyi oran, orman ve DP'nin exact değeri)
+     * progress'e bildirilir.
+     */
+    public double calculateToughnessNumber(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int n = graph.nodeCount();
 
         // Edge case: Boş graf veya tek node
         if (n <= 1) {
@@ -53,113 +65,108 @@ public class GraphToughnessService {
         }
 
         // Edge case: Hiç edge yok
-        if (allEdges.isEmpty()) {
+        if (graph.edgeCount() == 0) {
             logger.debug("No edges, toughness = POSITIVE_INFINITY");
             return Double.POSITIVE_INFINITY; // Her node ayrı component, ama r=1 çıkarınca component sayısı azalır, ≥2 bulunamaz
         }
 
-        int totalNodes = allNodes.size();
-        logger.info("Calculating toughness for {} nodes, {} edges", totalNodes, allEdges.size());
+        logger.info("Calculating toughness for {} nodes, {} edges", n, graph.edgeCount());
 
-        // Node limiti kontrolü - büyük graflar için heuristic kullan
-        if (totalNodes > NODE_LIMIT_FOR_EXACT) {
-            logger.info("Graph has {} nodes → using HEURISTIC toughness calculation", totalNodes);
-            return calculateApproximateToughness(graphData);
+        // Orman: |S| node çıkarmak en fazla |S|·(Δ − 1) + c bileşen üretir, bu yüzden minimum oran tek node'la
+        // (en çok bileşen üreten node) elde edilir; her boyutta lineer sürede exact
+        double bestSingle = bestSingleVertexToughness(graphData);
+        if (graphData.isForest()) {
+            logger.info("Toughness number calculated: {} (FOREST closed form)", bestSingle);
+            progress.exact(bestSingle, "FOREST");
+            return bestSingle;
         }
+        progress.bounds(graphData.separatorBounds().toughnessLowerBound(), Double.POSITIVE_INFINITY);
+        progress.feasible(bestSingle, "HEURISTIC");
+
+        // Node limiti kontrolü - |S| ≤ MAX_R taraması yalnızca küçük graflarda yapılır. Her iki yol da yalnızca
+        // üst sınır verir (daha büyük ayırıcılar denenmez); exact değer her boyutta decomposition DP'sinden gelir.
+        double best;
+        if (n > NODE_LIMIT_FOR_ENUMERATION) {
+            logger.info("Graph has {} nodes → using HEURISTIC toughness calculation", n);
+            // Yorum: heuristic ucuz olduğu için önce çalışır ve hemen bir değer verir; DP biterse exact'e iner
+            best = Math.min(bestSingle, calculateApproximateToughness(graphData, progress));
+        } else {
+            logger.info("Graph has {} nodes → searching all separators with |S| ≤ {}", n, MAX_R);
+            best = searchSmallSeparators(graphData, bestSingle, progress);
+        }
+        Double exact = calculateDecompositionToughness(graphData, progress);
+        return exact != null ? exact : best;
+    }
 
-        logger.info("Graph has {} nodes → using EXACT toughness calculation", totalNodes);
-
-        double minToughness = Double.POSITIVE_INFINITY;
+    /**
+     * |S| ≤ MAX_R olan tüm ayırıcıları paralel gezer. Daha büyük ayırıcılar denenmediği için sonuç yalnızca
+     * bir üst sınırdır; +∞ da "en fazla MAX_R node ile parçalanamaz" anlamına gelir.
+     */
+    private double searchSmallSeparators(GraphAnalysisHelper.GraphData graphData, double initial,
+                                         ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        // r = 1 block yapısından lineer sürede bilinir; bound olarak başla
+        SharedBound minToughness = new SharedBound(initial);
         // r değerini sınırla
-        int maxR = Math.min(MAX_R, n - 1); // En fazla n-1 node çıkarabiliriz (en az 1 node kalmalı)
+        int maxR = Math.min(MAX_R, graph.nodeCount() - 1); // En fazla n-1 node çıkarabiliriz (en az 1 node kalmalı)
 
-        // r = 1'den başlayarak dene (en az 1 node çıkarmalıyız)
-        for (int r = 1; r <= maxR; r++) {
+        // r = 2'den başlayarak dene
+        for (int r = 2; r <= maxR; r++) {
             logger.debug("Trying r = {} for toughness", r);
-
-            // r'li subset'ler üret - Limitli kombinasyonlar
-            List<Set<String>> subsets = generateLimitedSubsets(candidates, r, MAX_SUBSETS);
-
-            for (Set<String> removedSet : subsets) {
-                // Node'ları çıkar
-                Set<String> remainingNodes = new HashSet<>(allNodes);
-                remainingNodes.removeAll(removedSet);
-
-                // En az 1 node kalmalı
-                if (remainingNodes.isEmpty()) {
-                    continue;
-                }
-
-                // Edge'leri filtrele (sadece remainingNodes içindeki edge'ler)
-                List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = allEdges.stream()
-                        .filter(e -> remainingNodes.contains(e.u) && remainingNodes.contains(e.v))
-                        .collect(Collectors.toList());
-
-                // Connected components sayısını hesapla
-                int componentCount = GraphAnalysisHelper.countConnectedComponents(remainingNodes, remainingEdges);
-
-                // Component sayısı ≥ 2 olan durumlara bak
-                if (componentCount >= 2) {
-                    // ratio = r / componentCount
-                    double ratio = (double) r / componentCount;
-                    minToughness = Math.min(minToughness, ratio);
-
-                    logger.debug("Found toughness ratio = {} (r: {}, components: {})", 
-                            ratio, r, componentCount);
-                }
-            }
+            final int size = r;
+
+            // Tüm r'li subset'leri paralel gez; component sayısı en fazla (components + pending)
+            // olabileceği için r / (components + pending) bound'a ulaşan dallar budanır
+            long evaluated = SeparatorSearch.enumerateParallel(graph, graphData.sortedCandidates, r,
+                    (removedCount, components, largest, remaining, pending) -> {
+                        int maxComponents = components + pending;
+                        return maxComponents < 2 || (double) size / maxComponents >= minToughness.get();
+                    },
+                    (removed, removedCount, components, largest, remaining) -> {
+                        // Component sayısı ≥ 2 olan durumlara bak: ratio = r / componentCount
+                        if (components >= 2) {
+                            minToughness.offerMin((double) size / components);
+                        }
+                        return true;
+                    },
+                    ForkJoinPool.commonPool(), progress::isCancelled);
+            logger.debug("Evaluated {} subsets of size {}", evaluated, r);
+            progress.feasible(minToughness.get(), "HEURISTIC");
         }
 
-        // Eğer hiç component ≥ 2 bulunamadıysa, graf parçalanamaz
-        if (minToughness == Double.POSITIVE_INFINITY) {
-            logger.info("Toughness number = POSITIVE_INFINITY (graph cannot be disconnected)");
-            return Double.POSITIVE_INFINITY;
-        }
-
-        logger.info("Toughness number calculated: {} (EXACT method)", minToughness);
-        return minToughness;
+        logger.info("Toughness upper bound from separators with |S| ≤ {}: {}", MAX_R, minToughness.get());
+        return minToughness.get();
     }
 
     /**
      * Heuristic Toughness fonksiyonu (büyük graflar için).
      */
-    private double calculateApproximateToughness(GraphAnalysisHelper.GraphData graphData) {
-        Set<String> allNodes = graphData.allNodes;
-        List<GraphAnalysisHelper.UndirectedEdge> allEdges = graphData.undirectedEdges;
-        Map<String, Integer> degree = graphData.degree;
-
-        // Degree'ye göre sırala (yüksek degree'li node'lar önce)
-        List<String> sortedByDegree = allNodes.stream()
-                .sorted((a, b) -> Integer.compare(
-                        degree.getOrDefault(b, 0),
-                        degree.getOrDefault(a, 0)
-                ))
-                .limit(3) // En fazla 3 node dene
-                .collect(java.util.stream.Collectors.toList());
+    private double calculateApproximateToughness(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        IntGraph graph = graphData.graph;
+        int[] sortedByDegree = graphData.sortedCandidates; // Yüksek degree'li node'lar önce
 
         double best = Double.POSITIVE_INFINITY;
-        for (int i = 1; i <= sortedByDegree.size(); i++) {
-            Set<String> removed = new HashSet<>(sortedByDegree.subList(0, i));
-            Set<String> remaining = new HashSet<>(allNodes);
-            remaining.removeAll(removed);
-
-            if (remaining.isEmpty()) {
-                continue;
-            }
+        BitSet removed = new BitSet(graph.nodeCount());
+        for (int i = 1; i <= Math.min(MAX_R, sortedByDegree.length); i++) {
+            removed.set(sortedByDegree[i - 1]);
 
-            // Edge'leri filtrele
-            List<GraphAnalysisHelper.UndirectedEdge> remainingEdges = allEdges.stream()
-                    .filter(e -> remaining.contains(e.u) && remaining.contains(e.v))
-                    .collect(java.util.stream.Collectors.toList());
-
-            int componentCount = GraphAnalysisHelper.countConnectedComponents(remaining, remainingEdges);
+            int componentCount = graph.componentStats(removed).count();
             if (componentCount >= 2) {
                 double ratio = (double) i / componentCount;
                 best = Math.min(best, ratio);
-                logger.debug("Heuristic toughness ratio = {} (r: {}, components: {})", 
+                logger.debug("Heuristic toughness ratio = {} (r: {}, components: {})",
                         ratio, i, componentCount);
             }
         }
+        progress.feasible(best, "HEURISTIC");
+
+        // Block yapısıyla her adımda en iyi tek node'u ekleyen greedy ayırıcılar
+        List<IntGraph.ComponentStats> greedy = GraphAnalysisHelper.greedySeparators(graphData, MAX_R,
+                (removedCount, stats) -> -toughnessOf(removedCount, stats));
+        for (int i = 0; i < greedy.size(); i++) {
+            best = Math.min(best, toughnessOf(i + 1, greedy.get(i)));
+        }
+        progress.feasible(best, "HEURISTIC");
 
         if (best == Double.POSITIVE_INFINITY) {
             logger.info("Toughness number calculated: POSITIVE_INFINITY (HEURISTIC method)");
@@ -171,69 +178,58 @@ public class GraphToughnessService {
     }
 
     /**
-     * Backward compatibility: vertices ve edges'den hesapla.
-     * İçeride GraphAnalysisHelper kullanır.
+     * Tek node'luk ayırıcıların en iyi oranı (her G − v block yapısından bilinir)
      */
-    public double calculateToughnessNumber(
-            List<CodeGraphResult.Vertex> vertices,
-            List<CodeGraphResult.Edge> edges) {
-        
-        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
-        return calculateToughnessNumber(graphData);
+    private double bestSingleVertexToughness(GraphAnalysisHelper.GraphData graphData) {
+        BiconnectedComponents blocks = graphData.biconnectedComponents();
+        double best = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < graphData.nodeCount(); v++) {
+            best = Math.min(best, toughnessOf(1, blocks.statsWithout(v)));
+        }
+        return best;
     }
 
     /**
-     * r'li subset'ler üret - Limitli kombinasyonlar (performans için).
+     * |S| / ω(G−S); 2'den az component kalıyorsa geçersiz (+∞)
      */
-    private List<Set<String>> generateLimitedSubsets(
-            List<String> candidates,
-            int r,
-            int limit) {
-
-        List<Set<String>> subsets = new ArrayList<>();
+    private static double toughnessOf(int removedCount, IntGraph.ComponentStats stats) {
+        return stats.count() >= 2 ? (double) removedCount / stats.count() : Double.POSITIVE_INFINITY;
+    }
 
-        if (r == 0) {
-            subsets.add(new HashSet<>());
-            return subsets;
+    /**
+     * Dar (düşük treewidth'li) graflarda toughness'ı tree decomposition DP'si ile exact hesaplar.
+     * Ayırıcı taramasının aksine |S| ≤ MAX_R sınırı yoktur.
+     *
+     * @return Exact değer, graf dar değilse ya da süre biterse null
+     */
+    private Double calculateDecompositionToughness(GraphAnalysisHelper.GraphData graphData, ParameterProgress progress) {
+        TreeDecomposition decomposition = graphData.treeDecomposition();
+        if (decomposition == null) {
+            return null;
         }
-
-        if (r > candidates.size()) {
-            return subsets;
+        long start = System.currentTimeMillis();
+        OptionalDouble exact = SeparatorDP.toughness(graphData.graph, decomposition, DECOMPOSITION_TIME_BUDGET_MS,
+                progress::isCancelled);
+        if (exact.isEmpty()) {
+            logger.info("Tree decomposition toughness stopped after {} ms (timeout or cancel)",
+                    System.currentTimeMillis() - start);
+            return null;
         }
-
-        // Limitli kombinasyon üretimi
-        generateCombinations(candidates, 0, r, new HashSet<>(), subsets, limit);
-
-        logger.debug("Generated {} subsets of size {} (limit: {})",
-                subsets.size(), r, limit);
-        return subsets;
+        logger.info("Toughness number calculated: {} (TREE DECOMPOSITION method, width {}, {} ms)",
+                exact.getAsDouble(), decomposition.width(), System.currentTimeMillis() - start);
+        progress.exact(exact.getAsDouble(), "TREE_DECOMPOSITION");
+        return exact.getAsDouble();
     }
 
     /**
-     * Kombinasyon üretme (recursive, limitli).
+     * Backward compatibility: vertices ve edges'den hesapla.
+     * İçeride GraphAnalysisHelper kullanır.
      */
-    private void generateCombinations(
-            List<String> candidates,
-            int start,
-            int r,
-            Set<String> current,
-            List<Set<String>> result,
-            int maxSize) {
-
-        if (result.size() >= maxSize) {
-            return;
-        }
-
-        if (current.size() == r) {
-            result.add(new HashSet<>(current));
-            return;
-        }
+    public double calculateToughnessNumber(
+            List<CodeGraphResult.Vertex> vertices,
+            List<CodeGraphResult.Edge> edges) {
 
-        for (int i = start; i < candidates.size() && result.size() < maxSize; i++) {
-            current.add(candidates.get(i));
-            generateCombinations(candidates, i + 1, r, current, result, maxSize);
-            current.remove(candidates.get(i));
-        }
+        GraphAnalysisHelper.GraphData graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
+        return calculateToughnessNumber(graphData);
     }
 }
-
@@ -0,0 +1,271 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.FileSymbolSummary;
+import com.codeinspector.backend.model.BlobSymbolSummary;
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.repository.BlobSymbolSummaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Versiyonlar arasında proje grafını artımlı olarak günceller.
+ *
+ * Her dosyanın FileSymbolSummary'si blob id'sine göre saklanır (bellekte ve veritabanında).
+ * Yeni bir commit için önceki snapshot'ın yol -> blob eşlemesiyle karşılaştırma yapılır:
+ * silinen ve değişen dosyaların özetleri çıkarılır, yalnızca yeni blob'lar okunup parse edilir.
+ * Graf yapısı güncellenmiş özet kümesinden, parse yapılmadan yeniden birleştirilir
+ * (isim çözümleme tüm sınıf kümesine bağlı olduğu için birleştirme tüm özetler üzerinden yapılır).
+ *
+ * Aynı projenin snapshot'ı proje başına bir kilitle korunur; farklı projeler birbirini beklemez.
+ * Yeni versiyonlar import transaction'ı commit edildikten sonra graphWarmupExecutor'da hazırlanır.
+ */
+@Service
+public class IncrementalGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalGraphService.class);
+    private static final int MAX_MEMORY_SUMMARIES = 200_000;
+    // FileSymbolSummary formatı değiştiğinde artırılır; farklı sürümde saklanan özetler yeniden çıkarılır
+    private static final int SUMMARY_FORMAT_VERSION = 1;
+
+    private final GitService gitService;
+    private final ProjectGraphBuilder graphBuilder;
+    private final BlobSymbolSummaryRepository summaryRepository;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService warmupExecutor;
+
+    // Yorum: proje slug'ı -> snapshot'ı güncelleyen işlemlerin kilidi
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    // Yorum: proje slug'ı -> son kurulan graf snapshot'ı
+    private final Map<String, GraphSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Yorum: blob id -> özet (LRU; kalıcı kopyası veritabanında)
+    private final Map<String, FileSymbolSummary> summariesByBlob = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FileSymbolSummary> eldest) {
+                    return size() > MAX_MEMORY_SUMMARIES;
+                }
+            });
+
+    /**
+     * Bir commit için kurulmuş graf yapısı ve onu üreten dosya özetleri.
+     *
+     * @param blobByPath Dosya yolu -> blob id
+     * @param summaries  Dosya yolu -> özet (yola göre sıralı)
+     */
+    private record GraphSnapshot(String commitHash, Map<String, String> blobByPath,
+                                 SortedMap<String, FileSymbolSummary> summaries, CodeGraphResult structure) {}
+
+    @Autowired
+    public IncrementalGraphService(
+            GitService gitService,
+            ProjectGraphBuilder graphBuilder,
+            BlobSymbolSummaryRepository summaryRepository,
+            ObjectMapper objectMapper,
+            @Qualifier("graphWarmupExecutor") ExecutorService warmupExecutor) {
+        this.gitService = gitService;
+        this.graphBuilder = graphBuilder;
+        this.summaryRepository = summaryRepository;
+        this.objectMapper = objectMapper;
+        this.warmupExecutor = warmupExecutor;
+    }
+
+    /**
+     * Commit'teki graf yapısını (metrikler hariç) döndürür. Önceki snapshot'a göre değişmeyen dosyalar
+     * yeniden okunmaz; hiç dosya değişmediyse önceki yapı aynen kullanılır. Aynı proje için çağrılar sırayla
+     * çalışır (snapshot'ı güncellerler), farklı projeler paralel ilerler.
+     */
+    public CodeGraphResult buildForCommit(Project project, String commitHash) throws IOException {
+        synchronized (locks.computeIfAbsent(project.getSlug(), slug -> new Object())) {
+            GraphSnapshot snapshot = patchSnapshot(project, commitHash);
+            snapshots.put(project.getSlug(), snapshot);
+            return copyStructure(snapshot.structure());
+        }
+    }
+
+    /**
+     * buildForCommit gibi önceki snapshot'tan yamalar ama snapshot'ı değiştirmez; diff ve sorgu ekranlarındaki
+     * eski commit'ler HEAD snapshot'ını geri sarmasın diye bunu kullanır. Okunan dosya özetleri blob cache'e
+     * yine yazılır, sonraki çağrılar onları tekrar parse etmez.
+     */
+    public CodeGraphResult structureForCommit(Project project, String commitHash) throws IOException {
+        synchronized (locks.computeIfAbsent(project.getSlug(), slug -> new Object())) {
+            return copyStructure(patchSnapshot(project, commitHash).structure());
+        }
+    }
+
+    private GraphSnapshot patchSnapshot(Project project, String commitHash) throws IOException {
+        long start = System.currentTimeMillis();
+        String slug = project.getSlug();
+        GraphSnapshot previous = snapshots.get(slug);
+        if (previous != null && previous.commitHash().equals(commitHash)) {
+            return previous;
+        }
+
+        Map<String, String> blobByPath = new HashMap<>();
+        for (GitService.JavaBlob blob : gitService.listJavaBlobs(project.getStoragePath(), commitHash)) {
+            blobByPath.put(blob.path(), blob.blobId());
+        }
+
+        Map<String, String> previousBlobs = previous != null ? previous.blobByPath() : Map.of();
+        List<String> changedPaths = new ArrayList<>();
+        for (Map.Entry<String, String> entry : blobByPath.entrySet()) {
+            if (!entry.getValue().equals(previousBlobs.get(entry.getKey()))) {
+                changedPaths.add(entry.getKey());
+            }
+        }
+        List<String> removedPaths = new ArrayList<>();
+        for (String path : previousBlobs.keySet()) {
+            if (!blobByPath.containsKey(path)) {
+                removedPaths.add(path);
+            }
+        }
+
+        if (previous != null && changedPaths.isEmpty() && removedPaths.isEmpty()) {
+            // Java dosyaları değişmedi (ör. sadece README): yapı aynı kalır
+            logger.info("No Java changes for project {} at {}, reusing graph structure", slug, commitHash);
+            return new GraphSnapshot(commitHash, blobByPath, previous.summaries(), previous.structure());
+        }
+
+        // Önceki katkıları çıkar, yenilerini ekle
+        SortedMap<String, FileSymbolSummary> summaries =
+                previous != null ? new TreeMap<>(previous.summaries()) : new TreeMap<>();
+        removedPaths.forEach(summaries::remove);
+        Map<String, FileSymbolSummary> changedSummaries = summarizeBlobs(project, changedPaths, blobByPath);
+        summaries.putAll(changedSummaries);
+
+        CodeGraphResult structure = graphBuilder.assemble(summaries.values());
+        logger.info("Graph for project {} at {} patched: {} files, {} changed, {} removed in {} ms",
+                slug, commitHash, blobByPath.size(), changedPaths.size(), removedPaths.size(),
+                System.currentTimeMillis() - start);
+        return new GraphSnapshot(commitHash, blobByPath, summaries, structure);
+    }
+
+    /**
+     * Yeni versiyonun özetlerini import transaction'ı commit edildikten sonra arka planda hazırlar;
+     * import isteği beklemez ve hata import'u bozmaz.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVersionCreated(ProjectVersionCreatedEvent event) {
+        Project project = event.project();
+        ProjectVersion version = event.version();
+        try {
+            warmupExecutor.execute(() -> {
+                try {
+                    buildForCommit(project, version.getCommitHash());
+                } catch (Exception e) {
+                    logger.warn("Could not prepare graph summaries for project {} ({}): {}",
+                            project.getSlug(), version.getVersionName(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Uygulama kapanıyor; graf ilk istekte kurulur
+            logger.debug("Graph warm-up for project {} skipped: executor shut down", project.getSlug());
+        }
+    }
+
+    /**
+     * Verilen yolların özetlerini döndürür: önce bellek, sonra veritabanı; hiçbirinde olmayan blob'lar
+     * commit'ten okunup paralel olarak özetlenir ve saklanır.
+     */
+    private Map<String, FileSymbolSummary> summarizeBlobs(Project project, List<String> paths,
+                                                          Map<String, String> blobByPath) throws IOException {
+        Map<String, FileSymbolSummary> byBlob = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String path : paths) {
+            String blobId = blobByPath.get(path);
+            FileSymbolSummary cached = summariesByBlob.get(blobId);
+            if (cached != null) {
+                byBlob.put(blobId, cached);
+            } else {
+                missing.add(blobId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            int outdated = 0;
+            for (BlobSymbolSummary stored : summaryRepository.findAllById(missing)) {
+                if (!Integer.valueOf(SUMMARY_FORMAT_VERSION).equals(stored.getFormatVersion())) {
+                    outdated++;
+                    continue;
+                }
+                try {
+                    FileSymbolSummary summary = objectMapper.readValue(stored.getSummaryData(), FileSymbolSummary.class);
+                    byBlob.put(stored.getBlobId(), summary);
+                    summariesByBlob.put(stored.getBlobId(), summary);
+                } catch (IOException e) {
+                    logger.warn("Could not read stored summary for blob {}: {}", stored.getBlobId(), e.getMessage());
+                }
+            }
+            missing.removeAll(byBlob.keySet());
+            if (outdated > 0) {
+                logger.info("{} stored blob summaries have an old format, re-parsing", outdated);
+            }
+        }
+
+        int parsed = missing.size();
+        if (!missing.isEmpty()) {
+            Map<String, String> pathByBlob = new HashMap<>();
+            for (String path : paths) {
+                pathByBlob.putIfAbsent(blobByPath.get(path), path);
+            }
+            Map<String, String> contents = gitService.readBlobs(project.getStoragePath(), missing);
+            Map<String, FileSymbolSummary> fresh = new ConcurrentHashMap<>();
+            contents.entrySet().parallelStream().forEach(entry -> fresh.put(entry.getKey(),
+                    graphBuilder.summarize(pathByBlob.get(entry.getKey()), entry.getValue())));
+            byBlob.putAll(fresh);
+            summariesByBlob.putAll(fresh);
+            persist(fresh);
+        }
+        logger.debug("Summaries for {} changed files: {} parsed, {} reused", paths.size(), parsed, paths.size() - parsed);
+
+        Map<String, FileSymbolSummary> byPath = new HashMap<>();
+        for (String path : paths) {
+            FileSymbolSummary summary = byBlob.get(blobByPath.get(path));
+            if (summary != null) {
+                byPath.put(path, summary.withPath(path));
+            }
+        }
+        return byPath;
+    }
+
+    private void persist(Map<String, FileSymbolSummary> summaries) {
+        try {
+            List<BlobSymbolSummary> rows = new ArrayList<>(summaries.size());
+            for (Map.Entry<String, FileSymbolSummary> entry : summaries.entrySet()) {
+                rows.add(BlobSymbolSummary.builder()
+                        .blobId(entry.getKey())
+                        .summaryData(objectMapper.writeValueAsString(entry.getValue()))
+                        .formatVersion(SUMMARY_FORMAT_VERSION)
+                        .build());
+            }
+            summaryRepository.saveAll(rows);
+        } catch (Exception e) {
+            // Kalıcı kopya yazılamazsa özetler bellekte kullanılmaya devam eder
+            logger.warn("Could not persist {} blob summaries: {}", summaries.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshot'taki yapı paylaşılır; çağıran metrikleri set ettiği için her seferinde yeni bir sonuç nesnesi döner.
+     */
+    private static CodeGraphResult copyStructure(CodeGraphResult structure) {
+        CodeGraphResult copy = new CodeGraphResult();
+        copy.setVertices(structure.getVertices());
+        copy.setEdges(structure.getEdges());
+        return copy;
+    }
+}
@@ -35,91 +35,101 @@ public class JavaASTDependencyAnalyzer {
      * @return className -> Set<dependencyClassNames> map'i
      */
     public Map<String, Set<String>> analyzeClassDependencies(File javaFile) {
-        Map<String, Set<String>> dependencies = new HashMap<>();
         logger.debug("Analyzing class dependencies in file: {}", javaFile.getAbsolutePath());
 
         try (FileInputStream in = new FileInputStream(javaFile)) {
-            CompilationUnit cu = StaticJavaParser.parse(in);
-
-            Optional<ClassOrInterfaceDeclaration> classDecl = cu.findFirst(ClassOrInterfaceDeclaration.class);
-            if (classDecl.isPresent()) {
-                String className = classDecl.get().getNameAsString();
-                Set<String> classDeps = new HashSet<>();
-
-                // Import ifadelerini analiz et - hem full name hem simple name ekle
-                for (ImportDeclaration importDecl : cu.getImports()) {
-                    String importName = importDecl.getNameAsString();
-                    // Java standart kütüphanelerini ve Spring/Hibernate gibi framework'leri hariç tut
-                    if (!importName.startsWith("java.") && 
-                        !importName.startsWith("javax.") &&
-                        !importName.startsWith("org.springframework.") &&
-                        !importName.startsWith("org.hibernate.") &&
-                        !importName.startsWith("com.sun.") &&
-                        !importName.startsWith("sun.")) {
-                        // Full qualified name'i ekle
-                        classDeps.add(importName);
-                        // Simple name'i de ekle (eşleştirme için)
-                        String importedClass = importName.substring(importName.lastIndexOf('.') + 1);
-                        classDeps.add(importedClass);
-                        logger.debug("Added import dependency: {} (full: {}, simple: {})", importName, importName, importedClass);
-                    }
-                }
-
-                // Sınıf içindeki bağımlılıkları analiz et - new Object() ifadeleri
-                cu.findAll(ObjectCreationExpr.class).forEach(expr -> {
-                    if (expr.getType().isClassOrInterfaceType()) {
-                        com.github.javaparser.ast.type.ClassOrInterfaceType type = expr.getType().asClassOrInterfaceType();
-                        String typeName = type.getNameAsString();
-                        classDeps.add(typeName);
-                        
-                        // Scope varsa (qualified name), onu da ekle
-                        type.getScope().ifPresent(scope -> {
-                            String qualifiedName = scope.getNameAsString() + "." + typeName;
-                            classDeps.add(qualifiedName);
-                            logger.debug("Added ObjectCreation dependency: {} (qualified: {})", typeName, qualifiedName);
-                        });
-                    }
-                });
+            return analyzeClassDependencies(StaticJavaParser.parse(in));
+        } catch (Exception e) {
+            logger.warn("Error analyzing class dependencies in file {}: {}", javaFile.getAbsolutePath(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
 
-                // Method call scope'larını analiz et
-                cu.findAll(MethodCallExpr.class).forEach(expr -> {
-                    expr.getScope().ifPresent(scope -> {
-                        if (scope instanceof NameExpr) {
-                            String scopeName = ((NameExpr) scope).getNameAsString();
-                            classDeps.add(scopeName);
-                        } else if (scope instanceof FieldAccessExpr) {
-                            // obj.method() durumunda obj'in tipini bulmaya çalış
-                            FieldAccessExpr fieldAccess = (FieldAccessExpr) scope;
-                            // FieldAccessExpr.getScope() Expression döndürür (null olabilir)
-                            Expression innerScope = fieldAccess.getScope();
-                            if (innerScope != null && innerScope instanceof NameExpr) {
-                                String innerScopeName = ((NameExpr) innerScope).getNameAsString();
-                                classDeps.add(innerScopeName);
-                            }
-                        }
-                    });
-                });
+    /**
+     * Daha önce parse edilmiş bir derleme birimindeki sınıf bağımlılıklarını analiz eder.
+     * Aynı dosya için hem sınıf hem metot analizi yapılacaksa dosya bir kez parse edilir.
+     *
+     * @param cu Parse edilmiş Java dosyası
+     * @return className -> Set<dependencyClassNames> map'i
+     */
+    public Map<String, Set<String>> analyzeClassDependencies(CompilationUnit cu) {
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        Optional<ClassOrInterfaceDeclaration> classDecl = cu.findFirst(ClassOrInterfaceDeclaration.class);
+        if (classDecl.isPresent()) {
+            String className = classDecl.get().getNameAsString();
+            Set<String> classDeps = new HashSet<>();
+
+            // Import ifadelerini analiz et - hem full name hem simple name ekle
+            for (ImportDeclaration importDecl : cu.getImports()) {
+                String importName = importDecl.getNameAsString();
+                // Java standart kütüphanelerini ve Spring/Hibernate gibi framework'leri hariç tut
+                if (!importName.startsWith("java.") && 
+                    !importName.startsWith("javax.") &&
+                    !importName.startsWith("org.springframework.") &&
+                    !importName.startsWith("org.hibernate.") &&
+                    !importName.startsWith("com.sun.") &&
+                    !importName.startsWith("sun.")) {
+                    // Full qualified name'i ekle
+                    classDeps.add(importName);
+                    // Simple name'i de ekle (eşleştirme için)
+                    String importedClass = importName.substring(importName.lastIndexOf('.') + 1);
+                    classDeps.add(importedClass);
+                    logger.debug("Added import dependency: {} (full: {}, simple: {})", importName, importName, importedClass);
+                }
+            }
 
-                // ClassOrInterfaceType kullanımlarını analiz et (field tipleri, parametre tipleri vb.)
-                cu.findAll(ClassOrInterfaceType.class).forEach(type -> {
+            // Sınıf içindeki bağımlılıkları analiz et - new Object() ifadeleri
+            cu.findAll(ObjectCreationExpr.class).forEach(expr -> {
+                if (expr.getType().isClassOrInterfaceType()) {
+                    com.github.javaparser.ast.type.ClassOrInterfaceType type = expr.getType().asClassOrInterfaceType();
                     String typeName = type.getNameAsString();
-                    // Primitive tipleri ve standart kütüphaneleri hariç tut
-                    if (!isPrimitiveOrStandardType(typeName)) {
-                        classDeps.add(typeName);
-                        
-                        // Scope varsa (qualified name), onu da ekle
-                        type.getScope().ifPresent(scope -> {
-                            String qualifiedName = scope.getNameAsString() + "." + typeName;
-                            classDeps.add(qualifiedName);
-                        });
+                    classDeps.add(typeName);
+                    
+                    // Scope varsa (qualified name), onu da ekle
+                    type.getScope().ifPresent(scope -> {
+                        String qualifiedName = scope.getNameAsString() + "." + typeName;
+                        classDeps.add(qualifiedName);
+                        logger.debug("Added ObjectCreation dependency: {} (qualified: {})", typeName, qualifiedName);
+                    });
+                }
+            });
+
+            // Method call scope'larını analiz et
+            cu.findAll(MethodCallExpr.class).forEach(expr -> {
+                expr.getScope().ifPresent(scope -> {
+                    if (scope instanceof NameExpr) {
+                        String scopeName = ((NameExpr) scope).getNameAsString();
+                        classDeps.add(scopeName);
+                    } else if (scope instanceof FieldAccessExpr) {
+                        // obj.method() durumunda obj'in tipini bulmaya çalış
+                        FieldAccessExpr fieldAccess = (FieldAccessExpr) scope;
+                        // FieldAccessExpr.getScope() Expression döndürür (null olabilir)
+                        Expression innerScope = fieldAccess.getScope();
+                        if (innerScope != null && innerScope instanceof NameExpr) {
+                            String innerScopeName = ((NameExpr) innerScope).getNameAsString();
+                            classDeps.add(innerScopeName);
+                        }
                     }
                 });
+            });
+
+            // ClassOrInterfaceType kullanımlarını analiz et (field tipleri, parametre tipleri vb.)
+            cu.findAll(ClassOrInterfaceType.class).forEach(type -> {
+                String typeName = type.getNameAsString();
+                // Primitive tipleri ve standart kütüphaneleri hariç tut
+                if (!isPrimitiveOrStandardType(typeName)) {
+                    classDeps.add(typeName);
+                    
+                    // Scope varsa (qualified name), onu da ekle
+                    type.getScope().ifPresent(scope -> {
+                        String qualifiedName = scope.getNameAsString() + "." + typeName;
+                        classDeps.add(qualifiedName);
+                    });
+                }
+            });
 
-                dependencies.put(className, classDeps);
-                logger.info("Found {} dependencies for class {}: {}", classDeps.size(), className, classDeps);
-            }
-        } catch (Exception e) {
-            logger.warn("Error analyzing class dependencies in file {}: {}", javaFile.getAbsolutePath(), e.getMessage());
+            dependencies.put(className, classDeps);
+            logger.debug("Found {} dependencies for class {}: {}", classDeps.size(), className, classDeps);
         }
 
         return dependencies;
@@ -133,103 +143,112 @@ public class JavaASTDependencyAnalyzer {
      * @return className -> (methodName -> Set<calledMethodNames>) map'i
      */
     public Map<String, Map<String, Set<String>>> analyzeMethodDependencies(File javaFile) {
-        Map<String, Map<String, Set<String>>> methodDependencies = new HashMap<>();
         logger.debug("Analyzing method dependencies in file: {}", javaFile.getAbsolutePath());
 
         try (FileInputStream in = new FileInputStream(javaFile)) {
-            CompilationUnit cu = StaticJavaParser.parse(in);
-
-            Optional<ClassOrInterfaceDeclaration> classDecl = cu.findFirst(ClassOrInterfaceDeclaration.class);
-            if (classDecl.isPresent()) {
-                String className = classDecl.get().getNameAsString();
-                Map<String, Set<String>> classMethodDeps = new HashMap<>();
-
-                // Her metodu analiz et
-                for (MethodDeclaration method : classDecl.get().getMethods()) {
-                    String methodName = method.getNameAsString();
-                    Set<String> deps = new HashSet<>();
-
-                    // Metot çağrılarını bul
-                    method.findAll(MethodCallExpr.class).forEach(expr -> {
-                        String calledMethod = expr.getNameAsString();
-                        deps.add(calledMethod);
-
-                        // Metot çağrısının scope'unu kontrol et
-                        expr.getScope().ifPresent(scope -> {
-                            if (scope instanceof NameExpr) {
-                                String scopeName = ((NameExpr) scope).getNameAsString();
-                                deps.add(scopeName + "." + calledMethod);
-                            } else if (scope instanceof FieldAccessExpr) {
-                                // obj.method() durumunda
-                                FieldAccessExpr fieldAccess = (FieldAccessExpr) scope;
-                                String fieldName = fieldAccess.getNameAsString();
-                                deps.add(fieldName + "." + calledMethod);
-                            }
-                        });
-                    });
+            return analyzeMethodDependencies(StaticJavaParser.parse(in));
+        } catch (Exception e) {
+            logger.warn("Error analyzing method dependencies in file {}: {}", javaFile.getAbsolutePath(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
 
-                    // If-else bloklarını analiz et
-                    method.findAll(IfStmt.class).forEach(ifStmt -> {
-                        // If koşulundaki metot çağrılarını bul
-                        ifStmt.getCondition().findAll(MethodCallExpr.class).forEach(expr -> {
-                            deps.add(expr.getNameAsString());
-                        });
+    /**
+     * Daha önce parse edilmiş bir derleme birimindeki metot bağımlılıklarını analiz eder.
+     *
+     * @param cu Parse edilmiş Java dosyası
+     * @return className -> (methodName -> Set<calledMethodNames>) map'i
+     */
+    public Map<String, Map<String, Set<String>>> analyzeMethodDependencies(CompilationUnit cu) {
+        Map<String, Map<String, Set<String>>> methodDependencies = new HashMap<>();
+        Optional<ClassOrInterfaceDeclaration> classDecl = cu.findFirst(ClassOrInterfaceDeclaration.class);
+        if (classDecl.isPresent()) {
+            String className = classDecl.get().getNameAsString();
+            Map<String, Set<String>> classMethodDeps = new HashMap<>();
+
+            // Her metodu analiz et
+            for (MethodDeclaration method : classDecl.get().getMethods()) {
+                String methodName = method.getNameAsString();
+                Set<String> deps = new HashSet<>();
+
+                // Metot çağrılarını bul
+                method.findAll(MethodCallExpr.class).forEach(expr -> {
+                    String calledMethod = expr.getNameAsString();
+                    deps.add(calledMethod);
+
+                    // Metot çağrısının scope'unu kontrol et
+                    expr.getScope().ifPresent(scope -> {
+                        if (scope instanceof NameExpr) {
+                            String scopeName = ((NameExpr) scope).getNameAsString();
+                            deps.add(scopeName + "." + calledMethod);
+                        } else if (scope instanceof FieldAccessExpr) {
+                            // obj.method() durumunda
+                            FieldAccessExpr fieldAccess = (FieldAccessExpr) scope;
+                            String fieldName = fieldAccess.getNameAsString();
+                            deps.add(fieldName + "." + calledMethod);
+                        }
+                    });
+                });
 
-                        // Then bloğundaki metot çağrılarını bul
-                        ifStmt.getThenStmt().findAll(MethodCallExpr.class).forEach(expr -> {
-                            deps.add(expr.getNameAsString());
-                        });
+                // If-else bloklarını analiz et
+                method.findAll(IfStmt.class).forEach(ifStmt -> {
+                    // If koşulundaki metot çağrılarını bul
+                    ifStmt.getCondition().findAll(MethodCallExpr.class).forEach(expr -> {
+                        deps.add(expr.getNameAsString());
+                    });
 
-                        // Else bloğundaki metot çağrılarını bul
-                        ifStmt.getElseStmt().ifPresent(elseStmt -> {
-                            elseStmt.findAll(MethodCallExpr.class).forEach(expr -> {
-                                deps.add(expr.getNameAsString());
-                            });
-                        });
+                    // Then bloğundaki metot çağrılarını bul
+                    ifStmt.getThenStmt().findAll(MethodCallExpr.class).forEach(expr -> {
+                        deps.add(expr.getNameAsString());
                     });
 
-                    // While döngülerini analiz et
-                    method.findAll(WhileStmt.class).forEach(whileStmt -> {
-                        whileStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
+                    // Else bloğundaki metot çağrılarını bul
+                    ifStmt.getElseStmt().ifPresent(elseStmt -> {
+                        elseStmt.findAll(MethodCallExpr.class).forEach(expr -> {
                             deps.add(expr.getNameAsString());
                         });
                     });
+                });
 
-                    // For döngülerini analiz et
-                    method.findAll(ForStmt.class).forEach(forStmt -> {
-                        forStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
-                            deps.add(expr.getNameAsString());
-                        });
+                // While döngülerini analiz et
+                method.findAll(WhileStmt.class).forEach(whileStmt -> {
+                    whileStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
+                        deps.add(expr.getNameAsString());
                     });
+                });
 
-                    // ForEach döngülerini analiz et
-                    method.findAll(ForEachStmt.class).forEach(forEachStmt -> {
-                        forEachStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
-                            deps.add(expr.getNameAsString());
-                        });
+                // For döngülerini analiz et
+                method.findAll(ForStmt.class).forEach(forStmt -> {
+                    forStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
+                        deps.add(expr.getNameAsString());
                     });
+                });
 
-                    // Switch ifadelerini analiz et
-                    method.findAll(SwitchStmt.class).forEach(switchStmt -> {
-                        switchStmt.getEntries().forEach(entry -> {
-                            entry.findAll(MethodCallExpr.class).forEach(expr -> {
-                                deps.add(expr.getNameAsString());
-                            });
+                // ForEach döngülerini analiz et
+                method.findAll(ForEachStmt.class).forEach(forEachStmt -> {
+                    forEachStmt.getBody().findAll(MethodCallExpr.class).forEach(expr -> {
+                        deps.add(expr.getNameAsString());
+                    });
+                });
+
+                // Switch ifadelerini analiz et
+                method.findAll(SwitchStmt.class).forEach(switchStmt -> {
+                    switchStmt.getEntries().forEach(entry -> {
+                        entry.findAll(MethodCallExpr.class).forEach(expr -> {
+                            deps.add(expr.getNameAsString());
                         });
                     });
+                });
 
-                    if (!deps.isEmpty()) {
-                        classMethodDeps.put(methodName, deps);
-                        logger.debug("Found {} method dependencies for {}.{}", deps.size(), className, methodName);
-                    }
+                if (!deps.isEmpty()) {
+                    classMethodDeps.put(methodName, deps);
+                    logger.debug("Found {} method dependencies for {}.{}", deps.size(), className, methodName);
                 }
+            }
 
-                if (!classMethodDeps.isEmpty()) {
-                    methodDependencies.put(className, classMethodDeps);
-                }
+            if (!classMethodDeps.isEmpty()) {
+                methodDependencies.put(className, classMethodDeps);
             }
-        } catch (Exception e) {
-            logger.warn("Error analyzing method dependencies in file {}: {}", javaFile.getAbsolutePath(), e.getMessage());
         }
 
         return methodDependencies;
@@ -0,0 +1,132 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.ParameterEstimate;
+
+import java.util.function.Consumer;
+
+/**
+ * Tek bir graf parametresinin hesaplanması sırasında bulunan en iyi değeri ve sınırları toplar.
+ *
+ * Parametre servisleri ilerledikçe ucuz sınırları, buldukları çözümleri ve exact sonucu buraya bildirir;
+ * sınırlar yalnızca daralır (alt sınır artar, üst sınır azalır). Maksimizasyon parametrelerinde bulunan
+ * çözüm alt sınırı, minimizasyon parametrelerinde üst sınırı iyileştirir. Her iyileşme listener'a
+ * ParameterEstimate olarak iletilir; süre bütçesi dolsa bile o ana kadarki sınırlar current() ile okunabilir.
+ * Servisler paralel görevlerden çağırabileceği için metotlar senkronizedir; finish()'ten sonra gelen
+ * bildirimler (ör. iptal edilmiş ama hâlâ çalışan görevden) yok sayılır.
+ *
+ * Future.cancel(true) yalnızca görevi çalıştıran thread'i keser; fork/join worker'larında ya da kesilmeyi
+ * kontrol etmeyen döngülerde çalışan algoritmalar bunu görmez. Bu yüzden zaman aşımında cancel() çağrılır ve
+ * servisler isCancelled'ı arama motorlarına (SeparatorSearch, SeparatorDP, çözücüler) iptal bayrağı olarak geçirir.
+ */
+public final class ParameterProgress {
+
+    private final String parameter;
+    private final boolean maximize;
+    private final Consumer<ParameterEstimate> listener;
+    private final long startedAt = System.nanoTime();
+
+    private double value = Double.NaN;
+    private double lowerBound = Double.NEGATIVE_INFINITY;
+    private double upperBound = Double.POSITIVE_INFINITY;
+    private String method = "BOUNDS";
+    private boolean finished = false;
+    private volatile boolean cancelled = false;
+
+    public ParameterProgress(String parameter, boolean maximize, Consumer<ParameterEstimate> listener) {
+        this.parameter = parameter;
+        this.maximize = maximize;
+        this.listener = listener;
+    }
+
+    /**
+     * Sonucu dinlenmeyen (geriye dönük uyumlu) çağrılar için
+     */
+    public static ParameterProgress none() {
+        return new ParameterProgress("none", false, estimate -> { });
+    }
+
+    /**
+     * İspatlanmış sınırları bildirir; mevcut aralıktan daha geniş olan taraf yok sayılır.
+     */
+    public synchronized void bounds(double lower, double upper) {
+        if (finished) return;
+        boolean changed = false;
+        if (lower > lowerBound) {
+            lowerBound = lower;
+            changed = true;
+        }
+        if (upper < upperBound) {
+            upperBound = upper;
+            changed = true;
+        }
+        if (changed) publish();
+    }
+
+    /**
+     * Gerçek bir çözümün değerini bildirir; yalnızca mevcut en iyiden iyiyse kaydedilir.
+     */
+    public synchronized void feasible(double candidate, String candidateMethod) {
+        if (finished) return;
+        if (!Double.isNaN(value) && (maximize ? candidate <= value : candidate >= value)) {
+            return;
+        }
+        value = candidate;
+        method = candidateMethod;
+        if (maximize) {
+            lowerBound = Math.max(lowerBound, candidate);
+        } else {
+            upperBound = Math.min(upperBound, candidate);
+        }
+        publish();
+    }
+
+    /**
+     * Kesin değeri bildirir; sınırlar değere eşitlenir. Yalnızca optimalliği ispatlanmış değerler için
+     * (tamamlanmış DP, max-flow, alt sınıra ulaşan branch-and-bound, kapalı form) çağrılmalıdır; sınırlı
+     * taramalar ve heuristic'ler feasible() kullanır.
+     */
+    public synchronized void exact(double exactValue, String exactMethod) {
+        if (finished) return;
+        value = exactValue;
+        method = exactMethod;
+        lowerBound = exactValue;
+        upperBound = exactValue;
+        publish();
+    }
+
+    /**
+     * Hesaplamanın bittiğini (ya da bırakıldığını) bildirir ve son tahmini döndürür.
+     */
+    public synchronized ParameterEstimate finish() {
+        if (!finished) {
+            finished = true;
+            publish();
+        }
+        return current();
+    }
+
+    /**
+     * Hesaplamanın bırakıldığını bildirir; çalışan arama döngüleri isCancelled ile durur.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Senkronize değildir; arama döngülerinin iç döngülerinden sık çağrılabilir.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized ParameterEstimate current() {
+        // Henüz çözüm yoksa en iyimser sınır gösterilir
+        double shown = !Double.isNaN(value) ? value : maximize ? upperBound : lowerBound;
+        return new ParameterEstimate(parameter, shown, lowerBound, upperBound, method,
+                (System.nanoTime() - startedAt) / 1_000_000L, finished);
+    }
+
+    private void publish() {
+        listener.accept(current());
+    }
+}
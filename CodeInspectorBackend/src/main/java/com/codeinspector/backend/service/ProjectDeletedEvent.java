@@ -0,0 +1,8 @@
+package com.codeinspector.backend.service;
+
+/**
+ * Proje silindi olarak işaretlendiğinde yayınlanır; dinleyiciler transaction commit edildikten sonra
+ * projeye ait bellek içi verileri bırakır.
+ */
+public record ProjectDeletedEvent(String slug) {
+}
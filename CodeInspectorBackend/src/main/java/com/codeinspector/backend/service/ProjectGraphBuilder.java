@@ -0,0 +1,349 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.CodeGraphResult.Edge;
+import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.FileSymbolSummary;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Java kaynaklarından sınıf/metot grafının yapısını (vertex ve edge'ler) üretir.
+ *
+ * İki aşamalıdır:
+ * 1. Özetleme: dosyalar bir kez listelenir, her dosya bir kez okunup bir kez parse edilerek paralel olarak
+ *    FileSymbolSummary'ye dönüştürülür. Özetler birbirinden bağımsızdır.
+ * 2. Birleştirme: tüm özetlerden sınıf indeksleri (full name kümesi, simple name -> full name) kurulur,
+ *    bağımlılıklar bu indekslerle çözümlenir. Vertex/edge tekrar kontrolleri hash kümeleriyle yapılır.
+ */
+@Service
+public class ProjectGraphBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectGraphBuilder.class);
+
+    // Basit regex'ler – production için tam parser yerine hafif bir analiz
+    private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w\\.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern CLASS_PATTERN = Pattern.compile("\\bclass\\s+(\\w+)");
+    private static final Pattern IMPORT_PATTERN = Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w\\.]+)(?:\\.[*])?\\s*;", Pattern.MULTILINE);
+    private static final Pattern METHOD_PATTERN = Pattern.compile(
+            "(public|protected|private|static|final|native|synchronized|abstract)\\s+[\\w<>\\[\\]]+\\s+(\\w+)\\s*\\("
+    );
+
+    // External library'ler (java.*, javax.*, org.springframework.* vb.) bağımlılık sayılmaz
+    private static final List<String> EXTERNAL_PREFIXES = List.of(
+            "java.", "javax.", "org.springframework.", "org.hibernate.", "com.sun.", "sun.");
+
+    private final JavaASTDependencyAnalyzer astAnalyzer;
+
+    public ProjectGraphBuilder(JavaASTDependencyAnalyzer astAnalyzer) {
+        this.astAnalyzer = astAnalyzer;
+    }
+
+    /**
+     * Kök dizindeki tüm Java dosyalarından graf yapısını üretir. Metrikler hesaplanmaz.
+     */
+    public CodeGraphResult build(Path root) throws IOException {
+        return assemble(summarizeTree(root));
+    }
+
+    /**
+     * Kök dizindeki Java dosyalarını bir kez listeler ve paralel olarak özetler.
+     * Sonuç dosya yoluna göre sıralıdır; okunamayan dosyalar atlanır.
+     */
+    public List<FileSymbolSummary> summarizeTree(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p))
+                    .sorted()
+                    .toList();
+        }
+
+        long start = System.currentTimeMillis();
+        List<FileSymbolSummary> summaries = files.parallelStream()
+                .map(file -> summarizeFile(root, file))
+                .filter(Objects::nonNull)
+                .toList();
+        logger.info("Summarized {} Java files in {} ms", summaries.size(), System.currentTimeMillis() - start);
+        return summaries;
+    }
+
+    private FileSymbolSummary summarizeFile(Path root, Path file) {
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            return summarize(root.relativize(file).toString().replace('\\', '/'), content);
+        } catch (IOException e) {
+            logger.warn("Failed to read Java file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tek bir dosyanın içeriğini özetler. Dosya yalnızca bir kez parse edilir;
+     * AST analizi başarısız olursa regex ile bulunan import ve metotlar yine kullanılır.
+     */
+    public FileSymbolSummary summarize(String path, String content) {
+        String pkg = extractPackage(content);
+
+        Matcher classMatcher = CLASS_PATTERN.matcher(content);
+        if (!classMatcher.find()) {
+            return new FileSymbolSummary(path, pkg, null, List.of(), List.of(), Set.of(), Map.of());
+        }
+        String simpleClassName = classMatcher.group(1);
+
+        Set<String> astDependencies = Set.of();
+        Map<String, Set<String>> methodCalls = Map.of();
+        try {
+            CompilationUnit cu = StaticJavaParser.parse(content);
+            astDependencies = astAnalyzer.analyzeClassDependencies(cu).getOrDefault(simpleClassName, Set.of());
+            methodCalls = astAnalyzer.analyzeMethodDependencies(cu).getOrDefault(simpleClassName, Map.of());
+        } catch (Exception e) {
+            logger.warn("AST analysis failed for file {}, falling back to regex: {}", path, e.getMessage());
+        }
+
+        List<String> imports = new ArrayList<>();
+        Matcher importMatcher = IMPORT_PATTERN.matcher(content);
+        while (importMatcher.find()) {
+            String imported = importMatcher.group(1);
+            if (!isExternal(imported)) {
+                imports.add(imported);
+            }
+        }
+
+        Set<String> methods = new LinkedHashSet<>();
+        Matcher methodMatcher = METHOD_PATTERN.matcher(content);
+        while (methodMatcher.find()) {
+            methods.add(methodMatcher.group(2));
+        }
+
+        return new FileSymbolSummary(path, pkg, simpleClassName, imports, new ArrayList<>(methods),
+                astDependencies, methodCalls);
+    }
+
+    /**
+     * Özetlerden vertex ve edge listelerini kurar.
+     */
+    public CodeGraphResult assemble(Collection<FileSymbolSummary> summaries) {
+        // Sınıf indeksleri: full name kümesi ve simple name -> full name'ler (sıralı, deterministik seçim için)
+        Set<String> projectClasses = new LinkedHashSet<>();
+        Map<String, SortedSet<String>> simpleNameToFullNames = new HashMap<>();
+        for (FileSymbolSummary summary : summaries) {
+            if (summary.hasClass()) {
+                projectClasses.add(summary.fullClassName());
+                simpleNameToFullNames.computeIfAbsent(summary.className(), k -> new TreeSet<>())
+                        .add(summary.fullClassName());
+            }
+        }
+        logger.info("Found {} classes in project", projectClasses.size());
+
+        Map<String, Set<String>> classToMethods = new LinkedHashMap<>();
+        Map<String, Set<String>> classDeps = new LinkedHashMap<>();
+        Map<String, Set<String>> methodCalls = new LinkedHashMap<>(); // className.methodName -> Set<targetMethodId>
+        for (FileSymbolSummary summary : summaries) {
+            if (summary.hasClass()) {
+                resolveFile(summary, projectClasses, simpleNameToFullNames, classToMethods, classDeps, methodCalls);
+            }
+        }
+
+        List<Vertex> vertices = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        Set<String> vertexIds = new HashSet<>();
+
+        // TÜM sınıfları vertex olarak ekle (sadece method'u olanlar değil)
+        // Çünkü bağımlılığı olan ama method'u olmayan sınıflar da edge'lerde kullanılıyor
+        for (String className : projectClasses) {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("totalMethods", classToMethods.getOrDefault(className, Collections.emptySet()).size());
+            metrics.put("totalDependencies", classDeps.getOrDefault(className, Collections.emptySet()).size());
+            vertices.add(new Vertex(className, className, "class", metrics));
+            vertexIds.add(className);
+        }
+
+        // Metot düğümleri ve Class -> Method kenarları
+        for (Map.Entry<String, Set<String>> entry : classToMethods.entrySet()) {
+            String className = entry.getKey();
+            for (String methodId : entry.getValue()) {
+                String methodName = methodId.substring(methodId.lastIndexOf('.') + 1);
+                vertices.add(new Vertex(methodId, methodName + "()", "method", Map.of("parentClass", className)));
+                vertexIds.add(methodId);
+                edges.add(new Edge(className, methodId, "has"));
+            }
+        }
+
+        // Sınıf bağımlılık kenarları - sadece projedeki sınıflar arasında
+        int dependsEdgeCount = 0;
+        Set<String> connectedClasses = new HashSet<>();
+        for (Map.Entry<String, Set<String>> entry : classDeps.entrySet()) {
+            String source = entry.getKey();
+            for (String target : entry.getValue()) {
+                if (source.equals(target) || !projectClasses.contains(target)) {
+                    continue;
+                }
+                edges.add(new Edge(source, target, "depends"));
+                dependsEdgeCount++;
+                connectedClasses.add(source);
+                connectedClasses.add(target);
+            }
+        }
+        logger.info("Created {} depends edges between classes", dependsEdgeCount);
+
+        // Metot-metot çağrı kenarları (calls)
+        int callsEdgeCount = 0;
+        for (Map.Entry<String, Set<String>> entry : methodCalls.entrySet()) {
+            String sourceMethodId = entry.getKey(); // className.methodName
+            if (!vertexIds.contains(sourceMethodId)) {
+                continue;
+            }
+            // Not: ilk segment yalnızca package'sız sınıflarda sınıf adıdır; package'lı sınıflarda çağrılar
+            // scope bilgisi olmadan aynı sınıfa bağlanmaz (aksi halde isim çakışmaları sahte edge üretir)
+            String sourceScope = sourceMethodId.substring(0, Math.max(0, sourceMethodId.indexOf('.')));
+            for (String calledMethod : entry.getValue()) {
+                if (vertexIds.contains(calledMethod)) {
+                    edges.add(new Edge(sourceMethodId, calledMethod, "calls"));
+                    callsEdgeCount++;
+                } else if (!sourceScope.isEmpty()) {
+                    // Eğer calledMethod sadece method name ise (scope yok), className.methodName formatında dene
+                    String potentialMethodId = sourceScope + "." + calledMethod;
+                    if (vertexIds.contains(potentialMethodId)) {
+                        edges.add(new Edge(sourceMethodId, potentialMethodId, "calls"));
+                        callsEdgeCount++;
+                    }
+                }
+            }
+        }
+        logger.info("Created {} calls edges between methods", callsEdgeCount);
+
+        connectToHub(projectClasses, connectedClasses, dependsEdgeCount, vertices, edges);
+
+        logger.info("Graph structure built: {} vertices, {} edges", vertices.size(), edges.size());
+        CodeGraphResult result = new CodeGraphResult();
+        result.setVertices(vertices);
+        result.setEdges(edges);
+        return result;
+    }
+
+    private void resolveFile(
+            FileSymbolSummary summary,
+            Set<String> projectClasses,
+            Map<String, SortedSet<String>> simpleNameToFullNames,
+            Map<String, Set<String>> classToMethods,
+            Map<String, Set<String>> classDeps,
+            Map<String, Set<String>> methodCalls) {
+        String fullClassName = summary.fullClassName();
+        String pkg = summary.packageName();
+        Set<String> deps = classDeps.computeIfAbsent(fullClassName, k -> new LinkedHashSet<>());
+        Set<String> methods = classToMethods.computeIfAbsent(fullClassName, k -> new LinkedHashSet<>());
+
+        // AST'den gelen bağımlılıklar (full name, yoksa simple name eşleştirmesi)
+        for (String depName : summary.astDependencies()) {
+            if (projectClasses.contains(depName)) {
+                deps.add(depName);
+            } else {
+                String depSimpleName = depName.substring(depName.lastIndexOf('.') + 1);
+                String matched = matchSimpleName(depSimpleName, pkg, simpleNameToFullNames);
+                if (matched != null && !matched.equals(fullClassName)) {
+                    deps.add(matched);
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> call : summary.methodCalls().entrySet()) {
+            methodCalls.computeIfAbsent(fullClassName + "." + call.getKey(), k -> new LinkedHashSet<>())
+                    .addAll(call.getValue());
+        }
+
+        // imports -> class dependencies
+        for (String imported : summary.imports()) {
+            if (projectClasses.contains(imported)) {
+                deps.add(imported);
+            } else {
+                String matched = matchSimpleName(imported.substring(imported.lastIndexOf('.') + 1), pkg,
+                        simpleNameToFullNames);
+                if (matched != null) {
+                    deps.add(matched);
+                }
+            }
+        }
+
+        for (String methodName : summary.methods()) {
+            methods.add(fullClassName + "." + methodName);
+        }
+    }
+
+    /**
+     * Simple name'i projedeki bir sınıfa eşler: tek eşleşme varsa o, birden fazlaysa aynı package'daki,
+     * o da yoksa ilk eşleşme.
+     */
+    private String matchSimpleName(String simpleName, String pkg, Map<String, SortedSet<String>> simpleNameToFullNames) {
+        SortedSet<String> candidates = simpleNameToFullNames.get(simpleName);
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() > 1) {
+            String prefix = pkg != null ? pkg + "." : "";
+            for (String candidate : candidates) {
+                if (candidate.startsWith(prefix)) {
+                    return candidate;
+                }
+            }
+        }
+        return candidates.first();
+    }
+
+    /**
+     * Hiç bağımlılık yoksa tüm sınıfları, azsa bağlantısız sınıfları merkezi bir node'a bağlar.
+     * Bu, görselleştirmede en azından sınıfların görünmesini sağlar.
+     */
+    private void connectToHub(Set<String> projectClasses, Set<String> connectedClasses, int dependsEdgeCount,
+                              List<Vertex> vertices, List<Edge> edges) {
+        int totalClassCount = projectClasses.size();
+        if (dependsEdgeCount == 0 && totalClassCount > 1) {
+            logger.warn("No class dependencies found! Creating a central hub node to connect all classes.");
+            vertices.add(new Vertex(CodeGraphResult.HUB_NODE_ID, "Project Root", "class",
+                    Map.of("isHub", true, "connectedClasses", totalClassCount)));
+            for (String className : projectClasses) {
+                edges.add(new Edge(className, CodeGraphResult.HUB_NODE_ID, "depends"));
+            }
+            logger.info("Created {} hub edges connecting classes to root", totalClassCount);
+        } else if (dependsEdgeCount < totalClassCount / 2 && totalClassCount > 3) {
+            logger.info("Some classes are not connected. Connecting isolated classes to a hub.");
+            vertices.add(new Vertex(CodeGraphResult.HUB_NODE_ID, "Project Root", "class", Map.of("isHub", true)));
+            int isolatedCount = 0;
+            for (String className : projectClasses) {
+                if (!connectedClasses.contains(className)) {
+                    edges.add(new Edge(className, CodeGraphResult.HUB_NODE_ID, "depends"));
+                    isolatedCount++;
+                }
+            }
+            logger.info("Connected {} isolated classes to hub", isolatedCount);
+        }
+    }
+
+    private static String extractPackage(String content) {
+        Matcher pkgMatcher = PACKAGE_PATTERN.matcher(content);
+        if (pkgMatcher.find()) {
+            return pkgMatcher.group(1);
+        }
+        return null;
+    }
+
+    private static boolean isExternal(String name) {
+        for (String prefix : EXTERNAL_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,31 +4,61 @@ import com.codeinspector.backend.graph.CodeGraphResult;
 import com.codeinspector.backend.graph.CodeGraphResult.Edge;
 import com.codeinspector.backend.graph.CodeGraphResult.GraphMetrics;
 import com.codeinspector.backend.graph.CodeGraphResult.Vertex;
+import com.codeinspector.backend.graph.CentralityResult;
+import com.codeinspector.backend.graph.GraphLayoutResult;
+import com.codeinspector.backend.graph.ParameterEstimate;
 import com.codeinspector.backend.model.Project;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Proje klasöründeki Java dosyalarından basit bir sınıf/metot grafı üreten servis.
- * Bu servis sadece okuma yapar; JGit vb. bağımlılıklara ihtiyaç duymaz.
+ * Graf yapısı ProjectGraphBuilder ile kurulur; bu servis metrikleri hesaplar ve sonuçları önbelleğe alır.
  */
 @Service
 public class ProjectGraphService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectGraphService.class);
+
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_TIMED_OUT = "TIMED_OUT";
+    private static final String STATUS_FAILED = "FAILED";
+    // Parametre -> süre bütçesi (ms). Domination ve 2-vertex cover kendi içinde 2 sn'lik arama bütçesi kullanır.
+    private static final Map<String, Long> PARAMETER_TIME_BUDGET_MS = Map.of(
+            "connectivity", 20_000L,
+            "scattering", 30_000L,
+            "rupture", 30_000L,
+            "integrity", 30_000L,
+            "toughness", 30_000L,
+            "domination", 15_000L,
+            "twoVertexCover", 15_000L);
+    // En büyük değeri aranan parametreler (bulunan çözüm alt sınırdır); diğerlerinde en küçük değer aranır
+    private static final Set<String> MAXIMIZED_PARAMETERS = Set.of("scattering", "rupture");
+    private static final long QUEUE_POLL_NANOS = 50_000_000L;
+    // Kuyrukta beklemeye izin verilen süre (ms); görev bu sürede başlamazsa bütçesi dolmuş sayılır
+    private static final long QUEUE_TIME_BUDGET_MS = 60_000L;
+    // Centrality parametrelerle aynı anda başlar; gönderildikten bu kadar sonra bitmemişse sonuçsuz devam edilir
+    private static final long CENTRALITY_TIME_BUDGET_MS = 60_000L;
     
-    private final JavaASTDependencyAnalyzer astAnalyzer;
+    private final ProjectGraphBuilder graphBuilder;
+    private final IncrementalGraphService incrementalGraphService;
     private final GraphConnectivityService connectivityService;
     private final GraphScatteringService scatteringService;
     private final GraphRuptureService ruptureService;
@@ -36,16 +66,30 @@ public class ProjectGraphService {
     private final GraphToughnessService toughnessService;
     private final GraphDominationService dominationService;
     private final GraphTwoVertexCoverService twoVertexCoverService;
-
-    public ProjectGraphService(JavaASTDependencyAnalyzer astAnalyzer, 
+    private final GraphCentralityService centralityService;
+    private final GitService gitService;
+    private final GraphResultCacheService resultCache;
+    private final GraphLayoutService layoutService;
+    private final ExecutorService graphAnalysisExecutor;
+    private final ExecutorService graphStreamExecutor;
+
+    public ProjectGraphService(ProjectGraphBuilder graphBuilder,
+                              IncrementalGraphService incrementalGraphService,
                               GraphConnectivityService connectivityService,
                               GraphScatteringService scatteringService,
                               GraphRuptureService ruptureService,
                               GraphIntegrityService integrityService,
                               GraphToughnessService toughnessService,
                               GraphDominationService dominationService,
-                              GraphTwoVertexCoverService twoVertexCoverService) {
-        this.astAnalyzer = astAnalyzer;
+                              GraphTwoVertexCoverService twoVertexCoverService,
+                              GraphCentralityService centralityService,
+                              GitService gitService,
+                              GraphResultCacheService resultCache,
+                              GraphLayoutService layoutService,
+                              @Qualifier("graphAnalysisExecutor") ExecutorService graphAnalysisExecutor,
+                              @Qualifier("graphStreamExecutor") ExecutorService graphStreamExecutor) {
+        this.graphBuilder = graphBuilder;
+        this.incrementalGraphService = incrementalGraphService;
         this.connectivityService = connectivityService;
         this.scatteringService = scatteringService;
         this.ruptureService = ruptureService;
@@ -53,472 +97,183 @@ public class ProjectGraphService {
         this.toughnessService = toughnessService;
         this.dominationService = dominationService;
         this.twoVertexCoverService = twoVertexCoverService;
+        this.centralityService = centralityService;
+        this.gitService = gitService;
+        this.resultCache = resultCache;
+        this.layoutService = layoutService;
+        this.graphAnalysisExecutor = graphAnalysisExecutor;
+        this.graphStreamExecutor = graphStreamExecutor;
     }
 
-    // Basit regex'ler – production için tam parser yerine hafif bir analiz
-    private static final Pattern PACKAGE_PATTERN = Pattern.compile("^\\s*package\\s+([\\w\\.]+)\\s*;", Pattern.MULTILINE);
-    private static final Pattern CLASS_PATTERN = Pattern.compile("\\bclass\\s+(\\w+)");
-    private static final Pattern IMPORT_PATTERN = Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w\\.]+)(?:\\.[*])?\\s*;", Pattern.MULTILINE);
-    private static final Pattern METHOD_PATTERN = Pattern.compile(
-            "(public|protected|private|static|final|native|synchronized|abstract)\\s+[\\w<>\\[\\]]+\\s+(\\w+)\\s*\\("
-    );
-
     /**
      * Verilen proje için disk üzerindeki kaynak koddan graf oluşturur.
+     * Çalışma dizini temiz bir commit'teyse sonuç commit'e göre önbelleğe alınır
+     * (versiyon varsa veritabanına da yazılır); aynı commit için tekrar hesaplanmaz.
      */
     public CodeGraphResult analyzeProject(Project project) throws IOException {
-        String storagePath = project.getStoragePath();
-        if (storagePath == null || storagePath.isBlank()) {
-            throw new IOException("Project storage path is not set for project: " + project.getSlug());
+        Path root = resolveRoot(project);
+
+        // Commitlenmemiş değişiklik varsa null döner; bu durumda önbellek kullanılmaz
+        String headCommit = gitService.resolveCleanHead(root.toString());
+        if (headCommit != null) {
+            CodeGraphResult cached = resultCache.findByCommit(project, headCommit);
+            if (cached != null) {
+                logger.info("Serving cached code graph for project {} at commit {}", project.getSlug(), headCommit);
+                if (cached.getLayout() == null) {
+                    // Yorum: yerleşimden önce saklanmış sonuçlar; koordinatlar bir kez hesaplanıp tekrar yazılır
+                    cached.setLayout(layoutService.layout(cached.getVertices(), cached.getEdges()));
+                    resultCache.storeForCommit(project, headCommit, cached);
+                }
+                return cached;
+            }
         }
 
-        Path root = Paths.get(storagePath);
-        if (!Files.exists(root)) {
-            throw new IOException("Project storage path does not exist: " + root.toAbsolutePath());
+        CodeGraphResult result = buildStructure(project, root, headCommit);
+        // Yorum: yerleşim yalnızca yapıya bağlı; metriklerle aynı anda ayrı thread'de hesaplanır
+        CompletableFuture<GraphLayoutResult> layout = CompletableFuture.supplyAsync(
+                () -> layoutService.layout(result.getVertices(), result.getEdges()), graphStreamExecutor);
+        result.setMetrics(calculateMetrics(result.getVertices(), result.getEdges()));
+        result.setLayout(layout.join());
+        attachCentrality(result);
+        if (headCommit != null && isComplete(result.getMetrics())) {
+            resultCache.storeForCommit(project, headCommit, result);
         }
+        return result;
+    }
 
-        logger.info("Building code graph for project {} at {}", project.getSlug(), root.toAbsolutePath());
-
-        Map<String, Set<String>> classToMethods = new HashMap<>();
-        Map<String, Set<String>> classDeps = new HashMap<>();
-        Map<String, Set<String>> methodCalls = new HashMap<>(); // className.methodName -> Set<targetMethodId>
-        
-        // Projedeki tüm sınıfların full name'lerini tut (sınıflar arası bağlantılar için)
-        Set<String> projectClasses = new HashSet<>();
-        // Simple name -> full name mapping (aynı simple name'e sahip birden fazla sınıf olabilir)
-        Map<String, Set<String>> simpleNameToFullNames = new HashMap<>();
-
-        // İlk geçiş: Tüm sınıfları bul ve map'le
-        Files.walk(root)
-                .filter(p -> p.toString().endsWith(".java"))
-                .limit(2000)
-                .forEach(path -> {
-                    try {
-                        String content = Files.readString(path, StandardCharsets.UTF_8);
-                        String pkg = extractPackage(content);
-                        Matcher classMatcher = CLASS_PATTERN.matcher(content);
-                        if (classMatcher.find()) {
-                            String simpleClassName = classMatcher.group(1);
-                            String fullClassName = (pkg != null ? pkg + "." : "") + simpleClassName;
-                            
-                            projectClasses.add(fullClassName);
-                            simpleNameToFullNames.computeIfAbsent(simpleClassName, k -> new HashSet<>()).add(fullClassName);
-                        }
-                    } catch (IOException e) {
-                        logger.warn("Failed to read Java file {}: {}", path, e.getMessage());
-                    }
-                });
-
-        logger.info("Found {} classes in project", projectClasses.size());
-        logger.debug("Project classes: {}", projectClasses);
-
-        // İkinci geçiş: Sınıfları, metotları ve bağımlılıkları parse et
-        Files.walk(root)
-                .filter(p -> p.toString().endsWith(".java"))
-                .limit(2000) // çok büyük projeler için güvenlik sınırı
-                .forEach(path -> {
-                    try {
-                        parseJavaFile(path, classToMethods, classDeps, methodCalls, projectClasses, simpleNameToFullNames);
-                    } catch (IOException e) {
-                        logger.warn("Failed to parse Java file {}: {}", path, e.getMessage());
-                    }
-                });
-
-        // Vertex ve edge listelerini oluştur
-        List<Vertex> vertices = new ArrayList<>();
-        List<Edge> edges = new ArrayList<>();
-
-        // TÜM sınıfları vertex olarak ekle (sadece method'u olanlar değil)
-        // Çünkü bağımlılığı olan ama method'u olmayan sınıflar da edge'lerde kullanılıyor
-        Set<String> allClasses = new HashSet<>(projectClasses);
-        allClasses.addAll(classToMethods.keySet());
-        allClasses.addAll(classDeps.keySet());
-        
-        for (String className : allClasses) {
-            // Eğer bu sınıf zaten eklenmişse atla (duplicate kontrolü)
-            boolean alreadyAdded = vertices.stream().anyMatch(v -> className.equals(v.getId()));
-            if (alreadyAdded) {
-                continue;
-            }
-            
-            Map<String, Object> metrics = new HashMap<>();
-            metrics.put("totalMethods", classToMethods.getOrDefault(className, Collections.emptySet()).size());
-            metrics.put("totalDependencies", classDeps.getOrDefault(className, Collections.emptySet()).size());
-
-            vertices.add(new Vertex(
-                    className,
-                    className,
-                    "class",
-                    metrics
-            ));
+    /**
+     * Centrality listelerindeki node'ların Vertex.metrics'ine betweenness, closeness ve sıralarını ekler.
+     * Vertex nesneleri snapshot'la paylaşıldığı için değişen node'lar kopyalanır.
+     */
+    private static void attachCentrality(CodeGraphResult result) {
+        CentralityResult centrality = result.getMetrics() != null ? result.getMetrics().getCentrality() : null;
+        if (centrality == null) {
+            return;
         }
-        
-        logger.info("Created {} class vertices (from {} total project classes)", vertices.size(), projectClasses.size());
-
-        // Metot düğümleri ve Class -> Method kenarları
-        for (Map.Entry<String, Set<String>> entry : classToMethods.entrySet()) {
-            String className = entry.getKey();
-            for (String methodId : entry.getValue()) {
-                String methodName = methodId.substring(methodId.lastIndexOf('.') + 1);
-                vertices.add(new Vertex(
-                        methodId,
-                        methodName + "()",
-                        "method",
-                        Map.of("parentClass", className)
-                ));
-                edges.add(new Edge(className, methodId, "has"));
-            }
+        Map<String, Map<String, Object>> additions = new HashMap<>();
+        for (CentralityResult.Score score : centrality.topBetweenness()) {
+            Map<String, Object> values = additions.computeIfAbsent(score.id(), id -> new HashMap<>());
+            values.put("betweenness", score.betweenness());
+            values.put("closeness", score.closeness());
+            values.put("betweennessRank", score.rank());
         }
-
-        // Sınıf bağımlılık kenarları - sadece projedeki sınıflar arasında
-        int dependsEdgeCount = 0;
-        Set<String> connectedClasses = new HashSet<>();
-        Set<String> vertexIds = new HashSet<>();
-        for (Vertex v : vertices) {
-            vertexIds.add(v.getId());
+        for (CentralityResult.Score score : centrality.topCloseness()) {
+            Map<String, Object> values = additions.computeIfAbsent(score.id(), id -> new HashMap<>());
+            values.put("betweenness", score.betweenness());
+            values.put("closeness", score.closeness());
+            values.put("closenessRank", score.rank());
         }
-        
-        for (Map.Entry<String, Set<String>> entry : classDeps.entrySet()) {
-            String source = entry.getKey();
-            Set<String> deps = entry.getValue();
-            logger.info("Class {} has {} dependencies in classDeps: {}", source, deps.size(), deps);
-            
-            // Source'un vertex olarak eklenmiş olduğundan emin ol
-            if (!vertexIds.contains(source)) {
-                logger.warn("Source class {} not found in vertices! This should not happen.", source);
+
+        List<Vertex> vertices = new ArrayList<>(result.getVertices().size());
+        for (Vertex vertex : result.getVertices()) {
+            Map<String, Object> values = additions.get(vertex.getId());
+            if (values == null) {
+                vertices.add(vertex);
                 continue;
             }
-            
-            for (String target : deps) {
-                if (source.equals(target)) {
-                    logger.debug("Skipped self-reference: {} -> {}", source, target);
-                    continue;
-                }
-                
-                if (projectClasses.contains(target)) {
-                    // Target'ın da vertex olarak eklenmiş olduğundan emin ol
-                    if (!vertexIds.contains(target)) {
-                        logger.warn("Target class {} not found in vertices! Skipping edge {} -> {}", target, source, target);
-                        continue;
-                    }
-                    
-                    // Sadece projedeki sınıflar arasında bağlantı kur
-                    edges.add(new Edge(source, target, "depends"));
-                    dependsEdgeCount++;
-                    connectedClasses.add(source);
-                    connectedClasses.add(target);
-                    logger.info("✅ Created depends edge: {} -> {}", source, target);
-                } else {
-                    logger.debug("Skipped edge {} -> {} (target '{}' not in projectClasses)", source, target, target);
-                }
-            }
+            Map<String, Object> metrics = vertex.getMetrics() != null ? new HashMap<>(vertex.getMetrics()) : new HashMap<>();
+            metrics.putAll(values);
+            vertices.add(new Vertex(vertex.getId(), vertex.getLabel(), vertex.getType(), metrics));
         }
-        logger.info("Created {} depends edges between classes", dependsEdgeCount);
-        
-        // Metot-metot çağrı kenarları (calls)
-        int callsEdgeCount = 0;
-        for (Map.Entry<String, Set<String>> entry : methodCalls.entrySet()) {
-            String sourceMethodId = entry.getKey(); // className.methodName
-            Set<String> calledMethods = entry.getValue();
-            
-            // Source method'un vertex olarak eklenmiş olduğundan emin ol
-            if (!vertexIds.contains(sourceMethodId)) {
-                logger.debug("Source method {} not found in vertices, skipping calls edges", sourceMethodId);
-                continue;
-            }
-            
-            for (String calledMethod : calledMethods) {
-                // Called method'un vertex olarak eklenmiş olduğundan emin ol
-                if (vertexIds.contains(calledMethod)) {
-                    edges.add(new Edge(sourceMethodId, calledMethod, "calls"));
-                    callsEdgeCount++;
-                    logger.debug("Created calls edge: {} -> {}", sourceMethodId, calledMethod);
-                } else {
-                    // Eğer calledMethod sadece method name ise (scope yok), className.methodName formatında dene
-                    String[] sourceParts = sourceMethodId.split("\\.");
-                    if (sourceParts.length >= 2) {
-                        String sourceClassName = sourceParts[0];
-                        String potentialMethodId = sourceClassName + "." + calledMethod;
-                        if (vertexIds.contains(potentialMethodId)) {
-                            edges.add(new Edge(sourceMethodId, potentialMethodId, "calls"));
-                            callsEdgeCount++;
-                            logger.debug("Created calls edge (resolved): {} -> {}", sourceMethodId, potentialMethodId);
-                        }
-                    }
-                }
+        result.setVertices(vertices);
+    }
+
+    /**
+     * Graf parametrelerini anytime modda hesaplar. Her parametrenin ispatlanmış sınırları ve bulunan en iyi değeri
+     * iyileştikçe listener'a iletilir: önce derece ve block yapısından gelen ucuz sınırlar ve heuristic'ler,
+     * ardından exact sonuçlar. Önbellekteki parametreler doğrudan son tahminleriyle iletilir.
+     * Listener birden fazla thread'den çağrılabilir.
+     *
+     * @return Tüm parametreler bittiğinde (ya da bütçeleri dolduğunda) tamamlanan metrikler
+     */
+    public CompletableFuture<GraphMetrics> streamParameters(Project project, Consumer<ParameterEstimate> listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                CodeGraphResult structure = buildStructure(project);
+                return calculateMetrics(structure.getVertices(), structure.getEdges(), listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }, graphStreamExecutor);
+    }
+
+    /**
+     * Grafın yalnızca yapısını (vertex ve edge'ler) üretir; graf parametreleri hesaplanmaz.
+     * Package görünümü gibi ucuz analizler için kullanılır.
+     */
+    public CodeGraphResult buildStructure(Project project) throws IOException {
+        Path root = resolveRoot(project);
+        return buildStructure(project, root, gitService.resolveCleanHead(root.toString()));
+    }
+
+    private Path resolveRoot(Project project) throws IOException {
+        String storagePath = project.getStoragePath();
+        if (storagePath == null || storagePath.isBlank()) {
+            throw new IOException("Project storage path is not set for project: " + project.getSlug());
         }
-        logger.info("Created {} calls edges between methods", callsEdgeCount);
-        logger.info("Total edges created: {} ({} depends, {} has, {} calls)", 
-                edges.size(), dependsEdgeCount, edges.size() - dependsEdgeCount - callsEdgeCount, callsEdgeCount);
-        
-        // Debug: classDeps özeti
-        int totalDeps = classDeps.values().stream().mapToInt(Set::size).sum();
-        logger.info("Total dependencies found in classDeps: {} (before filtering)", totalDeps);
-        
-        // Eğer hiç bağımlılık yoksa veya çok azsa, tüm sınıfları bir merkezi node'a bağla
-        // Bu, görselleştirmede en azından sınıfların görünmesini sağlar
-        int totalClassCount = projectClasses.size();
-        if (dependsEdgeCount == 0 && totalClassCount > 1) {
-            logger.warn("No class dependencies found! Creating a central hub node to connect all classes.");
-            
-            // Merkezi hub node oluştur
-            String hubNodeId = "__ROOT__";
-            String hubNodeLabel = "Project Root";
-            vertices.add(new Vertex(
-                    hubNodeId,
-                    hubNodeLabel,
-                    "class",
-                    Map.of("isHub", true, "connectedClasses", totalClassCount)
-            ));
-            
-            // TÜM sınıfları hub'a bağla (sadece method'u olanlar değil)
-            // Hub node eklendi, vertexIds'i güncelle
-            vertexIds.add(hubNodeId);
-            
-            int hubEdgesCreated = 0;
-            for (String className : projectClasses) {
-                // Sınıfın vertex olarak eklenmiş olduğundan emin ol
-                if (!vertexIds.contains(className)) {
-                    logger.warn("Class {} not found in vertices when creating hub edge! Skipping.", className);
-                    continue;
-                }
-                edges.add(new Edge(className, hubNodeId, "depends"));
-                dependsEdgeCount++;
-                hubEdgesCreated++;
-            }
-            logger.info("Created {} hub edges connecting {} classes to root", hubEdgesCreated, totalClassCount);
-        } else if (dependsEdgeCount < totalClassCount / 2 && totalClassCount > 3) {
-            // Eğer bağlı sınıf sayısı toplam sınıf sayısının yarısından azsa, 
-            // bağlı olmayan sınıfları hub'a bağla
-            logger.info("Some classes are not connected. Connecting isolated classes to a hub.");
-            
-            String hubNodeId = "__ROOT__";
-            boolean hubExists = vertices.stream().anyMatch(v -> hubNodeId.equals(v.getId()));
-            
-            if (!hubExists) {
-                vertices.add(new Vertex(
-                        hubNodeId,
-                        "Project Root",
-                        "class",
-                        Map.of("isHub", true)
-                ));
-            }
-            
-            // Hub node eklendi, vertexIds'i güncelle
-            vertexIds.add(hubNodeId);
-            
-            int isolatedCount = 0;
-            // TÜM sınıfları kontrol et, sadece method'u olanlar değil
-            for (String className : projectClasses) {
-                if (!connectedClasses.contains(className)) {
-                    // Sınıfın vertex olarak eklenmiş olduğundan emin ol
-                    if (!vertexIds.contains(className)) {
-                        logger.warn("Isolated class {} not found in vertices! Skipping hub edge.", className);
-                        continue;
-                    }
-                    edges.add(new Edge(className, hubNodeId, "depends"));
-                    isolatedCount++;
-                }
-            }
-            logger.info("Connected {} isolated classes to hub", isolatedCount);
+
+        Path root = Paths.get(storagePath);
+        if (!Files.exists(root)) {
+            throw new IOException("Project storage path does not exist: " + root.toAbsolutePath());
         }
+        return root;
+    }
 
-        GraphMetrics metrics = calculateMetrics(vertices, edges);
+    /**
+     * Temiz bir commit'te graf önceki snapshot'tan artımlı olarak güncellenir (yalnızca değişen blob'lar parse edilir);
+     * commitlenmemiş değişiklik varsa working tree baştan taranır.
+     */
+    private CodeGraphResult buildStructure(Project project, Path root, String headCommit) throws IOException {
+        logger.info("Building code graph for project {} at {}", project.getSlug(), root.toAbsolutePath());
 
-        CodeGraphResult result = new CodeGraphResult();
-        result.setVertices(vertices);
-        result.setEdges(edges);
-        result.setMetrics(metrics);
-        return result;
+        return headCommit != null
+                ? incrementalGraphService.buildForCommit(project, headCommit)
+                : graphBuilder.build(root);
     }
 
-    private String extractPackage(String content) {
-        Matcher pkgMatcher = PACKAGE_PATTERN.matcher(content);
-        if (pkgMatcher.find()) {
-            return pkgMatcher.group(1);
+    /**
+     * Centrality'yi çağıranın verdiği hata sınırı ve N ile hesaplar (varsayılanlar için null).
+     *
+     * @throws IllegalArgumentException epsilon negatifse ya da N pozitif değilse
+     */
+    public CentralityResult analyzeCentrality(Project project, Double epsilon, Integer topN) throws IOException {
+        if ((epsilon != null && (epsilon < 0 || epsilon.isNaN())) || (topN != null && topN <= 0)) {
+            throw new IllegalArgumentException("epsilon must be >= 0 and top must be > 0");
         }
-        return null;
+        CodeGraphResult structure = buildStructure(project);
+        GraphAnalysisHelper.GraphData graphData =
+                GraphAnalysisHelper.prepareGraphData(structure.getVertices(), structure.getEdges());
+        return centralityService.calculateCentrality(graphData, epsilon, topN);
     }
 
-    private void parseJavaFile(
-            Path file,
-            Map<String, Set<String>> classToMethods,
-            Map<String, Set<String>> classDeps,
-            Map<String, Set<String>> methodCalls,
-            Set<String> projectClasses,
-            Map<String, Set<String>> simpleNameToFullNames
-    ) throws IOException {
-        String content = Files.readString(file, StandardCharsets.UTF_8);
-
-        // package
-        String pkg = extractPackage(content);
-
-        // class name
-        Matcher classMatcher = CLASS_PATTERN.matcher(content);
-        if (!classMatcher.find()) {
-            return;
-        }
-        String simpleClassName = classMatcher.group(1);
-        String fullClassName = (pkg != null ? pkg + "." : "") + simpleClassName;
+    /**
+     * Verilen vertex/edge kümesinin metriklerini hesaplar (önbellek dahil).
+     * Topluluk grafı ve tek topluluğun alt grafı gibi türetilmiş graflar için kullanılır.
+     */
+    public GraphMetrics calculateMetrics(List<Vertex> vertices, List<Edge> edges) {
+        return calculateMetrics(vertices, edges, estimate -> { });
+    }
 
-        classToMethods.computeIfAbsent(fullClassName, k -> new HashSet<>());
-        classDeps.computeIfAbsent(fullClassName, k -> new HashSet<>());
-        
-        // AST analizi ile detaylı bağımlılık tespiti (fallback: regex analizi)
-        try {
-            File javaFile = file.toFile();
-            
-            // AST ile sınıf bağımlılıklarını analiz et
-            Map<String, Set<String>> astClassDeps = astAnalyzer.analyzeClassDependencies(javaFile);
-            if (astClassDeps.containsKey(simpleClassName)) {
-                Set<String> astDeps = astClassDeps.get(simpleClassName);
-                logger.debug("AST found {} potential dependencies for {}: {}", astDeps.size(), fullClassName, astDeps);
-                
-                int addedCount = 0;
-                // AST'den gelen bağımlılıkları ekle (full name matching ile)
-                for (String depName : astDeps) {
-                    boolean added = false;
-                    
-                    // Önce full qualified name ile kontrol et
-                    if (projectClasses.contains(depName)) {
-                        classDeps.get(fullClassName).add(depName);
-                        added = true;
-                        addedCount++;
-                        logger.debug("Added dependency (full match): {} -> {}", fullClassName, depName);
-                    } else {
-                        // Simple name ile eşleştir (depName simple name olabilir)
-                        String depSimpleName = depName.contains(".") ? 
-                            depName.substring(depName.lastIndexOf('.') + 1) : depName;
-                        
-                        Set<String> matchingFullNames = simpleNameToFullNames.get(depSimpleName);
-                        if (matchingFullNames != null && !matchingFullNames.isEmpty()) {
-                            String matchedFullName = null;
-                            if (matchingFullNames.size() == 1) {
-                                // Tek eşleşme varsa direkt kullan
-                                matchedFullName = matchingFullNames.iterator().next();
-                            } else {
-                                // Birden fazla eşleşme varsa, aynı package içindeki varsa onu kullan
-                                boolean found = false;
-                                for (String candidateFullName : matchingFullNames) {
-                                    if (candidateFullName.startsWith(pkg != null ? pkg + "." : "")) {
-                                        matchedFullName = candidateFullName;
-                                        found = true;
-                                        break;
-                                    }
-                                }
-                                if (!found) {
-                                    matchedFullName = matchingFullNames.iterator().next();
-                                }
-                            }
-                            
-                            if (matchedFullName != null && !matchedFullName.equals(fullClassName)) {
-                                classDeps.get(fullClassName).add(matchedFullName);
-                                added = true;
-                                addedCount++;
-                                logger.debug("Added dependency (simple match): {} -> {} (from {})", 
-                                        fullClassName, matchedFullName, depSimpleName);
-                            }
-                        }
-                    }
-                    
-                    if (!added) {
-                        logger.debug("Could not match dependency: {} for class {}", depName, fullClassName);
-                    }
-                }
-                logger.info("AST analysis added {} class dependencies for {} (from {} potential)", 
-                        addedCount, fullClassName, astDeps.size());
-            } else {
-                logger.debug("AST analysis found no dependencies for class {}", simpleClassName);
-            }
-            
-            // AST ile metot bağımlılıklarını analiz et
-            Map<String, Map<String, Set<String>>> astMethodDeps = astAnalyzer.analyzeMethodDependencies(javaFile);
-            if (astMethodDeps.containsKey(simpleClassName)) {
-                Map<String, Set<String>> classMethodDeps = astMethodDeps.get(simpleClassName);
-                for (Map.Entry<String, Set<String>> methodEntry : classMethodDeps.entrySet()) {
-                    String methodName = methodEntry.getKey();
-                    String methodId = fullClassName + "." + methodName;
-                    Set<String> calledMethods = methodEntry.getValue();
-                    
-                    // Metot çağrılarını methodCalls map'ine ekle
-                    methodCalls.computeIfAbsent(methodId, k -> new HashSet<>()).addAll(calledMethods);
-                }
-                logger.debug("AST analysis added method dependencies for {} methods in {}", 
-                        classMethodDeps.size(), fullClassName);
-            }
-        } catch (Exception e) {
-            logger.warn("AST analysis failed for file {}, falling back to regex: {}", file, e.getMessage());
-            // AST başarısız olursa regex analizi devam eder
+    private GraphMetrics calculateMetrics(List<Vertex> vertices, List<Edge> edges,
+                                          Consumer<ParameterEstimate> listener) {
+        // Aynı vertex/edge kümesi için metrikler daha önce hesaplandıysa tekrar hesaplama
+        String fingerprint = GraphResultCacheService.fingerprint(vertices, edges);
+        GraphMetrics cached = resultCache.findMetrics(fingerprint);
+        if (cached != null) {
+            logger.info("Graph fingerprint {} unchanged, reusing computed metrics", fingerprint.substring(0, 12));
+            cached.getParameterEstimates().values().forEach(listener);
+            return cached;
         }
 
-        // imports -> class dependencies
-        Matcher importMatcher = IMPORT_PATTERN.matcher(content);
-        while (importMatcher.find()) {
-            String importedFull = importMatcher.group(1);
-            
-            // External library'leri hariç tut (java.*, javax.*, org.springframework.* vb.)
-            if (importedFull.startsWith("java.") || 
-                importedFull.startsWith("javax.") ||
-                importedFull.startsWith("org.springframework.") ||
-                importedFull.startsWith("org.hibernate.") ||
-                importedFull.startsWith("com.sun.") ||
-                importedFull.startsWith("sun.")) {
-                continue;
-            }
-            
-            // Önce full name ile kontrol et
-            if (projectClasses.contains(importedFull)) {
-                classDeps.get(fullClassName).add(importedFull);
-                logger.debug("Added dependency (full match): {} -> {}", fullClassName, importedFull);
-            } else {
-                // Simple name ile kontrol et
-                String importedSimple = importedFull.substring(importedFull.lastIndexOf('.') + 1);
-                Set<String> matchingFullNames = simpleNameToFullNames.get(importedSimple);
-                
-                if (matchingFullNames != null && !matchingFullNames.isEmpty()) {
-                    String matchedFullName = null;
-                    // Eğer tek bir eşleşme varsa veya aynı package içindeyse kullan
-                    if (matchingFullNames.size() == 1) {
-                        // Tek eşleşme varsa direkt kullan
-                        matchedFullName = matchingFullNames.iterator().next();
-                        classDeps.get(fullClassName).add(matchedFullName);
-                        logger.debug("Added dependency (simple match, single): {} -> {}", fullClassName, matchedFullName);
-                    } else {
-                        // Birden fazla eşleşme varsa, aynı package içindeki varsa onu kullan
-                        boolean found = false;
-                        for (String candidateFullName : matchingFullNames) {
-                            if (candidateFullName.startsWith(pkg != null ? pkg + "." : "")) {
-                                matchedFullName = candidateFullName;
-                                classDeps.get(fullClassName).add(matchedFullName);
-                                found = true;
-                                logger.debug("Added dependency (simple match, same package): {} -> {}", fullClassName, matchedFullName);
-                                break;
-                            }
-                        }
-                        // Aynı package'da bulunamazsa ilk eşleşmeyi kullan
-                        if (!found) {
-                            matchedFullName = matchingFullNames.iterator().next();
-                            classDeps.get(fullClassName).add(matchedFullName);
-                            logger.debug("Added dependency (simple match, first): {} -> {}", fullClassName, matchedFullName);
-                        }
-                    }
-                } else {
-                    logger.debug("No match found for import: {} in class {}", importedFull, fullClassName);
-                }
-            }
-        }
-
-        // methods
-        Matcher methodMatcher = METHOD_PATTERN.matcher(content);
-        while (methodMatcher.find()) {
-            String methodName = methodMatcher.group(2);
-            String methodId = fullClassName + "." + methodName;
-            classToMethods.get(fullClassName).add(methodId);
+        GraphMetrics m = computeMetrics(vertices, edges, listener);
+        // Süresi dolan parametre varsa sonraki istekte yeniden denenir
+        if (isComplete(m)) {
+            resultCache.storeMetrics(fingerprint, m);
         }
+        return m;
     }
 
-    private GraphMetrics calculateMetrics(List<Vertex> vertices, List<Edge> edges) {
+    private GraphMetrics computeMetrics(List<Vertex> vertices, List<Edge> edges, Consumer<ParameterEstimate> listener) {
         GraphMetrics m = new GraphMetrics();
         m.setTotalNodes(vertices.size());
         m.setTotalEdges(edges.size());
@@ -556,115 +311,334 @@ public class ProjectGraphService {
         try {
             graphData = GraphAnalysisHelper.prepareGraphData(vertices, edges);
             logger.debug("Graph data prepared: {} nodes, {} edges", 
-                    graphData.allNodes.size(), graphData.undirectedEdges.size());
+                    graphData.nodeCount(), graphData.edgeCount());
         } catch (Exception e) {
             logger.warn("Failed to prepare graph data: {}", e.getMessage(), e);
         }
         
-        // Connectivity number hesapla (hazır graph data ile)
         if (graphData != null) {
+            // Yorum: centrality parametrelerle aynı anda çalışır; kendi içinde ForkJoin havuzunu kullanır
+            GraphAnalysisHelper.GraphData data = graphData;
+            long centralityDeadline = System.nanoTime() + CENTRALITY_TIME_BUDGET_MS * 1_000_000L;
+            CompletableFuture<CentralityResult> centrality = CompletableFuture.supplyAsync(
+                    () -> centralityService.calculateCentrality(data), graphStreamExecutor);
+            computeParameters(graphData, m, listener);
             try {
-                int totalNodes = graphData.allNodes.size();
-                String method = totalNodes > 25 ? "HEURISTIC" : "EXACT";
-                int connectivityNumber = connectivityService.calculateConnectivityNumber(graphData);
-                m.setConnectivityNumber(connectivityNumber);
-                m.setConnectivityCalculationMethod(method);
-                logger.info("Connectivity number calculated: {} (method: {})", connectivityNumber, method);
+                long waitNanos = Math.max(0, centralityDeadline - System.nanoTime());
+                m.setCentrality(centrality.get(waitNanos, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Not: centrality null kalır, grafik sıralama olmadan gösterilir
+                centrality.cancel(true);
+                logger.warn("Centrality calculation exceeded its {} ms budget, skipped", CENTRALITY_TIME_BUDGET_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                centrality.cancel(true);
             } catch (Exception e) {
-                logger.warn("Failed to calculate connectivity number: {}", e.getMessage(), e);
-                m.setConnectivityNumber(-1);
-                m.setConnectivityCalculationMethod(null);
+                logger.warn("Centrality calculation failed: {}", e.getMessage(), e);
             }
-            
-            // Scattering number hesapla (aynı hazır graph data ile)
+        } else {
+            // Fallback: Eski yöntemle hesapla (backward compatibility)
             try {
-                int totalNodes = graphData.allNodes.size();
-                String method = totalNodes > 25 ? "HEURISTIC" : "EXACT";
-                double scatteringNumber = scatteringService.calculateScatteringNumber(graphData);
-                m.setScatteringNumber(scatteringNumber);
-                m.setScatteringCalculationMethod(method);
-                logger.info("Scattering number calculated: {} (method: {})", scatteringNumber, method);
+                int connectivityNumber = connectivityService.calculateConnectivityNumber(vertices, edges);
+                m.setConnectivityNumber(connectivityNumber);
+                m.setConnectivityCalculationMethod("EXACT");
+                m.getParameterStatus().put("connectivity", STATUS_COMPLETED);
             } catch (Exception e) {
-                logger.warn("Failed to calculate scattering number: {}", e.getMessage(), e);
-                m.setScatteringNumber(-1.0);
-                m.setScatteringCalculationMethod(null);
+                m.setConnectivityNumber(-1);
+                m.getParameterStatus().put("connectivity", STATUS_FAILED);
             }
-            
-            // Rupture number hesapla (aynı hazır graph data ile)
-            // Not: Rupture service her zaman heuristic algoritma kullanır
-            try {
-                double ruptureNumber = ruptureService.calculateRuptureNumber(graphData);
-                m.setRuptureNumber(ruptureNumber);
-                m.setRuptureCalculationMethod("HEURISTIC"); // Her zaman heuristic
-                logger.info("Rupture number calculated: {} (method: HEURISTIC)", ruptureNumber);
-            } catch (Exception e) {
-                logger.warn("Failed to calculate rupture number: {}", e.getMessage(), e);
-                m.setRuptureNumber(-1.0);
-                m.setRuptureCalculationMethod(null);
+        }
+        
+        return m;
+    }
+
+    /**
+     * Yedi parametreyi graphAnalysisExecutor üzerinde eşzamanlı hesaplar.
+     * Hepsi aynı değişmez GraphData'yı okur; her görev sonucu m'ye uygulayacak bir fonksiyon döndürür,
+     * böylece m yalnızca bu thread'de yazılır ve süresi dolan görevler sonucu sonradan bozamaz.
+     * Süre bütçesi görevin çalışmaya başladığı andan itibaren sayılır (kuyrukta beklenen süre hariç).
+     * Her görev ara sonuçlarını kendi ParameterProgress'ine bildirir; süresi dolan görevlerin o ana kadarki
+     * sınırları da parameterEstimates'e yazılır.
+     */
+    private void computeParameters(GraphAnalysisHelper.GraphData graphData, GraphMetrics m,
+                                   Consumer<ParameterEstimate> listener) {
+        // Parametreler yalnızca yönsüz yapıya bağlıdır: edge tipi/yönü ya da tekrar eden edge'ler değişse de
+        // yapı aynıysa önceki sonuçlar kullanılır; yalnızca girdisi değişen (ya da daha önce bitmeyen) parametreler hesaplanır
+        String structure = GraphResultCacheService.structureFingerprint(graphData.graph);
+        Map<String, Consumer<GraphMetrics>> known = resultCache.findParameters(structure);
+
+        Map<String, ParameterComputation> computations = new LinkedHashMap<>();
+        computations.put("connectivity", progress -> computeConnectivity(graphData, progress));
+        computations.put("scattering", progress -> computeScattering(graphData, progress));
+        computations.put("rupture", progress -> computeRupture(graphData, progress));
+        computations.put("integrity", progress -> computeIntegrity(graphData, progress));
+        computations.put("toughness", progress -> computeToughness(graphData, progress));
+        computations.put("domination", progress -> computeDomination(graphData, progress));
+        computations.put("twoVertexCover", progress -> computeTwoVertexCover(graphData, progress));
+
+        List<ParameterTask> tasks = new ArrayList<>();
+        for (Map.Entry<String, ParameterComputation> computation : computations.entrySet()) {
+            String name = computation.getKey();
+            Consumer<GraphMetrics> reused = known.get(name);
+            if (reused != null) {
+                reused.accept(m);
+                m.getParameterStatus().put(name, STATUS_COMPLETED);
+                ParameterEstimate estimate = m.getParameterEstimates().get(name);
+                if (estimate != null) {
+                    listener.accept(estimate);
+                }
+            } else {
+                ParameterProgress progress = new ParameterProgress(name, MAXIMIZED_PARAMETERS.contains(name), listener);
+                tasks.add(submitParameter(name, progress, () -> computation.getValue().compute(progress)));
             }
-            
-            // Integrity number hesapla (aynı hazır graph data ile)
-            try {
-                int totalNodes = graphData.allNodes.size();
-                String method = totalNodes > 25 ? "HEURISTIC" : "EXACT";
-                double integrityNumber = integrityService.calculateIntegrityNumber(graphData);
-                m.setIntegrityNumber(integrityNumber);
-                m.setIntegrityCalculationMethod(method);
-                logger.info("Integrity number calculated: {} (method: {})", integrityNumber, method);
-            } catch (Exception e) {
-                logger.warn("Failed to calculate integrity number: {}", e.getMessage(), e);
-                m.setIntegrityNumber(-1.0);
-                m.setIntegrityCalculationMethod(null);
+        }
+        if (tasks.size() < computations.size()) {
+            logger.info("Graph structure unchanged for {} parameters, recomputing {}",
+                    computations.size() - tasks.size(), tasks.size());
+        }
+
+        boolean interrupted = false;
+        for (ParameterTask task : tasks) {
+            if (interrupted) {
+                task.cancel();
+                m.getParameterStatus().put(task.name, STATUS_FAILED);
+                m.getParameterEstimates().put(task.name, task.progress.finish());
+                continue;
             }
-            
-            // Toughness number hesapla (aynı hazır graph data ile)
             try {
-                int totalNodes = graphData.allNodes.size();
-                String method = totalNodes > 25 ? "HEURISTIC" : "EXACT";
-                double toughnessNumber = toughnessService.calculateToughnessNumber(graphData);
-                m.setToughnessNumber(toughnessNumber);
-                m.setToughnessCalculationMethod(method);
-                logger.info("Toughness number calculated: {} (method: {})", toughnessNumber, method);
-            } catch (Exception e) {
-                logger.warn("Failed to calculate toughness number: {}", e.getMessage(), e);
-                m.setToughnessNumber(-1.0);
-                m.setToughnessCalculationMethod(null);
+                Consumer<GraphMetrics> applier = awaitParameter(task);
+                applier.accept(m);
+                m.getParameterStatus().put(task.name, STATUS_COMPLETED);
+                resultCache.storeParameter(structure, task.name, applier);
+            } catch (TimeoutException e) {
+                // Sonuç beklenmez; hesaplama iptal edilir (arama döngüleri de durur), değer -1 olarak kalır
+                task.cancel();
+                m.getParameterStatus().put(task.name, STATUS_TIMED_OUT);
+                m.getParameterEstimates().put(task.name, task.progress.finish());
+                if (task.startedAt == 0) {
+                    logger.warn("{} calculation did not start within {} ms, marked as timed out",
+                            task.name, QUEUE_TIME_BUDGET_MS);
+                } else {
+                    logger.warn("{} calculation exceeded its {} ms budget, marked as timed out",
+                            task.name, task.budgetNanos / 1_000_000L);
+                }
+            } catch (ExecutionException e) {
+                m.getParameterStatus().put(task.name, STATUS_FAILED);
+                m.getParameterEstimates().put(task.name, task.progress.finish());
+                logger.warn("Failed to calculate {}: {}", task.name, e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                task.cancel();
+                m.getParameterStatus().put(task.name, STATUS_FAILED);
+                m.getParameterEstimates().put(task.name, task.progress.finish());
+                interrupted = true;
             }
-            
-            // Domination number hesapla (aynı hazır graph data ile)
-            try {
-                int dominationNumber = dominationService.calculateDominationNumber(graphData);
-                m.setDominationNumber(dominationNumber);
-                logger.info("Domination number calculated: {}", dominationNumber);
-            } catch (Exception e) {
-                logger.warn("Failed to calculate domination number: {}", e.getMessage(), e);
-                m.setDominationNumber(-1);
+        }
+    }
+
+    private ParameterTask submitParameter(String name, ParameterProgress progress,
+                                          Callable<Consumer<GraphMetrics>> computation) {
+        ParameterTask task = new ParameterTask(name, progress, PARAMETER_TIME_BUDGET_MS.get(name) * 1_000_000L);
+        task.future = graphAnalysisExecutor.submit(() -> {
+            task.startedAt = System.nanoTime();
+            return computation.call();
+        });
+        return task;
+    }
+
+    /**
+     * Görevin sonucunu bekler. Bütçe görev başladığında işlemeye başlar, ancak toplam bekleme
+     * gönderimden itibaren kuyruk payı + bütçe ile sınırlıdır; hiç başlamayan görev de zaman aşımına uğrar.
+     */
+    private Consumer<GraphMetrics> awaitParameter(ParameterTask task)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = task.submittedAt + QUEUE_TIME_BUDGET_MS * 1_000_000L + task.budgetNanos;
+        while (true) {
+            long startedAt = task.startedAt;
+            long now = System.nanoTime();
+            long remaining = deadline - now;
+            if (startedAt != 0) {
+                remaining = Math.min(remaining, startedAt + task.budgetNanos - now);
             }
-            
-            // 2-Vertex Cover hesapla (aynı hazır graph data ile)
-            try {
-                GraphTwoVertexCoverService.TwoVertexCoverResult result = 
-                    twoVertexCoverService.calculateTwoVertexCover(graphData);
-                m.setTwoVertexCoverNumber(result.size);
-                m.setTwoVertexCoverNodes(result.nodes);
-                logger.info("2-Vertex Cover calculated: {} nodes", result.size);
-            } catch (Exception e) {
-                logger.warn("Failed to calculate 2-vertex cover: {}", e.getMessage(), e);
-                m.setTwoVertexCoverNumber(-1);
-                m.setTwoVertexCoverNodes(new ArrayList<>());
+            if (remaining <= 0) {
+                throw new TimeoutException();
             }
-        } else {
-            // Fallback: Eski yöntemle hesapla (backward compatibility)
             try {
-                int connectivityNumber = connectivityService.calculateConnectivityNumber(vertices, edges);
-                m.setConnectivityNumber(connectivityNumber);
-            } catch (Exception e) {
-                m.setConnectivityNumber(-1);
+                return task.future.get(startedAt == 0 ? Math.min(QUEUE_POLL_NANOS, remaining) : remaining,
+                        TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Görev henüz kuyruktaysa tekrar bakılır; başladıysa bir sonraki turda süre kontrol edilir
             }
         }
-        
-        return m;
     }
-}
 
+    private static boolean isComplete(GraphMetrics metrics) {
+        for (String status : metrics.getParameterStatus().values()) {
+            if (!STATUS_COMPLETED.equals(status)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Consumer<GraphMetrics> computeConnectivity(GraphAnalysisHelper.GraphData graphData,
+                                                       ParameterProgress progress) {
+        // Not: max-flow (ya da block yapısından gelen 0/1) ile her boyutta kesin hesaplanır
+        String method = "EXACT";
+        int connectivityNumber = connectivityService.calculateConnectivityNumber(graphData, progress);
+        ParameterEstimate estimate = finish(progress, connectivityNumber, method, true);
+        logger.info("Connectivity number calculated: {} (method: {})", connectivityNumber, method);
+        return m -> {
+            m.setConnectivityNumber(connectivityNumber);
+            m.setConnectivityCalculationMethod(method);
+            m.getParameterEstimates().put("connectivity", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeScattering(GraphAnalysisHelper.GraphData graphData,
+                                                     ParameterProgress progress) {
+        // Not: decomposition DP'si bitmediyse sonuç yalnızca bir alt sınırdır (HEURISTIC)
+        double scatteringNumber = scatteringService.calculateScatteringNumber(graphData, progress);
+        ParameterEstimate estimate = finish(progress, scatteringNumber, "HEURISTIC", false);
+        String method = methodOf(estimate);
+        logger.info("Scattering number calculated: {} (method: {})", scatteringNumber, method);
+        return m -> {
+            m.setScatteringNumber(scatteringNumber);
+            m.setScatteringCalculationMethod(method);
+            m.getParameterEstimates().put("scattering", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeRupture(GraphAnalysisHelper.GraphData graphData,
+                                                  ParameterProgress progress) {
+        // Not: Rupture service her zaman heuristic algoritma kullanır; üst sınıra ulaşılırsa değer kesindir
+        double ruptureNumber = ruptureService.calculateRuptureNumber(graphData, progress);
+        ParameterEstimate estimate = finish(progress, ruptureNumber, "HEURISTIC", false);
+        String method = methodOf(estimate);
+        logger.info("Rupture number calculated: {} (method: {})", ruptureNumber, method);
+        return m -> {
+            m.setRuptureNumber(ruptureNumber);
+            m.setRuptureCalculationMethod(method);
+            m.getParameterEstimates().put("rupture", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeIntegrity(GraphAnalysisHelper.GraphData graphData,
+                                                    ParameterProgress progress) {
+        // Not: decomposition DP'si bitmediyse sonuç yalnızca bir üst sınırdır (HEURISTIC)
+        double integrityNumber = integrityService.calculateIntegrityNumber(graphData, progress);
+        ParameterEstimate estimate = finish(progress, integrityNumber, "HEURISTIC", false);
+        String method = methodOf(estimate);
+        logger.info("Integrity number calculated: {} (method: {})", integrityNumber, method);
+        return m -> {
+            m.setIntegrityNumber(integrityNumber);
+            m.setIntegrityCalculationMethod(method);
+            m.getParameterEstimates().put("integrity", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeToughness(GraphAnalysisHelper.GraphData graphData,
+                                                    ParameterProgress progress) {
+        // Not: orman kapalı formu ya da decomposition DP'si sınırları çakıştırırsa EXACT
+        double toughnessNumber = toughnessService.calculateToughnessNumber(graphData, progress);
+        ParameterEstimate estimate = finish(progress, toughnessNumber, "HEURISTIC", false);
+        String method = methodOf(estimate);
+        logger.info("Toughness number calculated: {} (method: {})", toughnessNumber, method);
+        return m -> {
+            m.setToughnessNumber(toughnessNumber);
+            m.setToughnessCalculationMethod(method);
+            m.getParameterEstimates().put("toughness", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeDomination(GraphAnalysisHelper.GraphData graphData,
+                                                     ParameterProgress progress) {
+        // Not: bütçe içinde alt sınıra ulaşılırsa EXACT, aksi halde HEURISTIC
+        GraphDominationService.DominationResult result = dominationService.calculateDomination(graphData, progress);
+        String method = result.exact ? "EXACT" : "HEURISTIC";
+        progress.bounds(result.lowerBound, Double.POSITIVE_INFINITY);
+        ParameterEstimate estimate = finish(progress, result.size, method, result.exact);
+        logger.info("Domination number calculated: {} (lower bound: {}, method: {})",
+                result.size, result.lowerBound, method);
+        return m -> {
+            m.setDominationNumber(result.size);
+            m.setDominationLowerBound(result.lowerBound);
+            m.setDominationCalculationMethod(method);
+            m.getParameterEstimates().put("domination", estimate);
+        };
+    }
+
+    private Consumer<GraphMetrics> computeTwoVertexCover(GraphAnalysisHelper.GraphData graphData,
+                                                         ParameterProgress progress) {
+        GraphTwoVertexCoverService.TwoVertexCoverResult result =
+                twoVertexCoverService.calculateTwoVertexCover(graphData, progress);
+        String method = result.exact ? "EXACT" : "HEURISTIC";
+        progress.bounds(result.lowerBound, Double.POSITIVE_INFINITY);
+        ParameterEstimate estimate = finish(progress, result.size, method, result.exact);
+        logger.info("2-Vertex Cover calculated: {} nodes (lower bound: {}, method: {})",
+                result.size, result.lowerBound, method);
+        return m -> {
+            m.setTwoVertexCoverNumber(result.size);
+            m.setTwoVertexCoverNodes(result.nodes);
+            m.setTwoVertexCoverLowerBound(result.lowerBound);
+            m.setTwoVertexCoverCalculationMethod(method);
+            m.getParameterEstimates().put("twoVertexCover", estimate);
+        };
+    }
+
+    /**
+     * Servisin döndürdüğü son değeri progress'e işler ve tahmini kapatır.
+     * proven yalnızca değerin optimal olduğu ispatlandıysa (max-flow, alt sınıra ulaşan branch-and-bound) true
+     * olmalı; aksi halde değer yalnızca bulunan bir çözümdür ve sınırları tek taraftan daraltır.
+     */
+    private static ParameterEstimate finish(ParameterProgress progress, double value, String method,
+                                            boolean proven) {
+        if (proven) {
+            progress.exact(value, method);
+        } else {
+            progress.feasible(value, method);
+        }
+        return progress.finish();
+    }
+
+    /**
+     * Sınırlar çakıştıysa (DP bittiyse ya da heuristic değer ispatlanmış sınıra ulaştıysa) sonuç kesindir.
+     */
+    private static String methodOf(ParameterEstimate estimate) {
+        return estimate.lowerBound() == estimate.upperBound() ? "EXACT" : "HEURISTIC";
+    }
 
+    /**
+     * Tek bir parametre hesaplaması; sonucu m'ye uygulayacak fonksiyonu döndürür.
+     */
+    @FunctionalInterface
+    private interface ParameterComputation {
+        Consumer<GraphMetrics> compute(ParameterProgress progress) throws Exception;
+    }
+
+    /**
+     * Executor'a gönderilmiş tek bir parametre hesaplaması.
+     */
+    private static final class ParameterTask {
+        final String name;
+        final ParameterProgress progress;
+        final long budgetNanos;
+        final long submittedAt = System.nanoTime();
+        volatile long startedAt; // 0 = henüz başlamadı
+        Future<Consumer<GraphMetrics>> future;
+
+        ParameterTask(String name, ParameterProgress progress, long budgetNanos) {
+            this.name = name;
+            this.progress = progress;
+            this.budgetNanos = budgetNanos;
+        }
+
+        /**
+         * Görevi iptal eder: kuyruktaysa hiç başlamaz, çalışıyorsa arama döngüleri progress üzerinden durur
+         */
+        void cancel() {
+            progress.cancel();
+            future.cancel(true);
+        }
+    }
+}
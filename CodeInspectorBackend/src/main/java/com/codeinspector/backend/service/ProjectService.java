@@ -10,6 +10,7 @@ import com.codeinspector.backend.repository.UserRepository;
 import com.codeinspector.backend.repository.TeamRepository;
 import com.codeinspector.backend.repository.ProjectVersionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,14 +31,16 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final ProjectStorageService storageService;
     private final ProjectVersionRepository projectVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private UserRepository userRepository;
     private TeamRepository teamRepository;
 
     @Autowired
-    public ProjectService(ProjectRepository projectRepository, ProjectStorageService storageService, ProjectVersionRepository projectVersionRepository) {
+    public ProjectService(ProjectRepository projectRepository, ProjectStorageService storageService, ProjectVersionRepository projectVersionRepository, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.storageService = storageService;
         this.projectVersionRepository = projectVersionRepository;
+        this.eventPublisher = eventPublisher;
         // userRepository ve teamRepository null olabilir
     }
 
@@ -206,6 +209,8 @@ public class ProjectService {
         System.out.println("Marking project as deleted: " + slug);
         p.setVisibility("deleted");
         projectRepository.save(p);
+        // Bellekteki indeksler (clone arama) commit'ten sonra temizlenir
+        eventPublisher.publishEvent(new ProjectDeletedEvent(slug));
         System.out.println("Project marked as deleted: " + slug);
     }
 
@@ -33,6 +33,18 @@ public class ProjectStorageService {
         return dir;
     }
 
+    /**
+     * Proje için türetilmiş verilerin (vektör indeksi vb.) tutulduğu dizin.
+     * Proje dizininin dışında tutulur; import sırasında proje dosyaları temizlendiğinde silinmez.
+     */
+    public Path ensureIndexDirectory(String slug) throws IOException {
+        Path dir = rootDir.resolve(".index").resolve(slug);
+        if (!Files.exists(dir)) {
+            Files.createDirectories(dir);
+        }
+        return dir;
+    }
+
     public Path getProjectDirectory(String slug) {
         return rootDir.resolve(slug);
     }
@@ -0,0 +1,11 @@
+package com.codeinspector.backend.service;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+
+/**
+ * Yeni bir versiyon kaydedildiğinde yayınlanır. Dinleyiciler import transaction'ı commit edildikten sonra
+ * çalışır; böylece uzun süren hazırlıklar (graf özetleri, indeksler) transaction'ı açık tutmaz.
+ */
+public record ProjectVersionCreatedEvent(Project project, ProjectVersion version) {
+}
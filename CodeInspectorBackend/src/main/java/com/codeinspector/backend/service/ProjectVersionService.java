@@ -7,6 +7,7 @@ import com.codeinspector.backend.repository.ProjectVersionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -22,15 +23,18 @@ public class ProjectVersionService {
     private final ProjectRepository projectRepository;
     private final ProjectVersionRepository versionRepository;
     private final GitService gitService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ProjectVersionService(
             ProjectRepository projectRepository,
             ProjectVersionRepository versionRepository,
-            GitService gitService) {
+            GitService gitService,
+            ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.versionRepository = versionRepository;
         this.gitService = gitService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -96,7 +100,10 @@ public class ProjectVersionService {
             version.setCommitHash(commitHash);
             version.setCommitMessage(message);
             
-            return versionRepository.save(version);
+            ProjectVersion saved = versionRepository.save(version);
+            // Clone arama indeksi ve graf özetleri commit'ten sonra güncellenir (CloneSearchService, IncrementalGraphService)
+            eventPublisher.publishEvent(new ProjectVersionCreatedEvent(project, saved));
+            return saved;
         } catch (Exception e) {
             logger.error("Error creating version from ZIP for project: " + project.getSlug(), e);
             throw e;
@@ -152,7 +159,10 @@ public class ProjectVersionService {
             project.setVcsUrl(githubUrl);
             projectRepository.save(project);
             
-            return versionRepository.save(version);
+            ProjectVersion saved = versionRepository.save(version);
+            // Clone arama indeksi ve graf özetleri commit'ten sonra güncellenir (CloneSearchService, IncrementalGraphService)
+            eventPublisher.publishEvent(new ProjectVersionCreatedEvent(project, saved));
+            return saved;
         } catch (Exception e) {
             logger.error("Error creating version from GitHub for project: " + project.getSlug(), e);
             throw e;
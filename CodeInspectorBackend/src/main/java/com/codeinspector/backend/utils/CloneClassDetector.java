@@ -0,0 +1,148 @@
+package com.codeinspector.backend.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dosyalar arası ortak kod parçalarını clone sınıflarına gruplar.
+ * DuplicateCodeDetector ile aynı normalize satırlar ve aynı minimum pencere (3 satır) kullanılır.
+ * Birden fazla dosyada geçen her pencere bir parça sayılır; bir dosyada ardışık olan ve
+ * aynı dosya kümesinde geçen pencereler union-find ile tek sınıfta birleştirilir.
+ * Her sınıf üye dosyalarını ve ortak parçayı bir kez taşır, böylece sonuç boyutu
+ * dosya çifti sayısıyla değil tekrarlanan içerikle doğrusal büyür.
+ */
+@Component
+public class CloneClassDetector {
+    private static final int WINDOW = 3;
+
+    private final DuplicateCodeDetector duplicateCodeDetector;
+
+    public CloneClassDetector(DuplicateCodeDetector duplicateCodeDetector) {
+        this.duplicateCodeDetector = duplicateCodeDetector;
+    }
+
+    public record CloneClass(int id, List<String> files, List<String> fragment) {}
+
+    public record Result(List<CloneClass> cloneClasses, Map<String, List<Integer>> classesByFile) {
+
+        /**
+         * İki dosyanın birlikte üyesi olduğu clone sınıfları
+         */
+        public List<Integer> sharedClassIds(String file1, String file2) {
+            List<Integer> first = classesByFile.getOrDefault(file1, List.of());
+            List<Integer> second = classesByFile.getOrDefault(file2, List.of());
+            List<Integer> shared = new ArrayList<>();
+            for (Integer id : first) {
+                if (second.contains(id)) shared.add(id);
+            }
+            return shared;
+        }
+
+        /**
+         * İki dosyanın ortak sınıflarındaki satırlar; DuplicateCodeDetector.detectDuplicates ile aynı kümedir
+         * (ikisi de iki dosyada da geçen 3 satırlık pencerelerin satırlarını toplar)
+         */
+        public Set<String> sharedLines(String file1, String file2) {
+            Set<String> lines = new HashSet<>();
+            for (Integer id : sharedClassIds(file1, file2)) {
+                lines.addAll(cloneClasses.get(id - 1).fragment());
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * @param sources dosya yolu -> kaynak kod (sıralı map verilirse sonuç deterministiktir)
+     */
+    public Result detect(Map<String, String> sources) {
+        List<String> paths = new ArrayList<>(sources.keySet());
+        List<List<String>> lines = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            lines.add(duplicateCodeDetector.getNormalizedLines(sources.get(path)));
+        }
+
+        // 1) Her pencerenin geçtiği dosyalar
+        Map<String, TreeSet<Integer>> filesByWindow = new HashMap<>();
+        for (int f = 0; f < paths.size(); f++) {
+            List<String> fileLines = lines.get(f);
+            for (int p = 0; p + WINDOW <= fileLines.size(); p++) {
+                filesByWindow.computeIfAbsent(windowKey(fileLines, p), k -> new TreeSet<>()).add(f);
+            }
+        }
+
+        // 2) Birden fazla dosyada geçen pencerelere ilk görülme sırasına göre id ver
+        Map<String, Integer> windowIds = new HashMap<>();
+        List<TreeSet<Integer>> windowFiles = new ArrayList<>();
+        for (List<String> fileLines : lines) {
+            for (int p = 0; p + WINDOW <= fileLines.size(); p++) {
+                String key = windowKey(fileLines, p);
+                TreeSet<Integer> files = filesByWindow.get(key);
+                if (files.size() > 1 && !windowIds.containsKey(key)) {
+                    windowIds.put(key, windowFiles.size());
+                    windowFiles.add(files);
+                }
+            }
+        }
+        filesByWindow.clear();
+
+        // 3) Aynı dosya kümesine sahip ardışık pencereleri birleştir
+        UnionFind unionFind = new UnionFind(windowFiles.size());
+        int[][] windowsAt = new int[paths.size()][];
+        for (int f = 0; f < paths.size(); f++) {
+            List<String> fileLines = lines.get(f);
+            int[] ids = new int[Math.max(0, fileLines.size() - WINDOW + 1)];
+            Arrays.fill(ids, -1);
+            for (int p = 0; p < ids.length; p++) {
+                Integer id = windowIds.get(windowKey(fileLines, p));
+                if (id == null) continue;
+                ids[p] = id;
+                if (p > 0 && ids[p - 1] >= 0 && windowFiles.get(ids[p - 1]).equals(windowFiles.get(id))) {
+                    unionFind.union(ids[p - 1], id);
+                }
+            }
+            windowsAt[f] = ids;
+        }
+
+        // 4) Her bileşen bir clone sınıfı; parça ilk üye dosyadaki satırlardan bir kez çıkarılır
+        List<CloneClass> cloneClasses = new ArrayList<>();
+        Map<String, List<Integer>> classesByFile = new HashMap<>();
+        for (List<Integer> component : unionFind.groups(1)) {
+            int root = unionFind.find(component.get(0));
+            TreeSet<Integer> members = windowFiles.get(root);
+            int firstFile = members.first();
+            int[] ids = windowsAt[firstFile];
+            List<String> fileLines = lines.get(firstFile);
+            boolean[] covered = new boolean[fileLines.size()];
+            for (int p = 0; p < ids.length; p++) {
+                if (ids[p] >= 0 && unionFind.find(ids[p]) == root) {
+                    Arrays.fill(covered, p, p + WINDOW, true);
+                }
+            }
+            List<String> fragment = new ArrayList<>();
+            for (int i = 0; i < covered.length; i++) {
+                if (covered[i]) fragment.add(fileLines.get(i));
+            }
+
+            int classId = cloneClasses.size() + 1;
+            List<String> memberPaths = new ArrayList<>(members.size());
+            for (int f : members) {
+                memberPaths.add(paths.get(f));
+                classesByFile.computeIfAbsent(paths.get(f), k -> new ArrayList<>()).add(classId);
+            }
+            cloneClasses.add(new CloneClass(classId, memberPaths, fragment));
+        }
+        return new Result(cloneClasses, classesByFile);
+    }
+
+    private static String windowKey(List<String> lines, int start) {
+        return String.join("\n", lines.subList(start, start + WINDOW));
+    }
+}
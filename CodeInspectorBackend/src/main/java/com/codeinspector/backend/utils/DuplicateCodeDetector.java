@@ -80,7 +80,11 @@ public class DuplicateCodeDetector {
         return Math.min(100.0, (duplicateLineCount * 2.0 * 100.0) / totalUniqueLines);
     }
 
-    private List<String> getNormalizedLines(String code) {
+    /**
+     * Boş satırları, tek başına süslü parantezleri ve yorum satırlarını atarak
+     * kırpılmış kod satırlarını döndürür. Diğer indeksler de aynı normalizasyonu kullanır.
+     */
+    public List<String> getNormalizedLines(String code) {
         return Arrays.stream(code.split("\n"))
                 .map(String::strip)
                 .filter(this::isValidCodeLine)
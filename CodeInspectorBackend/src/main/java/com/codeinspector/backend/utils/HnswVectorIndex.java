@@ -0,0 +1,511 @@
+package com.codeinspector.backend.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kod embedding'leri için bellek içi HNSW (Hierarchical Navigable Small World) indeksi.
+ * Vektörler heap dışında (direct / memory-mapped ByteBuffer) tutulur, istenirse int8'e quantize edilir.
+ * Vektörlerin L2-normalize olduğu varsayılır (CodeBERT /embed çıktısı), benzerlik = dot product = cosine.
+ *
+ * İndeks bir kere oluşturulur, sonrasında sadece okunur; aramalar thread-safe'tir.
+ * Paylaşılan bir indeks kapatılabiliyorsa her kullanım acquire/release arasında yapılmalıdır.
+ */
+public final class HnswVectorIndex implements Closeable {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+    private static final int MIN_EF_SEARCH = 50;
+
+    private final int dim;
+    private final int count;
+    private final boolean quantized;
+    private final int m;
+    private ByteBuffer vectors; // quantized ? int8[count*dim] : float32[count*dim]
+    private float[] scales; // quantized ise vektör başına ölçek
+    private final String[] labels;
+    private int[][][] links; // links[node][level] = komşu id'leri
+    // Yorum: 1 sahibin (ör. önbellek) referansı; her kullanım acquire ile bir artırır, 0'da bellek bırakılır
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Map<String, Integer> labelIndex = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /**
+     * Arama sonucu: etiket (dosya yolu) ve cosine benzerliği.
+     */
+    public record Match(String label, double similarity) {}
+
+    private HnswVectorIndex(int dim, int count, boolean quantized, int m,
+                            ByteBuffer vectors, float[] scales, String[] labels, int[][][] links) {
+        this.dim = dim;
+        this.count = count;
+        this.quantized = quantized;
+        this.m = m;
+        this.vectors = vectors;
+        this.scales = scales;
+        this.labels = labels;
+        this.links = links;
+        for (int i = 0; i < labels.length; i++) {
+            labelIndex.put(labels[i], i);
+        }
+    }
+
+    /**
+     * Verilen vektörlerden indeksi oluşturur.
+     *
+     * @param labels    Her vektörün etiketi (ör. dosya yolu), benzersiz olmalı
+     * @param vectors   Aynı boyutlu, L2-normalize vektörler
+     * @param quantize  true ise vektörler int8 olarak saklanır (4x daha az bellek)
+     */
+    public static HnswVectorIndex build(List<String> labels, List<float[]> vectors, boolean quantize) {
+        if (labels.size() != vectors.size()) {
+            throw new IllegalArgumentException("Labels and vectors must have the same size");
+        }
+        int count = vectors.size();
+        int dim = count == 0 ? 0 : vectors.get(0).length;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(1, count * dim * (quantize ? 1 : 4)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        float[] scales = quantize ? new float[count] : null;
+
+        for (int i = 0; i < count; i++) {
+            float[] v = vectors.get(i);
+            if (v.length != dim) {
+                throw new IllegalArgumentException("Vector dimension mismatch at " + i + ": " + v.length + " != " + dim);
+            }
+            if (quantize) {
+                float maxAbs = 0f;
+                for (float x : v) {
+                    maxAbs = Math.max(maxAbs, Math.abs(x));
+                }
+                float scale = maxAbs == 0f ? 1f : maxAbs / 127f;
+                scales[i] = scale;
+                for (int d = 0; d < dim; d++) {
+                    buffer.put(i * dim + d, (byte) Math.round(v[d] / scale));
+                }
+            } else {
+                for (int d = 0; d < dim; d++) {
+                    buffer.putFloat((i * dim + d) * 4, v[d]);
+                }
+            }
+        }
+
+        HnswVectorIndex index = new HnswVectorIndex(dim, count, quantize, DEFAULT_M, buffer, scales,
+                labels.toArray(new String[0]), new int[count][][]);
+        Random random = new Random(42); // Deterministik seviye dağılımı
+        double levelMult = 1.0 / Math.log(DEFAULT_M);
+        for (int i = 0; i < count; i++) {
+            int level = (int) Math.floor(-Math.log(1.0 - random.nextDouble()) * levelMult);
+            index.insert(i, level);
+        }
+        return index;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int dimension() {
+        return dim;
+    }
+
+    public boolean contains(String label) {
+        return labelIndex.containsKey(label);
+    }
+
+    /**
+     * İndeksteki bir vektörü float olarak döndürür (dosya bazlı sorgular için CodeBERT'e tekrar gitmeye gerek kalmaz).
+     */
+    public float[] vectorOf(String label) {
+        Integer id = labelIndex.get(label);
+        return id == null ? null : decode(id);
+    }
+
+    /**
+     * En yakın k komşuyu döndürür (benzerliğe göre azalan).
+     *
+     * @param query        L2-normalize sorgu vektörü
+     * @param k            Döndürülecek sonuç sayısı
+     * @param excludeLabel Sonuçlardan çıkarılacak etiket (dosyanın kendisi), null olabilir
+     */
+    public List<Match> search(float[] query, int k, String excludeLabel) {
+        if (count == 0 || k <= 0) {
+            return Collections.emptyList();
+        }
+        if (query.length != dim) {
+            throw new IllegalArgumentException("Query dimension " + query.length + " != index dimension " + dim);
+        }
+        Integer excluded = excludeLabel != null ? labelIndex.get(excludeLabel) : null;
+        int wanted = excluded != null ? k + 1 : k;
+
+        int current = entryPoint;
+        double currentSim = similarity(query, current);
+        for (int level = maxLevel; level > 0; level--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int neighbour : neighbours(current, level)) {
+                    double sim = similarity(query, neighbour);
+                    if (sim > currentSim) {
+                        currentSim = sim;
+                        current = neighbour;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        List<Candidate> found = searchLayer(query, current, Math.max(wanted, MIN_EF_SEARCH), 0);
+        List<Match> result = new ArrayList<>(k);
+        for (Candidate c : found) {
+            if (excluded != null && c.id == excluded) {
+                continue;
+            }
+            result.add(new Match(labels[c.id], c.sim));
+            if (result.size() == k) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * İndeksi kullanım süresince tutar; aynı anda close çağrılsa da vektörler release'e kadar bırakılmaz.
+     *
+     * @return İndeks kapanmış ve bırakılmışsa false (kullanılamaz)
+     */
+    public boolean acquire() {
+        while (true) {
+            int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            // Not: memory-map ve link dizileri GC'ye kalır; indeks nesnesine tutulan eski referanslar onları taşımaz
+            vectors = null;
+            scales = null;
+            links = null;
+        }
+    }
+
+    /**
+     * Sahibin referansını bırakır; devam eden aramalar bitince bellek serbest kalır.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    /**
+     * İndeksi diske yazar. Vektör bölgesi header'dan hemen sonra gelir ki yükleme sırasında
+     * doğrudan memory-map edilebilsin.
+     */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dim).putInt(count)
+                    .putInt(quantized ? 1 : 0).putInt(m).putInt(entryPoint).putInt(maxLevel);
+            header.flip();
+            channel.write(header);
+
+            ByteBuffer data = vectors.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            data.clear().limit(vectorBytes(count, dim, quantized));
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            if (quantized) {
+                for (float s : scales) {
+                    out.writeFloat(s);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeUTF(labels[i]);
+                out.writeInt(links[i].length);
+                for (int[] levelLinks : links[i]) {
+                    out.writeInt(levelLinks.length);
+                    for (int n : levelLinks) {
+                        out.writeInt(n);
+                    }
+                }
+            }
+            out.flush();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Diskteki indeksi yükler; vektörler kopyalanmaz, dosyadan memory-map edilir.
+     */
+    public static HnswVectorIndex load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // header tamamen okunana kadar devam et
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not an HNSW index file: " + file);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported HNSW index version " + version + " in " + file);
+            }
+            int dim = header.getInt();
+            int count = header.getInt();
+            boolean quantized = header.getInt() == 1;
+            int m = header.getInt();
+            int entryPoint = header.getInt();
+            int maxLevel = header.getInt();
+
+            long vectorBytes = vectorBytes(count, dim, quantized);
+            ByteBuffer vectors = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, Math.max(vectorBytes, 0))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            channel.position(HEADER_BYTES + vectorBytes);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            float[] scales = null;
+            if (quantized) {
+                scales = new float[count];
+                for (int i = 0; i < count; i++) {
+                    scales[i] = in.readFloat();
+                }
+            }
+            String[] labels = new String[count];
+            int[][][] links = new int[count][][];
+            for (int i = 0; i < count; i++) {
+                labels[i] = in.readUTF();
+                int levels = in.readInt();
+                links[i] = new int[levels][];
+                for (int l = 0; l < levels; l++) {
+                    int[] levelLinks = new int[in.readInt()];
+                    for (int j = 0; j < levelLinks.length; j++) {
+                        levelLinks[j] = in.readInt();
+                    }
+                    links[i][l] = levelLinks;
+                }
+            }
+
+            HnswVectorIndex index = new HnswVectorIndex(dim, count, quantized, m, vectors, scales, labels, links);
+            index.entryPoint = entryPoint;
+            index.maxLevel = maxLevel;
+            return index;
+        }
+    }
+
+    private static int vectorBytes(int count, int dim, boolean quantized) {
+        return count * dim * (quantized ? 1 : 4);
+    }
+
+    private void insert(int id, int level) {
+        links[id] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[id][l] = new int[0];
+        }
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return;
+        }
+
+        float[] vector = decode(id);
+        int current = entryPoint;
+        double currentSim = similarity(vector, current);
+        for (int l = maxLevel; l > level; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int neighbour : neighbours(current, l)) {
+                    double sim = similarity(vector, neighbour);
+                    if (sim > currentSim) {
+                        currentSim = sim;
+                        current = neighbour;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, current, DEFAULT_EF_CONSTRUCTION, l);
+            int maxLinks = l == 0 ? 2 * m : m;
+            int[] selected = selectNeighbours(candidates, maxLinks);
+            links[id][l] = selected;
+            for (int neighbour : selected) {
+                connect(neighbour, id, l, maxLinks);
+            }
+            current = candidates.get(0).id;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = id;
+        }
+    }
+
+    /**
+     * neighbour -> id bağlantısını ekler; kapasite aşılırsa en benzer maxLinks komşu tutulur.
+     */
+    private void connect(int neighbour, int id, int level, int maxLinks) {
+        int[] existing = links[neighbour][level];
+        int[] grown = new int[existing.length + 1];
+        System.arraycopy(existing, 0, grown, 0, existing.length);
+        grown[existing.length] = id;
+        if (grown.length <= maxLinks) {
+            links[neighbour][level] = grown;
+            return;
+        }
+        float[] base = decode(neighbour);
+        List<Candidate> ranked = new ArrayList<>(grown.length);
+        for (int n : grown) {
+            ranked.add(new Candidate(n, similarity(base, n)));
+        }
+        ranked.sort((a, b) -> Double.compare(b.sim, a.sim));
+        links[neighbour][level] = selectNeighbours(ranked, maxLinks);
+    }
+
+    /**
+     * HNSW komşu seçme sezgiseli: aday, seçilmiş bir komşuya sorgudan daha yakınsa atlanır.
+     * Sadece en yakınları almak kümelenmiş veride kümeler arası bağlantıları koparıp aramayı
+     * tek kümeye hapsediyor; kalan yerler atlanan adaylarla doldurulur.
+     * ranked benzerliğe göre azalan sırada olmalıdır.
+     */
+    private int[] selectNeighbours(List<Candidate> ranked, int maxLinks) {
+        int[] selected = new int[Math.min(maxLinks, ranked.size())];
+        List<float[]> selectedVectors = new ArrayList<>(selected.length);
+        List<Candidate> skipped = new ArrayList<>();
+        int size = 0;
+        for (Candidate c : ranked) {
+            if (size == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (float[] chosen : selectedVectors) {
+                if (similarity(chosen, c.id) > c.sim) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = c.id;
+                selectedVectors.add(decode(c.id));
+            } else {
+                skipped.add(c);
+            }
+        }
+        for (int i = 0; size < selected.length; i++) {
+            selected[size++] = skipped.get(i).id;
+        }
+        return selected;
+    }
+
+    /**
+     * Tek bir katmanda beam search; sonuçlar benzerliğe göre azalan sırada döner.
+     */
+    private List<Candidate> searchLayer(float[] query, int entry, int ef, int level) {
+        BitSet visited = new BitSet(count);
+        visited.set(entry);
+        Candidate start = new Candidate(entry, similarity(query, entry));
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>((a, b) -> Double.compare(b.sim, a.sim));
+        PriorityQueue<Candidate> best = new PriorityQueue<>((a, b) -> Double.compare(a.sim, b.sim));
+        frontier.add(start);
+        best.add(start);
+
+        while (!frontier.isEmpty()) {
+            Candidate c = frontier.poll();
+            if (best.size() >= ef && c.sim < best.peek().sim) {
+                break;
+            }
+            for (int neighbour : neighbours(c.id, level)) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                double sim = similarity(query, neighbour);
+                if (best.size() < ef || sim > best.peek().sim) {
+                    Candidate next = new Candidate(neighbour, sim);
+                    frontier.add(next);
+                    best.add(next);
+                    if (best.size() > ef) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort((a, b) -> Double.compare(b.sim, a.sim));
+        return result;
+    }
+
+    private int[] neighbours(int id, int level) {
+        int[][] nodeLinks = links[id];
+        return level < nodeLinks.length ? nodeLinks[level] : new int[0];
+    }
+
+    private double similarity(float[] query, int id) {
+        double sum = 0;
+        int base = id * dim;
+        if (quantized) {
+            for (int d = 0; d < dim; d++) {
+                sum += query[d] * vectors.get(base + d);
+            }
+            return sum * scales[id];
+        }
+        for (int d = 0; d < dim; d++) {
+            sum += query[d] * vectors.getFloat((base + d) * 4);
+        }
+        return sum;
+    }
+
+    private float[] decode(int id) {
+        float[] v = new float[dim];
+        int base = id * dim;
+        for (int d = 0; d < dim; d++) {
+            v[d] = quantized ? vectors.get(base + d) * scales[id] : vectors.getFloat((base + d) * 4);
+        }
+        return v;
+    }
+
+    private record Candidate(int id, double sim) {}
+}
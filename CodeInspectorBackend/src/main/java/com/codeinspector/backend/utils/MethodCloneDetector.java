@@ -0,0 +1,196 @@
+package com.codeinspector.backend.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.CallableDeclaration;
+
+/**
+ * Metot seviyesinde Type-2 clone tespiti.
+ * Her metot bir kere token'lara ayrılır; identifier'lar ID, literal'ler LIT sınıfına indirgenir,
+ * böylece değişken yeniden adlandırma ve format farkları eşleşmeyi bozmaz.
+ * Token k-gram'ları hash'lenir, her metodun en küçük birkaç hash'i bucket anahtarı olur;
+ * sadece aynı bucket'a düşen metotlar Jaccard benzerliği ile karşılaştırılır ve union-find ile clone sınıflarına toplanır.
+ * Çok yaygın k-gram'lar anahtar olarak kullanılmaz, bu yüzden bir bucket en fazla MAX_BUCKET_SIZE metot içerir.
+ */
+@Component
+public class MethodCloneDetector {
+    private static final int MIN_TOKENS = 40; // Getter/setter gibi kısa metotlar clone sayılmaz
+    private static final int K = 5; // k-gram uzunluğu (token)
+    private static final int SKETCH_SIZE = 8; // Metot başına bucket anahtarı sayısı
+    private static final int SKETCH_PREFIX = 64; // Anahtarların arandığı en küçük hash sayısı
+    private static final int MAX_BUCKET_SIZE = 32; // Daha fazla metotta geçen hash bucket anahtarı olmaz
+    private static final double SIMILARITY_THRESHOLD = 0.7; // k-gram kümeleri arasında minimum Jaccard
+
+    public record MethodRef(String file, String method, int beginLine, int endLine, int tokens) {}
+
+    public record MethodCloneClass(int id, double minSimilarity, List<MethodRef> members) {}
+
+    public record Result(int totalMethods, int candidatePairs, List<MethodCloneClass> cloneClasses) {}
+
+    private record Fragment(MethodRef ref, long[] kgrams) {}
+
+    private record Edge(int a, int b, double similarity) {}
+
+    /**
+     * @param sources dosya yolu -> kaynak kod
+     */
+    public Result detect(Map<String, String> sources) {
+        // 1) Her dosyayı paralel parse et, metotları normalize token k-gram kümelerine çevir
+        List<Fragment> fragments = sources.entrySet().parallelStream()
+                .flatMap(e -> extractFragments(e.getKey(), e.getValue()).stream())
+                .collect(Collectors.toList());
+
+        // 2) Bucket'lar: aynı sketch hash'ini paylaşan metotlar aday olur.
+        // Çok sayıda metotta geçen k-gram'lar (döngü başlığı, log satırı gibi kalıplar) anahtar olamaz; tek bir
+        // bucket'ta yüzlerce metot toplanıp karesel sayıda çift üretirlerdi. Sayım her metodun ilk SKETCH_PREFIX
+        // hash'i üzerinden yapılır, anahtarlar bunlar arasında seyrek kalan ilk SKETCH_SIZE hash'tir.
+        Map<Long, Integer> frequency = new HashMap<>();
+        for (Fragment fragment : fragments) {
+            long[] kgrams = fragment.kgrams();
+            for (int s = 0; s < Math.min(SKETCH_PREFIX, kgrams.length); s++) {
+                frequency.merge(kgrams[s], 1, Integer::sum);
+            }
+        }
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < fragments.size(); i++) {
+            long[] kgrams = fragments.get(i).kgrams();
+            int keys = 0;
+            for (int s = 0; s < Math.min(SKETCH_PREFIX, kgrams.length) && keys < SKETCH_SIZE; s++) {
+                if (frequency.get(kgrams[s]) > MAX_BUCKET_SIZE) {
+                    continue;
+                }
+                buckets.computeIfAbsent(kgrams[s], h -> new ArrayList<>()).add(i);
+                keys++;
+            }
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (List<Integer> bucket : buckets.values()) {
+            for (int x = 0; x < bucket.size(); x++) {
+                for (int y = x + 1; y < bucket.size(); y++) {
+                    int a = bucket.get(x);
+                    int b = bucket.get(y);
+                    if (fragments.get(a).ref().file().equals(fragments.get(b).ref().file())
+                            && overlaps(fragments.get(a).ref(), fragments.get(b).ref())) {
+                        continue; // İç içe metotlar (anonim sınıf vb.) kendisiyle eşleşmesin
+                    }
+                    candidates.add(((long) Math.min(a, b) << 32) | Math.max(a, b));
+                }
+            }
+        }
+
+        // 3) Adayları paralel doğrula
+        List<Edge> edges = candidates.parallelStream()
+                .map(key -> {
+                    int a = (int) (key >>> 32);
+                    int b = (int) (long) key;
+                    return new Edge(a, b, jaccard(fragments.get(a).kgrams(), fragments.get(b).kgrams()));
+                })
+                .filter(edge -> edge.similarity() >= SIMILARITY_THRESHOLD)
+                .collect(Collectors.toList());
+
+        // 4) Union-find ile clone sınıfları
+        UnionFind unionFind = new UnionFind(fragments.size());
+        for (Edge edge : edges) {
+            unionFind.union(edge.a(), edge.b());
+        }
+        Map<Integer, Double> minSimilarity = new HashMap<>();
+        for (Edge edge : edges) {
+            minSimilarity.merge(unionFind.find(edge.a()), edge.similarity(), Math::min);
+        }
+
+        List<MethodCloneClass> cloneClasses = new ArrayList<>();
+        for (List<Integer> group : unionFind.groups(2)) {
+            List<MethodRef> members = group.stream().map(i -> fragments.get(i).ref()).collect(Collectors.toList());
+            double similarity = minSimilarity.getOrDefault(unionFind.find(group.get(0)), 1.0);
+            cloneClasses.add(new MethodCloneClass(cloneClasses.size() + 1, Math.round(similarity * 10000) / 100.0, members));
+        }
+        return new Result(fragments.size(), candidates.size(), cloneClasses);
+    }
+
+    private List<Fragment> extractFragments(String file, String code) {
+        ParseResult<CompilationUnit> parsed = new JavaParser().parse(code);
+        if (parsed.getResult().isEmpty()) {
+            return List.of();
+        }
+        List<Fragment> fragments = new ArrayList<>();
+        for (CallableDeclaration<?> callable : parsed.getResult().get().findAll(CallableDeclaration.class)) {
+            if (callable.getTokenRange().isEmpty() || callable.getRange().isEmpty()) {
+                continue;
+            }
+            List<Integer> tokens = new ArrayList<>();
+            for (JavaToken token : callable.getTokenRange().get()) {
+                JavaToken.Category category = token.getCategory();
+                if (category.isWhitespaceOrComment()) {
+                    continue;
+                }
+                if (category.isIdentifier()) {
+                    tokens.add("ID".hashCode());
+                } else if (category.isLiteral()) {
+                    tokens.add("LIT".hashCode());
+                } else {
+                    tokens.add(token.getText().hashCode());
+                }
+            }
+            if (tokens.size() < MIN_TOKENS) {
+                continue;
+            }
+            MethodRef ref = new MethodRef(file, callable.getNameAsString(),
+                    callable.getRange().get().begin.line, callable.getRange().get().end.line, tokens.size());
+            fragments.add(new Fragment(ref, kgramHashes(tokens)));
+        }
+        return fragments;
+    }
+
+    /**
+     * Token k-gram hash'lerinin sıralı, tekil dizisi (ilk SKETCH_SIZE eleman bottom-k sketch'tir)
+     */
+    private long[] kgramHashes(List<Integer> tokens) {
+        long[] hashes = new long[tokens.size() - K + 1];
+        for (int i = 0; i < hashes.length; i++) {
+            long h = 1125899906842597L;
+            for (int j = i; j < i + K; j++) {
+                h = 31 * h + tokens.get(j);
+            }
+            // Yorum: karıştırma; aksi halde küçük hash'ler hep aynı token kalıplarından gelir
+            h ^= (h >>> 33);
+            h *= 0xff51afd7ed558ccdL;
+            h ^= (h >>> 33);
+            hashes[i] = h;
+        }
+        return Arrays.stream(hashes).sorted().distinct().toArray();
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - common;
+        return union == 0 ? 0.0 : (double) common / union;
+    }
+
+    private static boolean overlaps(MethodRef a, MethodRef b) {
+        return a.beginLine() <= b.endLine() && b.beginLine() <= a.endLine();
+    }
+}
@@ -0,0 +1,174 @@
+package com.codeinspector.backend.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * DuplicateCodeDetector.calculateSimilarityPercentage için ucuz üst sınırlarla aday çift seçimi.
+ *
+ * Benzerlik = 200 * |tekrarlanan satırlar| / (|A| + |B|), A ve B dosyaların tekil normalize satır kümeleri.
+ * Tekrarlanan her satır iki kümede de bulunduğundan benzerlik &lt;= 200 * |A ∩ B| / (|A| + |B|)
+ * &lt;= 200 * min(|A|,|B|) / (|A| + |B|). Eşiğe ulaşamayan çiftler detector'a hiç gönderilmez:
+ * <ul>
+ *   <li>Boyut filtresi: 200 * min(|A|,|B|) / (|A| + |B|) eşiğin altındaysa çift elenir (ör. eşik 20 için oran 9'u aşamaz)</li>
+ *   <li>Prefix filtresi: satırlar nadirden sıkça göre sıralanır; yeterli kesişimi olan iki küme
+ *       mutlaka prefix'lerinde ortak bir satır paylaşır</li>
+ *   <li>Kesişim sınırı: kalan adaylarda |A ∩ B| sıralı dizilerin birleştirilmesiyle tam hesaplanır</li>
+ * </ul>
+ * Birebir aynı içerikli dosyalar (detector bunlara 100 verir) her zaman aday kalır.
+ */
+@Component
+public class SimilarityPrefilter {
+
+    private final DuplicateCodeDetector duplicateCodeDetector;
+
+    public SimilarityPrefilter(DuplicateCodeDetector duplicateCodeDetector) {
+        this.duplicateCodeDetector = duplicateCodeDetector;
+    }
+
+    /**
+     * @param candidatePairs Detector'da değerlendirilmesi gereken (i, j) çiftleri, i &lt; j, artan sırada
+     * @param totalPairs     Filtre öncesi toplam çift sayısı
+     */
+    public record Result(List<int[]> candidatePairs, long totalPairs) {
+        public long prunedPairs() {
+            return totalPairs - candidatePairs.size();
+        }
+    }
+
+    /**
+     * @param codes     Dosya içerikleri (okunamayan dosyalar için null)
+     * @param threshold Yüzde cinsinden eşik; üst sınırı bunun altında kalan çiftler elenir
+     */
+    public Result filter(List<String> codes, double threshold) {
+        int n = codes.size();
+        long totalPairs = (long) n * (n - 1) / 2;
+        if (threshold <= 0) {
+            // Sıfır benzerlik de eşiği geçer: ortak satırı olmayan çiftler prefix indeksinde hiç buluşmaz
+            List<int[]> all = new ArrayList<>();
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    if (codes.get(a) != null && codes.get(b) != null) all.add(new int[]{a, b});
+                }
+            }
+            return new Result(all, totalPairs);
+        }
+
+        // Tekil satırları int id'lere çevir ve doküman frekanslarını say
+        Map<String, Integer> lineIds = new HashMap<>();
+        List<Integer> documentFrequency = new ArrayList<>();
+        int[][] sets = new int[n][];
+        for (int f = 0; f < n; f++) {
+            if (codes.get(f) == null) continue;
+            Set<String> unique = new HashSet<>(duplicateCodeDetector.getNormalizedLines(codes.get(f)));
+            int[] ids = new int[unique.size()];
+            int k = 0;
+            for (String line : unique) {
+                Integer id = lineIds.get(line);
+                if (id == null) {
+                    id = lineIds.size();
+                    lineIds.put(line, id);
+                    documentFrequency.add(0);
+                }
+                documentFrequency.set(id, documentFrequency.get(id) + 1);
+                ids[k++] = id;
+            }
+            sets[f] = ids;
+        }
+
+        // Global sıra: nadir satırlar önce; her küme bu sıraya göre (rank) sıralanır
+        Integer[] byFrequency = new Integer[lineIds.size()];
+        for (int i = 0; i < byFrequency.length; i++) byFrequency[i] = i;
+        Arrays.sort(byFrequency, (a, b) -> documentFrequency.get(a).equals(documentFrequency.get(b))
+                ? Integer.compare(a, b) : Integer.compare(documentFrequency.get(a), documentFrequency.get(b)));
+        int[] rank = new int[byFrequency.length];
+        for (int r = 0; r < byFrequency.length; r++) rank[byFrequency[r]] = r;
+        for (int[] set : sets) {
+            if (set == null) continue;
+            for (int i = 0; i < set.length; i++) set[i] = rank[set[i]];
+            Arrays.sort(set);
+        }
+
+        // Prefix'lerden ters indeks: rank -> bu satırı prefix'inde taşıyan dosyalar
+        Map<Integer, List<Integer>> prefixIndex = new HashMap<>();
+        for (int f = 0; f < n; f++) {
+            if (sets[f] == null) continue;
+            int prefix = prefixLength(sets[f].length, threshold);
+            for (int i = 0; i < prefix; i++) {
+                prefixIndex.computeIfAbsent(sets[f][i], r -> new ArrayList<>()).add(f);
+            }
+        }
+
+        Map<String, List<Integer>> identical = new HashMap<>();
+        for (int f = 0; f < n; f++) {
+            if (codes.get(f) != null) identical.computeIfAbsent(codes.get(f), c -> new ArrayList<>()).add(f);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<int[]> candidates = new ArrayList<>();
+        for (List<Integer> files : prefixIndex.values()) {
+            for (int x = 0; x < files.size(); x++) {
+                for (int y = x + 1; y < files.size(); y++) {
+                    int a = Math.min(files.get(x), files.get(y));
+                    int b = Math.max(files.get(x), files.get(y));
+                    long key = ((long) a << 32) | b;
+                    if (!sizeBoundReached(sets[a].length, sets[b].length, threshold) || !seen.add(key)) continue;
+                    if (200.0 * overlap(sets[a], sets[b]) >= threshold * (sets[a].length + sets[b].length)) {
+                        candidates.add(new int[]{a, b});
+                    }
+                }
+            }
+        }
+        for (List<Integer> group : identical.values()) {
+            for (int x = 0; x < group.size(); x++) {
+                for (int y = x + 1; y < group.size(); y++) {
+                    if (seen.add(((long) group.get(x) << 32) | group.get(y))) {
+                        candidates.add(new int[]{group.get(x), group.get(y)});
+                    }
+                }
+            }
+        }
+
+        candidates.sort((p, q) -> p[0] != q[0] ? Integer.compare(p[0], q[0]) : Integer.compare(p[1], q[1]));
+        return new Result(candidates, totalPairs);
+    }
+
+    /**
+     * Boyut filtresi: 200 * min / (min + max) eşiğe ulaşabiliyor mu
+     */
+    private static boolean sizeBoundReached(int sizeA, int sizeB, double threshold) {
+        return 200.0 * Math.min(sizeA, sizeB) >= threshold * (sizeA + sizeB);
+    }
+
+    /**
+     * Eşiği geçen her eşle gereken minimum kesişim ceil(t*x/(200-t)); prefix uzunluğu x - minimum + 1
+     */
+    private static int prefixLength(int size, double threshold) {
+        if (size == 0) return 0;
+        int minOverlap = (int) Math.ceil(threshold * size / (200.0 - threshold));
+        return Math.max(0, size - Math.max(1, minOverlap) + 1);
+    }
+
+    private static int overlap(int[] a, int[] b) {
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common;
+    }
+}
@@ -0,0 +1,70 @@
+package com.codeinspector.backend.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 0..n-1 elemanları için union-find (disjoint set), path compression + union by size.
+ * Clone sınıflarını gruplamak için kullanılır.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final int[] size;
+
+    public UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * İki elemanın kümelerini birleştirir; zaten aynı kümedeyse false döner
+     */
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return false;
+        if (size[ra] < size[rb]) {
+            int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        return true;
+    }
+
+    /**
+     * En az minSize elemanlı kümeleri döndürür (kümeler ve elemanları artan sırada)
+     */
+    public List<List<Integer>> groups(int minSize) {
+        Map<Integer, List<Integer>> byRoot = new HashMap<>();
+        for (int i = 0; i < parent.length; i++) {
+            if (size[find(i)] >= minSize) {
+                byRoot.computeIfAbsent(find(i), k -> new ArrayList<>()).add(i);
+            }
+        }
+        List<List<Integer>> groups = new ArrayList<>(byRoot.values());
+        groups.sort(Comparator.comparingInt(g -> g.get(0)));
+        return groups;
+    }
+}
@@ -0,0 +1,126 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.BiconnectedComponents;
+import com.codeinspector.backend.graph.IntGraph;
+
+public class BiconnectedComponentsTest {
+
+    @Test
+    public void testStatsWithoutMatchRecompute() {
+        Random random = new Random(163);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(40);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            BitSet removed = new BitSet();
+            if (random.nextBoolean()) {
+                for (int v = 0; v < n; v++) {
+                    if (random.nextInt(6) == 0) removed.set(v);
+                }
+            }
+            BiconnectedComponents bcc = BiconnectedComponents.compute(graph, removed);
+            String message = "round " + round;
+
+            IntGraph.ComponentStats stats = graph.componentStats(removed);
+            assertEquals(stats.count(), bcc.componentCount(), message);
+            assertEquals(stats.largest(), bcc.largestComponent(), message);
+            assertEquals(stats.remaining(), bcc.remaining(), message);
+
+            int articulationPoints = 0;
+            for (int v = 0; v < n; v++) {
+                if (removed.get(v)) continue;
+                BitSet without = (BitSet) removed.clone();
+                without.set(v);
+                // Her node için ayrı BFS: özet DFS'ten tek geçişte çıkarılanla aynı olmalı
+                assertEquals(graph.componentStats(without), bcc.statsWithout(v), message + ", v=" + v);
+                boolean articulation = graph.componentStats(without).count() > stats.count();
+                assertEquals(articulation, bcc.isArticulationPoint(v), message + ", v=" + v);
+                if (articulation) articulationPoints++;
+            }
+            assertEquals(articulationPoints, bcc.articulationPointCount(), message);
+        }
+    }
+
+    @Test
+    public void testBlocksPartitionEdgesAndAreBiconnected() {
+        Random random = new Random(167);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(25);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            BiconnectedComponents bcc = BiconnectedComponents.compute(graph);
+            String message = "round " + round;
+
+            // Her edge tam olarak bir block'ta; block'lar iki node'dan büyükse tek node çıkarınca bağlı kalır
+            int[][] owner = new int[n][n];
+            for (int b = 0; b < bcc.blockCount(); b++) {
+                int[] block = bcc.block(b);
+                assertTrue(block.length >= 2, message);
+                for (int i = 1; i < block.length; i++) assertTrue(block[i - 1] < block[i], message);
+                for (int x : block) {
+                    for (int y : block) {
+                        if (x < y && graph.hasEdge(x, y)) owner[x][y]++;
+                    }
+                }
+                if (block.length > 2) {
+                    for (int skip : block) assertTrue(connectedWithin(graph, block, skip), message + ", block " + b);
+                } else {
+                    assertTrue(graph.hasEdge(block[0], block[1]), message);
+                }
+            }
+            for (int x = 0; x < n; x++) {
+                for (int y = x + 1; y < n; y++) {
+                    assertEquals(graph.hasEdge(x, y) ? 1 : 0, owner[x][y], message + ", edge " + x + "-" + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeepGraphsDoNotOverflow() {
+        // Açık çağrı yığını: 200k'lık yolda her iç node articulation point'tir
+        int n = 200_000;
+        BiconnectedComponents path = BiconnectedComponents.compute(TestGraphs.path(n));
+        assertEquals(n - 2, path.articulationPointCount());
+        assertEquals(n - 1, path.blockCount());
+        assertEquals(new IntGraph.ComponentStats(2, n / 2, n - 1), path.statsWithout(n / 2));
+        assertEquals(new IntGraph.ComponentStats(1, n - 1, n - 1), path.statsWithout(0));
+
+        BiconnectedComponents cycle = BiconnectedComponents.compute(TestGraphs.cycle(n));
+        assertEquals(0, cycle.articulationPointCount());
+        assertEquals(1, cycle.blockCount());
+        assertEquals(new IntGraph.ComponentStats(1, n - 1, n - 1), cycle.statsWithout(n / 3));
+    }
+
+    /**
+     * Block'un skip dışındaki node'ları, yalnızca block içi edge'lerle birbirine ulaşabiliyor mu
+     */
+    private static boolean connectedWithin(IntGraph graph, int[] block, int skip) {
+        BitSet member = new BitSet();
+        for (int v : block) {
+            if (v != skip) member.set(v);
+        }
+        BitSet seen = new BitSet();
+        List<Integer> stack = new ArrayList<>();
+        int start = member.nextSetBit(0);
+        stack.add(start);
+        seen.set(start);
+        while (!stack.isEmpty()) {
+            int v = stack.remove(stack.size() - 1);
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (member.get(u) && !seen.get(u)) {
+                    seen.set(u);
+                    stack.add(u);
+                }
+            }
+        }
+        return seen.equals(member);
+    }
+}
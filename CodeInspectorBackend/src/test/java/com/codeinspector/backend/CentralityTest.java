@@ -0,0 +1,162 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.Centrality;
+import com.codeinspector.backend.graph.IntGraph;
+
+public class CentralityTest {
+
+    @Test
+    public void testExactScoresMatchPairCounting() {
+        Random random = new Random(193);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int round = 0; round < 200; round++) {
+                int n = 1 + random.nextInt(30);
+                IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+                Centrality.Scores scores = Centrality.compute(graph, 0, pool);
+                String message = "round " + round + ", n=" + n;
+                assertTrue(scores.exact(), message);
+                assertEquals(n, scores.pivots(), message);
+                assertEquals(0.0, scores.errorBound(), message);
+
+                double[][] expected = pairCounting(graph);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[0][v], scores.betweenness()[v], 1e-9, message + ", betweenness of " + v);
+                    assertEquals(expected[1][v], scores.closeness()[v], 1e-9, message + ", closeness of " + v);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testKnownValues() {
+        // Yıldızın merkezi tüm yaprak çiftlerinin tek ara node'u; yolun ortası en yüksek betweenness'e sahip
+        int leaves = 9;
+        List<int[]> star = new ArrayList<>();
+        for (int v = 1; v <= leaves; v++) star.add(new int[]{0, v});
+        IntGraph starGraph = TestGraphs.of(leaves + 1, star);
+        Centrality.Scores starScores = Centrality.compute(starGraph, 0, ForkJoinPool.commonPool());
+        assertEquals(1.0, starScores.betweenness()[0], 1e-12);
+        assertEquals(1.0, starScores.closeness()[0], 1e-12);
+        assertEquals(0.0, starScores.betweenness()[1], 1e-12);
+        assertEquals((1 + (leaves - 1) / 2.0) / leaves, starScores.closeness()[1], 1e-12);
+
+        Centrality.Scores path = Centrality.compute(TestGraphs.path(5), 0, ForkJoinPool.commonPool());
+        // Ortadaki node'u içermeyen 6 çiftin {0,1}×{3,4} olan 4'ü ondan geçer
+        assertEquals(4.0 / 6.0, path.betweenness()[2], 1e-12);
+        assertEquals(0.0, path.betweenness()[0], 1e-12);
+    }
+
+    @Test
+    public void testSampledScoresStayWithinErrorBound() {
+        IntGraph graph = TestGraphs.random(new Random(197), 3000, 3000, true);
+        double epsilon = 0.05;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Centrality.Scores exact = Centrality.compute(graph, 0, pool);
+            Centrality.Scores sampled = Centrality.compute(graph, epsilon, pool);
+            assertFalse(sampled.exact());
+            assertTrue(sampled.pivots() < graph.nodeCount());
+            assertEquals(epsilon, sampled.errorBound());
+            double betweennessError = 0;
+            double closenessError = 0;
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                betweennessError = Math.max(betweennessError,
+                        Math.abs(exact.betweenness()[v] - sampled.betweenness()[v]));
+                closenessError = Math.max(closenessError, Math.abs(exact.closeness()[v] - sampled.closeness()[v]));
+            }
+            // Sabit tohumla pivotlar her çalıştırmada aynı; sınır δ olasılıkla aşılabilirdi, bu tohumda aşılmıyor
+            assertTrue(betweennessError <= epsilon, "betweenness error " + betweennessError);
+            assertTrue(closenessError <= epsilon, "closeness error " + closenessError);
+
+            // Büyük ε için gereken pivot sayısı n'yi aşarsa exact hesaplanır
+            IntGraph small = TestGraphs.random(new Random(199), 20, 30, true);
+            assertTrue(Centrality.compute(small, 0.05, pool).exact());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testResultDoesNotDependOnPoolSize() {
+        IntGraph graph = TestGraphs.random(new Random(211), 1500, 2500, true);
+        Centrality.Scores reference = null;
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Centrality.Scores scores = Centrality.compute(graph, 0.1, pool);
+                if (reference == null) {
+                    reference = scores;
+                    continue;
+                }
+                assertArrayEquals(reference.betweenness(), scores.betweenness(), threads + " threads");
+                assertArrayEquals(reference.closeness(), scores.closeness(), threads + " threads");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Tüm çiftler için BFS mesafeleri ve en kısa yol sayıları: bc(v) = Σ_{s<t} σ_st(v) / σ_st,
+     * closeness(v) = Σ_{u ≠ v} 1 / d(u, v) / (n − 1); ikisi de servisteki gibi normalize edilir
+     */
+    private static double[][] pairCounting(IntGraph graph) {
+        int n = graph.nodeCount();
+        int[][] distance = new int[n][];
+        double[][] paths = new double[n][];
+        for (int s = 0; s < n; s++) {
+            distance[s] = new int[n];
+            paths[s] = new double[n];
+            Arrays.fill(distance[s], -1);
+            distance[s][s] = 0;
+            paths[s][s] = 1;
+            int[] queue = new int[n];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    int u = graph.adjacencyAt(i);
+                    if (distance[s][u] < 0) {
+                        distance[s][u] = distance[s][v] + 1;
+                        queue[tail++] = u;
+                    }
+                    if (distance[s][u] == distance[s][v] + 1) paths[s][u] += paths[s][v];
+                }
+            }
+        }
+        double[] betweenness = new double[n];
+        double[] closeness = new double[n];
+        for (int v = 0; v < n; v++) {
+            for (int s = 0; s < n; s++) {
+                if (s == v) continue;
+                if (distance[s][v] > 0) closeness[v] += 1.0 / distance[s][v];
+                for (int t = s + 1; t < n; t++) {
+                    if (t == v || distance[s][t] < 0 || distance[s][v] < 0 || distance[v][t] < 0) continue;
+                    if (distance[s][v] + distance[v][t] == distance[s][t]) {
+                        betweenness[v] += paths[s][v] * paths[v][t] / paths[s][t];
+                    }
+                }
+            }
+            double pairs = (n - 1.0) * (n - 2.0) / 2.0;
+            betweenness[v] = pairs > 0 ? betweenness[v] / pairs : 0.0;
+            closeness[v] = n > 1 ? closeness[v] / (n - 1) : 0.0;
+        }
+        return new double[][]{betweenness, closeness};
+    }
+}
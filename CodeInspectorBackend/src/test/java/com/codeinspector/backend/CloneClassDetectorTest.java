@@ -0,0 +1,181 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.utils.CloneClassDetector;
+import com.codeinspector.backend.utils.DuplicateCodeDetector;
+
+public class CloneClassDetectorTest {
+
+    private static final int WINDOW = 3;
+    private static final String[] STATEMENTS = {"int a = 0;", "a++;", "return a;", "call(a);", "if (a > 1) {",
+            "b = a * 2;", "log(b);", "{", "}", "// yorum", "", "list.add(b);"};
+
+    private final DuplicateCodeDetector duplicateCodeDetector = new DuplicateCodeDetector();
+    private final CloneClassDetector detector = new CloneClassDetector(duplicateCodeDetector);
+
+    @Test
+    public void testClassesMatchReferenceGrouping() {
+        Random random = new Random(109);
+        for (int round = 0; round < 300; round++) {
+            Map<String, String> sources = randomSources(random);
+            CloneClassDetector.Result result = detector.detect(sources);
+            String message = "round " + round;
+
+            Set<String> actual = new HashSet<>();
+            for (int i = 0; i < result.cloneClasses().size(); i++) {
+                CloneClassDetector.CloneClass cloneClass = result.cloneClasses().get(i);
+                assertEquals(i + 1, cloneClass.id(), message);
+                assertTrue(cloneClass.files().size() >= 2, message);
+                assertTrue(cloneClass.fragment().size() >= WINDOW, message);
+                assertTrue(actual.add(cloneClass.files() + " " + cloneClass.fragment()), message);
+                for (String file : cloneClass.files()) {
+                    assertTrue(result.classesByFile().get(file).contains(cloneClass.id()), message);
+                }
+            }
+            assertEquals(referenceClasses(sources), actual, message);
+        }
+    }
+
+    @Test
+    public void testSharedClassesCoverPairDuplicates() {
+        // Bir çiftin ortak sınıflarındaki satırlar, DuplicateCodeDetector'ın o çift için bulduklarıyla aynıdır
+        Random random = new Random(113);
+        for (int round = 0; round < 200; round++) {
+            Map<String, String> sources = randomSources(random);
+            CloneClassDetector.Result result = detector.detect(sources);
+            List<String> paths = new ArrayList<>(sources.keySet());
+            for (int i = 0; i < paths.size(); i++) {
+                for (int j = i + 1; j < paths.size(); j++) {
+                    String first = sources.get(paths.get(i));
+                    String second = sources.get(paths.get(j));
+                    Set<String> expected = new HashSet<>(duplicateCodeDetector.detectDuplicates(first, second));
+                    Set<String> actual = new HashSet<>();
+                    for (int id : result.sharedClassIds(paths.get(i), paths.get(j))) {
+                        actual.addAll(result.cloneClasses().get(id - 1).fragment());
+                    }
+                    String message = "round " + round + ", " + paths.get(i) + " / " + paths.get(j);
+                    assertEquals(expected, actual, message);
+                    assertEquals(expected, result.sharedLines(paths.get(i), paths.get(j)), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNoSharedWindowsGiveNoClasses() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("A.java", "int a = 0;\na++;\nreturn a;\n");
+        sources.put("B.java", "int a = 0;\na++;\n}\nlog(a);\n");
+        sources.put("C.java", "");
+        CloneClassDetector.Result result = detector.detect(sources);
+        assertTrue(result.cloneClasses().isEmpty());
+        assertTrue(result.sharedClassIds("A.java", "B.java").isEmpty());
+    }
+
+    /**
+     * Küçük bir satır havuzundan dosyalar; bazıları diğerlerinden kopyalanmış bloklar taşır
+     */
+    private static Map<String, String> randomSources(Random random) {
+        int files = 2 + random.nextInt(6);
+        List<List<String>> contents = new ArrayList<>();
+        for (int f = 0; f < files; f++) {
+            List<String> lines = new ArrayList<>();
+            int length = random.nextInt(25);
+            for (int i = 0; i < length; i++) lines.add(STATEMENTS[random.nextInt(STATEMENTS.length)]);
+            if (f > 0 && random.nextBoolean()) {
+                List<String> donor = contents.get(random.nextInt(f));
+                if (!donor.isEmpty()) {
+                    int start = random.nextInt(donor.size());
+                    int end = Math.min(donor.size(), start + 3 + random.nextInt(8));
+                    lines.addAll(random.nextInt(lines.size() + 1), donor.subList(start, end));
+                }
+            }
+            contents.add(lines);
+        }
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int f = 0; f < files; f++) sources.put("F" + f + ".java", String.join("\n", contents.get(f)));
+        return sources;
+    }
+
+    /**
+     * Referans gruplama: birden fazla dosyada geçen pencereler, bir dosyada ardışık ve dosya kümeleri aynıysa
+     * aynı gruba girer; gruplar sabit noktaya kadar etiket yayarak bulunur. Her grup "dosyalar parça" metni olur.
+     */
+    private Set<String> referenceClasses(Map<String, String> sources) {
+        List<String> paths = new ArrayList<>(sources.keySet());
+        List<List<String>> lines = new ArrayList<>();
+        for (String path : paths) lines.add(duplicateCodeDetector.getNormalizedLines(sources.get(path)));
+
+        Map<String, TreeSet<Integer>> filesOf = new HashMap<>();
+        for (int f = 0; f < paths.size(); f++) {
+            for (int p = 0; p + WINDOW <= lines.get(f).size(); p++) {
+                filesOf.computeIfAbsent(window(lines.get(f), p), k -> new TreeSet<>()).add(f);
+            }
+        }
+        Map<String, String> label = new HashMap<>();
+        filesOf.forEach((key, files) -> {
+            if (files.size() > 1) label.put(key, key);
+        });
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (List<String> fileLines : lines) {
+                for (int p = 1; p + WINDOW <= fileLines.size(); p++) {
+                    String previous = window(fileLines, p - 1);
+                    String current = window(fileLines, p);
+                    if (!label.containsKey(previous) || !label.containsKey(current)
+                            || !filesOf.get(previous).equals(filesOf.get(current))) {
+                        continue;
+                    }
+                    String smaller = label.get(previous).compareTo(label.get(current)) <= 0
+                            ? label.get(previous) : label.get(current);
+                    for (String key : List.of(previous, current)) {
+                        if (!label.get(key).equals(smaller)) {
+                            label.put(key, smaller);
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        Set<String> result = new HashSet<>();
+        for (String group : new HashSet<>(label.values())) {
+            TreeSet<Integer> members = null;
+            for (Map.Entry<String, String> e : label.entrySet()) {
+                if (e.getValue().equals(group)) members = filesOf.get(e.getKey());
+            }
+            List<String> fileLines = lines.get(members.first());
+            boolean[] covered = new boolean[fileLines.size()];
+            for (int p = 0; p + WINDOW <= fileLines.size(); p++) {
+                if (group.equals(label.get(window(fileLines, p)))) {
+                    for (int i = p; i < p + WINDOW; i++) covered[i] = true;
+                }
+            }
+            List<String> fragment = new ArrayList<>();
+            for (int i = 0; i < covered.length; i++) {
+                if (covered[i]) fragment.add(fileLines.get(i));
+            }
+            List<String> memberPaths = new ArrayList<>();
+            for (int f : members) memberPaths.add(paths.get(f));
+            result.add(memberPaths + " " + fragment);
+        }
+        return result;
+    }
+
+    private static String window(List<String> lines, int start) {
+        return String.join("\n", lines.subList(start, start + WINDOW));
+    }
+}
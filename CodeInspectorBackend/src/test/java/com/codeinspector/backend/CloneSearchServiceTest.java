@@ -0,0 +1,200 @@
+package com.codeinspector.backend;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.jgit.api.Git;
+
+import com.codeinspector.backend.model.Project;
+import com.codeinspector.backend.model.ProjectVersion;
+import com.codeinspector.backend.repository.ProjectRepository;
+import com.codeinspector.backend.repository.ProjectVersionRepository;
+import com.codeinspector.backend.service.CloneSearchService;
+import com.codeinspector.backend.service.GitService;
+import com.codeinspector.backend.service.ProjectDeletedEvent;
+import com.codeinspector.backend.service.ProjectVersionCreatedEvent;
+import com.codeinspector.backend.utils.DuplicateCodeDetector;
+
+public class CloneSearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DuplicateCodeDetector detector = new DuplicateCodeDetector();
+    private final CloneSearchService service = new CloneSearchService(repository(ProjectRepository.class),
+            repository(ProjectVersionRepository.class), new GitService(), detector);
+    private long nextVersionId = 1;
+
+    @Test
+    public void testSearchMatchesSharedLineCounts() throws Exception {
+        Random random = new Random(13);
+        Project project = project("alpha");
+        Map<String, String> files = new HashMap<>();
+        for (int i = 0; i < 12; i++) files.put("src/F" + i + ".java", randomCode(random, 30));
+        ProjectVersion version = commit(project, files);
+        service.indexVersion(project, version);
+
+        for (int round = 0; round < 30; round++) {
+            String snippet = randomCode(random, 8);
+            List<CloneSearchService.CloneSearchHit> hits = service.search(snippet, 1, 100, Set.of("alpha"));
+
+            // Beklenen: snippet'in (tekil, yeterince uzun) normalize satırlarından dosyada geçenlerin sayısı
+            Set<String> query = searchableLines(snippet);
+            Map<String, Integer> expected = new HashMap<>();
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                Set<String> shared = new HashSet<>(query);
+                shared.retainAll(searchableLines(file.getValue()));
+                if (!shared.isEmpty()) expected.put(file.getKey(), shared.size());
+            }
+            Map<String, Integer> actual = new HashMap<>();
+            for (CloneSearchService.CloneSearchHit hit : hits) {
+                actual.put(hit.filePath(), hit.sharedLines());
+                assertEquals(version.getId(), hit.versionId());
+            }
+            assertEquals(expected, actual, "round " + round);
+            for (int i = 1; i < hits.size(); i++) {
+                assertTrue(hits.get(i - 1).sharedLines() >= hits.get(i).sharedLines());
+            }
+        }
+    }
+
+    @Test
+    public void testNewVersionReplacesChangedAndRemovedFiles() throws Exception {
+        Project project = project("beta");
+        Map<String, String> files = new HashMap<>();
+        files.put("A.java", "class A {\n  int alphaField = 1;\n  void alphaMethod() { run(); }\n}\n");
+        files.put("B.java", "class B {\n  int betaField = 2;\n}\n");
+        files.put("C.java", "class C {\n  int gammaField = 3;\n}\n");
+        service.onVersionCreated(new ProjectVersionCreatedEvent(project, commit(project, files)));
+
+        files.put("A.java", "class A {\n  int alphaField = 10;\n}\n");
+        files.remove("B.java");
+        ProjectVersion second = commit(project, files);
+        service.onVersionCreated(new ProjectVersionCreatedEvent(project, second));
+
+        Set<String> allowed = Set.of("beta");
+        assertTrue(service.search("void alphaMethod() { run(); }", 1, 10, allowed).isEmpty());
+        assertTrue(service.search("int betaField = 2;", 1, 10, allowed).isEmpty());
+        List<CloneSearchService.CloneSearchHit> changed = service.search("int alphaField = 10;", 1, 10, allowed);
+        assertEquals(List.of("A.java"), changed.stream().map(CloneSearchService.CloneSearchHit::filePath).toList());
+        // Değişmeyen dosya da yeni versiyona taşınır
+        List<CloneSearchService.CloneSearchHit> unchanged = service.search("int gammaField = 3;", 1, 10, allowed);
+        assertEquals(1, unchanged.size());
+        assertEquals(second.getId(), unchanged.get(0).versionId());
+    }
+
+    @Test
+    public void testDeletedProjectLeavesIndex() throws Exception {
+        Random random = new Random(29);
+        Project kept = project("kept");
+        Project deleted = project("deleted");
+        String shared = randomCode(random, 10);
+        Map<String, String> keptFiles = Map.of("K.java", shared + randomCode(random, 10));
+        // Silinen proje daha çok dosyaya sahip: silme sıkıştırmayı tetikler
+        Map<String, String> deletedFiles = new HashMap<>();
+        for (int i = 0; i < 5; i++) deletedFiles.put("D" + i + ".java", shared + randomCode(random, 5));
+        service.indexVersion(kept, commit(kept, keptFiles));
+        service.indexVersion(deleted, commit(deleted, deletedFiles));
+
+        Set<String> allowed = Set.of("kept", "deleted");
+        assertEquals(6, service.search(shared, 1, 100, allowed).size());
+        service.onProjectDeleted(new ProjectDeletedEvent("deleted"));
+        List<CloneSearchService.CloneSearchHit> hits = service.search(shared, 1, 100, allowed);
+        assertEquals(1, hits.size());
+        assertEquals("kept", hits.get(0).projectSlug());
+        assertEquals("K.java", hits.get(0).filePath());
+
+        // Aynı slug ile yeniden import edilirse baştan indekslenir
+        service.indexVersion(deleted, commit(deleted, deletedFiles));
+        assertEquals(6, service.search(shared, 1, 100, allowed).size());
+    }
+
+    @Test
+    public void testFailedIndexingDoesNotThrow() {
+        Project project = project("gamma");
+        ProjectVersion missing = new ProjectVersion();
+        missing.setId(nextVersionId++);
+        missing.setCommitHash("0000000000000000000000000000000000000000");
+        service.onVersionCreated(new ProjectVersionCreatedEvent(project, missing));
+        assertTrue(service.search("int x = 1;", 1, 10, Set.of("gamma")).isEmpty());
+    }
+
+    private Project project(String slug) {
+        Project project = new Project();
+        project.setId(nextVersionId++);
+        project.setSlug(slug);
+        project.setStoragePath(tempDir.resolve(slug).toString());
+        return project;
+    }
+
+    /**
+     * Dosyaları proje deposuna yazıp commit'ler; önceki commit'teki ama files'ta olmayan dosyalar silinir
+     */
+    private ProjectVersion commit(Project project, Map<String, String> files) throws Exception {
+        File root = new File(project.getStoragePath());
+        try (Git git = root.exists() ? Git.open(root) : Git.init().setDirectory(root).call()) {
+            try (var existing = Files.walk(root.toPath())) {
+                for (Path path : existing.filter(p -> p.toString().endsWith(".java")).toList()) {
+                    Files.delete(path);
+                }
+            }
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                Path path = root.toPath().resolve(file.getKey());
+                Files.createDirectories(path.getParent());
+                Files.writeString(path, file.getValue());
+            }
+            git.add().addFilepattern(".").call();
+            git.add().addFilepattern(".").setUpdate(true).call();
+            String hash = git.commit().setMessage("v" + nextVersionId).setAuthor("test", "test@example.com")
+                    .setCommitter("test", "test@example.com").call().getName();
+            ProjectVersion version = new ProjectVersion();
+            version.setId(nextVersionId);
+            version.setVersionName("v" + nextVersionId++);
+            version.setCommitHash(hash);
+            version.setProject(project);
+            return version;
+        }
+    }
+
+    private Set<String> searchableLines(String code) {
+        Set<String> lines = new HashSet<>();
+        for (String line : detector.getNormalizedLines(code)) {
+            if (line.length() >= 4 && !line.startsWith("import ") && !line.startsWith("package ")) lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Küçük bir kelime havuzundan satırlar: dosyalar arasında ortak satırlar sık görülür
+     */
+    private static String randomCode(Random random, int lines) {
+        String[] names = {"count", "total", "index", "value", "result"};
+        List<String> code = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            code.add("int " + names[random.nextInt(names.length)] + " = " + random.nextInt(6) + ";");
+        }
+        return String.join("\n", code) + "\n";
+    }
+
+    /**
+     * Bu testte hiçbir projeyi geri döndürmeyen repository; ilk aramadaki toplu indeksleme boş geçer
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> List.class.equals(method.getReturnType()) ? List.of() : null);
+    }
+}
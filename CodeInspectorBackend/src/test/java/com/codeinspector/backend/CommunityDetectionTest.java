@@ -0,0 +1,168 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.CommunityDetection;
+import com.codeinspector.backend.graph.CommunityHierarchy;
+import com.codeinspector.backend.graph.IntGraph;
+
+public class CommunityDetectionTest {
+
+    @Test
+    public void testCommunitiesAreConnectedAndModularityIsExact() {
+        Random random = new Random(73);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int round = 0; round < 150; round++) {
+                int n = 2 + random.nextInt(80);
+                IntGraph graph = random.nextBoolean() ? TestGraphs.random(random, n, random.nextInt(2 * n), false)
+                        : plantedClusters(random, n, 2 + random.nextInt(5));
+                CommunityHierarchy hierarchy = CommunityDetection.detect(graph, pool);
+                String message = "round " + round;
+                assertTrue(hierarchy.levelCount() >= 1, message);
+
+                for (int level = 0; level < hierarchy.levelCount(); level++) {
+                    int count = hierarchy.communityCount(level);
+                    int[] assignment = assignment(hierarchy, level, n);
+                    boolean[] used = new boolean[count];
+                    for (int c : assignment) used[c] = true;
+                    for (boolean u : used) assertTrue(u, message + ", level " + level + ": ids are not dense");
+
+                    for (int c = 0; c < count; c++) {
+                        assertTrue(isConnected(graph, hierarchy.members(level, c)),
+                                message + ", level " + level + ", community " + c);
+                    }
+                    assertEquals(modularity(graph, assignment, count), hierarchy.modularity(level), 1e-9,
+                            message + ", level " + level);
+
+                    // Üst seviye alt seviyenin topluluklarını bölmeden birleştirir
+                    if (level > 0) {
+                        int[] finer = assignment(hierarchy, level - 1, n);
+                        int[] parent = new int[hierarchy.communityCount(level - 1)];
+                        Arrays.fill(parent, -1);
+                        for (int v = 0; v < n; v++) {
+                            assertTrue(parent[finer[v]] < 0 || parent[finer[v]] == assignment[v], message);
+                            parent[finer[v]] = assignment[v];
+                        }
+                        assertTrue(count < hierarchy.communityCount(level - 1), message);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testResultDoesNotDependOnPoolSize() {
+        // Paralel bölme eşiğinin üstünde bir graf: renk sınıfları ve birleştirme görevlere bölünür
+        IntGraph graph = plantedClusters(new Random(79), 6000, 40);
+        CommunityHierarchy reference = null;
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                CommunityHierarchy hierarchy = CommunityDetection.detect(graph, pool);
+                if (reference == null) {
+                    reference = hierarchy;
+                    continue;
+                }
+                assertEquals(reference.levelCount(), hierarchy.levelCount(), threads + " threads");
+                for (int level = 0; level < reference.levelCount(); level++) {
+                    assertArrayEquals(assignment(reference, level, graph.nodeCount()),
+                            assignment(hierarchy, level, graph.nodeCount()), threads + " threads, level " + level);
+                    assertEquals(reference.modularity(level), hierarchy.modularity(level));
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        // 40 yoğun küme, aralarında seyrek edge: bölümleme belirgin olmalı
+        assertTrue(reference.modularity(reference.levelCount() - 1) > 0.8);
+    }
+
+    @Test
+    public void testEdgelessGraph() {
+        IntGraph graph = TestGraphs.of(5, List.of());
+        CommunityHierarchy hierarchy = CommunityDetection.detect(graph, ForkJoinPool.commonPool());
+        assertEquals(1, hierarchy.levelCount());
+        assertEquals(5, hierarchy.communityCount(0));
+        assertEquals(0.0, hierarchy.modularity(0));
+    }
+
+    /**
+     * clusters gruba bölünmüş node'lar: grup içi yoğun, gruplar arası seyrek rastgele edge'ler
+     */
+    private static IntGraph plantedClusters(Random random, int n, int clusters) {
+        List<int[]> edges = new ArrayList<>();
+        int size = Math.max(1, n / clusters);
+        for (int v = 0; v < n; v++) {
+            int start = Math.min(v / size * size, n - 1);
+            int end = Math.min(start + size, n);
+            for (int k = 0; k < 4; k++) edges.add(new int[]{v, start + random.nextInt(end - start)});
+            if (random.nextInt(10) == 0) edges.add(new int[]{v, random.nextInt(n)});
+        }
+        return TestGraphs.of(n, edges);
+    }
+
+    private static int[] assignment(CommunityHierarchy hierarchy, int level, int n) {
+        int[] result = new int[n];
+        for (int v = 0; v < n; v++) result[v] = hierarchy.communityOf(level, v);
+        return result;
+    }
+
+    /**
+     * Üyelerin oluşturduğu alt graf bağlı mı (BFS yalnızca üyeler arasında ilerler)
+     */
+    private static boolean isConnected(IntGraph graph, int[] members) {
+        if (members.length == 0) return false;
+        boolean[] member = new boolean[graph.nodeCount()];
+        for (int v : members) member[v] = true;
+        boolean[] seen = new boolean[graph.nodeCount()];
+        int[] queue = new int[members.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = members[0];
+        seen[members[0]] = true;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (member[u] && !seen[u]) {
+                    seen[u] = true;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        return tail == members.length;
+    }
+
+    /**
+     * Q = Σ_C [ L_C / m − (d_C / 2m)² ]; L_C topluluk içi edge sayısı, d_C derece toplamı
+     */
+    private static double modularity(IntGraph graph, int[] community, int count) {
+        int m = graph.edgeCount();
+        if (m == 0) return 0.0;
+        double[] inside = new double[count];
+        double[] degree = new double[count];
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            degree[community[v]] += graph.degree(v);
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if (u > v && community[u] == community[v]) inside[community[v]]++;
+            }
+        }
+        double q = 0;
+        for (int c = 0; c < count; c++) {
+            q += inside[c] / m - Math.pow(degree[c] / (2.0 * m), 2);
+        }
+        return q;
+    }
+}
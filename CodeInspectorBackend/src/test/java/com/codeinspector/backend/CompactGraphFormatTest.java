@@ -0,0 +1,231 @@
+package com.codeinspector.backend;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.CompactGraphFormat;
+import com.codeinspector.backend.graph.GraphLayoutResult;
+
+public class CompactGraphFormatTest {
+
+    @Test
+    public void testRoundTripOfRandomGraphs() {
+        Random random = new Random(61);
+        for (int round = 0; round < 100; round++) {
+            CodeGraphResult graph = randomGraph(random, random.nextInt(150));
+            CodeGraphResult read = roundTrip(graph);
+            String message = "round " + round;
+
+            assertEquals(graph.getVertices().size(), read.getVertices().size(), message);
+            for (int v = 0; v < graph.getVertices().size(); v++) {
+                CodeGraphResult.Vertex expected = graph.getVertices().get(v);
+                CodeGraphResult.Vertex actual = read.getVertices().get(v);
+                assertEquals(expected.getId(), actual.getId(), message);
+                assertEquals(expected.getLabel(), actual.getLabel(), message);
+                assertEquals(expected.getType(), actual.getType(), message);
+                assertEquals(normalized(expected.getMetrics()), normalized(actual.getMetrics()), message);
+            }
+            // Edge sırası korunmaz; çoklu küme olarak aynı olmalı
+            assertEquals(edgeCounts(graph.getEdges()), edgeCounts(read.getEdges()), message);
+            assertEquals(graph.getMetrics().getTotalNodes(), read.getMetrics().getTotalNodes(), message);
+        }
+    }
+
+    @Test
+    public void testTypedMetricColumns() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("int", 42);
+        metrics.put("negative", -7);
+        metrics.put("long", 1L << 40);
+        metrics.put("double", 0.1);
+        metrics.put("nan", Double.NaN);
+        metrics.put("string", "değer ✓");
+        metrics.put("flag", true);
+        metrics.put("skipped", null);
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>();
+        vertices.add(new CodeGraphResult.Vertex("a", null, "class", metrics));
+        vertices.add(new CodeGraphResult.Vertex("b", "b", "method", null));
+        vertices.add(new CodeGraphResult.Vertex("c", "c", "method", new HashMap<>()));
+        CodeGraphResult graph = new CodeGraphResult();
+        graph.setVertices(vertices);
+        graph.setEdges(List.of());
+
+        CodeGraphResult read = roundTrip(graph);
+        Map<String, Object> a = read.getVertices().get(0).getMetrics();
+        // Tamsayılar int'e sığıyorsa Integer, sığmıyorsa Long olarak okunur; null değerler yazılmaz
+        assertEquals(42, a.get("int"));
+        assertEquals(-7, a.get("negative"));
+        assertEquals(1L << 40, a.get("long"));
+        assertEquals(0.1, a.get("double"));
+        assertTrue(Double.isNaN((Double) a.get("nan")));
+        assertEquals("değer ✓", a.get("string"));
+        assertEquals(Boolean.TRUE, a.get("flag"));
+        assertTrue(!a.containsKey("skipped"));
+        assertNull(read.getVertices().get(0).getLabel());
+        assertNull(read.getVertices().get(1).getMetrics());
+        assertEquals(Map.of(), read.getVertices().get(2).getMetrics());
+        assertNull(read.getMetrics());
+        assertNull(read.getLayout());
+    }
+
+    @Test
+    public void testStringTableAndDeltaEdgesAreCompact() {
+        // Uzun ve tekrar eden id'ler: her string bir kez yazılır, edge'ler küçük farklarla kodlanır
+        int n = 2000;
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>();
+        List<CodeGraphResult.Edge> edges = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            String id = "com.example.project.module.SomeRatherLongClassName" + v;
+            vertices.add(new CodeGraphResult.Vertex(id, id, "class", Map.of("loc", v)));
+            if (v > 0) edges.add(new CodeGraphResult.Edge(id, vertices.get(v - 1).getId(), "depends"));
+            if (v > 1) edges.add(new CodeGraphResult.Edge(id, vertices.get(v - 2).getId(), "depends"));
+        }
+        CodeGraphResult graph = new CodeGraphResult();
+        graph.setVertices(vertices);
+        graph.setEdges(edges);
+
+        byte[] bytes = CompactGraphFormat.write(graph, metrics -> null);
+        int idBytes = 0;
+        for (CodeGraphResult.Vertex v : vertices) idBytes += v.getId().getBytes(StandardCharsets.UTF_8).length;
+        // Id'ler (label ile aynı) bir kez + vertex / metrik / edge başına birkaç bayt
+        assertTrue(bytes.length < idBytes + 12 * n + 8 * edges.size(), "size " + bytes.length);
+        CodeGraphResult read = CompactGraphFormat.read(ByteBuffer.wrap(bytes), metrics -> null);
+        assertEquals(edgeCounts(edges), edgeCounts(read.getEdges()));
+    }
+
+    @Test
+    public void testLayoutRoundTrip() {
+        CodeGraphResult graph = randomGraph(new Random(67), 5);
+        List<GraphLayoutResult.Position> positions = new ArrayList<>();
+        for (CodeGraphResult.Vertex v : graph.getVertices()) {
+            positions.add(new GraphLayoutResult.Position(v.getId(), v.getId().length() * 1.5, -2.25));
+        }
+        GraphLayoutResult.Level level = new GraphLayoutResult.Level(12.5, new int[]{0, 0, 1, 1, 1},
+                List.of(new GraphLayoutResult.Cluster(0, 1.0, 2.0, 2, "v0"),
+                        new GraphLayoutResult.Cluster(1, 3.0, 4.0, 3, null)),
+                List.of(new GraphLayoutResult.ClusterEdge(0, 1, 4)));
+        graph.setLayout(new GraphLayoutResult(positions, List.of(level), 300, 17));
+
+        GraphLayoutResult read = roundTrip(graph).getLayout();
+        assertEquals(positions, read.positions());
+        assertEquals(300, read.iterations());
+        assertEquals(17, read.elapsedMs());
+        GraphLayoutResult.Level readLevel = read.levels().get(0);
+        assertEquals(12.5, readLevel.cellSize());
+        assertArrayEquals(level.assignment(), readLevel.assignment());
+        assertEquals(level.clusters(), readLevel.clusters());
+        assertEquals(level.edges(), readLevel.edges());
+    }
+
+    @Test
+    public void testVersionAndMagicAreChecked() {
+        byte[] bytes = CompactGraphFormat.write(randomGraph(new Random(71), 10), this::writeMetrics);
+        // Magic'ten sonraki ilk bayt format versiyonu (tek baytlık varint)
+        assertEquals(CompactGraphFormat.FORMAT_VERSION, bytes[4]);
+        byte[] newer = bytes.clone();
+        newer[4] = (byte) (CompactGraphFormat.FORMAT_VERSION + 1);
+        IllegalArgumentException version = assertThrows(IllegalArgumentException.class,
+                () -> CompactGraphFormat.read(ByteBuffer.wrap(newer), this::readMetrics));
+        assertTrue(version.getMessage().contains("version"));
+
+        byte[] json = "{\"vertices\":[]}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactGraphFormat.read(ByteBuffer.wrap(json), this::readMetrics));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactGraphFormat.read(ByteBuffer.wrap(new byte[2]), this::readMetrics));
+    }
+
+    @Test
+    public void testMixedMetricTypesAreRejected() {
+        CodeGraphResult graph = new CodeGraphResult();
+        graph.setVertices(List.of(new CodeGraphResult.Vertex("a", "a", "class", Map.of("loc", 3)),
+                new CodeGraphResult.Vertex("b", "b", "class", Map.of("loc", "many"))));
+        graph.setEdges(List.of());
+        assertThrows(IllegalArgumentException.class, () -> CompactGraphFormat.write(graph, this::writeMetrics));
+    }
+
+    private CodeGraphResult roundTrip(CodeGraphResult graph) {
+        byte[] bytes = CompactGraphFormat.write(graph, this::writeMetrics);
+        // Okuma buffer'ın pozisyonundan başlar ve buffer'ı değiştirmez
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3);
+        CodeGraphResult read = CompactGraphFormat.read(buffer, this::readMetrics);
+        assertEquals(3, buffer.position());
+        return read;
+    }
+
+    private byte[] writeMetrics(CodeGraphResult.GraphMetrics metrics) {
+        return String.valueOf(metrics.getTotalNodes()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private CodeGraphResult.GraphMetrics readMetrics(byte[] bytes) {
+        CodeGraphResult.GraphMetrics metrics = new CodeGraphResult.GraphMetrics();
+        metrics.setTotalNodes(Integer.parseInt(new String(bytes, StandardCharsets.UTF_8)));
+        return metrics;
+    }
+
+    private static CodeGraphResult randomGraph(Random random, int n) {
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            Map<String, Object> metrics = null;
+            if (random.nextInt(5) != 0) {
+                metrics = new HashMap<>();
+                if (random.nextBoolean()) metrics.put("loc", random.nextInt(2000) - 100);
+                if (random.nextBoolean()) metrics.put("size", random.nextLong());
+                if (random.nextBoolean()) metrics.put("ratio", random.nextDouble());
+                if (random.nextBoolean()) metrics.put("parentClass", "p" + random.nextInt(5));
+                if (random.nextBoolean()) metrics.put("isHub", random.nextBoolean());
+            }
+            String type = random.nextBoolean() ? "class" : "method";
+            vertices.add(new CodeGraphResult.Vertex("id" + v, random.nextInt(4) == 0 ? null : "ä" + v, type, metrics));
+        }
+        List<CodeGraphResult.Edge> edges = new ArrayList<>();
+        int m = n == 0 ? 0 : random.nextInt(4 * n);
+        for (int i = 0; i < m; i++) {
+            // Tekrarlanan edge'ler ve vertex olmayan uçlar da yazılabilmeli
+            String target = random.nextInt(20) == 0 ? "external" + random.nextInt(3) : "id" + random.nextInt(n);
+            edges.add(new CodeGraphResult.Edge("id" + random.nextInt(n), target,
+                    random.nextBoolean() ? "calls" : "depends"));
+        }
+        CodeGraphResult graph = new CodeGraphResult();
+        graph.setVertices(vertices);
+        graph.setEdges(edges);
+        CodeGraphResult.GraphMetrics metrics = new CodeGraphResult.GraphMetrics();
+        metrics.setTotalNodes(n);
+        graph.setMetrics(metrics);
+        return graph;
+    }
+
+    /**
+     * Tamsayılar okunurken int / long olarak daraltılır; karşılaştırma için hepsi long'a çevrilir
+     */
+    private static Map<String, Object> normalized(Map<String, Object> metrics) {
+        if (metrics == null) return null;
+        Map<String, Object> result = new TreeMap<>();
+        metrics.forEach((key, value) -> result.put(key, value instanceof Integer i ? (Object) i.longValue() : value));
+        return result;
+    }
+
+    private static Map<String, Integer> edgeCounts(List<CodeGraphResult.Edge> edges) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (CodeGraphResult.Edge e : edges) {
+            counts.merge(e.getSource() + " -> " + e.getTarget() + " : " + e.getType(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,211 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.BoundedSolution;
+import com.codeinspector.backend.graph.DominatingSetSolver;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.VertexCoverSolver;
+
+public class CoverSolversTest {
+
+    private static final long BUDGET_MILLIS = 10_000;
+
+    @Test
+    public void testDominatingSetIsOptimal() {
+        Random random = new Random(139);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(14);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            int optimum = bruteForceDominatingSet(graph);
+            String message = "round " + round + ", n=" + n;
+
+            BoundedSolution exact = DominatingSetSolver.solve(graph, BUDGET_MILLIS);
+            assertTrue(dominates(graph, exact.vertices()), message);
+            assertEquals(optimum, exact.size(), message);
+            assertTrue(exact.optimal(), message);
+
+            // Bütçesiz: greedy geçerli bir çözüm, kök alt sınırı optimumu aşmaz
+            BoundedSolution greedy = DominatingSetSolver.solve(graph, 0);
+            assertTrue(dominates(graph, greedy.vertices()), message);
+            assertTrue(greedy.lowerBound() <= optimum && optimum <= greedy.size(), message);
+        }
+    }
+
+    @Test
+    public void testVertexCoverIsOptimal() {
+        Random random = new Random(149);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(14);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(3 * n), random.nextBoolean());
+            BitSet forced = new BitSet();
+            if (random.nextInt(3) == 0) forced.set(random.nextInt(n));
+            int optimum = bruteForceVertexCover(graph, forced);
+            String message = "round " + round + ", n=" + n + ", forced " + forced;
+
+            BoundedSolution exact = VertexCoverSolver.solve(graph, forced, BUDGET_MILLIS);
+            assertTrue(covers(graph, exact.vertices(), forced), message);
+            assertEquals(optimum, exact.size(), message);
+            assertTrue(exact.optimal(), message);
+
+            BoundedSolution greedy = VertexCoverSolver.solve(graph, forced, 0);
+            assertTrue(covers(graph, greedy.vertices(), forced), message);
+            assertTrue(greedy.lowerBound() <= optimum && optimum <= greedy.size(), message);
+        }
+    }
+
+    @Test
+    public void testVertexCoverKernelSolvesForestsAndBoundsBipartiteGraphs() {
+        Random random = new Random(151);
+        for (int round = 0; round < 100; round++) {
+            // Ormanlarda degree 0/1 kuralları tek başına optimumu bulur, arama gerekmez
+            int n = 1 + random.nextInt(14);
+            List<int[]> forestEdges = new ArrayList<>();
+            for (int v = 1; v < n; v++) {
+                if (random.nextInt(5) != 0) forestEdges.add(new int[]{v, random.nextInt(v)});
+            }
+            IntGraph forest = TestGraphs.of(n, forestEdges);
+            BoundedSolution solution = VertexCoverSolver.solve(forest, null, 0);
+            assertEquals(bruteForceVertexCover(forest, new BitSet()), solution.size(), "forest, round " + round);
+            assertTrue(solution.optimal(), "forest, round " + round);
+
+            // İki parçalı graflarda LP tamsayılıdır (König): kök alt sınırı optimuma eşit
+            int left = 1 + random.nextInt(7);
+            int right = 1 + random.nextInt(7);
+            List<int[]> edges = new ArrayList<>();
+            for (int u = 0; u < left; u++) {
+                for (int v = 0; v < right; v++) {
+                    if (random.nextInt(3) == 0) edges.add(new int[]{u, left + v});
+                }
+            }
+            IntGraph bipartite = TestGraphs.of(left + right, edges);
+            assertEquals(bruteForceVertexCover(bipartite, new BitSet()),
+                    VertexCoverSolver.solve(bipartite, null, 0).lowerBound(), "bipartite, round " + round);
+        }
+    }
+
+    @Test
+    public void testDominatingSetKernelForcesSupportVertices() {
+        // Her node'a bir yaprak asılmış graf: yaprakların tek adayı destek node'ları, optimum |H|
+        Random random = new Random(157);
+        for (int round = 0; round < 100; round++) {
+            int h = 1 + random.nextInt(12);
+            List<int[]> edges = new ArrayList<>();
+            int m = random.nextInt(h * h / 2 + 1);
+            for (int i = 0; i < m; i++) {
+                edges.add(new int[]{random.nextInt(h), random.nextInt(h)});
+            }
+            for (int v = 0; v < h; v++) edges.add(new int[]{v, h + v});
+            IntGraph corona = TestGraphs.of(2 * h, edges);
+            assertEquals(h, DominatingSetSolver.solve(corona, 0).lowerBound(), "round " + round);
+            BoundedSolution exact = DominatingSetSolver.solve(corona, BUDGET_MILLIS);
+            assertEquals(h, exact.size(), "round " + round);
+            assertTrue(dominates(corona, exact.vertices()), "round " + round);
+        }
+    }
+
+    @Test
+    public void testListenerReportsRootBoundsAndImprovements() {
+        Random random = new Random(233);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(40);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(3 * n), random.nextBoolean());
+            String message = "round " + round + ", n=" + n;
+
+            // İlk bildirim bütçesiz çağrının sonucuyla aynı; sonrakiler yalnızca daha küçük çözümler
+            List<int[]> updates = new ArrayList<>();
+            BoundedSolution domination = DominatingSetSolver.solve(graph, BUDGET_MILLIS, () -> false,
+                    (lowerBound, bestSize) -> updates.add(new int[]{lowerBound, bestSize}));
+            BoundedSolution dominationRoot = DominatingSetSolver.solve(graph, 0);
+            assertUpdates(updates, dominationRoot, domination, message);
+
+            updates.clear();
+            BoundedSolution cover = VertexCoverSolver.solve(graph, null, BUDGET_MILLIS, () -> false,
+                    (lowerBound, bestSize) -> updates.add(new int[]{lowerBound, bestSize}));
+            BoundedSolution coverRoot = VertexCoverSolver.solve(graph, null, 0);
+            assertUpdates(updates, coverRoot, cover, message);
+        }
+    }
+
+    private static void assertUpdates(List<int[]> updates, BoundedSolution root, BoundedSolution solution,
+                                      String message) {
+        assertTrue(!updates.isEmpty(), message);
+        assertEquals(root.lowerBound(), updates.get(0)[0], message);
+        assertEquals(root.size(), updates.get(0)[1], message);
+        for (int i = 1; i < updates.size(); i++) {
+            assertEquals(updates.get(0)[0], updates.get(i)[0], message);
+            assertTrue(updates.get(i)[1] < updates.get(i - 1)[1], message);
+        }
+        assertEquals(solution.size(), updates.get(updates.size() - 1)[1], message);
+    }
+
+    private static int bruteForceDominatingSet(IntGraph graph) {
+        int n = graph.nodeCount();
+        int[] closed = new int[n];
+        for (int v = 0; v < n; v++) closed[v] = closedNeighbourhood(graph, v);
+        int best = n;
+        for (int mask = 0; mask < 1 << n; mask++) {
+            if (Integer.bitCount(mask) >= best) continue;
+            int covered = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) covered |= closed[Integer.numberOfTrailingZeros(rest)];
+            if (covered == (1 << n) - 1) best = Integer.bitCount(mask);
+        }
+        return best;
+    }
+
+    private static int bruteForceVertexCover(IntGraph graph, BitSet forced) {
+        int n = graph.nodeCount();
+        int required = (int) (forced.isEmpty() ? 0 : forced.toLongArray()[0]);
+        int best = n;
+        for (int mask = 0; mask < 1 << n; mask++) {
+            if ((mask & required) != required || Integer.bitCount(mask) >= best) continue;
+            boolean cover = true;
+            for (int v = 0; v < n && cover; v++) {
+                if ((mask >> v & 1) != 0) continue;
+                for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                    if ((mask >> graph.adjacencyAt(i) & 1) == 0) {
+                        cover = false;
+                        break;
+                    }
+                }
+            }
+            if (cover) best = Integer.bitCount(mask);
+        }
+        return best;
+    }
+
+    private static int closedNeighbourhood(IntGraph graph, int v) {
+        int mask = 1 << v;
+        for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) mask |= 1 << graph.adjacencyAt(i);
+        return mask;
+    }
+
+    private static boolean dominates(IntGraph graph, int[] vertices) {
+        int covered = 0;
+        for (int v : vertices) covered |= closedNeighbourhood(graph, v);
+        return covered == (1 << graph.nodeCount()) - 1;
+    }
+
+    private static boolean covers(IntGraph graph, int[] vertices, BitSet forced) {
+        BitSet chosen = new BitSet();
+        for (int v : vertices) {
+            if (chosen.get(v)) return false;
+            chosen.set(v);
+        }
+        BitSet missing = (BitSet) forced.clone();
+        missing.andNot(chosen);
+        if (!missing.isEmpty()) return false;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                if (!chosen.get(v) && !chosen.get(graph.adjacencyAt(i))) return false;
+            }
+        }
+        return true;
+    }
+}
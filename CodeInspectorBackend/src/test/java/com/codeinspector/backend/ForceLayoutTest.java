@@ -0,0 +1,172 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.ForceLayout;
+import com.codeinspector.backend.graph.GraphLayoutResult;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.LevelOfDetail;
+
+public class ForceLayoutTest {
+
+    @Test
+    public void testLayoutDoesNotDependOnPoolSize() {
+        // Paralel bölme eşiğinin birkaç katı node: kuvvetler farklı thread'lere dağıtılır
+        IntGraph graph = TestGraphs.random(new Random(173), 3000, 1500, true);
+        double[][] reference = null;
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                double[][] positions = ForceLayout.layout(graph, 40, pool);
+                if (reference == null) {
+                    reference = positions;
+                    continue;
+                }
+                assertArrayEquals(reference[0], positions[0], threads + " threads");
+                assertArrayEquals(reference[1], positions[1], threads + " threads");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testDisconnectedAndEdgelessGraphsStayFinite() {
+        Random random = new Random(179);
+        List<IntGraph> graphs = new ArrayList<>();
+        graphs.add(TestGraphs.of(0, List.of()));
+        graphs.add(TestGraphs.of(1, List.of()));
+        graphs.add(TestGraphs.of(2, List.of()));
+        graphs.add(TestGraphs.of(800, List.of()));
+        // Çok sayıda küçük bileşen ve izole node
+        graphs.add(TestGraphs.random(random, 600, 150, false));
+        List<int[]> twoCliques = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            for (int v = u + 1; v < 20; v++) {
+                twoCliques.add(new int[]{u, v});
+                twoCliques.add(new int[]{20 + u, 20 + v});
+            }
+        }
+        graphs.add(TestGraphs.of(40, twoCliques));
+
+        for (IntGraph graph : graphs) {
+            int n = graph.nodeCount();
+            String message = n + " nodes, " + graph.edgeCount() + " edges";
+            double[][] positions = ForceLayout.layout(graph, 100, ForkJoinPool.commonPool());
+            assertEquals(n, positions[0].length, message);
+            double sumX = 0;
+            double sumY = 0;
+            for (int v = 0; v < n; v++) {
+                assertTrue(Double.isFinite(positions[0][v]) && Double.isFinite(positions[1][v]), message);
+                // Merkeze çekim bağlantısız parçaları tutar: itme (n·k²/r) ile çekimin (0.02·r) dengesi
+                // r ≈ k·√(50·n) civarıdır, konumlar bunun biraz üstünde sınırlı kalmalı
+                double bound = 10 * ForceLayout.EDGE_LENGTH * Math.sqrt(n + 1);
+                assertTrue(Math.abs(positions[0][v]) < bound && Math.abs(positions[1][v]) < bound,
+                        message + ": v" + v + " at " + positions[0][v] + ", " + positions[1][v]);
+                sumX += positions[0][v];
+                sumY += positions[1][v];
+            }
+            if (n > 0) {
+                assertEquals(0.0, sumX / n, 1e-6, message);
+                assertEquals(0.0, sumY / n, 1e-6, message);
+            }
+        }
+    }
+
+    @Test
+    public void testEdgesAreShorterThanTypicalDistances() {
+        IntGraph graph = TestGraphs.random(new Random(181), 400, 100, true);
+        double[][] positions = ForceLayout.layout(graph, 200, ForkJoinPool.commonPool());
+        double edgeSum = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                edgeSum += distance(positions, v, graph.adjacencyAt(i));
+            }
+        }
+        double meanEdge = edgeSum / (2.0 * graph.edgeCount());
+        double pairSum = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int u = v + 1; u < graph.nodeCount(); u++) pairSum += distance(positions, u, v);
+        }
+        double meanPair = pairSum / (graph.nodeCount() * (graph.nodeCount() - 1) / 2.0);
+        assertTrue(meanEdge < meanPair / 3, "edge " + meanEdge + ", pair " + meanPair);
+    }
+
+    @Test
+    public void testLevelsCoverAllVerticesAndNest() {
+        Random random = new Random(191);
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(1500);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            double[][] positions = ForceLayout.layout(graph, 30, ForkJoinPool.commonPool());
+            int minClusters = 1 + random.nextInt(20);
+            List<GraphLayoutResult.Level> levels = LevelOfDetail.build(graph, positions[0], positions[1], minClusters);
+            String message = "round " + round + ", n=" + n;
+
+            int previousCount = n;
+            int[] previous = null;
+            for (GraphLayoutResult.Level level : levels) {
+                int[] assignment = level.assignment();
+                int count = level.clusters().size();
+                assertEquals(n, assignment.length, message);
+                assertTrue(previousCount > minClusters && count <= previousCount * 0.7, message);
+
+                int[] size = new int[count];
+                double[] sumX = new double[count];
+                double[] sumY = new double[count];
+                for (int v = 0; v < n; v++) {
+                    int c = assignment[v];
+                    assertTrue(c >= 0 && c < count, message);
+                    size[c]++;
+                    sumX[c] += positions[0][v];
+                    sumY[c] += positions[1][v];
+                    // Hücreler iç içe: önceki seviyede aynı kümedekiler bu seviyede de birlikte
+                    if (previous != null) {
+                        for (int u = 0; u < v; u++) {
+                            if (previous[u] == previous[v]) assertEquals(assignment[u], assignment[v], message);
+                        }
+                    }
+                }
+                for (GraphLayoutResult.Cluster cluster : level.clusters()) {
+                    int c = cluster.id();
+                    assertTrue(size[c] > 0, message + ": empty cluster " + c);
+                    assertEquals(size[c], cluster.size(), message);
+                    assertEquals(sumX[c] / size[c], cluster.x(), 0.051, message);
+                    assertEquals(sumY[c] / size[c], cluster.y(), 0.051, message);
+                    int label = graph.indexOf(cluster.label());
+                    assertEquals(c, assignment[label], message);
+                    for (int v = 0; v < n; v++) {
+                        if (assignment[v] == c) assertTrue(graph.degree(v) <= graph.degree(label), message);
+                    }
+                }
+
+                int crossing = 0;
+                for (int v = 0; v < n; v++) {
+                    for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                        int u = graph.adjacencyAt(i);
+                        if (u > v && assignment[u] != assignment[v]) crossing++;
+                    }
+                }
+                int weights = 0;
+                for (GraphLayoutResult.ClusterEdge edge : level.edges()) {
+                    assertTrue(edge.source() < edge.target() && edge.weight() > 0, message);
+                    weights += edge.weight();
+                }
+                assertEquals(crossing, weights, message);
+                previousCount = count;
+                previous = assignment;
+            }
+        }
+    }
+
+    private static double distance(double[][] positions, int u, int v) {
+        return Math.hypot(positions[0][u] - positions[0][v], positions[1][u] - positions[1][v]);
+    }
+}
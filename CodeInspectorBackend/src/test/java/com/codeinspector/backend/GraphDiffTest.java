@@ -0,0 +1,192 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.GraphDiff;
+import com.codeinspector.backend.graph.GraphDiffResult;
+
+public class GraphDiffTest {
+
+    private static final String[] TYPES = {"CALL", "INHERITS", "USES"};
+
+    @Test
+    public void testAddedAndRemovedMatchSetDifference() {
+        Random random = new Random(31);
+        for (int round = 0; round < 100; round++) {
+            CodeGraphResult from = randomGraph(random, 5 + random.nextInt(30));
+            CodeGraphResult to = randomGraph(random, 5 + random.nextInt(30));
+            GraphDiffResult diff = GraphDiff.diff(from, to, Integer.MAX_VALUE);
+
+            Set<String> oldIds = vertexIds(from);
+            Set<String> newIds = vertexIds(to);
+            Set<GraphDiffResult.EdgeChange> oldEdges = edgeSet(from);
+            Set<GraphDiffResult.EdgeChange> newEdges = edgeSet(to);
+
+            String message = "round " + round;
+            assertEquals(new ArrayList<>(minus(newIds, oldIds)), diff.addedVertices(), message);
+            assertEquals(new ArrayList<>(minus(oldIds, newIds)), diff.removedVertices(), message);
+            assertEquals(minus(newEdges, oldEdges), new HashSet<>(diff.addedEdges()), message);
+            assertEquals(minus(oldEdges, newEdges), new HashSet<>(diff.removedEdges()), message);
+
+            GraphDiffResult.Summary summary = diff.summary();
+            assertEquals(diff.addedEdges().size(), summary.addedEdges(), message);
+            assertEquals(diff.removedEdges().size(), summary.removedEdges(), message);
+            Set<GraphDiffResult.EdgeChange> common = new HashSet<>(oldEdges);
+            common.retainAll(newEdges);
+            assertEquals(common.size(), summary.unchangedEdges(), message);
+            assertFalse(diff.truncated(), message);
+        }
+    }
+
+    @Test
+    public void testDuplicateEdgesCollapse() {
+        // Aynı (source, target, tip) üçlüsü kaç kez gelirse gelsin tek edge sayılır
+        CodeGraphResult from = graph(List.of("a", "b", "c"), List.of(
+                new CodeGraphResult.Edge("a", "b", "CALL"),
+                new CodeGraphResult.Edge("a", "b", "CALL"),
+                new CodeGraphResult.Edge("b", "c", "CALL")));
+        CodeGraphResult to = graph(List.of("a", "b", "c", "c"), List.of(
+                new CodeGraphResult.Edge("a", "b", "CALL"),
+                new CodeGraphResult.Edge("a", "b", "USES"),
+                new CodeGraphResult.Edge("a", "b", "USES"),
+                new CodeGraphResult.Edge("b", "c", "CALL"),
+                new CodeGraphResult.Edge("b", "c", "CALL")));
+        GraphDiffResult diff = GraphDiff.diff(from, to, 10);
+
+        assertEquals(List.of(new GraphDiffResult.EdgeChange("a", "b", "USES")), diff.addedEdges());
+        assertTrue(diff.removedEdges().isEmpty());
+        assertEquals(2, diff.summary().unchangedEdges());
+        assertEquals(3, diff.summary().unchangedVertices());
+        assertEquals(0, diff.summary().addedVertices());
+    }
+
+    @Test
+    public void testLimitTruncatesListsButNotCounts() {
+        List<String> oldIds = new ArrayList<>();
+        List<String> newIds = new ArrayList<>();
+        List<CodeGraphResult.Edge> newEdges = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            oldIds.add(String.format("old%02d", i));
+            newIds.add(String.format("new%02d", i));
+            if (i > 0) newEdges.add(new CodeGraphResult.Edge(newIds.get(i - 1), newIds.get(i), "CALL"));
+        }
+        GraphDiffResult diff = GraphDiff.diff(graph(oldIds, List.of()), graph(newIds, newEdges), 5);
+
+        assertTrue(diff.truncated());
+        assertEquals(newIds.subList(0, 5), diff.addedVertices());
+        assertEquals(oldIds.subList(0, 5), diff.removedVertices());
+        assertEquals(5, diff.addedEdges().size());
+        assertEquals(20, diff.summary().addedVertices());
+        assertEquals(20, diff.summary().removedVertices());
+        assertEquals(19, diff.summary().addedEdges());
+
+        // Tam limit kadar eleman kesilme sayılmaz
+        assertFalse(GraphDiff.diff(graph(oldIds, List.of()), graph(oldIds.subList(0, 15), List.of()), 5)
+                .truncated());
+        assertTrue(GraphDiff.diff(graph(oldIds, List.of()), graph(oldIds.subList(0, 14), List.of()), 5)
+                .truncated());
+    }
+
+    @Test
+    public void testMetricDeltas() {
+        CodeGraphResult.Vertex before = new CodeGraphResult.Vertex("a", "a", "class",
+                new HashMap<>(Map.of("loc", 10, "fanIn", 3, "owner", "x", "dropped", 1)));
+        CodeGraphResult.Vertex after = new CodeGraphResult.Vertex("a", "a", "class",
+                new HashMap<>(Map.of("loc", 14L, "fanIn", 3.0, "owner", "y", "added", 2)));
+        CodeGraphResult.Vertex same = new CodeGraphResult.Vertex("b", "b", "class", Map.of("loc", 1));
+        CodeGraphResult from = graph(List.of(before, same), List.of());
+        CodeGraphResult to = graph(List.of(after, same), List.of());
+
+        CodeGraphResult.GraphMetrics oldMetrics = new CodeGraphResult.GraphMetrics();
+        oldMetrics.setTotalNodes(2);
+        oldMetrics.setIntegrityNumber(5.0);
+        oldMetrics.setToughnessNumber(Double.POSITIVE_INFINITY);
+        CodeGraphResult.GraphMetrics newMetrics = new CodeGraphResult.GraphMetrics();
+        newMetrics.setTotalNodes(2);
+        newMetrics.setIntegrityNumber(7.5);
+        newMetrics.setToughnessNumber(0.5);
+        from.setMetrics(oldMetrics);
+        to.setMetrics(newMetrics);
+
+        GraphDiffResult diff = GraphDiff.diff(from, to, 10);
+        assertEquals(1, diff.summary().changedVertices());
+        assertEquals(1, diff.summary().unchangedVertices());
+        GraphDiffResult.VertexChange change = diff.changedVertices().get(0);
+        assertEquals("a", change.id());
+
+        // fanIn 3 ile 3.0 aynı sayıdır; anahtarlar sıralı gelir
+        Map<String, GraphDiffResult.MetricChange> byMetric = new HashMap<>();
+        for (GraphDiffResult.MetricChange m : change.metrics()) byMetric.put(m.metric(), m);
+        assertEquals(new TreeSet<>(List.of("added", "dropped", "loc", "owner")), byMetric.keySet());
+        assertEquals(4.0, byMetric.get("loc").delta());
+        assertNull(byMetric.get("owner").delta());
+        assertNull(byMetric.get("added").from());
+        assertNull(byMetric.get("dropped").to());
+
+        Map<String, GraphDiffResult.MetricChange> graphMetrics = new HashMap<>();
+        for (GraphDiffResult.MetricChange m : diff.graphMetrics()) graphMetrics.put(m.metric(), m);
+        assertEquals(2.5, graphMetrics.get("integrityNumber").delta());
+        assertEquals(0.0, graphMetrics.get("totalNodes").delta());
+        // Sonsuzdan sonluya geçişin farkı tanımsızdır; hesaplanmamış (-1) değerler listede yer almaz
+        assertNull(graphMetrics.get("toughnessNumber").delta());
+        assertFalse(graphMetrics.containsKey("dominationNumber"));
+    }
+
+    private static CodeGraphResult randomGraph(Random random, int n) {
+        // Id havuzu küçük tutulur ki iki graf arasında ortak vertex ve edge'ler olsun
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) ids.add("v" + random.nextInt(40));
+        List<CodeGraphResult.Edge> edges = new ArrayList<>();
+        int m = random.nextInt(3 * n);
+        for (int i = 0; i < m; i++) {
+            edges.add(new CodeGraphResult.Edge(ids.get(random.nextInt(n)), ids.get(random.nextInt(n)),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+        return graph(ids, edges);
+    }
+
+    private static CodeGraphResult graph(List<?> vertices, List<CodeGraphResult.Edge> edges) {
+        List<CodeGraphResult.Vertex> list = new ArrayList<>();
+        for (Object v : vertices) {
+            list.add(v instanceof CodeGraphResult.Vertex vertex ? vertex
+                    : new CodeGraphResult.Vertex((String) v, (String) v, "class", Map.of()));
+        }
+        CodeGraphResult result = new CodeGraphResult();
+        result.setVertices(list);
+        result.setEdges(edges);
+        return result;
+    }
+
+    private static Set<String> vertexIds(CodeGraphResult graph) {
+        Set<String> ids = new TreeSet<>();
+        for (CodeGraphResult.Vertex v : graph.getVertices()) ids.add(v.getId());
+        return ids;
+    }
+
+    private static Set<GraphDiffResult.EdgeChange> edgeSet(CodeGraphResult graph) {
+        Set<GraphDiffResult.EdgeChange> edges = new HashSet<>();
+        for (CodeGraphResult.Edge e : graph.getEdges()) {
+            edges.add(new GraphDiffResult.EdgeChange(e.getSource(), e.getTarget(), e.getType()));
+        }
+        return edges;
+    }
+
+    private static <T> Set<T> minus(Set<T> a, Set<T> b) {
+        Set<T> result = a instanceof TreeSet<T> ? new TreeSet<>(a) : new HashSet<>(a);
+        result.removeAll(b);
+        return result;
+    }
+}
@@ -0,0 +1,203 @@
+package com.codeinspector.backend;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codeinspector.backend.utils.HnswVectorIndex;
+
+public class HnswVectorIndexTest {
+
+    private static final int DIM = 48;
+    private static final int COUNT = 3000;
+    private static final int K = 10;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRecallAgainstBruteForce() {
+        Random random = new Random(97);
+        List<float[]> vectors = clusteredVectors(random, COUNT, 60);
+        List<String> labels = labels(COUNT);
+        HnswVectorIndex exact = HnswVectorIndex.build(labels, vectors, false);
+        HnswVectorIndex quantized = HnswVectorIndex.build(labels, vectors, true);
+
+        double exactRecall = 0;
+        double quantizedRecall = 0;
+        int queries = 200;
+        for (int q = 0; q < queries; q++) {
+            float[] query = perturb(random, vectors.get(random.nextInt(COUNT)), 0.3f);
+            Set<String> truth = bruteForce(vectors, labels, query, K);
+            exactRecall += recall(exact.search(query, K, null), truth);
+            quantizedRecall += recall(quantized.search(query, K, null), truth);
+
+            // Float indekste benzerlik birebir dot product'tır ve sonuçlar azalan sıradadır
+            List<HnswVectorIndex.Match> matches = exact.search(query, K, null);
+            for (int i = 0; i < matches.size(); i++) {
+                HnswVectorIndex.Match match = matches.get(i);
+                int id = Integer.parseInt(match.label().substring(1));
+                assertEquals(dot(query, vectors.get(id)), match.similarity(), 1e-5);
+                if (i > 0) assertTrue(matches.get(i - 1).similarity() >= match.similarity());
+            }
+        }
+        exactRecall /= queries;
+        quantizedRecall /= queries;
+        assertTrue(exactRecall >= 0.98, "float recall@" + K + " " + exactRecall);
+        assertTrue(quantizedRecall >= 0.95, "int8 recall@" + K + " " + quantizedRecall);
+    }
+
+    @Test
+    public void testInt8QuantizationError() {
+        Random random = new Random(101);
+        List<float[]> vectors = clusteredVectors(random, 300, 10);
+        HnswVectorIndex index = HnswVectorIndex.build(labels(300), vectors, true);
+        for (int i = 0; i < vectors.size(); i++) {
+            float[] original = vectors.get(i);
+            float[] decoded = index.vectorOf("f" + i);
+            float maxAbs = 0;
+            for (float x : original) maxAbs = Math.max(maxAbs, Math.abs(x));
+            // Bileşen başına hata en fazla yarım adım (maxAbs / 127 / 2)
+            float step = maxAbs / 127f;
+            for (int d = 0; d < DIM; d++) {
+                assertEquals(original[d], decoded[d], step / 2 + 1e-6, "vector " + i + ", component " + d);
+            }
+            // Kendisiyle benzerliği 1'e yakın kalır
+            assertEquals(1.0, dot(original, decoded), 0.01);
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() throws IOException {
+        Random random = new Random(103);
+        List<float[]> vectors = clusteredVectors(random, 800, 20);
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < vectors.size(); i++) labels.add("src/main/java/Dosya" + i + "Çalışan.java");
+        for (boolean quantize : new boolean[]{false, true}) {
+            HnswVectorIndex index = HnswVectorIndex.build(labels, vectors, quantize);
+            Path file = tempDir.resolve(quantize ? "int8.hnsw" : "float.hnsw");
+            index.save(file);
+            HnswVectorIndex loaded = HnswVectorIndex.load(file);
+
+            assertEquals(index.size(), loaded.size());
+            assertEquals(index.dimension(), loaded.dimension());
+            for (int i = 0; i < vectors.size(); i += 37) {
+                assertTrue(loaded.contains(labels.get(i)));
+                assertArrayEquals(index.vectorOf(labels.get(i)), loaded.vectorOf(labels.get(i)));
+            }
+            // Aynı graf ve vektörler: aramalar birebir aynı sonucu verir
+            for (int q = 0; q < 50; q++) {
+                float[] query = perturb(random, vectors.get(random.nextInt(vectors.size())), 0.2f);
+                String exclude = labels.get(random.nextInt(labels.size()));
+                assertEquals(index.search(query, K, exclude), loaded.search(query, K, exclude));
+            }
+        }
+
+        Path broken = tempDir.resolve("broken.hnsw");
+        Files.write(broken, new byte[64]);
+        assertThrows(IOException.class, () -> HnswVectorIndex.load(broken));
+    }
+
+    @Test
+    public void testExcludedLabelAndEdgeCases() {
+        Random random = new Random(107);
+        List<float[]> vectors = clusteredVectors(random, 200, 5);
+        HnswVectorIndex index = HnswVectorIndex.build(labels(200), vectors, false);
+        // Dosyanın kendisi en yakın komşusudur; hariç tutulunca sonuçta görünmez ama k sonuç yine döner
+        List<HnswVectorIndex.Match> self = index.search(vectors.get(7), K, null);
+        assertEquals("f7", self.get(0).label());
+        List<HnswVectorIndex.Match> others = index.search(vectors.get(7), K, "f7");
+        assertEquals(K, others.size());
+        assertTrue(others.stream().noneMatch(match -> match.label().equals("f7")));
+
+        assertThrows(IllegalArgumentException.class, () -> index.search(new float[DIM + 1], K, null));
+        assertTrue(HnswVectorIndex.build(List.of(), List.of(), true).search(new float[DIM], K, null).isEmpty());
+        assertEquals(1, HnswVectorIndex.build(List.of("a"), List.of(vectors.get(0)), false)
+                .search(vectors.get(1), K, null).size());
+    }
+
+    @Test
+    public void testCloseWaitsForAcquiredUsers() {
+        List<float[]> vectors = clusteredVectors(new Random(229), 100, 4);
+        HnswVectorIndex index = HnswVectorIndex.build(labels(100), vectors, true);
+        List<HnswVectorIndex.Match> before = index.search(vectors.get(3), K, null);
+
+        // Devam eden bir arama varken kapatılan indeks, o kullanım bitene kadar çalışmaya devam eder
+        assertTrue(index.acquire());
+        index.close();
+        index.close();
+        assertEquals(before, index.search(vectors.get(3), K, null));
+        index.release();
+
+        assertFalse(index.acquire());
+        assertEquals(100, index.size());
+    }
+
+    /**
+     * clusters merkez etrafında gürültülü, L2-normalize vektörler (gerçek embedding'ler gibi kümelenmiş)
+     */
+    private static List<float[]> clusteredVectors(Random random, int count, int clusters) {
+        List<float[]> centers = new ArrayList<>();
+        for (int c = 0; c < clusters; c++) centers.add(perturb(random, new float[DIM], 1f));
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) vectors.add(perturb(random, centers.get(random.nextInt(clusters)), 0.5f));
+        return vectors;
+    }
+
+    private static float[] perturb(Random random, float[] base, float noise) {
+        float[] v = new float[base.length];
+        double norm = 0;
+        for (int d = 0; d < v.length; d++) {
+            v[d] = base[d] + (float) random.nextGaussian() * noise / (float) Math.sqrt(DIM);
+            norm += v[d] * v[d];
+        }
+        for (int d = 0; d < v.length; d++) v[d] /= (float) Math.sqrt(norm);
+        return v;
+    }
+
+    private static List<String> labels(int count) {
+        List<String> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) labels.add("f" + i);
+        return labels;
+    }
+
+    private static Set<String> bruteForce(List<float[]> vectors, List<String> labels, float[] query, int k) {
+        Integer[] order = new Integer[vectors.size()];
+        double[] similarity = new double[vectors.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            similarity[i] = dot(query, vectors.get(i));
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(similarity[b], similarity[a]));
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < k; i++) result.add(labels.get(order[i]));
+        return result;
+    }
+
+    private static double recall(List<HnswVectorIndex.Match> matches, Set<String> truth) {
+        int hits = 0;
+        for (HnswVectorIndex.Match match : matches) {
+            if (truth.contains(match.label())) hits++;
+        }
+        return (double) hits / truth.size();
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int d = 0; d < a.length; d++) sum += a[d] * b[d];
+        return sum;
+    }
+}
@@ -0,0 +1,199 @@
+package com.codeinspector.backend;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.IndexedCodeGraph;
+import com.codeinspector.backend.graph.IndexedCodeGraph.Direction;
+
+public class IndexedCodeGraphTest {
+
+    private static final String[] TYPES = {"depends", "has", "calls"};
+    private static final int[] MASKS = {IndexedCodeGraph.ALL_TYPES, IndexedCodeGraph.DEPENDS,
+            IndexedCodeGraph.HAS | IndexedCodeGraph.CALLS};
+
+    @Test
+    public void testShortestPathMatchesBreadthFirstSearch() {
+        Random random = new Random(83);
+        for (int round = 0; round < 150; round++) {
+            int n = 1 + random.nextInt(60);
+            List<CodeGraphResult.Edge> edges = randomEdges(random, n, random.nextInt(3 * n));
+            IndexedCodeGraph graph = IndexedCodeGraph.of(vertices(n), edges);
+            for (int query = 0; query < 20; query++) {
+                int source = random.nextInt(n);
+                int target = random.nextInt(n);
+                for (Direction direction : Direction.values()) {
+                    int mask = MASKS[random.nextInt(MASKS.length)];
+                    int[] expected = distances(n, edges, source, direction, mask);
+                    int[] path = graph.shortestPath(source, target, direction, mask);
+                    String message = "round " + round + ", " + source + " -> " + target + " " + direction;
+                    if (expected[target] < 0) {
+                        assertNull(path, message);
+                        continue;
+                    }
+                    assertEquals(expected[target] + 1, path.length, message);
+                    assertEquals(source, path[0], message);
+                    assertEquals(target, path[path.length - 1], message);
+                    for (int i = 1; i < path.length; i++) {
+                        assertTrue(hasEdge(edges, path[i - 1], path[i], direction, mask), message + " step " + i);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNeighbourhoodMatchesBreadthFirstSearch() {
+        Random random = new Random(89);
+        for (int round = 0; round < 150; round++) {
+            int n = 1 + random.nextInt(60);
+            List<CodeGraphResult.Edge> edges = randomEdges(random, n, random.nextInt(3 * n));
+            IndexedCodeGraph graph = IndexedCodeGraph.of(vertices(n), edges);
+            int source = random.nextInt(n);
+            int depth = 1 + random.nextInt(4);
+            for (Direction direction : Direction.values()) {
+                int mask = MASKS[random.nextInt(MASKS.length)];
+                int[] expected = distances(n, edges, source, direction, mask);
+                String message = "round " + round + " " + direction;
+
+                Map<String, Integer> reference = new HashMap<>();
+                for (int v = 0; v < n; v++) {
+                    if (v != source && expected[v] > 0 && expected[v] <= depth) reference.put("n" + v, expected[v]);
+                }
+                List<IndexedCodeGraph.Hop> all = graph.neighbourhood(source, depth, direction, mask, Integer.MAX_VALUE);
+                Map<String, Integer> actual = new HashMap<>();
+                for (IndexedCodeGraph.Hop hop : all) {
+                    assertNull(actual.put(hop.id(), hop.distance()), message + ": " + hop.id() + " twice");
+                    assertEquals("class", hop.type(), message);
+                }
+                assertEquals(reference, actual, message);
+                for (int i = 1; i < all.size(); i++) {
+                    assertTrue(all.get(i - 1).distance() <= all.get(i).distance(), message + ": not in BFS order");
+                }
+
+                // limit: BFS sırasının ön eki; servis bir fazlasını isteyip kesilmeyi böyle anlar
+                int limit = 1 + random.nextInt(Math.max(1, reference.size() + 1));
+                List<IndexedCodeGraph.Hop> limited = graph.neighbourhood(source, depth, direction, mask, limit + 1);
+                assertEquals(Math.min(limit + 1, reference.size()), limited.size(), message);
+                assertEquals(reference.size() > limit, limited.size() > limit, message);
+                for (IndexedCodeGraph.Hop hop : limited) {
+                    assertEquals(reference.get(hop.id()), hop.distance(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongChainUsesBothDirections() {
+        // 100k'lık zincir: yol tüm node'lardan geçer, ters yönde bulunamaz
+        int n = 100_000;
+        List<CodeGraphResult.Edge> edges = new ArrayList<>();
+        for (int v = 1; v < n; v++) edges.add(new CodeGraphResult.Edge("n" + (v - 1), "n" + v, "calls"));
+        IndexedCodeGraph graph = IndexedCodeGraph.of(vertices(n), edges);
+        assertEquals(n, graph.shortestPath(0, n - 1, Direction.OUT, IndexedCodeGraph.ALL_TYPES).length);
+        assertEquals(n, graph.shortestPath(n - 1, 0, Direction.IN, IndexedCodeGraph.ALL_TYPES).length);
+        assertNull(graph.shortestPath(n - 1, 0, Direction.OUT, IndexedCodeGraph.ALL_TYPES));
+        assertNull(graph.shortestPath(0, n - 1, Direction.OUT, IndexedCodeGraph.DEPENDS));
+
+        List<IndexedCodeGraph.Hop> hops = graph.neighbourhood(n / 2, 3, Direction.BOTH, IndexedCodeGraph.CALLS, 100);
+        assertEquals(6, hops.size());
+        assertEquals(3, hops.get(hops.size() - 1).distance());
+    }
+
+    @Test
+    public void testUnknownEndpointsAndDuplicateIdsAreSkipped() {
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>(vertices(3));
+        vertices.add(new CodeGraphResult.Vertex("n0", "dup", "method", null));
+        List<CodeGraphResult.Edge> edges = List.of(
+                new CodeGraphResult.Edge("n0", "n1", "depends"),
+                new CodeGraphResult.Edge("n1", "missing", "depends"),
+                new CodeGraphResult.Edge("n1", "n2", "unknown"));
+        IndexedCodeGraph graph = IndexedCodeGraph.of(vertices, edges);
+        assertEquals(3, graph.nodeCount());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(-1, graph.indexOf("missing"));
+        // Bilinmeyen tipteki edge hiçbir maskeyle izlenmez
+        assertNull(graph.shortestPath(1, 2, Direction.OUT, IndexedCodeGraph.ALL_TYPES));
+    }
+
+    private static List<CodeGraphResult.Vertex> vertices(int n) {
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) vertices.add(new CodeGraphResult.Vertex("n" + v, "n" + v, "class", null));
+        return vertices;
+    }
+
+    /**
+     * Self-loop ve tekrar eden edge'ler dahil rastgele tipli yönlü edge'ler
+     */
+    private static List<CodeGraphResult.Edge> randomEdges(Random random, int n, int m) {
+        List<CodeGraphResult.Edge> edges = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            edges.add(new CodeGraphResult.Edge("n" + random.nextInt(n), "n" + random.nextInt(n),
+                    TYPES[random.nextInt(TYPES.length)]));
+        }
+        return edges;
+    }
+
+    private static boolean hasEdge(List<CodeGraphResult.Edge> edges, int u, int v, Direction direction, int mask) {
+        for (CodeGraphResult.Edge e : edges) {
+            if ((bit(e.getType()) & mask) == 0) continue;
+            int from = Integer.parseInt(e.getSource().substring(1));
+            int to = Integer.parseInt(e.getTarget().substring(1));
+            boolean forward = from == u && to == v;
+            boolean backward = from == v && to == u;
+            if (direction == Direction.OUT ? forward : direction == Direction.IN ? backward : forward || backward) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tek yönlü BFS referansı: source'tan her node'a edge sayısı, ulaşılamayanlar -1
+     */
+    private static int[] distances(int n, List<CodeGraphResult.Edge> edges, int source, Direction direction, int mask) {
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int v = 0; v < n; v++) adjacency.add(new ArrayList<>());
+        for (CodeGraphResult.Edge e : edges) {
+            if ((bit(e.getType()) & mask) == 0) continue;
+            int from = Integer.parseInt(e.getSource().substring(1));
+            int to = Integer.parseInt(e.getTarget().substring(1));
+            if (direction != Direction.IN) adjacency.get(from).add(to);
+            if (direction != Direction.OUT) adjacency.get(to).add(from);
+        }
+        int[] distance = new int[n];
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int w : adjacency.get(v)) {
+                if (distance[w] < 0) {
+                    distance[w] = distance[v] + 1;
+                    queue.add(w);
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static int bit(String type) {
+        return switch (type) {
+            case "depends" -> IndexedCodeGraph.DEPENDS;
+            case "has" -> IndexedCodeGraph.HAS;
+            case "calls" -> IndexedCodeGraph.CALLS;
+            default -> 0;
+        };
+    }
+}
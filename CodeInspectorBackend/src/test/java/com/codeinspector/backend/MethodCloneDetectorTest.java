@@ -0,0 +1,132 @@
+package com.codeinspector.backend;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.utils.MethodCloneDetector;
+
+public class MethodCloneDetectorTest {
+
+    private final MethodCloneDetector detector = new MethodCloneDetector();
+
+    private final String original = """
+        public class Totals {
+            public int sum(int[] numbers) {
+                int total = 0;
+                for (int i = 0; i < numbers.length; i++) {
+                    if (numbers[i] > 0) {
+                        total += numbers[i] * 2;
+                    } else {
+                        total -= 1;
+                    }
+                }
+                System.out.println("Total: " + total);
+                return total;
+            }
+        }
+        """;
+
+    // Aynı metot: değişkenler yeniden adlandırılmış, literal'ler ve format değişmiş (Type-2)
+    private final String renamed = """
+        public class Accumulator {
+            public int add(int[] values) { int acc = 5;
+                for (int k = 0; k < values.length; k++) { if (values[k] > 0) { acc += values[k] * 3; } else { acc -= 7; } }
+                System.out.println("acc=" + acc); return acc;
+            }
+        }
+        """;
+
+    private final String unrelated = """
+        public class Waiter {
+            public void waitFor(String s) {
+                while (s.isEmpty()) {
+                    s = s + "a";
+                    try {
+                        Thread.sleep(10);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                java.util.List<String> list = new java.util.ArrayList<>();
+                list.add(s);
+            }
+        }
+        """;
+
+    @Test
+    void testRenamedMethodIsGroupedIntoCloneClass() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("Totals.java", original);
+        sources.put("Accumulator.java", renamed);
+        sources.put("Waiter.java", unrelated);
+
+        MethodCloneDetector.Result result = detector.detect(sources);
+
+        assertEquals(3, result.totalMethods());
+        assertEquals(1, result.cloneClasses().size());
+        MethodCloneDetector.MethodCloneClass cloneClass = result.cloneClasses().get(0);
+        assertEquals(2, cloneClass.members().size());
+        assertTrue(cloneClass.members().stream().noneMatch(m -> m.file().equals("Waiter.java")));
+    }
+
+    @Test
+    void testCommonKgramsDoNotProduceQuadraticCandidates() {
+        // Tüm metotlar aynı başlık ve döngüyü paylaşır, gövdeleri farklı operatör dizilerinden oluşur
+        Random random = new Random(227);
+        String[] operators = {"+", "-", "*", "/", "%", "&", "|", "^"};
+        int methods = 400;
+        Map<String, String> sources = new LinkedHashMap<>();
+        String cloneBody = null;
+        for (int m = 0; m < methods; m++) {
+            StringBuilder body = new StringBuilder();
+            body.append("int total = 0;\n");
+            body.append("for (int i = 0; i < values.length; i++) { total += values[i]; }\n");
+            body.append("System.out.println(\"start\");\n");
+            for (int line = 0; line < 8; line++) {
+                body.append("total = a");
+                for (int op = 0; op < 3; op++) body.append(' ').append(operators[random.nextInt(8)]).append(" b");
+                body.append(";\n");
+            }
+            body.append("return total;\n");
+            if (m == 0) cloneBody = body.toString();
+            sources.put("M" + m + ".java", "public class M" + m + " {\n"
+                    + "public int run(int[] values, int a, int b) {\n" + body + "}\n}\n");
+        }
+        // İlk metodun yeniden adlandırılmış kopyası
+        sources.put("Copy.java", "public class Copy {\npublic int go(int[] xs, int p, int q) {\n"
+                + cloneBody.replace("values", "xs").replace(" a", " p").replace(" b", " q") + "}\n}\n");
+
+        MethodCloneDetector.Result result = detector.detect(sources);
+
+        assertEquals(methods + 1, result.totalMethods());
+        int allPairs = (methods + 1) * methods / 2;
+        // Ortak başlığın k-gram'ları anahtar olsaydı neredeyse tüm çiftler aday olurdu
+        assertTrue(result.candidatePairs() < allPairs / 10, result.candidatePairs() + " of " + allPairs);
+        assertTrue(result.cloneClasses().stream().anyMatch(c -> c.members().stream()
+                .map(MethodCloneDetector.MethodRef::file).toList().containsAll(List.of("M0.java", "Copy.java"))));
+    }
+
+    @Test
+    void testShortMethodsAreIgnored() {
+        String getters = """
+            public class Bean {
+                private int x;
+                public int getX() { return x; }
+                public void setX(int x) { this.x = x; }
+            }
+            """;
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("Bean.java", getters);
+        sources.put("Bean2.java", getters);
+
+        MethodCloneDetector.Result result = detector.detect(sources);
+
+        assertEquals(0, result.totalMethods());
+        assertTrue(result.cloneClasses().isEmpty());
+    }
+}
@@ -0,0 +1,184 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.CodeGraphResult;
+import com.codeinspector.backend.graph.PackageCondensation;
+import com.codeinspector.backend.graph.PackageGraphResult;
+
+public class PackageCondensationTest {
+
+    private static final String[] PACKAGES = {"app", "app.core", "app.web", "app.util", "lib", ""};
+
+    @Test
+    public void testCondensationMatchesBruteForce() {
+        Random random = new Random(53);
+        for (int round = 0; round < 200; round++) {
+            List<CodeGraphResult.Vertex> vertices = new ArrayList<>();
+            List<CodeGraphResult.Edge> edges = new ArrayList<>();
+            randomClassGraph(random, vertices, edges);
+            PackageGraphResult result = PackageCondensation.condense(vertices, edges);
+            String message = "round " + round;
+
+            // Beklenen package edge ağırlıkları: "has" dışındaki, farklı package'lar arası edge sayısı
+            Map<String, String> packageOf = new HashMap<>();
+            for (CodeGraphResult.Vertex v : vertices) {
+                if (CodeGraphResult.HUB_NODE_ID.equals(v.getId())) continue;
+                String owner = "method".equals(v.getType()) ? (String) v.getMetrics().get("parentClass") : v.getId();
+                packageOf.put(v.getId(), packageName(owner));
+            }
+            Map<String, Integer> expected = new TreeMap<>();
+            for (CodeGraphResult.Edge e : edges) {
+                String from = packageOf.get(e.getSource());
+                String to = packageOf.get(e.getTarget());
+                if ("has".equals(e.getType()) || from == null || to == null || from.equals(to)) continue;
+                expected.merge(from + ">" + to, 1, Integer::sum);
+            }
+            Map<String, Integer> actual = new TreeMap<>();
+            for (PackageGraphResult.PackageEdge e : result.edges()) {
+                actual.put(e.source() + ">" + e.target(), e.weight());
+            }
+            assertEquals(expected, actual, message);
+            assertEquals(new HashSet<>(packageOf.values()), names(result));
+
+            Map<String, Set<String>> reach = closure(result.edges());
+            Map<String, PackageGraphResult.PackageNode> nodes = new HashMap<>();
+            for (PackageGraphResult.PackageNode node : result.packages()) nodes.put(node.name(), node);
+            for (PackageGraphResult.PackageNode a : result.packages()) {
+                for (PackageGraphResult.PackageNode b : result.packages()) {
+                    boolean mutual = a == b || (reach.getOrDefault(a.name(), Set.of()).contains(b.name())
+                            && reach.getOrDefault(b.name(), Set.of()).contains(a.name()));
+                    assertEquals(mutual, a.componentId() == b.componentId(), message);
+                }
+                // Katman = bileşenler arası en uzun bağımlılık zinciri
+                assertEquals(longestChain(a.name(), result.edges(), nodes, new HashMap<>()), a.layer(), message);
+            }
+
+            int inCycles = 0;
+            for (List<String> cycle : result.cycles()) {
+                assertTrue(cycle.size() >= 2, message);
+                for (String name : cycle) {
+                    assertEquals(nodes.get(cycle.get(0)).componentId(), nodes.get(name).componentId(), message);
+                }
+                inCycles += cycle.size();
+            }
+            int expectedInCycles = 0;
+            for (PackageGraphResult.PackageNode node : result.packages()) {
+                if (reach.getOrDefault(node.name(), Set.of()).contains(node.name())) expectedInCycles++;
+            }
+            assertEquals(expectedInCycles, inCycles, message);
+
+            // İhlaller çıkarılınca package grafı döngüsüz olur
+            List<PackageGraphResult.PackageEdge> layered = new ArrayList<>(result.edges());
+            layered.removeAll(result.layeringViolations());
+            Map<String, Set<String>> layeredReach = closure(layered);
+            for (String name : names(result)) {
+                assertFalse(layeredReach.getOrDefault(name, Set.of()).contains(name), message);
+            }
+        }
+    }
+
+    @Test
+    public void testHubIsIgnored() {
+        List<CodeGraphResult.Vertex> vertices = new ArrayList<>();
+        List<CodeGraphResult.Edge> edges = new ArrayList<>();
+        vertices.add(new CodeGraphResult.Vertex("a.A", "A", "class", Map.of()));
+        vertices.add(new CodeGraphResult.Vertex("b.B", "B", "class", Map.of()));
+        vertices.add(new CodeGraphResult.Vertex(CodeGraphResult.HUB_NODE_ID, "Project Root", "class",
+                Map.of("isHub", true)));
+        edges.add(new CodeGraphResult.Edge("a.A", CodeGraphResult.HUB_NODE_ID, "depends"));
+        edges.add(new CodeGraphResult.Edge("b.B", CodeGraphResult.HUB_NODE_ID, "depends"));
+        PackageGraphResult result = PackageCondensation.condense(vertices, edges);
+        assertEquals(Set.of("a", "b"), names(result));
+        assertTrue(result.edges().isEmpty());
+    }
+
+    private static void randomClassGraph(Random random, List<CodeGraphResult.Vertex> vertices,
+                                         List<CodeGraphResult.Edge> edges) {
+        int classes = 1 + random.nextInt(15);
+        List<String> ids = new ArrayList<>();
+        for (int c = 0; c < classes; c++) {
+            String pkg = PACKAGES[random.nextInt(PACKAGES.length)];
+            String id = (pkg.isEmpty() ? "" : pkg + ".") + "C" + c;
+            ids.add(id);
+            vertices.add(new CodeGraphResult.Vertex(id, "C" + c, "class", Map.of()));
+            int methods = random.nextInt(3);
+            for (int m = 0; m < methods; m++) {
+                String method = id + "#m" + m;
+                ids.add(method);
+                vertices.add(new CodeGraphResult.Vertex(method, "m" + m, "method", Map.of("parentClass", id)));
+                edges.add(new CodeGraphResult.Edge(id, method, "has"));
+            }
+        }
+        if (random.nextBoolean()) {
+            vertices.add(new CodeGraphResult.Vertex(CodeGraphResult.HUB_NODE_ID, "Project Root", "class", Map.of()));
+            edges.add(new CodeGraphResult.Edge(ids.get(0), CodeGraphResult.HUB_NODE_ID, "depends"));
+        }
+        int m = random.nextInt(3 * ids.size());
+        for (int i = 0; i < m; i++) {
+            edges.add(new CodeGraphResult.Edge(ids.get(random.nextInt(ids.size())), ids.get(random.nextInt(ids.size())),
+                    random.nextBoolean() ? "depends" : "calls"));
+        }
+    }
+
+    private static String packageName(String className) {
+        int dot = className.lastIndexOf('.');
+        return dot > 0 ? className.substring(0, dot) : PackageCondensation.DEFAULT_PACKAGE;
+    }
+
+    private static Set<String> names(PackageGraphResult result) {
+        Set<String> names = new HashSet<>();
+        for (PackageGraphResult.PackageNode node : result.packages()) names.add(node.name());
+        return names;
+    }
+
+    /**
+     * package -> en az bir edge ile ulaşılan package'lar (edge'i olmayan package'lar haritada yoktur)
+     */
+    private static Map<String, Set<String>> closure(List<PackageGraphResult.PackageEdge> edges) {
+        Map<String, Set<String>> direct = new HashMap<>();
+        for (PackageGraphResult.PackageEdge e : edges) {
+            direct.computeIfAbsent(e.source(), k -> new HashSet<>()).add(e.target());
+            direct.computeIfAbsent(e.target(), k -> new HashSet<>());
+        }
+        Map<String, Set<String>> reach = new HashMap<>();
+        for (String start : direct.keySet()) {
+            Set<String> seen = new HashSet<>();
+            List<String> stack = new ArrayList<>(direct.get(start));
+            while (!stack.isEmpty()) {
+                String p = stack.remove(stack.size() - 1);
+                if (seen.add(p)) stack.addAll(direct.get(p));
+            }
+            reach.put(start, seen);
+        }
+        return reach;
+    }
+
+    private static int longestChain(String pkg, List<PackageGraphResult.PackageEdge> edges,
+                                    Map<String, PackageGraphResult.PackageNode> nodes, Map<String, Integer> memo) {
+        Integer cached = memo.get(pkg);
+        if (cached != null) return cached;
+        int component = nodes.get(pkg).componentId();
+        memo.put(pkg, 0);
+        int best = 0;
+        // Aynı SCC'deki package'lar aynı katmanı paylaşır: zincir bileşenin tüm üyelerinden çıkar
+        for (PackageGraphResult.PackageEdge e : edges) {
+            if (nodes.get(e.source()).componentId() != component) continue;
+            if (nodes.get(e.target()).componentId() == component) continue;
+            best = Math.max(best, longestChain(e.target(), edges, nodes, memo) + 1);
+        }
+        memo.put(pkg, best);
+        return best;
+    }
+}
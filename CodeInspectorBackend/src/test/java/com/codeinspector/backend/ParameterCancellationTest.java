@@ -0,0 +1,91 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.BoundedSolution;
+import com.codeinspector.backend.graph.DominatingSetSolver;
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorDP;
+import com.codeinspector.backend.graph.SeparatorSearch;
+import com.codeinspector.backend.graph.TreeDecomposition;
+import com.codeinspector.backend.graph.VertexConnectivity;
+import com.codeinspector.backend.graph.VertexCoverSolver;
+import com.codeinspector.backend.service.ParameterProgress;
+
+public class ParameterCancellationTest {
+
+    private static final long LONG_BUDGET_MS = 60_000;
+
+    @Test
+    public void testSeparatorSearchStopsWhenCancelled() {
+        IntGraph graph = TestGraphs.random(new Random(1), 200, 200, true);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Birkaç bin kümeden sonra iptal: C(200, 3) ≈ 1.3M kümenin çok azı gezilmeli
+            AtomicLong visits = new AtomicLong();
+            AtomicBoolean cancelled = new AtomicBoolean();
+            long evaluated = SeparatorSearch.enumerateParallel(graph, graph.verticesByDegreeDescending(), 3, null,
+                    (removed, removedCount, components, largest, remaining) -> {
+                        if (visits.incrementAndGet() == 5_000) cancelled.set(true);
+                        return true;
+                    }, pool, cancelled::get);
+            assertTrue(evaluated < 100_000, "evaluated " + evaluated);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSeparatorDpStopsWhenCancelled() {
+        IntGraph cycle = TestGraphs.cycle(5000);
+        TreeDecomposition decomposition = TreeDecomposition.compute(cycle, 6);
+        long start = System.nanoTime();
+        assertTrue(SeparatorDP.integrity(cycle, decomposition, Double.POSITIVE_INFINITY, LONG_BUDGET_MS,
+                () -> true).isEmpty());
+        assertTrue(SeparatorDP.toughness(cycle, decomposition, LONG_BUDGET_MS, () -> true).isEmpty());
+        assertTrue(SeparatorDP.scattering(cycle, decomposition, LONG_BUDGET_MS, () -> true).isEmpty());
+        assertTrue((System.nanoTime() - start) / 1_000_000L < 5_000);
+    }
+
+    @Test
+    public void testSolversStopWhenCancelled() {
+        // Rastgele yoğun graf: bütçe uzun olsa da iptal edilince kökteki alt sınırla döner
+        Random random = new Random(2);
+        IntGraph graph = TestGraphs.random(random, 300, 1500, true);
+        long start = System.nanoTime();
+        BoundedSolution domination = DominatingSetSolver.solve(graph, LONG_BUDGET_MS, () -> true);
+        BoundedSolution rootDomination = DominatingSetSolver.solve(graph, 0);
+        assertEquals(rootDomination.lowerBound(), domination.lowerBound());
+        BoundedSolution cover = VertexCoverSolver.solve(graph, null, LONG_BUDGET_MS, () -> true);
+        assertTrue(cover.lowerBound() <= cover.size());
+        assertTrue((System.nanoTime() - start) / 1_000_000L < 10_000);
+
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < 30; u++) {
+            for (int v = u + 1; v < 30; v++) {
+                if (random.nextInt(2) == 0) edges.add(new int[]{u, v});
+            }
+        }
+        assertEquals(-1, new VertexConnectivity(TestGraphs.of(30, edges)).connectivity(() -> true));
+    }
+
+    @Test
+    public void testProgressCancellation() {
+        ParameterProgress progress = new ParameterProgress("integrity", false, update -> { });
+        assertFalse(progress.isCancelled());
+        progress.feasible(5, "HEURISTIC");
+        progress.cancel();
+        assertTrue(progress.isCancelled());
+        // İptal o ana kadarki sınırları bozmaz
+        assertEquals(5.0, progress.finish().upperBound());
+    }
+}
@@ -0,0 +1,84 @@
+package com.codeinspector.backend;
+import java.util.BitSet;
+import java.util.OptionalDouble;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorDP;
+import com.codeinspector.backend.graph.TreeDecomposition;
+
+public class SeparatorDPTest {
+
+    private static final long BUDGET_MS = 60_000;
+
+    @Test
+    public void testIntegrityToughnessAndScatteringMatchBruteForce() {
+        Random random = new Random(42);
+        for (int round = 0; round < 400; round++) {
+            int n = 3 + random.nextInt(10);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(n + 2), random.nextBoolean());
+            TreeDecomposition decomposition = TreeDecomposition.compute(graph, 6);
+            assertNotNull(decomposition);
+
+            // Tüm S alt kümeleri: I = min |S| + m(G−S), τ = min |S| / ω(G−S), s = max ω(G−S) − |S| (ω ≥ 2)
+            double integrity = Double.POSITIVE_INFINITY;
+            double toughness = Double.POSITIVE_INFINITY;
+            double scattering = Double.NEGATIVE_INFINITY;
+            for (long mask = 0; mask < (1L << n); mask++) {
+                BitSet removed = TestGraphs.set(mask);
+                IntGraph.ComponentStats stats = graph.componentStats(removed);
+                integrity = Math.min(integrity, removed.cardinality() + stats.largest());
+                if (mask != 0 && stats.count() >= 2) {
+                    toughness = Math.min(toughness, (double) removed.cardinality() / stats.count());
+                    scattering = Math.max(scattering, stats.count() - removed.cardinality());
+                }
+            }
+
+            assertEquals(integrity, SeparatorDP.integrity(graph, decomposition, Double.POSITIVE_INFINITY,
+                    BUDGET_MS).getAsDouble(), "integrity, round " + round);
+            // Bilinen üst sınır verildiğinde de sonuç değişmez
+            assertEquals(integrity, SeparatorDP.integrity(graph, decomposition, integrity, BUDGET_MS).getAsDouble(),
+                    "integrity with bound, round " + round);
+            assertEquals(toughness, SeparatorDP.toughness(graph, decomposition, BUDGET_MS).getAsDouble(), 1e-9,
+                    "toughness, round " + round);
+            assertEquals(scattering, SeparatorDP.scattering(graph, decomposition, BUDGET_MS).getAsDouble(),
+                    "scattering, round " + round);
+        }
+    }
+
+    @Test
+    public void testIntegrityOfLongCycles() {
+        // I(C_n) = ⌈2√n⌉ − 1; |S| ≤ 3 ile sınırlı arama bu değerlere ulaşamaz
+        for (int n : new int[]{30, 120, 300, 500}) {
+            IntGraph cycle = TestGraphs.cycle(n);
+            OptionalDouble integrity = SeparatorDP.integrity(cycle, TreeDecomposition.compute(cycle, 6),
+                    Double.POSITIVE_INFINITY, BUDGET_MS);
+            assertEquals(Math.ceil(2 * Math.sqrt(n)) - 1, integrity.getAsDouble(), "C" + n);
+        }
+    }
+
+    @Test
+    public void testIntegrityOfLongPaths() {
+        // I(P_n) = ⌈2√(n+1)⌉ − 2
+        for (int n : new int[]{10, 99, 1000, 5000}) {
+            IntGraph path = TestGraphs.path(n);
+            OptionalDouble integrity = SeparatorDP.integrity(path, TreeDecomposition.compute(path, 6),
+                    Double.POSITIVE_INFINITY, BUDGET_MS);
+            assertEquals(Math.ceil(2 * Math.sqrt(n + 1)) - 2, integrity.getAsDouble(), "P" + n);
+        }
+    }
+
+    @Test
+    public void testDeadlineStopsComputation() {
+        IntGraph graph = TestGraphs.cycle(5000);
+        TreeDecomposition decomposition = TreeDecomposition.compute(graph, 6);
+        long start = System.nanoTime();
+        assertTrue(SeparatorDP.integrity(graph, decomposition, Double.POSITIVE_INFINITY, 1).isEmpty());
+        assertTrue((System.nanoTime() - start) / 1_000_000L < 2_000);
+    }
+}
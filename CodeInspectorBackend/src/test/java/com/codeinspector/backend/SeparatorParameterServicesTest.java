@@ -0,0 +1,143 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.ParameterEstimate;
+import com.codeinspector.backend.service.GraphAnalysisHelper;
+import com.codeinspector.backend.service.GraphDominationService;
+import com.codeinspector.backend.service.GraphIntegrityService;
+import com.codeinspector.backend.service.GraphScatteringService;
+import com.codeinspector.backend.service.GraphToughnessService;
+import com.codeinspector.backend.service.ParameterProgress;
+
+public class SeparatorParameterServicesTest {
+
+    private final GraphIntegrityService integrityService = new GraphIntegrityService();
+    private final GraphToughnessService toughnessService = new GraphToughnessService();
+    private final GraphScatteringService scatteringService = new GraphScatteringService();
+    private final GraphDominationService dominationService = new GraphDominationService();
+
+    @Test
+    public void testServicesMatchBruteForce() {
+        Random random = new Random(17);
+        for (int round = 0; round < 150; round++) {
+            int n = 3 + random.nextInt(10);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(n + 3), random.nextInt(4) != 0);
+            if (graph.edgeCount() == 0) {
+                continue; // Edge'siz graflar servislerde ayrı bir kısa yoldan döner
+            }
+            GraphAnalysisHelper.GraphData graphData = dataOf(graph);
+
+            double integrity = Double.POSITIVE_INFINITY;
+            double toughness = Double.POSITIVE_INFINITY;
+            double scattering = 0.0; // Servis ayırıcı yoksa 0 döndürür
+            for (long mask = 0; mask < (1L << n); mask++) {
+                BitSet removed = TestGraphs.set(mask);
+                IntGraph.ComponentStats stats = graph.componentStats(removed);
+                integrity = Math.min(integrity, removed.cardinality() + stats.largest());
+                if (mask != 0 && stats.count() >= 2) {
+                    toughness = Math.min(toughness, (double) removed.cardinality() / stats.count());
+                    scattering = Math.max(scattering, stats.count() - removed.cardinality());
+                }
+            }
+
+            String message = "round " + round;
+            assertEquals(integrity, integrityService.calculateIntegrityNumber(graphData), message);
+            assertEquals(toughness, toughnessService.calculateToughnessNumber(graphData), 1e-9, message);
+            assertEquals(scattering, scatteringService.calculateScatteringNumber(graphData), message);
+            GraphDominationService.DominationResult domination = dominationService.calculateDomination(graphData);
+            assertEquals(bruteForceDomination(graph), domination.size, message);
+            assertTrue(domination.exact, message);
+        }
+    }
+
+    @Test
+    public void testDecompositionIsUsedBeyondSmallSeparators() {
+        // C100: |S| ≤ 3 taraması en iyi 3 + 33 = 36 bulur; I(C_100) = ⌈2√100⌉ − 1 = 19
+        GraphAnalysisHelper.GraphData cycle = dataOf(TestGraphs.cycle(100));
+        ParameterProgress progress = new ParameterProgress("integrity", false, update -> { });
+        assertEquals(19.0, integrityService.calculateIntegrityNumber(cycle, progress));
+        ParameterEstimate estimate = progress.finish();
+        assertEquals(estimate.lowerBound(), estimate.upperBound());
+        assertEquals("TREE_DECOMPOSITION", estimate.method());
+
+        // Yıldızlar zinciri: her yıldız merkezi ayrı bir ayırıcı; s(G) merkezlerin hepsi çıkarılınca
+        List<int[]> edges = new ArrayList<>();
+        int stars = 6;
+        for (int s = 0; s < stars; s++) {
+            int center = s * 4;
+            for (int leaf = 1; leaf <= 3; leaf++) edges.add(new int[]{center, center + leaf});
+            if (s > 0) edges.add(new int[]{center, center - 4});
+        }
+        ParameterProgress scatteringProgress = new ParameterProgress("scattering", true, update -> { });
+        double scattering = scatteringService.calculateScatteringNumber(dataOf(TestGraphs.of(4 * stars, edges)),
+                scatteringProgress);
+        assertEquals(3.0 * stars - stars, scattering);
+        assertEquals("TREE_DECOMPOSITION", scatteringProgress.finish().method());
+    }
+
+    @Test
+    public void testWideGraphsAreNotReportedExact() {
+        // Treewidth > 6: DP çalışmaz, |S| ≤ 3 sonucu yalnızca bir sınırdır
+        Random random = new Random(23);
+        List<int[]> edges = new ArrayList<>();
+        int n = 40;
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (random.nextInt(3) == 0) edges.add(new int[]{u, v});
+            }
+        }
+        GraphAnalysisHelper.GraphData graphData = dataOf(TestGraphs.of(n, edges));
+        assertNull(graphData.treeDecomposition());
+
+        ParameterProgress integrity = new ParameterProgress("integrity", false, update -> { });
+        integrityService.calculateIntegrityNumber(graphData, integrity);
+        assertEquals("HEURISTIC", integrity.finish().method());
+
+        ParameterProgress toughness = new ParameterProgress("toughness", false, update -> { });
+        toughnessService.calculateToughnessNumber(graphData, toughness);
+        assertEquals("HEURISTIC", toughness.finish().method());
+
+        ParameterProgress scattering = new ParameterProgress("scattering", true, update -> { });
+        scatteringService.calculateScatteringNumber(graphData, scattering);
+        ParameterEstimate estimate = scattering.finish();
+        assertEquals("HEURISTIC", estimate.method());
+        assertTrue(estimate.lowerBound() < estimate.upperBound());
+    }
+
+    private static GraphAnalysisHelper.GraphData dataOf(IntGraph graph) {
+        return new GraphAnalysisHelper.GraphData(graph, graph.verticesByDegreeDescending());
+    }
+
+    /**
+     * En küçük D: N[D] = V
+     */
+    private static int bruteForceDomination(IntGraph graph) {
+        int n = graph.nodeCount();
+        long all = (1L << n) - 1;
+        long[] closed = new long[n];
+        for (int v = 0; v < n; v++) {
+            closed[v] = 1L << v;
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                closed[v] |= 1L << graph.adjacencyAt(i);
+            }
+        }
+        int best = n;
+        for (long mask = 0; mask <= all; mask++) {
+            long covered = 0;
+            for (int v = 0; v < n; v++) {
+                if ((mask & (1L << v)) != 0) covered |= closed[v];
+            }
+            if (covered == all) best = Math.min(best, Long.bitCount(mask));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,241 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.SeparatorSearch;
+import com.codeinspector.backend.graph.SharedBound;
+
+public class SeparatorSearchTest {
+
+    @Test
+    public void testEnumerateMatchesBreadthFirstSearch() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(14);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            int[] candidates = randomCandidates(random, n);
+            int r = random.nextInt(Math.min(4, candidates.length) + 1);
+
+            // Her küme bir kez ve BFS ile aynı bileşen özetiyle gelmeli; aday olmayan node'lar grafta kalır
+            Set<BitSet> seen = new HashSet<>();
+            long evaluated = SeparatorSearch.enumerate(graph, candidates, r,
+                    (removed, removedCount, components, largest, remaining) -> {
+                        BitSet set = toSet(removed, removedCount);
+                        assertEquals(r, set.cardinality());
+                        assertTrue(seen.add(set));
+                        IntGraph.ComponentStats stats = graph.componentStats(set);
+                        assertEquals(stats.count(), components);
+                        assertEquals(stats.largest(), largest);
+                        assertEquals(stats.remaining(), remaining);
+                        return true;
+                    });
+            assertEquals(binomial(candidates.length, r), evaluated, "round " + round);
+            assertEquals(evaluated, seen.size());
+        }
+    }
+
+    @Test
+    public void testForestsAndExtremeSizesMatchEdgeListSearch() {
+        // Çok bileşenli seyrek graflar ve uç r değerleri (hiç çıkarmama, tüm adayları çıkarma);
+        // referans IntGraph'a değil ham edge listesine göre BFS yapar
+        Random random = new Random(11);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int round = 0; round < 60; round++) {
+                int n = 1 + random.nextInt(40);
+                List<int[]> edges = new ArrayList<>();
+                int m = random.nextInt(n + 1);
+                for (int i = 0; i < m; i++) {
+                    edges.add(new int[]{random.nextInt(n), random.nextInt(n)});
+                }
+                IntGraph graph = TestGraphs.of(n, edges);
+                int[] candidates = n > 26 ? graph.verticesByDegreeDescending() : randomCandidates(random, n);
+                int[] sizes = {0, Math.min(2, candidates.length), candidates.length};
+                for (int r : sizes) {
+                    if (binomial(candidates.length, r) > 5000) continue;
+                    String message = "round " + round + ", r=" + r;
+                    long evaluated = SeparatorSearch.enumerateParallel(graph, candidates, r, null,
+                            (removed, removedCount, components, largest, remaining) -> {
+                                int[] expected = edgeListStats(n, edges, toSet(removed, removedCount));
+                                assertEquals(expected[0], components, message);
+                                assertEquals(expected[1], largest, message);
+                                assertEquals(expected[2], remaining, message);
+                                return true;
+                            }, pool);
+                    assertEquals(binomial(candidates.length, r), evaluated, message);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelEnumerationVisitsSameSets() {
+        Random random = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                // Paralel bölme yalnızca yeterince aday varsa devreye girer
+                int n = 30 + random.nextInt(10);
+                IntGraph graph = TestGraphs.random(random, n, n, true);
+                int[] candidates = graph.verticesByDegreeDescending();
+                int r = 1 + random.nextInt(3);
+
+                Set<BitSet> sequential = new HashSet<>();
+                SeparatorSearch.enumerate(graph, candidates, r,
+                        (removed, removedCount, components, largest, remaining) ->
+                                sequential.add(toSet(removed, removedCount)));
+                Set<BitSet> parallel = ConcurrentHashMap.newKeySet();
+                long evaluated = SeparatorSearch.enumerateParallel(graph, candidates, r, null,
+                        (removed, removedCount, components, largest, remaining) -> {
+                            BitSet set = toSet(removed, removedCount);
+                            IntGraph.ComponentStats stats = graph.componentStats(set);
+                            assertEquals(stats.count(), components);
+                            assertEquals(stats.largest(), largest);
+                            assertTrue(parallel.add(set));
+                            return true;
+                        }, pool);
+                assertEquals(binomial(candidates.length, r), evaluated, "round " + round);
+                assertEquals(sequential, parallel, "round " + round);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPruningKeepsOptimum() {
+        Random random = new Random(9);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int round = 0; round < 40; round++) {
+                int n = 24 + random.nextInt(8);
+                IntGraph graph = TestGraphs.random(random, n, random.nextInt(n), true);
+                int[] candidates = graph.verticesByDegreeDescending();
+                int r = 1 + random.nextInt(3);
+
+                // Budamasız en iyi r + m(G−S) ve ω(G−S)
+                int[] bestIntegrity = {Integer.MAX_VALUE};
+                int[] mostComponents = {0};
+                long all = SeparatorSearch.enumerate(graph, candidates, r,
+                        (removed, removedCount, components, largest, remaining) -> {
+                            bestIntegrity[0] = Math.min(bestIntegrity[0], r + largest);
+                            mostComponents[0] = Math.max(mostComponents[0], components);
+                            return true;
+                        });
+
+                // Servislerdeki bound'lar: largest azalmaz, bileşen sayısı en fazla pending kadar artar
+                SharedBound integrity = new SharedBound(Double.POSITIVE_INFINITY);
+                long pruned = SeparatorSearch.enumerateParallel(graph, candidates, r,
+                        (removedCount, components, largest, remaining, pending) -> r + largest >= integrity.get(),
+                        (removed, removedCount, components, largest, remaining) -> {
+                            integrity.offerMin(r + largest);
+                            return true;
+                        }, pool);
+                assertEquals(bestIntegrity[0], integrity.get(), "integrity, round " + round);
+                assertTrue(pruned <= all);
+
+                SharedBound components = new SharedBound(0);
+                SeparatorSearch.enumerate(graph, candidates, r,
+                        (removedCount, count, largest, remaining, pending) -> count + pending <= components.get(),
+                        (removed, removedCount, count, largest, remaining) -> {
+                            components.offerMax(count);
+                            return true;
+                        });
+                assertEquals(mostComponents[0], components.get(), "components, round " + round);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVisitorCanStopSearch() {
+        IntGraph graph = TestGraphs.cycle(40);
+        int[] candidates = graph.verticesByDegreeDescending();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long[] visits = {0};
+            SeparatorSearch.enumerateParallel(graph, candidates, 3, null,
+                    (removed, removedCount, components, largest, remaining) -> {
+                        synchronized (visits) {
+                            visits[0]++;
+                        }
+                        return false;
+                    }, pool);
+            // Çalışmakta olan yaprak görevler durmadan önce en fazla birer küme görür
+            assertTrue(visits[0] < binomial(candidates.length, 3) / 100, "visits " + visits[0]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Node'ların rastgele bir alt kümesi, karışık sırada
+     */
+    private static int[] randomCandidates(Random random, int n) {
+        List<Integer> nodes = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            if (random.nextInt(4) != 0) nodes.add(v);
+        }
+        Collections.shuffle(nodes, random);
+        return nodes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Çıkarılmamış node'lar üzerinde edge listesiyle BFS: {bileşen sayısı, en büyük bileşen, kalan node}
+     */
+    private static int[] edgeListStats(int n, List<int[]> edges, BitSet removed) {
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int v = 0; v < n; v++) adjacency.add(new ArrayList<>());
+        for (int[] e : edges) {
+            adjacency.get(e[0]).add(e[1]);
+            adjacency.get(e[1]).add(e[0]);
+        }
+        boolean[] seen = new boolean[n];
+        int[] stats = new int[3];
+        for (int start = 0; start < n; start++) {
+            if (seen[start] || removed.get(start)) continue;
+            seen[start] = true;
+            List<Integer> queue = new ArrayList<>(List.of(start));
+            for (int head = 0; head < queue.size(); head++) {
+                for (int u : adjacency.get(queue.get(head))) {
+                    if (!seen[u] && !removed.get(u)) {
+                        seen[u] = true;
+                        queue.add(u);
+                    }
+                }
+            }
+            stats[0]++;
+            stats[1] = Math.max(stats[1], queue.size());
+            stats[2] += queue.size();
+        }
+        return stats;
+    }
+
+    private static BitSet toSet(int[] removed, int removedCount) {
+        BitSet set = new BitSet();
+        for (int v : Arrays.copyOf(removed, removedCount)) set.set(v);
+        return set;
+    }
+
+    private static long binomial(int n, int k) {
+        long result = 1;
+        for (int i = 0; i < k; i++) result = result * (n - i) / (i + 1);
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.utils.DuplicateCodeDetector;
+import com.codeinspector.backend.utils.SimilarityPrefilter;
+
+public class SimilarityPrefilterTest {
+
+    private static final double[] THRESHOLDS = {0, 5, 20, 30, 50, 80, 100};
+
+    private final DuplicateCodeDetector duplicateCodeDetector = new DuplicateCodeDetector();
+    private final SimilarityPrefilter prefilter = new SimilarityPrefilter(duplicateCodeDetector);
+
+    @Test
+    public void testNoPairAboveThresholdIsPruned() {
+        Random random = new Random(127);
+        for (int round = 0; round < 250; round++) {
+            List<String> codes = randomCodes(random);
+            int n = codes.size();
+            double[][] similarity = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (codes.get(i) == null || codes.get(j) == null) continue;
+                    List<String> duplicated = duplicateCodeDetector.detectDuplicates(codes.get(i), codes.get(j));
+                    similarity[i][j] = duplicateCodeDetector.calculateSimilarityPercentage(
+                            codes.get(i), codes.get(j), duplicated);
+                }
+            }
+            for (double threshold : THRESHOLDS) {
+                SimilarityPrefilter.Result result = prefilter.filter(codes, threshold);
+                String message = "round " + round + ", threshold " + threshold;
+                assertEquals((long) n * (n - 1) / 2, result.totalPairs(), message);
+
+                Set<Long> candidates = new HashSet<>();
+                int[] previous = null;
+                for (int[] pair : result.candidatePairs()) {
+                    assertTrue(pair[0] < pair[1], message);
+                    assertTrue(codes.get(pair[0]) != null && codes.get(pair[1]) != null, message);
+                    assertTrue(candidates.add(key(pair[0], pair[1])), message + ": duplicate pair");
+                    if (previous != null) {
+                        assertTrue(previous[0] < pair[0] || (previous[0] == pair[0] && previous[1] < pair[1]), message);
+                    }
+                    previous = pair;
+                }
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        if (codes.get(i) == null || codes.get(j) == null || similarity[i][j] < threshold) continue;
+                        assertTrue(candidates.contains(key(i, j)),
+                                message + ": pair " + i + "," + j + " with similarity " + similarity[i][j] + " pruned");
+                    }
+                }
+                assertEquals(result.totalPairs() - candidates.size(), result.prunedPairs(), message);
+            }
+        }
+    }
+
+    @Test
+    public void testDissimilarPairsArePruned() {
+        // Ortak satırı olmayan dosyalar sıfırdan büyük her eşikte elenir; birebir aynı olanlar her zaman kalır
+        List<String> codes = new ArrayList<>();
+        for (int f = 0; f < 20; f++) codes.add("int x" + f + " = " + f + ";\nfoo" + f + "();\nreturn x" + f + ";");
+        codes.add(codes.get(3));
+        codes.add(null);
+        SimilarityPrefilter.Result result = prefilter.filter(codes, 20);
+        assertEquals(1, result.candidatePairs().size());
+        assertTrue(Arrays.equals(new int[]{3, 20}, result.candidatePairs().get(0)));
+        assertEquals(22L * 21 / 2 - 1, result.prunedPairs());
+    }
+
+    /**
+     * Küçük satır havuzundan dosyalar: ortak satırlar sık, bazı dosyalar kopya veya okunamamış (null)
+     */
+    private static List<String> randomCodes(Random random) {
+        int n = 2 + random.nextInt(9);
+        int pool = 3 + random.nextInt(20);
+        List<String> codes = new ArrayList<>();
+        for (int f = 0; f < n; f++) {
+            int roll = random.nextInt(12);
+            if (roll == 0) {
+                codes.add(null);
+                continue;
+            }
+            if (roll == 1 && f > 0) {
+                codes.add(codes.get(random.nextInt(f)));
+                continue;
+            }
+            StringBuilder code = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                int line = random.nextInt(pool);
+                code.append(line % 7 == 6 ? "}" : "stmt" + line + "();").append('\n');
+            }
+            codes.add(code.toString());
+        }
+        return codes;
+    }
+
+    private static long key(int a, int b) {
+        return ((long) a << 32) | b;
+    }
+}
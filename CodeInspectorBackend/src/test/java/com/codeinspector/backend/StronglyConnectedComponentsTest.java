@@ -0,0 +1,128 @@
+package com.codeinspector.backend;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.StronglyConnectedComponents;
+
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void testComponentsMatchMutualReachability() {
+        Random random = new Random(41);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(25);
+            int[][] csr = randomDigraph(random, n, random.nextInt(3 * n));
+            int[] offsets = csr[0];
+            int[] targets = csr[1];
+            StronglyConnectedComponents scc = StronglyConnectedComponents.compute(n, offsets, targets);
+
+            boolean[][] reach = new boolean[n][];
+            for (int v = 0; v < n; v++) reach[v] = reachable(n, offsets, targets, v, null);
+            String message = "round " + round;
+            int[] sizes = new int[scc.componentCount()];
+            for (int u = 0; u < n; u++) {
+                sizes[scc.componentOf(u)]++;
+                for (int v = 0; v < n; v++) {
+                    boolean mutual = u == v || (reach[u][v] && reach[v][u]);
+                    assertEquals(mutual, scc.componentOf(u) == scc.componentOf(v), message);
+                }
+            }
+            for (int c = 0; c < sizes.length; c++) assertEquals(sizes[c], scc.componentSize(c), message);
+
+            // Ters topolojik sıra: bileşenler arası her edge daha küçük id'ye gider
+            boolean[] back = new boolean[targets.length];
+            for (int v = 0; v < n; v++) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int from = scc.componentOf(v);
+                    int to = scc.componentOf(targets[e]);
+                    assertTrue(from == to || from > to, message);
+                    back[e] = scc.isBackEdge(e);
+                    // Back edge'ler yalnızca bir SCC içinde olabilir
+                    assertTrue(!back[e] || from == to, message);
+                }
+            }
+            // Back edge'ler çıkarılınca döngü kalmaz: hiçbir node kendine geri ulaşamaz
+            for (int v = 0; v < n; v++) {
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (back[e]) continue;
+                    assertTrue(!reachable(n, offsets, targets, targets[e], back)[v], message + ", edge from " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongRingAndChain() {
+        // 200k'lık halka: tek bileşen, tek back edge; özyinelemeli DFS burada stack overflow verirdi
+        int n = 200_000;
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[n];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = v + 1;
+            targets[v] = (v + 1) % n;
+        }
+        StronglyConnectedComponents ring = StronglyConnectedComponents.compute(n, offsets, targets);
+        assertEquals(1, ring.componentCount());
+        assertEquals(n, ring.componentSize(0));
+        int backEdges = 0;
+        for (int e = 0; e < n; e++) if (ring.isBackEdge(e)) backEdges++;
+        assertEquals(1, backEdges);
+        assertTrue(ring.isBackEdge(n - 1));
+
+        // Aynı zincir halkasız: her node ayrı bileşen, sıra zincirin tersi
+        int[] chainTargets = Arrays.copyOf(targets, n - 1);
+        int[] chainOffsets = offsets.clone();
+        chainOffsets[n] = n - 1;
+        StronglyConnectedComponents chain = StronglyConnectedComponents.compute(n, chainOffsets, chainTargets);
+        assertEquals(n, chain.componentCount());
+        for (int v = 0; v < n; v++) assertEquals(n - 1 - v, chain.componentOf(v));
+    }
+
+    /**
+     * CSR: {offsets, targets}; self-loop ve tekrar eden edge'ler de üretilir
+     */
+    private static int[][] randomDigraph(Random random, int n, int m) {
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            offsets[from[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) targets[next[from[i]]++] = to[i];
+        return new int[][]{offsets, targets};
+    }
+
+    /**
+     * source'tan en az bir edge ile ulaşılabilen node'lar (skip'teki edge'ler atlanır)
+     */
+    private static boolean[] reachable(int n, int[] offsets, int[] targets, int source, boolean[] skip) {
+        boolean[] seen = new boolean[n];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        boolean[] queued = new boolean[n];
+        queued[source] = true;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (skip != null && skip[e]) continue;
+                int w = targets[e];
+                seen[w] = true;
+                if (!queued[w]) {
+                    queued[w] = true;
+                    queue.add(w);
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,61 @@
+package com.codeinspector.backend;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import com.codeinspector.backend.graph.IntGraph;
+
+/**
+ * Graf algoritması testlerinde kullanılan küçük graf üreticileri ve kaba kuvvet referansları
+ */
+final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * n node, rastgele m edge (self-loop ve tekrar eden edge'ler IntGraph'ta atılır); tree true ise önce
+     * rastgele bir ağaç kurulur, böylece graf bağlı olur.
+     */
+    static IntGraph random(Random random, int n, int m, boolean tree) {
+        List<int[]> edges = new ArrayList<>();
+        if (tree) {
+            for (int v = 1; v < n; v++) edges.add(new int[]{v, random.nextInt(v)});
+        }
+        for (int i = 0; i < m; i++) edges.add(new int[]{random.nextInt(n), random.nextInt(n)});
+        return of(n, edges);
+    }
+
+    static IntGraph cycle(int n) {
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 0; v < n; v++) edges.add(new int[]{v, (v + 1) % n});
+        return of(n, edges);
+    }
+
+    static IntGraph path(int n) {
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 1; v < n; v++) edges.add(new int[]{v - 1, v});
+        return of(n, edges);
+    }
+
+    static IntGraph of(int n, List<int[]> edges) {
+        String[] labels = new String[n];
+        for (int v = 0; v < n; v++) labels[v] = "v" + v;
+        int[] us = new int[edges.size()];
+        int[] vs = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            us[i] = edges.get(i)[0];
+            vs[i] = edges.get(i)[1];
+        }
+        return IntGraph.of(labels, us, vs);
+    }
+
+    /**
+     * mask'teki node'lar
+     */
+    static BitSet set(long mask) {
+        return BitSet.valueOf(new long[]{mask});
+    }
+}
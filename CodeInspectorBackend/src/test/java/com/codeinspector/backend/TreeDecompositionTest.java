@@ -0,0 +1,111 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.TreeDecomposition;
+
+public class TreeDecompositionTest {
+
+    @Test
+    public void testDecompositionsAreValid() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(60);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(2 * n), random.nextBoolean());
+            for (TreeDecomposition.Heuristic heuristic : TreeDecomposition.Heuristic.values()) {
+                TreeDecomposition decomposition = TreeDecomposition.compute(graph, n, heuristic);
+                assertNotNull(decomposition);
+                assertValid(graph, decomposition, "round " + round + " " + heuristic);
+            }
+        }
+    }
+
+    @Test
+    public void testWidthOfKnownGraphs() {
+        // Ağaçlar genişlik 1, döngüler genişlik 2
+        IntGraph tree = TestGraphs.random(new Random(1), 500, 0, true);
+        TreeDecomposition treeDecomposition = TreeDecomposition.compute(tree, 6);
+        assertEquals(1, treeDecomposition.width());
+        assertValid(tree, treeDecomposition, "tree");
+
+        IntGraph cycle = TestGraphs.cycle(200);
+        TreeDecomposition cycleDecomposition = TreeDecomposition.compute(cycle, 6);
+        assertEquals(2, cycleDecomposition.width());
+        assertValid(cycle, cycleDecomposition, "cycle");
+    }
+
+    @Test
+    public void testWidthLimitIsRespected() {
+        // K6'nın treewidth'i 5: sınır 4 iken decomposition yok
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < 6; u++) {
+            for (int v = u + 1; v < 6; v++) edges.add(new int[]{u, v});
+        }
+        IntGraph complete = TestGraphs.of(6, edges);
+        assertNull(TreeDecomposition.compute(complete, 4));
+        assertEquals(5, TreeDecomposition.compute(complete, 5).width());
+
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            IntGraph graph = TestGraphs.random(random, 40, 30, true);
+            TreeDecomposition decomposition = TreeDecomposition.compute(graph, 3);
+            if (decomposition != null) {
+                assertTrue(decomposition.width() <= 3);
+                assertValid(graph, decomposition, "round " + round);
+            }
+        }
+    }
+
+    /**
+     * Her node tam bir kez elimine edilir, her edge bir bag'de, her node'u içeren bag'ler ağaçta bağlı ve
+     * genişlik en büyük bag − 1
+     */
+    private static void assertValid(IntGraph graph, TreeDecomposition decomposition, String message) {
+        int n = graph.nodeCount();
+        assertEquals(n, decomposition.size(), message);
+        boolean[] eliminated = new boolean[n];
+        int largestBag = 0;
+        for (int i = 0; i < decomposition.size(); i++) {
+            int[] bag = decomposition.bag(i);
+            assertEquals(decomposition.eliminated(i), bag[0], message);
+            assertTrue(!eliminated[bag[0]], message);
+            eliminated[bag[0]] = true;
+            largestBag = Math.max(largestBag, bag.length);
+            int parent = decomposition.parent(i);
+            assertTrue(parent == -1 || parent > i, message);
+        }
+        assertEquals(Math.max(0, largestBag - 1), decomposition.width(), message);
+
+        boolean[][] contains = new boolean[decomposition.size()][n];
+        for (int i = 0; i < decomposition.size(); i++) {
+            for (int v : decomposition.bag(i)) contains[i][v] = true;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int a = graph.adjacencyStart(u); a < graph.adjacencyEnd(u); a++) {
+                int v = graph.adjacencyAt(a);
+                boolean covered = false;
+                for (int i = 0; i < decomposition.size() && !covered; i++) {
+                    covered = contains[i][u] && contains[i][v];
+                }
+                assertTrue(covered, message + ": edge " + u + "-" + v);
+            }
+        }
+        // v'yi içeren bag'lerden, parent'ı v'yi içermeyen tam bir tane olmalı (alt ağacın kökü)
+        for (int v = 0; v < n; v++) {
+            int roots = 0;
+            for (int i = 0; i < decomposition.size(); i++) {
+                int parent = decomposition.parent(i);
+                if (contains[i][v] && (parent < 0 || !contains[parent][v])) roots++;
+            }
+            assertEquals(1, roots, message + ": bags of " + v);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.codeinspector.backend;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.codeinspector.backend.graph.IntGraph;
+import com.codeinspector.backend.graph.VertexConnectivity;
+
+public class VertexConnectivityTest {
+
+    @Test
+    public void testConnectivityMatchesBruteForce() {
+        Random random = new Random(131);
+        for (int round = 0; round < 400; round++) {
+            int n = 1 + random.nextInt(11);
+            // Yoğunluğu değişen graflar: ağaçtan neredeyse tam grafa kadar farklı κ değerleri çıkar
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(n * n / 2 + 1), random.nextInt(4) != 0);
+            assertEquals(bruteForceConnectivity(graph), new VertexConnectivity(graph).connectivity(),
+                    "round " + round + ", n=" + n + ", m=" + graph.edgeCount());
+        }
+    }
+
+    @Test
+    public void testLocalConnectivityMatchesMinimumSeparator() {
+        Random random = new Random(137);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(10);
+            IntGraph graph = TestGraphs.random(random, n, random.nextInt(n * n / 2 + 1), random.nextBoolean());
+            // Aynı örnek tekrar tekrar sorgulanır: akış dizileri sorgular arasında sıfırlanmalı
+            VertexConnectivity connectivity = new VertexConnectivity(graph);
+            for (int s = 0; s < n; s++) {
+                for (int t = 0; t < n; t++) {
+                    if (s == t || graph.hasEdge(s, t)) continue;
+                    int expected = minimumSeparator(graph, s, t);
+                    String message = "round " + round + ", " + s + " - " + t;
+                    assertEquals(expected, connectivity.localConnectivity(s, t, n), message);
+                    assertEquals(Math.min(expected, 1), connectivity.localConnectivity(s, t, 1), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testKnownFamilies() {
+        assertEquals(2, new VertexConnectivity(TestGraphs.cycle(50)).connectivity());
+        assertEquals(1, new VertexConnectivity(TestGraphs.path(50)).connectivity());
+        List<int[]> complete = new ArrayList<>();
+        for (int u = 0; u < 9; u++) {
+            for (int v = u + 1; v < 9; v++) complete.add(new int[]{u, v});
+        }
+        assertEquals(8, new VertexConnectivity(TestGraphs.of(9, complete)).connectivity());
+        // 4x4x4 torus ızgarası 6-düzenli ve 6-bağlıdır
+        List<int[]> torus = new ArrayList<>();
+        for (int v = 0; v < 64; v++) {
+            int x = v % 4;
+            int y = v / 4 % 4;
+            int z = v / 16;
+            torus.add(new int[]{v, (x + 1) % 4 + y * 4 + z * 16});
+            torus.add(new int[]{v, x + (y + 1) % 4 * 4 + z * 16});
+            torus.add(new int[]{v, x + y * 4 + (z + 1) % 4 * 16});
+        }
+        assertEquals(6, new VertexConnectivity(TestGraphs.of(64, torus)).connectivity());
+        assertEquals(0, new VertexConnectivity(TestGraphs.of(4, List.of(new int[]{0, 1}, new int[]{2, 3})))
+                .connectivity());
+    }
+
+    /**
+     * En küçük node kümesi: çıkarılınca graf bağlantısız kalır; hiç yoksa (tam graf) n - 1
+     */
+    private static int bruteForceConnectivity(IntGraph graph) {
+        int n = graph.nodeCount();
+        if (n < 2) return 0;
+        int best = n - 1;
+        for (int removed = 0; removed < 1 << n; removed++) {
+            int size = Integer.bitCount(removed);
+            if (size < best && size <= n - 2 && !connectedWithout(graph, removed)) best = size;
+        }
+        return best;
+    }
+
+    /**
+     * s ve t dışından en küçük node kümesi: çıkarılınca t, s'ten ulaşılamaz
+     */
+    private static int minimumSeparator(IntGraph graph, int s, int t) {
+        int n = graph.nodeCount();
+        int best = n;
+        for (int removed = 0; removed < 1 << n; removed++) {
+            if ((removed >> s & 1) != 0 || (removed >> t & 1) != 0) continue;
+            if (Integer.bitCount(removed) < best && (reachable(graph, s, removed) >> t & 1) == 0) {
+                best = Integer.bitCount(removed);
+            }
+        }
+        return best;
+    }
+
+    private static boolean connectedWithout(IntGraph graph, int removed) {
+        int n = graph.nodeCount();
+        int remaining = ((1 << n) - 1) & ~removed;
+        return reachable(graph, Integer.numberOfTrailingZeros(remaining), removed) == remaining;
+    }
+
+    private static int reachable(IntGraph graph, int start, int removed) {
+        int seen = 1 << start;
+        int frontier = seen;
+        while (frontier != 0) {
+            int v = Integer.numberOfTrailingZeros(frontier);
+            frontier &= frontier - 1;
+            for (int i = graph.adjacencyStart(v); i < graph.adjacencyEnd(v); i++) {
+                int u = graph.adjacencyAt(i);
+                if ((removed >> u & 1) == 0 && (seen >> u & 1) == 0) {
+                    seen |= 1 << u;
+                    frontier |= 1 << u;
+                }
+            }
+        }
+        return seen;
+    }
+}
@@ -1,4 +1,5 @@
 import axios, { AxiosResponse, AxiosInstance } from 'axios';
+import { authService } from './auth';
 
 const BACKEND_BASE_URL: string = (import.meta as any).env?.VITE_BACKEND_URL || 'http://localhost:8080';
 
@@ -250,6 +251,34 @@ export interface FileDiff {
   diff: string;
 }
 
+export interface GraphMetricChange {
+  metric: string;
+  from: number | string | boolean | null; // Yoksa ya da hesaplanmadıysa null
+  to: number | string | boolean | null;
+  delta: number | null; // İki değer de sayıysa to - from
+}
+
+// İki versiyon grafı arasındaki yapısal fark; listeler limit ile sınırlı, toplamlar summary'de
+export interface GraphDiff {
+  summary: {
+    addedVertices: number;
+    removedVertices: number;
+    changedVertices: number;
+    unchangedVertices: number;
+    addedEdges: number;
+    removedEdges: number;
+    unchangedEdges: number;
+  };
+  addedVertices: string[];
+  removedVertices: string[];
+  addedEdges: { source: string; target: string; type: string }[];
+  removedEdges: { source: string; target: string; type: string }[];
+  changedVertices: { id: string; metrics: GraphMetricChange[] }[];
+  graphMetrics: GraphMetricChange[];
+  truncated: boolean;
+  elapsedMs: number;
+}
+
 export interface CommitInfo {
   hash: string;
   message: string;
@@ -287,6 +316,8 @@ export interface CodeGraphMetrics {
   dominationNumber?: number; // γ(G) - Graph domination number
   twoVertexCoverNumber?: number; // β₂(G) - Graph 2-vertex cover number
   twoVertexCoverNodes?: string[]; // Seçilen node'lar (2-vertex cover)
+  dominationLowerBound?: number; // γ(G) için ispatlanmış alt sınır
+  twoVertexCoverLowerBound?: number; // β₂(G) için ispatlanmış alt sınır
   degreeDistribution?: { [key: number]: number }; // degree -> node count
   // Calculation method bilgileri (EXACT / HEURISTIC)
   scatteringCalculationMethod?: string; // EXACT / HEURISTIC
@@ -294,12 +325,160 @@ export interface CodeGraphMetrics {
   integrityCalculationMethod?: string; // EXACT / HEURISTIC
   toughnessCalculationMethod?: string; // EXACT / HEURISTIC
   connectivityCalculationMethod?: string; // EXACT / HEURISTIC
+  dominationCalculationMethod?: string; // EXACT / HEURISTIC
+  twoVertexCoverCalculationMethod?: string; // EXACT / HEURISTIC
+  parameterStatus?: Record<string, 'COMPLETED' | 'TIMED_OUT' | 'FAILED'>; // Parametre bazında hesaplama durumu
+  parameterEstimates?: Record<string, ParameterEstimate>; // Parametre bazında değer ve ispatlanmış sınırlar
+  centrality?: CentralityResult; // Betweenness / closeness'e göre en yüksek node'lar
+}
+
+export interface CentralityScore {
+  id: string;
+  rank: number; // 1'den başlar
+  betweenness: number; // [0, 1] normalize
+  closeness: number; // [0, 1] normalize harmonic closeness
+}
+
+// SAMPLED modda değerler ±errorBound hatalıdır (%90 güvenle)
+export interface CentralityResult {
+  method: 'EXACT' | 'SAMPLED';
+  pivots: number;
+  errorBound: number;
+  elapsedMs: number;
+  topBetweenness: CentralityScore[];
+  topCloseness: CentralityScore[];
+}
+
+export type GraphEdgeType = 'depends' | 'has' | 'calls';
+export type GraphQueryDirection = 'OUT' | 'IN' | 'BOTH';
+
+export interface GraphHop {
+  id: string;
+  type: string;
+  distance: number; // Sorgulanan node'dan edge sayısı
+}
+
+export interface GraphNeighbourhoodResult {
+  node: string;
+  direction: GraphQueryDirection;
+  depth: number;
+  nodes: GraphHop[]; // BFS sırasıyla, sorgulanan node hariç
+  truncated: boolean; // limit'e ulaşıldı
+  elapsedMicros: number;
+}
+
+export interface GraphPathResult {
+  from: string;
+  to: string;
+  reachable: boolean;
+  length: number; // Ulaşılamıyorsa -1
+  path: string[];
+  elapsedMicros: number;
+}
+
+// Anytime parametre tahmini: lowerBound === upperBound ise değer kesin
+export interface ParameterEstimate {
+  parameter: string;
+  value: number | string; // Parçalanamayan grafta toughness "Infinity"
+  lowerBound: number | string; // Sınır yoksa "-Infinity"
+  upperBound: number | string; // Sınır yoksa "Infinity"
+  method: string; // BOUNDS / HEURISTIC / EXACT / TREE_DECOMPOSITION / FOREST
+  elapsedMs: number;
+  finished: boolean;
+}
+
+export interface GraphLayoutPosition {
+  id: string;
+  x: number;
+  y: number;
+}
+
+export interface GraphLayoutCluster {
+  id: number;
+  x: number;
+  y: number;
+  size: number; // Kümedeki node sayısı
+  label: string; // En yüksek dereceli üyenin id'si
+}
+
+export interface GraphLayoutClusterEdge {
+  source: number;
+  target: number;
+  weight: number; // Kümeler arası edge sayısı
+}
+
+export interface GraphLayoutLevel {
+  cellSize: number;
+  assignment: number[]; // positions ile aynı sırada: node → küme id
+  clusters: GraphLayoutCluster[];
+  edges: GraphLayoutClusterEdge[];
+}
+
+// Sunucuda hesaplanan yerleşim; seviyeler incelden kabaya sıralıdır
+export interface GraphLayout {
+  positions: GraphLayoutPosition[];
+  levels: GraphLayoutLevel[];
+  iterations: number;
+  elapsedMs: number;
 }
 
 export interface CodeGraphResponse {
   vertices: CodeGraphVertex[];
   edges: CodeGraphEdge[];
   metrics: CodeGraphMetrics;
+  layout?: GraphLayout;
+}
+
+export interface PackageGraphNode {
+  name: string;
+  classCount: number;
+  methodCount: number;
+  layer: number; // 0 = başka package'a bağımlı değil
+  componentId: number; // Aynı id = döngüsel bağımlı package'lar
+  afferent: number; // Ca
+  efferent: number; // Ce
+  instability: number; // Ce / (Ca + Ce)
+}
+
+export interface PackageGraphEdge {
+  source: string;
+  target: string;
+  weight: number;
+}
+
+export interface PackageGraphResponse {
+  packages: PackageGraphNode[];
+  edges: PackageGraphEdge[];
+  cycles: string[][];
+  layeringViolations: PackageGraphEdge[];
+}
+
+export interface CommunityNode {
+  id: number;
+  label: string; // En yüksek dereceli üyenin etiketi
+  size: number;
+  classCount: number;
+  methodCount: number;
+  internalEdges: number;
+}
+
+export interface CommunityEdge {
+  source: number;
+  target: number;
+  weight: number; // Topluluklar arası edge sayısı
+}
+
+export interface CommunityLevelSummary {
+  communityCount: number;
+  modularity: number;
+}
+
+export interface CommunityGraphResponse {
+  level: number;
+  levels: CommunityLevelSummary[]; // İncelden (0) kabaya
+  communities: CommunityNode[];
+  edges: CommunityEdge[];
+  metrics: CodeGraphMetrics; // Yoğunlaştırılmış grafın metrikleri
 }
 
 export const projectsApi = {
@@ -418,6 +597,13 @@ export const projectsApi = {
     return response.data;
   },
   
+  getGraphDiff: async (slug: string, oldVersionId: number, newVersionId: number, limit?: number): Promise<GraphDiff> => {
+    const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/versions/graph-diff`, {
+      params: { oldVersionId, newVersionId, limit }
+    });
+    return response.data;
+  },
+  
   getCommitHistory: async (slug: string): Promise<CommitInfo[]> => {
     const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/versions/history`);
     return response.data;
@@ -428,7 +614,124 @@ export const projectsApi = {
     const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/graph`);
     return response.data;
   },
+
+  // Graf parametrelerini anytime modda izler: her iyileşmede onEstimate, sonunda onComplete çağrılır.
+  // EventSource header gönderemediği için fetch ile okunur; dönen fonksiyon akışı iptal eder.
+  streamGraphParameters: (
+    slug: string,
+    onEstimate: (estimate: ParameterEstimate) => void,
+    onComplete?: (metrics: CodeGraphMetrics) => void,
+    onError?: (error: unknown) => void
+  ): (() => void) => {
+    const controller = new AbortController();
+    const token = authService.getToken();
+    (async () => {
+      const response = await fetch(`${BACKEND_BASE_URL}/api/projects/${slug}/graph/parameters/stream`, {
+        headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}) },
+        signal: controller.signal
+      });
+      if (!response.ok || !response.body) {
+        throw new Error(`Parameter stream failed: ${response.status}`);
+      }
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        // Olaylar boş satırla ayrılır
+        let separator;
+        while ((separator = buffer.indexOf('\n\n')) >= 0) {
+          const block = buffer.slice(0, separator);
+          buffer = buffer.slice(separator + 2);
+          let event = 'message';
+          const data: string[] = [];
+          for (const line of block.split('\n')) {
+            if (line.startsWith('event:')) event = line.slice(6).trim();
+            else if (line.startsWith('data:')) data.push(line.slice(5));
+          }
+          if (data.length === 0) continue;
+          const payload = JSON.parse(data.join('\n'));
+          if (event === 'estimate') onEstimate(payload as ParameterEstimate);
+          else if (event === 'metrics') onComplete?.(payload as CodeGraphMetrics);
+        }
+      }
+    })().catch((error) => {
+      if (!controller.signal.aborted) onError?.(error);
+    });
+    return () => controller.abort();
+  },
+
+  // Package seviyesinde yoğunlaştırılmış graf (döngüler ve katman ihlalleri)
+  getPackageGraph: async (slug: string): Promise<PackageGraphResponse> => {
+    const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/graph/packages`);
+    return response.data;
+  },
+
+  // Betweenness / closeness centrality; epsilon verilmezse sunucudaki varsayılan hata sınırı
+  getGraphCentrality: async (slug: string, epsilon?: number, top?: number): Promise<CentralityResult> => {
+    const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/graph/centrality`, {
+      params: { epsilon, top }
+    });
+    return response.data;
+  },
+
+  // Modularity topluluklarına indirgenmiş graf; level verilmezse en kaba seviye
+  getCommunityGraph: async (slug: string, level?: number): Promise<CommunityGraphResponse> => {
+    const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/graph/communities`, {
+      params: level !== undefined ? { level } : undefined
+    });
+    return response.data;
+  },
+
+  // Tek bir topluluğun alt grafı (drill-down)
+  getCommunity: async (slug: string, communityId: number, level?: number): Promise<CodeGraphResponse> => {
+    const response = await axios.get(`${BACKEND_BASE_URL}/api/projects/${slug}/graph/communities/${communityId}`, {
+      params: level !== undefined ? { level } : undefined
+    });
+    return response.data;
+  },
   
+  // Versiyon grafı sorguları; types verilmezse tüm edge tipleri
+  getDependents: async (slug: string, versionId: number, node: string, depth = 1,
+                        types?: GraphEdgeType[], limit?: number): Promise<GraphNeighbourhoodResult> => {
+    const response = await axios.get(
+      `${BACKEND_BASE_URL}/api/projects/${slug}/versions/${versionId}/graph/dependents`,
+      { params: { node, depth, types: types?.join(','), limit } }
+    );
+    return response.data;
+  },
+
+  getNeighbourhood: async (slug: string, versionId: number, node: string, depth = 1,
+                           direction: GraphQueryDirection = 'BOTH', types?: GraphEdgeType[],
+                           limit?: number): Promise<GraphNeighbourhoodResult> => {
+    const response = await axios.get(
+      `${BACKEND_BASE_URL}/api/projects/${slug}/versions/${versionId}/graph/neighbourhood`,
+      { params: { node, depth, direction, types: types?.join(','), limit } }
+    );
+    return response.data;
+  },
+
+  getShortestPath: async (slug: string, versionId: number, from: string, to: string,
+                          direction: GraphQueryDirection = 'OUT', types?: GraphEdgeType[]): Promise<GraphPathResult> => {
+    const response = await axios.get(
+      `${BACKEND_BASE_URL}/api/projects/${slug}/versions/${versionId}/graph/path`,
+      { params: { from, to, direction, types: types?.join(',') } }
+    );
+    return response.data;
+  },
+
+  isReachable: async (slug: string, versionId: number, from: string, to: string,
+                      direction: GraphQueryDirection = 'OUT', types?: GraphEdgeType[]
+  ): Promise<{ from: string; to: string; reachable: boolean; distance: number; elapsedMicros: number }> => {
+    const response = await axios.get(
+      `${BACKEND_BASE_URL}/api/projects/${slug}/versions/${versionId}/graph/reachable`,
+      { params: { from, to, direction, types: types?.join(',') } }
+    );
+    return response.data;
+  },
+
   // Analiz metotları
   getAnalysisResults: async (slug: string, versionId: number): Promise<AnalysisResult[]> => {
     const response = await axios.get(
@@ -245,6 +245,10 @@ export default function ProjectDetail() {
   );
 }
 
+// Bu kadar node'dan büyük graflar varsayılan olarak küme görünümüyle açılır
+const GRAPH_OVERVIEW_NODE_LIMIT = 2000;
+const GRAPH_OVERVIEW_CLUSTER_LIMIT = 500;
+
 // Analiz sonuçları için bileşen
 function AnalysisTab({ projectSlug, versionId }: { projectSlug: string, versionId: number }) {
   const [duplicatedLinesDialogOpen, setDuplicatedLinesDialogOpen] = useState(false);
@@ -256,6 +260,7 @@ function AnalysisTab({ projectSlug, versionId }: { projectSlug: string, versionI
   const [activeAnalysis, setActiveAnalysis] = useState<string | null>(null);
   const [runAllProgress, setRunAllProgress] = useState<number>(0);
   const [projectGraph, setProjectGraph] = useState<CodeGraphResponse | null>(null);
+  const [graphOverview, setGraphOverview] = useState<boolean>(true); // Büyük graflarda küme görünümü
   const [projectGraphError, setProjectGraphError] = useState<string | null>(null);
   const [projectGraphLoading, setProjectGraphLoading] = useState(false);
   
@@ -296,11 +301,47 @@ function AnalysisTab({ projectSlug, versionId }: { projectSlug: string, versionI
     };
   }, []);
   
+  // Sunucu yerleşimi varsa koordinatlar sabittir, tarayıcıda simülasyon çalışmaz
+  const graphHasLayout = !!projectGraph?.layout;
+  const graphOverviewAvailable = !!projectGraph?.layout
+    && projectGraph.layout.levels.length > 0
+    && projectGraph.vertices.length > GRAPH_OVERVIEW_NODE_LIMIT;
+
   // Graph verisini component seviyesinde hesapla
   const graphData = useMemo(() => {
     if (!projectGraph) {
       return { nodes: [], links: [] };
     }
+
+    const layout = projectGraph.layout;
+    if (layout && graphOverview && layout.levels.length > 0
+        && projectGraph.vertices.length > GRAPH_OVERVIEW_NODE_LIMIT) {
+      // Büyük graf: node'lar yerine sınırı aşmayan en ince küme seviyesini çiz
+      const level = layout.levels.find(l => l.clusters.length <= GRAPH_OVERVIEW_CLUSTER_LIMIT)
+        ?? layout.levels[layout.levels.length - 1];
+      return {
+        nodes: level.clusters.map(cluster => ({
+          id: `cluster-${cluster.id}`,
+          label: cluster.size > 1 ? `${cluster.label} (+${cluster.size - 1})` : cluster.label,
+          type: 'cluster',
+          color: '#8E44AD',
+          size: 4 + Math.log2(cluster.size) * 2,
+          x: cluster.x,
+          y: cluster.y,
+          fx: cluster.x,
+          fy: cluster.y
+        })),
+        links: level.edges.map(edge => ({
+          source: `cluster-${edge.source}`,
+          target: `cluster-${edge.target}`,
+          type: 'cluster',
+          color: '#F39C12',
+          width: Math.min(6, 1 + Math.log2(edge.weight))
+        }))
+      };
+    }
+    const positions = new Map<string, { x: number; y: number }>();
+    layout?.positions.forEach(p => positions.set(p.id, p));
     
     // Benzersiz node ID'leri oluştur
     const nodeMap = new Map();
@@ -316,6 +357,12 @@ function AnalysisTab({ projectSlug, versionId }: { projectSlug: string, versionI
         isHub: isHub,
         ...vertex.metrics
       });
+      const position = positions.get(vertex.id);
+      if (position) {
+        Object.assign(nodeMap.get(vertex.id), {
+          x: position.x, y: position.y, fx: position.x, fy: position.y
+        });
+      }
     });
 
     // Debug: Edge'leri ve node'ları kontrol et
@@ -381,7 +428,7 @@ function AnalysisTab({ projectSlug, versionId }: { projectSlug: string, versionI
       nodes: Array.from(nodeMap.values()),
       links: links
     };
-  }, [projectGraph]);
+  }, [projectGraph, graphOverview]);
   
   const fetchResults = async () => {
     try {
@@ -1378,6 +1425,16 @@ ${sourceCode}
     }
 
     const duplicatePairs = Array.isArray(data.duplicatePairs) ? data.duplicatePairs : [];
+    const cloneClasses = Array.isArray(data.cloneClasses) ? data.cloneClasses : [];
+    // Türkçe açıklama: Yeni sonuçlarda ortak satırlar clone sınıflarında bir kez tutulur, çift sadece sınıf id'lerini taşır
+    const fragmentByClassId = new Map<number, string[]>(
+      cloneClasses.map((c: any) => [c.id, Array.isArray(c.fragment) ? c.fragment : []])
+    );
+    const getDuplicatedLines = (pair: any): string[] => {
+      if (Array.isArray(pair.duplicatedLines)) return pair.duplicatedLines;
+      if (!Array.isArray(pair.cloneClassIds)) return [];
+      return pair.cloneClassIds.flatMap((id: number) => fragmentByClassId.get(id) ?? []);
+    };
 
     return (
       <div className="space-y-4">
@@ -1393,6 +1450,9 @@ ${sourceCode}
           <Card className="p-3">
             <div className="text-xs text-muted-foreground">Duplicate Pairs</div>
             <div className="text-lg font-semibold">{duplicatePairs.length}</div>
+            {cloneClasses.length > 0 && (
+              <div className="text-xs text-muted-foreground">{cloneClasses.length} clone classes</div>
+            )}
           </Card>
           <Card className="p-3">
             <div className="text-xs text-muted-foreground">Average Similarity</div>
@@ -1413,44 +1473,47 @@ ${sourceCode}
               </tr>
             </thead>
             <tbody>
-              {duplicatePairs.map((pair: any, idx: number) => (
-                <tr key={idx} className="border-t align-top">
-                  <td className="px-3 py-2 font-mono text-xs break-all">{pair.file1}</td>
-                  <td className="px-3 py-2 font-mono text-xs break-all">{pair.file2}</td>
-                  <td className="px-3 py-2 text-right">
-                    {pair.similarity != null ? `${Number(pair.similarity).toFixed(1)}%` : '-'}
-                  </td>
-                  <td className="px-3 py-2">
-                    {Array.isArray(pair.duplicatedLines) && pair.duplicatedLines.length > 0 ? (
-                      <div className="flex flex-wrap gap-1 max-w-md">
-                        {pair.duplicatedLines.slice(0, 10).map((r: string, i: number) => (
-                          <span
-                            key={i}
-                            className="inline-flex items-center rounded bg-muted px-2 py-0.5 text-[11px] font-mono"
-                            title={r}
-                          >
-                            {r.length > 30 ? r.substring(0, 30) + '...' : r}
-                          </span>
-                        ))}
-                        {pair.duplicatedLines.length > 10 && (
-                          <button
-                            onClick={() => {
-                              setSelectedDuplicatedLines(pair.duplicatedLines);
-                              setSelectedPairInfo({ file1: pair.file1, file2: pair.file2 });
-                              setDuplicatedLinesDialogOpen(true);
-                            }}
-                            className="inline-flex items-center rounded bg-muted px-2 py-0.5 text-[11px] text-muted-foreground hover:bg-muted/80 cursor-pointer transition-colors"
-                          >
-                            +{pair.duplicatedLines.length - 10} more
-                          </button>
-                        )}
-                      </div>
-                    ) : (
-                      <span className="text-muted-foreground text-xs">No details</span>
-                    )}
-                  </td>
-                </tr>
-              ))}
+              {duplicatePairs.map((pair: any, idx: number) => {
+                const duplicatedLines = getDuplicatedLines(pair);
+                return (
+                  <tr key={idx} className="border-t align-top">
+                    <td className="px-3 py-2 font-mono text-xs break-all">{pair.file1}</td>
+                    <td className="px-3 py-2 font-mono text-xs break-all">{pair.file2}</td>
+                    <td className="px-3 py-2 text-right">
+                      {pair.similarity != null ? `${Number(pair.similarity).toFixed(1)}%` : '-'}
+                    </td>
+                    <td className="px-3 py-2">
+                      {duplicatedLines.length > 0 ? (
+                        <div className="flex flex-wrap gap-1 max-w-md">
+                          {duplicatedLines.slice(0, 10).map((r: string, i: number) => (
+                            <span
+                              key={i}
+                              className="inline-flex items-center rounded bg-muted px-2 py-0.5 text-[11px] font-mono"
+                              title={r}
+                            >
+                              {r.length > 30 ? r.substring(0, 30) + '...' : r}
+                            </span>
+                          ))}
+                          {duplicatedLines.length > 10 && (
+                            <button
+                              onClick={() => {
+                                setSelectedDuplicatedLines(duplicatedLines);
+                                setSelectedPairInfo({ file1: pair.file1, file2: pair.file2 });
+                                setDuplicatedLinesDialogOpen(true);
+                              }}
+                              className="inline-flex items-center rounded bg-muted px-2 py-0.5 text-[11px] text-muted-foreground hover:bg-muted/80 cursor-pointer transition-colors"
+                            >
+                              +{duplicatedLines.length - 10} more
+                            </button>
+                          )}
+                        </div>
+                      ) : (
+                        <span className="text-muted-foreground text-xs">No details</span>
+                      )}
+                    </td>
+                  </tr>
+                );
+              })}
               {duplicatePairs.length === 0 && (
                 <tr>
                   <td colSpan={4} className="px-3 py-4 text-center text-muted-foreground">
@@ -2075,6 +2138,15 @@ ${sourceCode}
                   <span>Method Calls</span>
                 </div>
               </div>
+              {graphOverviewAvailable && (
+                <Button
+                  variant="outline"
+                  size="sm"
+                  onClick={() => setGraphOverview(!graphOverview)}
+                >
+                  {graphOverview ? 'Show All Nodes' : 'Show Overview'}
+                </Button>
+              )}
               <Button
                 variant="outline"
                 size="sm"
@@ -2124,10 +2196,13 @@ ${sourceCode}
               d3AlphaDecay={0.0228}
               d3VelocityDecay={0.4}
               cooldownTime={15000}
+              // Sunucu yerleşimi varsa simülasyon hiç çalışmaz; yalnızca çizim yapılır
+              cooldownTicks={graphHasLayout ? 0 : Infinity}
               enableZoomInteraction={true}
               enablePanInteraction={true}
               enableNodeDrag={true}
               onNodeDrag={(node: any) => {
+                if (graphHasLayout) return;
                 // Node'un yarıçapını hesaba kat (size en büyük 8, yarıçap 4)
                 const nodeRadius = (node.size || 8) / 2;
                 const padding = nodeRadius + 10; // Node yarıçapı + ekstra padding
@@ -2142,6 +2217,12 @@ ${sourceCode}
                 if (node.y < minY) node.y = minY;
               }}
               onNodeDragEnd={(node: any) => {
+                if (graphHasLayout) {
+                  // Simülasyon olmadığından node bırakıldığı yerde sabit kalır
+                  node.fx = node.x;
+                  node.fy = node.y;
+                  return;
+                }
                 // Node sürükleme bittiğinde fixed pozisyonu kaldır
                 node.fx = null;
                 node.fy = null;
@@ -2179,6 +2260,8 @@ ${sourceCode}
               }}
               nodeCanvasObjectMode={() => 'after'}
               onEngineTick={() => {
+                // Sunucu koordinatları container'dan büyük bir düzlemde; zoomToFit ile sığdırılır
+                if (graphHasLayout) return;
                 // Container'ın gerçek boyutlarını kullan ve node'ları sınırlar içinde tut
                 // Her node'un kendi yarıçapını hesaba kat
                 graphData.nodes.forEach((node: any) => {
@@ -2550,6 +2633,48 @@ ${sourceCode}
           </div>
         </Card>
 
+        {/* Centrality (Bottleneck) Panel */}
+        <Card className="p-4">
+          <h3 className="text-sm font-semibold mb-4">Bottlenecks (Betweenness Centrality)</h3>
+          {projectGraph.metrics.centrality && projectGraph.metrics.centrality.topBetweenness.length > 0 ? (
+            <div className="space-y-3">
+              <div className="border rounded-md max-h-80 overflow-auto text-xs">
+                <table className="w-full">
+                  <thead className="bg-muted/40">
+                    <tr>
+                      <th className="text-left px-3 py-2">#</th>
+                      <th className="text-left px-3 py-2">Node</th>
+                      <th className="text-right px-3 py-2">Betweenness</th>
+                      <th className="text-right px-3 py-2">Closeness</th>
+                    </tr>
+                  </thead>
+                  <tbody>
+                    {projectGraph.metrics.centrality.topBetweenness.map(score => (
+                      <tr key={score.id} className="border-t hover:bg-muted/20">
+                        <td className="px-3 py-2">{score.rank}</td>
+                        <td className="px-3 py-2 font-mono break-all">{score.id}</td>
+                        <td className="px-3 py-2 text-right">{score.betweenness.toFixed(4)}</td>
+                        <td className="px-3 py-2 text-right">{score.closeness.toFixed(4)}</td>
+                      </tr>
+                    ))}
+                  </tbody>
+                </table>
+              </div>
+              <div className="text-xs text-muted-foreground pt-2 border-t">
+                Betweenness, node'dan geçen en kısa yolların oranıdır; yüksek değerli node'lar bağımlılıkların
+                toplandığı darboğazlardır ve degree'si düşük olsa bile değişiklik riskini taşır.
+                {projectGraph.metrics.centrality.method === 'SAMPLED'
+                  ? ` Değerler ${projectGraph.metrics.centrality.pivots} pivot kaynakla tahmin edildi (±${projectGraph.metrics.centrality.errorBound}).`
+                  : ' Değerler tüm kaynaklardan exact hesaplandı.'}
+              </div>
+            </div>
+          ) : (
+            <div className="text-sm text-muted-foreground">
+              Centrality data not available.
+            </div>
+          )}
+        </Card>
+
         {/* Class Table */}
         <Card className="p-4">
           <h3 className="text-sm font-semibold mb-3">Class Details</h3>